@@ -2,12 +2,15 @@ package org.prebid.server.hooks.modules.ortb2.blocking.core;
 
 import com.iab.openrtb.request.Audio;
 import com.iab.openrtb.request.Banner;
-import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Video;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BlockedAttributes;
+import org.prebid.server.hooks.v1.BidRequestField;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.bidder.BidderRequestPayload;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
 import java.util.List;
@@ -26,29 +29,35 @@ public class RequestUpdater {
         return new RequestUpdater(Objects.requireNonNull(blockedAttributes));
     }
 
-    public BidRequest update(BidRequest bidRequest) {
-        final List<String> blockedAdomain = bidRequest.getBadv();
-        final List<String> blockedAdvCat = bidRequest.getBcat();
-        final Integer cattax = bidRequest.getCattax();
-        final List<String> blockedApp = bidRequest.getBapp();
-
-        return bidRequest.toBuilder()
-                .badv(CollectionUtils.isNotEmpty(blockedAdomain) ? blockedAdomain : blockedAttributes.getBadv())
-                .bcat(CollectionUtils.isNotEmpty(blockedAdvCat) ? blockedAdvCat : blockedAttributes.getBcat())
-                .cattax(cattax != null ? cattax : blockedAttributes.getCattaxComplement())
-                .bapp(CollectionUtils.isNotEmpty(blockedApp) ? blockedApp : blockedAttributes.getBapp())
-                .imp(updateImps(bidRequest.getImp()))
-                .build();
+    /**
+     * Returns update, that changes only fields of the bid request affected by blocked attributes,
+     * so the request is copied once together with changes made by other hooks of the same group.
+     */
+    public BidRequestPayloadUpdate<BidderRequestPayload> update() {
+        final BidRequestPayloadUpdate<BidderRequestPayload> update = BidRequestPayloadUpdate
+                .<BidderRequestPayload>of(BidderRequestPayload::bidRequest, BidderRequestPayloadImpl::of)
+                .update(BidRequestField.BADV, badv -> CollectionUtils.isNotEmpty(badv)
+                        ? badv
+                        : blockedAttributes.getBadv())
+                .update(BidRequestField.BCAT, bcat -> CollectionUtils.isNotEmpty(bcat)
+                        ? bcat
+                        : blockedAttributes.getBcat())
+                .update(BidRequestField.CATTAX, cattax -> cattax != null
+                        ? cattax
+                        : blockedAttributes.getCattaxComplement())
+                .update(BidRequestField.BAPP, bapp -> CollectionUtils.isNotEmpty(bapp)
+                        ? bapp
+                        : blockedAttributes.getBapp());
+
+        return MapUtils.isNotEmpty(blockedAttributes.getBtype()) || MapUtils.isNotEmpty(blockedAttributes.getBattr())
+                ? update.update(BidRequestField.IMP, this::updateImps)
+                : update;
     }
 
     private List<Imp> updateImps(List<Imp> imps) {
         final Map<String, List<Integer>> blockedBannerType = blockedAttributes.getBtype();
         final Map<MediaType, Map<String, List<Integer>>> blockedAttr = blockedAttributes.getBattr();
 
-        if (MapUtils.isEmpty(blockedBannerType) && MapUtils.isEmpty(blockedAttr)) {
-            return imps;
-        }
-
         return imps.stream()
                 .map(imp -> updateImp(imp, blockedBannerType, blockedAttr))
                 .toList();
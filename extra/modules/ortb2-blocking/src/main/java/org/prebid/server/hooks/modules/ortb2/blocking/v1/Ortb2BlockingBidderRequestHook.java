@@ -6,7 +6,6 @@ import org.prebid.server.auction.aliases.BidderAliases;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.hooks.execution.v1.InvocationResultImpl;
-import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.BlockedAttributesResolver;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.RequestUpdater;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BlockedAttributes;
@@ -68,7 +67,7 @@ public class Ortb2BlockingBidderRequestHook implements BidderRequestHook {
             final BlockedAttributes blockedAttributes = blockedAttributesResult.getValue();
             final RequestUpdater requestUpdater = RequestUpdater.create(blockedAttributes);
             resultBuilder
-                    .payloadUpdate(payload -> BidderRequestPayloadImpl.of(requestUpdater.update(payload.bidRequest())))
+                    .payloadUpdate(requestUpdater.update())
                     .moduleContext(moduleContext.with(bidder, blockedAttributes));
         }
 
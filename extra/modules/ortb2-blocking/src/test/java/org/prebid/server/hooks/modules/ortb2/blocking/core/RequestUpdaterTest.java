@@ -6,6 +6,7 @@ import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Video;
 import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BlockedAttributes;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
@@ -27,7 +28,7 @@ public class RequestUpdaterTest {
         final BidRequest request = BidRequest.builder().build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(asList("domain1.com", "domain2.com"))
                 .build());
     }
@@ -42,7 +43,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(singletonList("domain1.com"))
                 .build());
     }
@@ -55,7 +56,7 @@ public class RequestUpdaterTest {
         final BidRequest request = BidRequest.builder().build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .bcat(asList("cat1", "cat2"))
                 .build());
     }
@@ -70,7 +71,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .bcat(singletonList("cat1"))
                 .build());
     }
@@ -85,7 +86,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .cattax(1)
                 .build());
     }
@@ -98,7 +99,7 @@ public class RequestUpdaterTest {
         final BidRequest request = BidRequest.builder().build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .bapp(asList("app1", "app2"))
                 .build());
     }
@@ -113,7 +114,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .bapp(singletonList("app1"))
                 .build());
     }
@@ -131,7 +132,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .banner(Banner.builder()
@@ -156,7 +157,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .banner(Banner.builder()
@@ -181,7 +182,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .video(Video.builder()
@@ -206,7 +207,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .audio(Audio.builder()
@@ -227,7 +228,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request).getImp()).isSameAs(imps);
+        assertThat(update(updater, request).getImp()).isSameAs(imps);
     }
 
     @Test
@@ -244,7 +245,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        final BidRequest updatedRequest = updater.update(request);
+        final BidRequest updatedRequest = update(updater, request);
         assertThat(updatedRequest.getImp()).hasSize(1);
         assertThat(updatedRequest.getImp().get(0)).isSameAs(imp);
     }
@@ -262,7 +263,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        final BidRequest updatedRequest = updater.update(request);
+        final BidRequest updatedRequest = update(updater, request);
         assertThat(updatedRequest.getImp()).hasSize(1);
         assertThat(updatedRequest.getImp().get(0)).isSameAs(imp);
     }
@@ -280,7 +281,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        final BidRequest updatedRequest = updater.update(request);
+        final BidRequest updatedRequest = update(updater, request);
         assertThat(updatedRequest.getImp()).hasSize(1);
         assertThat(updatedRequest.getImp().get(0)).isSameAs(imp);
     }
@@ -301,7 +302,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .banner(Banner.builder()
@@ -328,7 +329,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .imp(singletonList(Imp.builder()
                         .id("impId1")
                         .banner(Banner.builder()
@@ -363,7 +364,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(asList("domain1.com", "domain2.com"))
                 .bcat(asList("cat1", "cat2"))
                 .bapp(asList("app1", "app2"))
@@ -402,7 +403,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(asList("domain1.com", "domain2.com"))
                 .bcat(asList("cat1", "cat2"))
                 .bapp(asList("app1", "app2"))
@@ -437,7 +438,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(asList("domain1.com", "domain2.com"))
                 .bcat(asList("cat1", "cat2"))
                 .bapp(asList("app1", "app2"))
@@ -475,7 +476,7 @@ public class RequestUpdaterTest {
                 .build();
 
         // when and then
-        assertThat(updater.update(request)).isEqualTo(BidRequest.builder()
+        assertThat(update(updater, request)).isEqualTo(BidRequest.builder()
                 .badv(asList("domain1.com", "domain2.com"))
                 .bcat(asList("cat1", "cat2"))
                 .bapp(asList("app1", "app2"))
@@ -489,4 +490,8 @@ public class RequestUpdaterTest {
                         .build()))
                 .build());
     }
+
+    private static BidRequest update(RequestUpdater updater, BidRequest request) {
+        return updater.update().apply(BidderRequestPayloadImpl.of(request)).bidRequest();
+    }
 }
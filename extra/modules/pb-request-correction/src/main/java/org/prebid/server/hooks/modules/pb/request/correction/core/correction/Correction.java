@@ -1,8 +1,9 @@
 package org.prebid.server.hooks.modules.pb.request.correction.core.correction;
 
-import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 
 public interface Correction {
 
-    BidRequest apply(BidRequest bidRequest);
+    BidRequestPayloadUpdate<AuctionRequestPayload> apply(BidRequestPayloadUpdate<AuctionRequestPayload> update);
 }
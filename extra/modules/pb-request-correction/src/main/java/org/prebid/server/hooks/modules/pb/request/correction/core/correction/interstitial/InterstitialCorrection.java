@@ -1,18 +1,18 @@
 package org.prebid.server.hooks.modules.pb.request.correction.core.correction.interstitial;
 
-import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import org.prebid.server.hooks.modules.pb.request.correction.core.correction.Correction;
+import org.prebid.server.hooks.v1.BidRequestField;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 
 public class InterstitialCorrection implements Correction {
 
     @Override
-    public BidRequest apply(BidRequest bidRequest) {
-        return bidRequest.toBuilder()
-                .imp(bidRequest.getImp().stream()
-                        .map(InterstitialCorrection::removeInterstitial)
-                        .toList())
-                .build();
+    public BidRequestPayloadUpdate<AuctionRequestPayload> apply(BidRequestPayloadUpdate<AuctionRequestPayload> update) {
+        return update.update(BidRequestField.IMP, imps -> imps.stream()
+                .map(InterstitialCorrection::removeInterstitial)
+                .toList());
     }
 
     private static Imp removeInterstitial(Imp imp) {
@@ -1,8 +1,10 @@
 package org.prebid.server.hooks.modules.pb.request.correction.core.correction.useragent;
 
-import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
 import org.prebid.server.hooks.modules.pb.request.correction.core.correction.Correction;
+import org.prebid.server.hooks.v1.BidRequestField;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 
 import java.util.regex.Pattern;
 
@@ -10,16 +12,11 @@ public class UserAgentCorrection implements Correction {
 
     private static final Pattern USER_AGENT_PATTERN = Pattern.compile("PrebidMobile/[0-9][^ ]*");
 
-    @Override
-    public BidRequest apply(BidRequest bidRequest) {
-        return bidRequest.toBuilder()
-                .device(correctDevice(bidRequest.getDevice()))
-                .build();
-    }
+    private static final BidRequestField<String> DEVICE_UA = BidRequestField.DEVICE.nested(
+            "ua", Device::getUa, (device, ua) -> device.toBuilder().ua(ua).build());
 
-    private static Device correctDevice(Device device) {
-        return device.toBuilder()
-                .ua(USER_AGENT_PATTERN.matcher(device.getUa()).replaceAll(""))
-                .build();
+    @Override
+    public BidRequestPayloadUpdate<AuctionRequestPayload> apply(BidRequestPayloadUpdate<AuctionRequestPayload> update) {
+        return update.update(DEVICE_UA, ua -> USER_AGENT_PATTERN.matcher(ua).replaceAll(""));
     }
 }
@@ -11,6 +11,7 @@ import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
 import org.prebid.server.hooks.modules.pb.request.correction.core.RequestCorrectionProvider;
 import org.prebid.server.hooks.modules.pb.request.correction.core.config.model.Config;
 import org.prebid.server.hooks.modules.pb.request.correction.core.correction.Correction;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
 import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationResult;
 import org.prebid.server.hooks.v1.InvocationStatus;
@@ -61,8 +62,7 @@ public class RequestCorrectionProcessedAuctionHook implements ProcessedAuctionRe
                 InvocationResultImpl.<AuctionRequestPayload>builder()
                         .status(InvocationStatus.success)
                         .action(InvocationAction.update)
-                        .payloadUpdate(initialPayload -> AuctionRequestPayloadImpl.of(
-                                applyCorrections(initialPayload.bidRequest(), corrections)))
+                        .payloadUpdate(applyCorrections(corrections))
                         .build();
 
         return Future.succeededFuture(invocationResult);
@@ -76,8 +76,9 @@ public class RequestCorrectionProcessedAuctionHook implements ProcessedAuctionRe
         }
     }
 
-    private static BidRequest applyCorrections(BidRequest bidRequest, List<Correction> corrections) {
-        BidRequest result = bidRequest;
+    private static BidRequestPayloadUpdate<AuctionRequestPayload> applyCorrections(List<Correction> corrections) {
+        BidRequestPayloadUpdate<AuctionRequestPayload> result =
+                BidRequestPayloadUpdate.of(AuctionRequestPayload::bidRequest, AuctionRequestPayloadImpl::of);
         for (Correction correction : corrections) {
             result = correction.apply(result);
         }
@@ -4,6 +4,9 @@ import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,9 +24,11 @@ public class InterstitialCorrectionTest {
                         Imp.builder().build(),
                         Imp.builder().instl(1).build()))
                 .build();
+        final BidRequestPayloadUpdate<AuctionRequestPayload> update =
+                BidRequestPayloadUpdate.of(AuctionRequestPayload::bidRequest, AuctionRequestPayloadImpl::of);
 
         // when
-        final BidRequest result = target.apply(bidRequest);
+        final BidRequest result = target.apply(update).apply(AuctionRequestPayloadImpl.of(bidRequest)).bidRequest();
 
         // then
         assertThat(result)
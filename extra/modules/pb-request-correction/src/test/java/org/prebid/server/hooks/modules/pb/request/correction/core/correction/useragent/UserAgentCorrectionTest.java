@@ -3,6 +3,9 @@ package org.prebid.server.hooks.modules.pb.request.correction.core.correction.us
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
 import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -16,9 +19,11 @@ public class UserAgentCorrectionTest {
         final BidRequest bidRequest = BidRequest.builder()
                 .device(Device.builder().ua("blah PrebidMobile/1asdf blah").build())
                 .build();
+        final BidRequestPayloadUpdate<AuctionRequestPayload> update =
+                BidRequestPayloadUpdate.of(AuctionRequestPayload::bidRequest, AuctionRequestPayloadImpl::of);
 
         // when
-        final BidRequest result = target.apply(bidRequest);
+        final BidRequest result = target.apply(update).apply(AuctionRequestPayloadImpl.of(bidRequest)).bidRequest();
 
         // then
         assertThat(result)
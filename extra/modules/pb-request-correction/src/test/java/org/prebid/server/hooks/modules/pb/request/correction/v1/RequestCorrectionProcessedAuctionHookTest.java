@@ -105,6 +105,7 @@ public class RequestCorrectionProcessedAuctionHookTest {
     public void callShouldReturnUpdate() {
         // given
         final Correction correction = mock(Correction.class);
+        given(correction.apply(any())).willAnswer(invocation -> invocation.getArgument(0));
         given(requestCorrectionProvider.corrections(any(), any())).willReturn(singletonList(correction));
 
         // when
@@ -0,0 +1,118 @@
+package org.prebid.server.analytics.reporter;
+
+import io.vertx.core.WorkerExecutor;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves processing of analytics events off the event loop.
+ * <p>
+ * Each analytics reporter gets its own bounded queue of tasks, drained by worker threads. Tasks of the same
+ * reporter are executed one by one in order of their submission, while different reporters are processed
+ * in parallel, so slow reporter does not delay others. When the queue of reporter is full, either the new task
+ * or the oldest queued one is dropped, according to the configured {@link DropPolicy}.
+ */
+public class AnalyticsEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsEventDispatcher.class);
+
+    private final WorkerExecutor workerExecutor;
+    private final int queueCapacity;
+    private final DropPolicy dropPolicy;
+    private final Metrics metrics;
+
+    private final Map<String, ReporterQueue> reporterQueues = new ConcurrentHashMap<>();
+
+    public AnalyticsEventDispatcher(WorkerExecutor workerExecutor,
+                                    int queueCapacity,
+                                    DropPolicy dropPolicy,
+                                    Metrics metrics) {
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+
+        this.workerExecutor = Objects.requireNonNull(workerExecutor);
+        this.queueCapacity = queueCapacity;
+        this.dropPolicy = Objects.requireNonNull(dropPolicy);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Queues given task of given reporter for execution on worker thread. Never blocks the caller.
+     */
+    public void dispatch(String reporterName, Runnable task) {
+        reporterQueues.computeIfAbsent(reporterName, ReporterQueue::new).offer(Objects.requireNonNull(task));
+    }
+
+    public enum DropPolicy {
+
+        newest, oldest
+    }
+
+    private class ReporterQueue {
+
+        private final String reporterName;
+        private final BlockingQueue<Runnable> tasks;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        ReporterQueue(String reporterName) {
+            this.reporterName = reporterName;
+            this.tasks = new ArrayBlockingQueue<>(queueCapacity);
+
+            metrics.createAnalyticsQueueSizeGauge(reporterName, tasks::size);
+        }
+
+        void offer(Runnable task) {
+            while (!tasks.offer(task)) {
+                if (dropPolicy == DropPolicy.newest) {
+                    metrics.updateAnalyticEventDroppedMetric(reporterName);
+                    return;
+                }
+
+                if (tasks.poll() != null) {
+                    metrics.updateAnalyticEventDroppedMetric(reporterName);
+                }
+            }
+
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                workerExecutor.executeBlocking(this::drain, false);
+            }
+        }
+
+        private Void drain() {
+            // limits the time worker thread is occupied by single reporter
+            Runnable task;
+            for (int i = 0; i < queueCapacity && (task = tasks.poll()) != null; i++) {
+                execute(task);
+            }
+
+            draining.set(false);
+            if (!tasks.isEmpty()) {
+                scheduleDrain();
+            }
+
+            return null;
+        }
+
+        private void execute(Runnable task) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("Analytics event processing failed for reporter: {}", e, reporterName);
+            }
+        }
+    }
+}
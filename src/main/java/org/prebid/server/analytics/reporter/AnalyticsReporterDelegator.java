@@ -49,7 +49,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class AnalyticsReporterDelegator {
@@ -66,6 +68,7 @@ public class AnalyticsReporterDelegator {
     private final double logSamplingRate;
     private final Set<String> globalEnabledAdapters;
     private final JacksonMapper mapper;
+    private final AnalyticsEventDispatcher eventDispatcher;
 
     private final Set<Integer> reporterVendorIds;
     private final Set<String> reporterNames;
@@ -77,7 +80,8 @@ public class AnalyticsReporterDelegator {
                                       Metrics metrics,
                                       double logSamplingRate,
                                       Set<String> globalEnabledAdapters,
-                                      JacksonMapper mapper) {
+                                      JacksonMapper mapper,
+                                      AnalyticsEventDispatcher eventDispatcher) {
 
         this.vertx = Objects.requireNonNull(vertx);
         this.delegates = Objects.requireNonNull(delegates);
@@ -89,6 +93,7 @@ public class AnalyticsReporterDelegator {
                 ? Collections.emptySet()
                 : globalEnabledAdapters;
         this.mapper = Objects.requireNonNull(mapper);
+        this.eventDispatcher = eventDispatcher;
 
         reporterVendorIds = delegates.stream().map(AnalyticsReporter::vendorId).collect(Collectors.toSet());
         reporterNames = delegates.stream().map(AnalyticsReporter::name).collect(Collectors.toSet());
@@ -100,7 +105,7 @@ public class AnalyticsReporterDelegator {
                 continue;
             }
 
-            vertx.runOnContext(ignored -> processEventByReporter(analyticsReporter, event));
+            dispatch(analyticsReporter, () -> event);
         }
     }
 
@@ -117,20 +122,24 @@ public class AnalyticsReporterDelegator {
             final Map<Integer, PrivacyEnforcementAction> privacyEnforcementActionMap =
                     privacyEnforcementMapResult.result();
             checkUnknownAdaptersForAuctionEvent(event);
+
+            // reporters with the same user data restrictions share masked bid request
+            final Map<UserDataRestrictions, BidRequest> maskedBidRequests = new ConcurrentHashMap<>();
             for (AnalyticsReporter analyticsReporter : delegates) {
                 final String name = analyticsReporter.name();
                 if (!isAllowedAdapter(event, name)) {
                     continue;
                 }
 
-                final T updatedEvent = updateEvent(event, name);
+                // activities are checked on the calling thread, only the masking itself could be dispatched
+                final UserDataRestrictions restrictions = userDataRestrictions(event, name);
                 final int reporterVendorId = analyticsReporter.vendorId();
                 // resultForVendorIds is guaranteed returning for each provided value except null,
                 // but to be sure lets use getOrDefault
                 final PrivacyEnforcementAction reporterPrivacyAction = privacyEnforcementActionMap
                         .getOrDefault(reporterVendorId, PrivacyEnforcementAction.restrictAll());
                 if (!reporterPrivacyAction.isBlockAnalyticsReport()) {
-                    vertx.runOnContext(ignored -> processEventByReporter(analyticsReporter, updatedEvent));
+                    dispatch(analyticsReporter, () -> updateEvent(event, name, restrictions, maskedBidRequests));
                 }
             }
         } else {
@@ -254,10 +263,34 @@ public class AnalyticsReporterDelegator {
         return ActivityInvocationPayloadImpl.of(ComponentType.ANALYTICS, adapterName);
     }
 
-    private <T> T updateEvent(T event, String adapter) {
-        if (!ADAPTERS_PERMITTED_FOR_FULL_DATA.contains(adapter) && event instanceof AuctionEvent auctionEvent) {
-            final AuctionContext updatedAuctionContext =
-                    updateAuctionContextAdapter(auctionEvent.getAuctionContext(), adapter);
+    private <T> UserDataRestrictions userDataRestrictions(T event, String adapter) {
+        if (ADAPTERS_PERMITTED_FOR_FULL_DATA.contains(adapter)
+                || !(event instanceof AuctionEvent auctionEvent)
+                || auctionEvent.getAuctionContext() == null) {
+
+            return null;
+        }
+
+        final AuctionContext context = auctionEvent.getAuctionContext();
+        final ActivityInfrastructure infrastructure = context.getActivityInfrastructure();
+        final ActivityInvocationPayload payload = BidRequestActivityInvocationPayload.of(
+                activityInvocationPayload(adapter),
+                context.getBidRequest());
+
+        return new UserDataRestrictions(
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_UFPD, payload),
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_EIDS, payload),
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_GEO, payload));
+    }
+
+    private <T> T updateEvent(T event,
+                              String adapter,
+                              UserDataRestrictions restrictions,
+                              Map<UserDataRestrictions, BidRequest> maskedBidRequests) {
+
+        if (restrictions != null && event instanceof AuctionEvent auctionEvent) {
+            final AuctionContext updatedAuctionContext = updateAuctionContextAdapter(
+                    auctionEvent.getAuctionContext(), adapter, restrictions, maskedBidRequests);
             return updatedAuctionContext != null
                     ? (T) auctionEvent.toBuilder().auctionContext(updatedAuctionContext).build()
                     : event;
@@ -266,14 +299,15 @@ public class AnalyticsReporterDelegator {
         return event;
     }
 
-    private AuctionContext updateAuctionContextAdapter(AuctionContext context, String adapter) {
-        if (context == null) {
-            return null;
-        }
+    private AuctionContext updateAuctionContextAdapter(AuctionContext context,
+                                                       String adapter,
+                                                       UserDataRestrictions restrictions,
+                                                       Map<UserDataRestrictions, BidRequest> maskedBidRequests) {
 
         final BidRequest bidRequest = context.getBidRequest();
-        final ActivityInfrastructure activityInfrastructure = context.getActivityInfrastructure();
-        final BidRequest updatedBidRequest = updateBidRequest(bidRequest, adapter, activityInfrastructure);
+        final BidRequest updatedBidRequest = bidRequest != null
+                ? updateBidRequest(bidRequest, adapter, restrictions, maskedBidRequests)
+                : null;
 
         return updatedBidRequest != null
                 ? context.toBuilder()
@@ -284,32 +318,35 @@ public class AnalyticsReporterDelegator {
 
     private BidRequest updateBidRequest(BidRequest bidRequest,
                                         String adapter,
-                                        ActivityInfrastructure infrastructure) {
+                                        UserDataRestrictions restrictions,
+                                        Map<UserDataRestrictions, BidRequest> maskedBidRequests) {
 
-        final ActivityInvocationPayload payload = BidRequestActivityInvocationPayload.of(
-                activityInvocationPayload(adapter),
-                bidRequest);
+        final BidRequest maskedBidRequest = maskedBidRequests.computeIfAbsent(
+                restrictions, key -> maskUserData(bidRequest, key));
 
-        final boolean disallowTransmitUfpd = !isAllowedActivity(infrastructure, Activity.TRANSMIT_UFPD, payload);
-        final boolean disallowTransmitEids = !isAllowedActivity(infrastructure, Activity.TRANSMIT_EIDS, payload);
-        final boolean disallowTransmitGeo = !isAllowedActivity(infrastructure, Activity.TRANSMIT_GEO, payload);
+        final ExtRequest updatedExtRequest = updateExtRequest(bidRequest.getExt(), adapter);
+        if (updatedExtRequest != null) {
+            return maskedBidRequest.toBuilder().ext(updatedExtRequest).build();
+        }
 
-        final User user = bidRequest != null ? bidRequest.getUser() : null;
-        final User resolvedUser = mask.maskUser(user, disallowTransmitUfpd, disallowTransmitEids);
+        return maskedBidRequest != bidRequest ? maskedBidRequest : null;
+    }
 
-        final Device device = bidRequest != null ? bidRequest.getDevice() : null;
-        final Device resolvedDevice = mask.maskDevice(device, disallowTransmitUfpd, disallowTransmitGeo);
+    private BidRequest maskUserData(BidRequest bidRequest, UserDataRestrictions restrictions) {
+        final User user = bidRequest.getUser();
+        final User resolvedUser = mask.maskUser(
+                user, restrictions.disallowTransmitUfpd(), restrictions.disallowTransmitEids());
 
-        final ExtRequest requestExt = bidRequest != null ? bidRequest.getExt() : null;
-        final ExtRequest updatedExtRequest = updateExtRequest(requestExt, adapter);
+        final Device device = bidRequest.getDevice();
+        final Device resolvedDevice = mask.maskDevice(
+                device, restrictions.disallowTransmitUfpd(), restrictions.disallowTransmitGeo());
 
-        return resolvedUser != null || resolvedDevice != null || updatedExtRequest != null
+        return resolvedUser != null || resolvedDevice != null
                 ? bidRequest.toBuilder()
                 .user(resolvedUser != null ? resolvedUser : user)
                 .device(resolvedDevice != null ? resolvedDevice : device)
-                .ext(updatedExtRequest != null ? updatedExtRequest : requestExt)
                 .build()
-                : null;
+                : bidRequest;
     }
 
     private static boolean isAllowedActivity(ActivityInfrastructure activityInfrastructure,
@@ -349,6 +386,17 @@ public class AnalyticsReporterDelegator {
         return !analyticsNodeCopy.isEmpty() ? analyticsNodeCopy : null;
     }
 
+    private <T> void dispatch(AnalyticsReporter analyticsReporter, Supplier<T> eventSupplier) {
+        if (eventDispatcher != null) {
+            eventDispatcher.dispatch(
+                    analyticsReporter.name(),
+                    () -> processEventByReporter(analyticsReporter, eventSupplier.get()));
+        } else {
+            final T event = eventSupplier.get();
+            vertx.runOnContext(ignored -> processEventByReporter(analyticsReporter, event));
+        }
+    }
+
     private <T> void processEventByReporter(AnalyticsReporter analyticsReporter, T event) {
         final String reporterName = analyticsReporter.name();
 
@@ -433,8 +481,11 @@ public class AnalyticsReporterDelegator {
                 final JsonNode analyticsNode = extRequestPrebid != null ? extRequestPrebid.getAnalytics() : null;
 
                 if (analyticsNode != null && analyticsNode.isObject()) {
-                    final ObjectNode adapterNode = Optional.ofNullable((ObjectNode) analyticsNode.get(adapterName))
-                            .orElse(mapper.mapper().createObjectNode());
+                    // node of original request could be shared with other reporters, so it is never modified
+                    final ObjectNode updatedAnalyticsNode = ((ObjectNode) analyticsNode).deepCopy();
+                    final ObjectNode adapterNode =
+                            Optional.ofNullable((ObjectNode) updatedAnalyticsNode.get(adapterName))
+                                    .orElse(mapper.mapper().createObjectNode());
 
                     moduleConfig.fields().forEachRemaining(entry -> {
                         final String fieldName = entry.getKey();
@@ -443,9 +494,9 @@ public class AnalyticsReporterDelegator {
                         }
                     });
 
-                    ((ObjectNode) analyticsNode).set(adapterName, adapterNode);
+                    updatedAnalyticsNode.set(adapterName, adapterNode);
                     final ExtRequestPrebid updatedPrebid = extRequestPrebid.toBuilder()
-                            .analytics(analyticsNode)
+                            .analytics(updatedAnalyticsNode)
                             .build();
                     final ExtRequest updatedExtRequest = ExtRequest.of(updatedPrebid);
                     final BidRequest updatedBidRequest = context.getBidRequest().toBuilder()
@@ -474,4 +525,9 @@ public class AnalyticsReporterDelegator {
 
         return false;
     }
+
+    private record UserDataRestrictions(boolean disallowTransmitUfpd,
+                                        boolean disallowTransmitEids,
+                                        boolean disallowTransmitGeo) {
+    }
 }
@@ -8,14 +8,10 @@ import com.iab.openrtb.request.User;
 import com.iabtcf.decoder.TCString;
 import com.iabtcf.utils.IntIterable;
 import io.netty.handler.codec.http.HttpHeaderValues;
-import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
-import io.vertx.core.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.prebid.server.analytics.AnalyticsReporter;
@@ -24,12 +20,13 @@ import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.VideoEvent;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
+import org.prebid.server.analytics.transport.AnalyticsTransportFactory;
+import org.prebid.server.analytics.transport.BatchFormat;
+import org.prebid.server.analytics.transport.BatchSettings;
+import org.prebid.server.analytics.transport.BatchingAnalyticsTransport;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
-import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
-import org.prebid.server.log.Logger;
-import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.model.PrivacyContext;
@@ -37,68 +34,54 @@ import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.Initializable;
-import org.prebid.server.vertx.httpclient.HttpClient;
-import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
 
 public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
-    private static final Logger logger = LoggerFactory.getLogger(AgmaAnalyticsReporter.class);
-
-    private final String url;
-    private final boolean compressToGzip;
-    private final long bufferTimeoutMs;
-    private final long httpTimeoutMs;
-
-    private final EventBuffer<String> buffer;
+    private final BatchingAnalyticsTransport transport;
 
     private final Map<String, String> accounts;
 
-    private final Vertx vertx;
     private final JacksonMapper jacksonMapper;
-    private final HttpClient httpClient;
     private final Clock clock;
-    private final MultiMap headers;
 
     public AgmaAnalyticsReporter(AgmaAnalyticsProperties agmaAnalyticsProperties,
                                  PrebidVersionProvider prebidVersionProvider,
                                  JacksonMapper jacksonMapper,
                                  Clock clock,
-                                 HttpClient httpClient,
-                                 Vertx vertx) {
+                                 AnalyticsTransportFactory transportFactory) {
 
         this.accounts = agmaAnalyticsProperties.getAccounts();
 
-        this.url = HttpUtil.validateUrl(agmaAnalyticsProperties.getUrl());
-        this.bufferTimeoutMs = agmaAnalyticsProperties.getBufferTimeoutMs();
-        this.httpTimeoutMs = agmaAnalyticsProperties.getHttpTimeoutMs();
-        this.compressToGzip = agmaAnalyticsProperties.isGzip();
-
-        this.buffer = new EventBuffer<>(
+        final String url = HttpUtil.validateUrl(agmaAnalyticsProperties.getUrl());
+        final boolean compressToGzip = agmaAnalyticsProperties.isGzip();
+        final BatchSettings batchSettings = BatchSettings.of(
                 agmaAnalyticsProperties.getMaxEventsCount(),
-                agmaAnalyticsProperties.getBufferSize());
+                agmaAnalyticsProperties.getBufferSize(),
+                agmaAnalyticsProperties.getBufferTimeoutMs(),
+                BatchFormat.JSON_ARRAY,
+                compressToGzip);
+
+        this.transport = transportFactory.create(
+                name(),
+                batchSettings,
+                () -> url,
+                makeHeaders(Objects.requireNonNull(prebidVersionProvider), compressToGzip),
+                agmaAnalyticsProperties.getHttpTimeoutMs());
 
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
-        this.httpClient = Objects.requireNonNull(httpClient);
-        this.vertx = Objects.requireNonNull(vertx);
         this.clock = Objects.requireNonNull(clock);
-        this.headers = makeHeaders(Objects.requireNonNull(prebidVersionProvider));
     }
 
     @Override
     public void initialize(Promise<Void> initializePromise) {
-        vertx.setPeriodic(bufferTimeoutMs, ignored -> sendEvents(buffer.pollAll()));
+        transport.start();
         initializePromise.complete();
     }
 
@@ -150,9 +133,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                         Instant.ofEpochMilli(timeoutContext.getStartTime()), clock.getZone()))
                 .build();
 
-        final String eventString = jacksonMapper.encodeToString(agmaEvent);
-        buffer.put(eventString, eventString.length());
-        sendEvents(buffer.pollToFlush());
+        transport.send(jacksonMapper.encodeToString(agmaEvent));
         return Future.succeededFuture();
     }
 
@@ -207,49 +188,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                 : publisherId;
     }
 
-    private void sendEvents(List<String> events) {
-        if (events.isEmpty()) {
-            return;
-        }
-        final String payload = preparePayload(events);
-        final Future<HttpClientResponse> responseFuture = compressToGzip
-                ? httpClient.request(HttpMethod.POST, url, headers, gzip(payload), httpTimeoutMs)
-                : httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs);
-
-        responseFuture.onComplete(this::handleReportResponse);
-    }
-
-    private static String preparePayload(List<String> events) {
-        return "[" + String.join(",", events) + "]";
-    }
-
-    private static byte[] gzip(String value) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[agmaAnalytics] failed to compress, skip the events : " + e.getMessage());
-        }
-    }
-
-    private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
-        if (result.failed()) {
-            logger.error("[agmaAnalytics] Failed to send events to endpoint {} with a reason: {}",
-                    url, result.cause().getMessage());
-        } else {
-            final HttpClientResponse httpClientResponse = result.result();
-            final int statusCode = httpClientResponse.getStatusCode();
-            if (statusCode != HttpResponseStatus.OK.code()) {
-                logger.error("[agmaAnalytics] Wrong code received {} instead of 200", statusCode);
-            }
-        }
-    }
-
-    private MultiMap makeHeaders(PrebidVersionProvider versionProvider) {
+    private static MultiMap makeHeaders(PrebidVersionProvider versionProvider, boolean compressToGzip) {
         final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
                 .add(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
                 .add(HttpUtil.X_PREBID_HEADER, versionProvider.getNameVersionRecord());
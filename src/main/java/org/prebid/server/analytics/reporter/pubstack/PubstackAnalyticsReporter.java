@@ -16,6 +16,7 @@ import org.prebid.server.analytics.model.VideoEvent;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
+import org.prebid.server.analytics.transport.AnalyticsTransportFactory;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
@@ -52,7 +53,8 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
     public PubstackAnalyticsReporter(PubstackAnalyticsProperties pubstackAnalyticsProperties,
                                      HttpClient httpClient,
                                      JacksonMapper jacksonMapper,
-                                     Vertx vertx) {
+                                     Vertx vertx,
+                                     AnalyticsTransportFactory transportFactory) {
 
         this.configurationRefreshDelay =
                 Objects.requireNonNull(pubstackAnalyticsProperties.getConfigurationRefreshDelayMs());
@@ -61,26 +63,25 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.vertx = Objects.requireNonNull(vertx);
 
-        this.eventHandlers = createEventHandlers(pubstackAnalyticsProperties, httpClient, jacksonMapper, vertx);
+        this.eventHandlers = createEventHandlers(pubstackAnalyticsProperties, jacksonMapper, transportFactory);
         this.pubstackConfig = PubstackConfig.of(pubstackAnalyticsProperties.getScopeId(),
                 pubstackAnalyticsProperties.getEndpoint(), Collections.emptyMap());
     }
 
     private static Map<EventType, PubstackEventHandler> createEventHandlers(
             PubstackAnalyticsProperties pubstackAnalyticsProperties,
-            HttpClient httpClient,
             JacksonMapper jacksonMapper,
-            Vertx vertx) {
+            AnalyticsTransportFactory transportFactory) {
 
         return Arrays.stream(EventType.values())
                 .collect(Collectors.toMap(Function.identity(),
                         eventType -> new PubstackEventHandler(
                                 pubstackAnalyticsProperties,
+                                eventType,
                                 false,
                                 buildEventEndpointUrl(pubstackAnalyticsProperties.getEndpoint(), eventType),
                                 jacksonMapper,
-                                httpClient,
-                                vertx)));
+                                transportFactory)));
     }
 
     private static String buildEventEndpointUrl(String endpoint, EventType eventType) {
@@ -118,6 +119,7 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
 
     @Override
     public void initialize(Promise<Void> initializePromise) {
+        eventHandlers.values().forEach(PubstackEventHandler::start);
         vertx.setPeriodic(configurationRefreshDelay, id -> fetchRemoteConfig());
         fetchRemoteConfig();
         initializePromise.tryComplete();
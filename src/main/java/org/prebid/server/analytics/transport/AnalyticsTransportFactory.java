@@ -0,0 +1,107 @@
+package org.prebid.server.analytics.transport;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link BatchingAnalyticsTransport}s sharing the same retry, memory and spill settings.
+ */
+public class AnalyticsTransportFactory {
+
+    private final TransportSettings transportSettings;
+    private final Vertx vertx;
+    private final HttpClient httpClient;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    public AnalyticsTransportFactory(RetryPolicy retryPolicy,
+                                     int maxRetries,
+                                     long maxPendingBytes,
+                                     String spillDir,
+                                     long maxSpilledBytes,
+                                     long spillRetentionMs,
+                                     Vertx vertx,
+                                     HttpClient httpClient,
+                                     Metrics metrics,
+                                     Clock clock) {
+
+        this.transportSettings = new TransportSettings(
+                Objects.requireNonNull(retryPolicy),
+                maxRetries,
+                maxPendingBytes,
+                spillDir,
+                maxSpilledBytes,
+                spillRetentionMs);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Creates transport of given reporter, posting batches to the endpoint returned by given supplier.
+     */
+    public BatchingAnalyticsTransport create(String reporterName,
+                                             BatchSettings batchSettings,
+                                             Supplier<String> endpointSupplier,
+                                             MultiMap headers,
+                                             long timeoutMs) {
+
+        return create(reporterName, batchSettings, endpointSupplier, headers, timeoutMs, 1);
+    }
+
+    /**
+     * Creates one of the given count of transports used by the same reporter. Each transport gets its own equal
+     * share of memory and disk limits, so the reporter as a whole stays within them.
+     */
+    public BatchingAnalyticsTransport create(String transportName,
+                                             BatchSettings batchSettings,
+                                             Supplier<String> endpointSupplier,
+                                             MultiMap headers,
+                                             long timeoutMs,
+                                             int transportsCount) {
+
+        if (transportsCount < 1) {
+            throw new IllegalArgumentException("Transports count must be positive: " + transportsCount);
+        }
+
+        return new BatchingAnalyticsTransport(
+                transportName,
+                batchSettings,
+                endpointSupplier,
+                headers,
+                timeoutMs,
+                transportSettings.split(transportsCount),
+                vertx,
+                httpClient,
+                metrics,
+                clock);
+    }
+
+    record TransportSettings(RetryPolicy retryPolicy,
+                             int maxRetries,
+                             long maxPendingBytes,
+                             String spillDir,
+                             long maxSpilledBytes,
+                             long spillRetentionMs) {
+
+        TransportSettings split(int parts) {
+            return parts == 1
+                    ? this
+                    : new TransportSettings(
+                            retryPolicy,
+                            maxRetries,
+                            maxPendingBytes / parts,
+                            spillDir,
+                            maxSpilledBytes / parts,
+                            spillRetentionMs);
+        }
+    }
+}
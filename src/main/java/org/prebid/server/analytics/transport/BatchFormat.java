@@ -0,0 +1,34 @@
+package org.prebid.server.analytics.transport;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Framing of events in the payload of a batch.
+ */
+public enum BatchFormat {
+
+    JSON_ARRAY("[", ",", "]"),
+    NEWLINE_DELIMITED("", "\n", "");
+
+    private final byte[] prefix;
+    private final byte[] delimiter;
+    private final byte[] suffix;
+
+    BatchFormat(String prefix, String delimiter, String suffix) {
+        this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.delimiter = delimiter.getBytes(StandardCharsets.UTF_8);
+        this.suffix = suffix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] prefix() {
+        return prefix;
+    }
+
+    byte[] delimiter() {
+        return delimiter;
+    }
+
+    byte[] suffix() {
+        return suffix;
+    }
+}
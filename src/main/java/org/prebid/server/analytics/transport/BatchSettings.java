@@ -0,0 +1,29 @@
+package org.prebid.server.analytics.transport;
+
+import lombok.Value;
+
+/**
+ * Defines when buffered events of a reporter are sent and how they are encoded.
+ */
+@Value(staticConstructor = "of")
+public class BatchSettings {
+
+    /**
+     * Batch is sent as soon as this number of events is buffered.
+     */
+    long maxEvents;
+
+    /**
+     * Batch is sent as soon as events of this total size in bytes are buffered.
+     */
+    long maxBytes;
+
+    /**
+     * Max period in milliseconds between sending of buffered events.
+     */
+    long maxDelayMs;
+
+    BatchFormat format;
+
+    boolean gzip;
+}
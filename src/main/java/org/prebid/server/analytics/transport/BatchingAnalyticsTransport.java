@@ -0,0 +1,344 @@
+package org.prebid.server.analytics.transport;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.execution.retry.Retryable;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends events of analytics reporter to its HTTP endpoint in batches.
+ * <p>
+ * Events are buffered until the batch is full or its max delay passes, then encoded, optionally compressed,
+ * and posted. Failed batches are retried according to the retry policy. Memory taken by batches being sent
+ * or waiting for retry is bounded: batches exceeding the limit are spilled to disk, if configured, and sent
+ * when memory is available again, or dropped otherwise. Batches spilled before restart are picked up on start.
+ * <p>
+ * Can be used from any thread.
+ */
+public class BatchingAnalyticsTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingAnalyticsTransport.class);
+
+    private static final String SPILL_FILE_SUFFIX = ".batch";
+
+    private final String name;
+    private final BatchSettings batchSettings;
+    private final Supplier<String> endpointSupplier;
+    private final MultiMap headers;
+    private final long timeoutMs;
+    private final AnalyticsTransportFactory.TransportSettings transportSettings;
+    private final Vertx vertx;
+    private final HttpClient httpClient;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final EventBuffer<byte[]> buffer;
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final ConcurrentLinkedDeque<SpilledBatch> spilledBatches = new ConcurrentLinkedDeque<>();
+
+    BatchingAnalyticsTransport(String name,
+                               BatchSettings batchSettings,
+                               Supplier<String> endpointSupplier,
+                               MultiMap headers,
+                               long timeoutMs,
+                               AnalyticsTransportFactory.TransportSettings transportSettings,
+                               Vertx vertx,
+                               HttpClient httpClient,
+                               Metrics metrics,
+                               Clock clock) {
+
+        this.name = Objects.requireNonNull(name);
+        this.batchSettings = Objects.requireNonNull(batchSettings);
+        this.endpointSupplier = Objects.requireNonNull(endpointSupplier);
+        this.headers = Objects.requireNonNull(headers);
+        this.timeoutMs = timeoutMs;
+        this.transportSettings = Objects.requireNonNull(transportSettings);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        buffer = new EventBuffer<>(batchSettings.getMaxEvents(), batchSettings.getMaxBytes());
+    }
+
+    /**
+     * Starts sending of buffered events after the max delay of the batch.
+     */
+    public void start() {
+        start(() -> true);
+    }
+
+    /**
+     * Starts sending of buffered events after the max delay of the batch, skipping it while given condition
+     * doesn't hold.
+     */
+    public void start(BooleanSupplier flushCondition) {
+        recoverSpilledBatches(flushCondition);
+
+        vertx.setPeriodic(batchSettings.getMaxDelayMs(), ignored -> {
+            if (flushCondition.getAsBoolean()) {
+                flush();
+            }
+        });
+    }
+
+    public void send(String event) {
+        final byte[] eventBytes = event.getBytes(StandardCharsets.UTF_8);
+        buffer.put(eventBytes, eventBytes.length);
+        submit(buffer.pollToFlush());
+    }
+
+    /**
+     * Sends all buffered events regardless of the batch limits.
+     */
+    public void flush() {
+        submit(buffer.pollAll());
+        restoreSpilledBatches();
+    }
+
+    private void submit(List<byte[]> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final byte[] payload;
+        try {
+            payload = encode(events);
+        } catch (PreBidException e) {
+            logger.error("[{}] Failed to encode events: {}", name, e.getMessage());
+            metrics.updateAnalyticsTransportMetric(name, MetricName.err);
+            return;
+        }
+
+        dispatch(payload);
+    }
+
+    private byte[] encode(List<byte[]> events) {
+        final BatchFormat format = batchSettings.getFormat();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream stream = batchSettings.isGzip() ? new GZIPOutputStream(output) : output) {
+            stream.write(format.prefix());
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    stream.write(format.delimiter());
+                }
+                stream.write(events.get(i));
+            }
+            stream.write(format.suffix());
+        } catch (IOException e) {
+            throw new PreBidException("Failed to compress events: " + e.getMessage());
+        }
+
+        return output.toByteArray();
+    }
+
+    private void dispatch(byte[] payload) {
+        if (pendingBytes.addAndGet(payload.length) > transportSettings.maxPendingBytes()) {
+            pendingBytes.addAndGet(-payload.length);
+            spill(payload);
+            return;
+        }
+
+        post(payload, transportSettings.retryPolicy(), 0);
+    }
+
+    private void post(byte[] payload, RetryPolicy retryPolicy, int retries) {
+        httpClient.request(HttpMethod.POST, endpointSupplier.get(), headers, payload, timeoutMs)
+                .onComplete(result -> handleResponse(result, payload, retryPolicy, retries));
+    }
+
+    private void handleResponse(AsyncResult<HttpClientResponse> result,
+                                byte[] payload,
+                                RetryPolicy retryPolicy,
+                                int retries) {
+
+        final int statusCode = result.succeeded() ? result.result().getStatusCode() : 0;
+        if (statusCode >= 200 && statusCode < 300) {
+            release(payload, MetricName.ok);
+            restoreSpilledBatches();
+            return;
+        }
+
+        if (result.failed()) {
+            logger.error("[{}] Failed to send events to endpoint {} with a reason: {}",
+                    name, endpointSupplier.get(), result.cause().getMessage());
+        } else {
+            logger.error("[{}] Wrong code received {} instead of 200", name, statusCode);
+        }
+
+        final boolean retriable = statusCode == 0
+                || statusCode == HttpResponseStatus.TOO_MANY_REQUESTS.code()
+                || statusCode >= 500;
+        if (retriable && retryPolicy instanceof Retryable retryable && retries < transportSettings.maxRetries()) {
+            metrics.updateAnalyticsTransportMetric(name, MetricName.retried);
+            vertx.setTimer(retryable.delay(), ignored -> post(payload, retryable.next(), retries + 1));
+        } else {
+            release(payload, MetricName.err);
+        }
+    }
+
+    private void release(byte[] payload, MetricName result) {
+        pendingBytes.addAndGet(-payload.length);
+        metrics.updateAnalyticsTransportMetric(name, result);
+    }
+
+    private void spill(byte[] payload) {
+        final String spillDir = transportSettings.spillDir();
+        if (spillDir == null) {
+            drop(payload, "memory limit reached");
+            return;
+        }
+        if (spilledBytes.addAndGet(payload.length) > transportSettings.maxSpilledBytes()) {
+            spilledBytes.addAndGet(-payload.length);
+            drop(payload, "memory and disk limits reached");
+            return;
+        }
+
+        final FileSystem fileSystem = vertx.fileSystem();
+        fileSystem.createTempFile(spillDir, name + "-", SPILL_FILE_SUFFIX, (String) null)
+                .compose(path -> fileSystem.writeFile(path, Buffer.buffer(payload)).map(path))
+                .onSuccess(path -> {
+                    spilledBatches.add(new SpilledBatch(path, payload.length));
+                    metrics.updateAnalyticsTransportMetric(name, MetricName.spilled);
+                })
+                .onFailure(exception -> {
+                    spilledBytes.addAndGet(-payload.length);
+                    drop(payload, "failed to spill it to disk: " + exception.getMessage());
+                });
+    }
+
+    private void drop(byte[] payload, String reason) {
+        logger.warn("[{}] Batch of {} bytes has been dropped: {}", name, payload.length, reason);
+        metrics.updateAnalyticsTransportMetric(name, MetricName.dropped);
+    }
+
+    /**
+     * Sends spilled batches in order of spilling, while they fit into memory. The batch larger than the whole
+     * memory limit is sent anyway once nothing else is pending, otherwise it would never leave the disk.
+     */
+    private void restoreSpilledBatches() {
+        SpilledBatch spilledBatch;
+        while ((spilledBatch = spilledBatches.poll()) != null) {
+            final long size = spilledBatch.size();
+            final long pending = pendingBytes.addAndGet(size);
+            if (pending > transportSettings.maxPendingBytes() && pending != size) {
+                pendingBytes.addAndGet(-size);
+                spilledBatches.offerFirst(spilledBatch);
+                return;
+            }
+
+            restoreSpilledBatch(spilledBatch);
+        }
+    }
+
+    private void restoreSpilledBatch(SpilledBatch spilledBatch) {
+        final FileSystem fileSystem = vertx.fileSystem();
+        fileSystem.readFile(spilledBatch.path()).onComplete(result -> {
+            spilledBytes.addAndGet(-spilledBatch.size());
+            fileSystem.delete(spilledBatch.path());
+
+            if (result.succeeded()) {
+                post(result.result().getBytes(), transportSettings.retryPolicy(), 0);
+            } else {
+                pendingBytes.addAndGet(-spilledBatch.size());
+                logger.warn("[{}] Failed to restore spilled batch: {}", name, result.cause().getMessage());
+                metrics.updateAnalyticsTransportMetric(name, MetricName.dropped);
+            }
+        });
+    }
+
+    /**
+     * Finds batches spilled by transport of the same name before restart and puts them in front of the spilled
+     * ones. Batches older than the retention period or exceeding the disk limit are deleted, the latest ones
+     * are kept first.
+     */
+    private void recoverSpilledBatches(BooleanSupplier restoreCondition) {
+        final String spillDir = transportSettings.spillDir();
+        if (spillDir == null) {
+            return;
+        }
+
+        // temp file names consist of the prefix, random digits and the suffix
+        final String spillFileRegex = Pattern.quote(name + "-") + "\\d+" + Pattern.quote(SPILL_FILE_SUFFIX);
+
+        final FileSystem fileSystem = vertx.fileSystem();
+        fileSystem.readDir(spillDir, spillFileRegex)
+                .compose(paths -> Future.all(paths.stream()
+                        .map(path -> fileSystem.props(path).map(props -> SpilledFile.of(path, props)).otherwiseEmpty())
+                        .toList()))
+                .onSuccess(result -> {
+                    recoverSpilledFiles(result.<SpilledFile>list());
+                    if (restoreCondition.getAsBoolean()) {
+                        restoreSpilledBatches();
+                    }
+                })
+                .onFailure(exception -> logger.warn("[{}] Failed to recover spilled batches from {}: {}",
+                        name, spillDir, exception.getMessage()));
+    }
+
+    private void recoverSpilledFiles(List<SpilledFile> spilledFiles) {
+        final long now = clock.millis();
+        spilledFiles.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(SpilledFile::lastModifiedTime).reversed())
+                .forEach(spilledFile -> recoverSpilledFile(spilledFile, now));
+    }
+
+    private void recoverSpilledFile(SpilledFile spilledFile, long now) {
+        final long size = spilledFile.size();
+        if (now - spilledFile.lastModifiedTime() > transportSettings.spillRetentionMs()) {
+            deleteSpilledFile(spilledFile, "retention period expired");
+        } else if (spilledBytes.addAndGet(size) > transportSettings.maxSpilledBytes()) {
+            spilledBytes.addAndGet(-size);
+            deleteSpilledFile(spilledFile, "disk limit reached");
+        } else {
+            spilledBatches.offerFirst(new SpilledBatch(spilledFile.path(), size));
+        }
+    }
+
+    private void deleteSpilledFile(SpilledFile spilledFile, String reason) {
+        vertx.fileSystem().delete(spilledFile.path());
+        logger.warn("[{}] Batch spilled to {} has been dropped: {}", name, spilledFile.path(), reason);
+        metrics.updateAnalyticsTransportMetric(name, MetricName.dropped);
+    }
+
+    private record SpilledBatch(String path, long size) {
+    }
+
+    private record SpilledFile(String path, long size, long lastModifiedTime) {
+
+        static SpilledFile of(String path, FileProps props) {
+            return new SpilledFile(path, props.size(), props.lastModifiedTime());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.prebid.server.analytics.transport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free buffer of events, put concurrently from many threads.
+ * <p>
+ * Events are kept in stripes, chosen by the putting thread, so event loops mostly do not contend with each other.
+ * Each stripe is a linked stack, that is updated with a single CAS on put and detached as a whole on poll.
+ * Events of the same thread are polled in order they were put, events of different threads may be interleaved.
+ */
+public class EventBuffer<T> {
+
+    // keeps heads of different stripes in different cache lines
+    private static final int STRIPE_SPACING = 16;
+
+    private final long maxEvents;
+    private final long maxBytes;
+
+    private final int stripeMask;
+    private final AtomicReferenceArray<Node<T>> stripes;
+
+    public EventBuffer(long maxEvents, long maxBytes) {
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+
+        final int stripesCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+        this.stripeMask = stripesCount - 1;
+        this.stripes = new AtomicReferenceArray<>(stripesCount * STRIPE_SPACING);
+    }
+
+    public void put(T event, long eventSize) {
+        final int index = stripeIndex();
+
+        Node<T> head;
+        do {
+            head = stripes.get(index);
+        } while (!stripes.compareAndSet(index, head, new Node<>(event, eventSize, head)));
+    }
+
+    public List<T> pollToFlush() {
+        long events = 0;
+        long bytes = 0;
+        for (int i = 0; i <= stripeMask; i++) {
+            final Node<T> head = stripes.get(i * STRIPE_SPACING);
+            if (head != null) {
+                events += head.count;
+                bytes += head.byteSize;
+            }
+        }
+
+        return events >= maxEvents || bytes >= maxBytes ? pollAll() : Collections.emptyList();
+    }
+
+    public List<T> pollAll() {
+        List<T> polled = null;
+        for (int i = 0; i <= stripeMask; i++) {
+            final Node<T> head = stripes.getAndSet(i * STRIPE_SPACING, null);
+            if (head == null) {
+                continue;
+            }
+
+            if (polled == null) {
+                polled = new ArrayList<>();
+            }
+            addInPutOrder(head, polled);
+        }
+
+        return polled != null ? polled : new ArrayList<>();
+    }
+
+    private int stripeIndex() {
+        return ((int) Thread.currentThread().threadId() & stripeMask) * STRIPE_SPACING;
+    }
+
+    private static <T> void addInPutOrder(Node<T> head, List<T> target) {
+        final int start = target.size();
+        for (Node<T> node = head; node != null; node = node.next) {
+            target.add(node.event);
+        }
+        Collections.reverse(target.subList(start, target.size()));
+    }
+
+    private static class Node<T> {
+
+        private final T event;
+        private final Node<T> next;
+        private final long count;
+        private final long byteSize;
+
+        Node(T event, long eventSize, Node<T> next) {
+            this.event = event;
+            this.next = next;
+            this.count = next != null ? next.count + 1 : 1;
+            this.byteSize = next != null ? next.byteSize + eventSize : eventSize;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import io.vertx.core.Future;
 import org.prebid.server.auction.gpp.model.GppContext;
 import org.prebid.server.auction.gpp.model.GppContextCreator;
 import org.prebid.server.auction.gpp.model.GppContextWrapper;
+import org.prebid.server.auction.gpp.model.GppModelCache;
 import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.gpp.model.privacy.UspV1Privacy;
 import org.prebid.server.auction.model.AuctionContext;
@@ -21,9 +22,11 @@ import java.util.Optional;
 public class AuctionGppService {
 
     private final GppService gppService;
+    private final GppModelCache gppModelCache;
 
-    public AuctionGppService(GppService gppService) {
+    public AuctionGppService(GppService gppService, GppModelCache gppModelCache) {
         this.gppService = Objects.requireNonNull(gppService);
+        this.gppModelCache = Objects.requireNonNull(gppModelCache);
     }
 
     public Future<GppContext> contextFrom(AuctionContext auctionContext) {
@@ -35,7 +38,7 @@ public class AuctionGppService {
         return Future.succeededFuture(gppContextWrapper.getGppContext());
     }
 
-    private static GppContextWrapper contextFrom(BidRequest bidRequest) {
+    private GppContextWrapper contextFrom(BidRequest bidRequest) {
         final Regs regs = bidRequest.getRegs();
 
         final String gpp = regs != null ? regs.getGpp() : null;
@@ -46,7 +49,7 @@ public class AuctionGppService {
 
         final String usPrivacy = usPrivacy(regs);
 
-        return GppContextCreator.from(gpp, gppSid)
+        return GppContextCreator.from(gpp, gppSid, gppModelCache)
                 .with(TcfEuV2Privacy.of(gdpr, consent))
                 .with(UspV1Privacy.of(usPrivacy))
                 .build();
@@ -3,6 +3,7 @@ package org.prebid.server.auction.gpp;
 import org.prebid.server.auction.gpp.model.GppContext;
 import org.prebid.server.auction.gpp.model.GppContextCreator;
 import org.prebid.server.auction.gpp.model.GppContextWrapper;
+import org.prebid.server.auction.gpp.model.GppModelCache;
 import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.gpp.model.privacy.UspV1Privacy;
 import org.prebid.server.cookie.model.CookieSyncContext;
@@ -15,9 +16,11 @@ import java.util.Objects;
 public class CookieSyncGppService {
 
     private final GppService gppService;
+    private final GppModelCache gppModelCache;
 
-    public CookieSyncGppService(GppService gppService) {
+    public CookieSyncGppService(GppService gppService, GppModelCache gppModelCache) {
         this.gppService = Objects.requireNonNull(gppService);
+        this.gppModelCache = Objects.requireNonNull(gppModelCache);
     }
 
     public GppContext contextFrom(CookieSyncContext cookieSyncContext) {
@@ -29,7 +32,7 @@ public class CookieSyncGppService {
         return gppContextWrapper.getGppContext();
     }
 
-    private static GppContextWrapper contextFrom(CookieSyncRequest cookieSyncRequest) {
+    private GppContextWrapper contextFrom(CookieSyncRequest cookieSyncRequest) {
         final String gpp = cookieSyncRequest.getGpp();
         final List<Integer> gppSid = cookieSyncRequest.getGppSid();
 
@@ -38,7 +41,7 @@ public class CookieSyncGppService {
 
         final String usPrivacy = cookieSyncRequest.getUsPrivacy();
 
-        return GppContextCreator.from(gpp, gppSid)
+        return GppContextCreator.from(gpp, gppSid, gppModelCache)
                 .with(TcfEuV2Privacy.of(gdpr, consent))
                 .with(UspV1Privacy.of(usPrivacy))
                 .build();
@@ -10,6 +10,7 @@ import org.prebid.server.exception.PreBidException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 public class GppContextCreator {
 
@@ -17,11 +18,22 @@ public class GppContextCreator {
     }
 
     public static GppContextBuilder from(String gpp, List<Integer> gppSid) {
+        return from(gpp, gppSid, GppContextUtils::gppModel);
+    }
+
+    public static GppContextBuilder from(String gpp, List<Integer> gppSid, GppModelCache gppModelCache) {
+        return from(gpp, gppSid, gppModelCache::gppModel);
+    }
+
+    private static GppContextBuilder from(String gpp,
+                                          List<Integer> gppSid,
+                                          Function<String, GppModel> gppModelResolver) {
+
         final List<String> errors = new ArrayList<>();
 
         GppModel gppModel;
         try {
-            gppModel = GppContextUtils.gppModel(gpp);
+            gppModel = gppModelResolver.apply(gpp);
         } catch (PreBidException e) {
             gppModel = null;
             errors.add(e.getMessage());
@@ -1,6 +1,5 @@
 package org.prebid.server.auction.gpp.model;
 
-import com.iab.gpp.encoder.GppModel;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.gpp.model.privacy.Privacy;
 import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
@@ -12,7 +11,7 @@ class GppContextUtils {
     private GppContextUtils() {
     }
 
-    static GppModel gppModel(String gpp) {
+    static GppModelWrapper gppModel(String gpp) {
         if (StringUtils.isEmpty(gpp)) {
             return null;
         }
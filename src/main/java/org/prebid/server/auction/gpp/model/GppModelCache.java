@@ -0,0 +1,51 @@
+package org.prebid.server.auction.gpp.model;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.gpp.encoder.GppModel;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+
+/**
+ * Keeps decoded GPP models keyed by the raw GPP string, so the same string coming with auction, cookie sync
+ * and setuid requests is decoded only once.
+ * <p>
+ * Only models with all sections decoded upfront are cached, since lazy decoding is not thread-safe.
+ * Others are returned to the caller and decoded on demand, as without cache.
+ */
+public class GppModelCache {
+
+    private final Metrics metrics;
+    private final Cache<String, GppModel> cache;
+
+    public GppModelCache(int cacheSize, Metrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+
+        cache = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).build()
+                : null;
+    }
+
+    GppModel gppModel(String gpp) {
+        if (cache == null || StringUtils.isEmpty(gpp)) {
+            return GppContextUtils.gppModel(gpp);
+        }
+
+        final GppModel cachedGppModel = cache.getIfPresent(gpp);
+        if (cachedGppModel != null) {
+            metrics.updatePrivacyGppModelCacheHitMetric();
+            return cachedGppModel;
+        }
+
+        metrics.updatePrivacyGppModelCacheMissMetric();
+
+        final GppModelWrapper gppModel = GppContextUtils.gppModel(gpp);
+        if (gppModel.decodeSections()) {
+            cache.put(gpp, gppModel);
+        }
+
+        return gppModel;
+    }
+}
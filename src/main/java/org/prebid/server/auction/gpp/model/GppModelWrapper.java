@@ -3,17 +3,98 @@ package org.prebid.server.auction.gpp.model;
 import com.iab.gpp.encoder.GppModel;
 import com.iab.gpp.encoder.error.DecodingException;
 import com.iab.gpp.encoder.error.EncodingException;
+import com.iab.gpp.encoder.field.TcfCaV1Field;
+import com.iab.gpp.encoder.field.TcfEuV2Field;
+import com.iab.gpp.encoder.field.UsCaField;
+import com.iab.gpp.encoder.field.UsCoField;
+import com.iab.gpp.encoder.field.UsCtField;
+import com.iab.gpp.encoder.field.UsDeField;
+import com.iab.gpp.encoder.field.UsFlField;
+import com.iab.gpp.encoder.field.UsIaField;
+import com.iab.gpp.encoder.field.UsMtField;
+import com.iab.gpp.encoder.field.UsNatField;
+import com.iab.gpp.encoder.field.UsNeField;
+import com.iab.gpp.encoder.field.UsNhField;
+import com.iab.gpp.encoder.field.UsNjField;
+import com.iab.gpp.encoder.field.UsOrField;
+import com.iab.gpp.encoder.field.UsTnField;
+import com.iab.gpp.encoder.field.UsTxField;
+import com.iab.gpp.encoder.field.UsUtField;
+import com.iab.gpp.encoder.field.UsVaField;
+import com.iab.gpp.encoder.field.UspV1Field;
+import com.iab.gpp.encoder.section.EncodableSection;
 import com.iab.gpp.encoder.section.HeaderV1;
+import com.iab.gpp.encoder.section.TcfCaV1;
+import com.iab.gpp.encoder.section.TcfEuV2;
+import com.iab.gpp.encoder.section.UsCa;
+import com.iab.gpp.encoder.section.UsCo;
+import com.iab.gpp.encoder.section.UsCt;
+import com.iab.gpp.encoder.section.UsDe;
+import com.iab.gpp.encoder.section.UsFl;
+import com.iab.gpp.encoder.section.UsIa;
+import com.iab.gpp.encoder.section.UsMt;
+import com.iab.gpp.encoder.section.UsNat;
+import com.iab.gpp.encoder.section.UsNe;
+import com.iab.gpp.encoder.section.UsNh;
+import com.iab.gpp.encoder.section.UsNj;
+import com.iab.gpp.encoder.section.UsOr;
+import com.iab.gpp.encoder.section.UsTn;
+import com.iab.gpp.encoder.section.UsTx;
+import com.iab.gpp.encoder.section.UsUt;
+import com.iab.gpp.encoder.section.UsVa;
+import com.iab.gpp.encoder.section.UspV1;
 import io.netty.util.collection.IntObjectHashMap;
 import io.netty.util.collection.IntObjectMap;
 
 import java.util.List;
+import java.util.Map;
 
 public class GppModelWrapper extends GppModel {
 
     private static final int TCF_EU_V2_ID = 2;
     private static final int USP_V1_ID = 6;
 
+    private static final Map<Integer, List<List<String>>> SECTION_ID_TO_SEGMENTS_FIELD_NAMES = Map.ofEntries(
+            Map.entry(TcfEuV2.ID, List.of(
+                    TcfEuV2Field.TCFEUV2_CORE_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_PUBLISHER_PURPOSES_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_VENDORS_ALLOWED_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_VENDORS_DISCLOSED_SEGMENT_FIELD_NAMES)),
+            Map.entry(TcfCaV1.ID, List.of(
+                    TcfCaV1Field.TCFCAV1_CORE_SEGMENT_FIELD_NAMES,
+                    TcfCaV1Field.TCFCAV1_PUBLISHER_PURPOSES_SEGMENT_FIELD_NAMES,
+                    TcfCaV1Field.TCFCAV1_DISCLOSED_VENDORS_SEGMENT_FIELD_NAMES)),
+            Map.entry(UspV1.ID, List.of(UspV1Field.USPV1_CORE_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsNat.ID, List.of(
+                    UsNatField.USNAT_CORE_SEGMENT_FIELD_NAMES, UsNatField.USNAT_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsCa.ID, List.of(
+                    UsCaField.USCA_CORE_SEGMENT_FIELD_NAMES, UsCaField.USCA_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsVa.ID, List.of(UsVaField.USVA_CORE_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsCo.ID, List.of(
+                    UsCoField.USCO_CORE_SEGMENT_FIELD_NAMES, UsCoField.USCO_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsUt.ID, List.of(UsUtField.USUT_CORE_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsCt.ID, List.of(
+                    UsCtField.USCT_CORE_SEGMENT_FIELD_NAMES, UsCtField.USCT_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsFl.ID, List.of(UsFlField.USFL_CORE_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsMt.ID, List.of(
+                    UsMtField.USMT_CORE_SEGMENT_FIELD_NAMES, UsMtField.USMT_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsOr.ID, List.of(
+                    UsOrField.USOR_CORE_SEGMENT_FIELD_NAMES, UsOrField.USOR_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsTx.ID, List.of(
+                    UsTxField.USTX_CORE_SEGMENT_FIELD_NAMES, UsTxField.USTX_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsDe.ID, List.of(
+                    UsDeField.USDE_CORE_SEGMENT_FIELD_NAMES, UsDeField.USDE_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsIa.ID, List.of(
+                    UsIaField.USIA_CORE_SEGMENT_FIELD_NAMES, UsIaField.USIA_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsNe.ID, List.of(
+                    UsNeField.USNE_CORE_SEGMENT_FIELD_NAMES, UsNeField.USNE_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsNh.ID, List.of(
+                    UsNhField.USNH_CORE_SEGMENT_FIELD_NAMES, UsNhField.USNH_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsNj.ID, List.of(
+                    UsNjField.USNJ_CORE_SEGMENT_FIELD_NAMES, UsNjField.USNJ_GPC_SEGMENT_FIELD_NAMES)),
+            Map.entry(UsTn.ID, List.of(
+                    UsTnField.USTN_CORE_SEGMENT_FIELD_NAMES, UsTnField.USTN_GPC_SEGMENT_FIELD_NAMES)));
+
     private IntObjectMap<String> sectionIdToEncodedString;
 
     public GppModelWrapper(String encodedString) throws DecodingException {
@@ -43,6 +124,40 @@ public class GppModelWrapper extends GppModel {
         }
     }
 
+    /**
+     * Decodes all sections of the model upfront.
+     * <p>
+     * Sections are decoded lazily on first access, which mutates them without synchronization, so the model can be
+     * shared between requests only after this method returned {@code true}. Returns {@code false} if some section
+     * is unknown or malformed, leaving it to be decoded lazily, as usual.
+     */
+    public boolean decodeSections() {
+        try {
+            for (Integer sectionId : getSectionIds()) {
+                if (!decodeSegments(sectionId)) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean decodeSegments(Integer sectionId) {
+        final List<List<String>> segmentsFieldNames = SECTION_ID_TO_SEGMENTS_FIELD_NAMES.get(sectionId);
+        final EncodableSection section = segmentsFieldNames != null ? getSection(sectionId) : null;
+        if (section == null) {
+            return false;
+        }
+
+        for (List<String> fieldNames : segmentsFieldNames) {
+            fieldNames.forEach(section::getFieldValue);
+        }
+        return true;
+    }
+
     @Override
     public String encodeSection(int sectionId) throws EncodingException {
         final String originalSectionString = sectionIdToEncodedString.get(sectionId);
@@ -0,0 +1,246 @@
+package org.prebid.server.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.cache.proto.response.bid.BidCacheResponse;
+import org.prebid.server.cache.proto.response.bid.CacheObject;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects Prebid Cache requests made by concurrent auctions within a short window
+ * and sends them to the cache service as a single request.
+ * <p>
+ * Requests are batched per url and set of headers. Batch is flushed when the window elapses or when the number
+ * of collected put objects reaches the max batch size, whichever happens first. Batched request is sent with
+ * the longest timeout remaining among the batched requests, so no auction has its cache write cut short by another
+ * one. Each caller whose own timeout expires earlier fails with timeout at that moment, so no auction waits
+ * for the cache longer than it would without batching. Each caller receives response with only its own cache
+ * objects, in the order of its put objects.
+ * <p>
+ * Requests with timeout not exceeding the window, or with number of put objects reaching the max batch size,
+ * are sent immediately.
+ */
+public class BidCacheRequestBatcher {
+
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Clock clock;
+    private final JacksonMapper mapper;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<BatchKey, Batch> pendingBatches = new HashMap<>();
+
+    public BidCacheRequestBatcher(HttpClient httpClient,
+                                  Vertx vertx,
+                                  Clock clock,
+                                  JacksonMapper mapper,
+                                  long windowMs,
+                                  int maxBatchSize) {
+
+        if (windowMs < 1) {
+            throw new IllegalArgumentException("Batching window must be positive");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sends given request to the cache service, possibly together with requests of other auctions
+     * made to the same url with the same headers.
+     */
+    public Future<HttpClientResponse> post(String url, MultiMap headers, BidCacheRequest request, long timeout) {
+        final List<BidPutObject> puts = request.getPuts();
+        if (timeout <= windowMs || puts.size() >= maxBatchSize) {
+            return httpClient.post(url, headers, mapper.encodeToString(request), timeout);
+        }
+
+        final BatchKey key = BatchKey.of(url, headers);
+        final Promise<HttpClientResponse> promise = Promise.promise();
+        final Batch batchToFlush;
+
+        lock.lock();
+        try {
+            Batch batch = pendingBatches.get(key);
+            if (batch == null) {
+                batch = new Batch(key, headers);
+                pendingBatches.put(key, batch);
+
+                final Batch newBatch = batch;
+                batch.timerId = vertx.setTimer(windowMs, ignored -> onWindowElapsed(newBatch));
+            }
+
+            batch.add(new BatchEntry(puts, clock.millis() + timeout, promise));
+
+            if (batch.size >= maxBatchSize) {
+                pendingBatches.remove(key);
+                vertx.cancelTimer(batch.timerId);
+                batchToFlush = batch;
+            } else {
+                batchToFlush = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batchToFlush != null) {
+            flush(batchToFlush);
+        }
+
+        return promise.future();
+    }
+
+    private void onWindowElapsed(Batch batch) {
+        lock.lock();
+        try {
+            // batch could have been already flushed due to its size
+            if (!pendingBatches.remove(batch.key, batch)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        flush(batch);
+    }
+
+    private void flush(Batch batch) {
+        final long now = clock.millis();
+        final List<BatchEntry> entries = new ArrayList<>(batch.entries.size());
+        for (BatchEntry entry : batch.entries) {
+            if (entry.deadline > now) {
+                entries.add(entry);
+            } else {
+                entry.promise.fail(new TimeoutException("Timeout has been exceeded"));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final long latestDeadline = latestDeadline(entries);
+        for (BatchEntry entry : entries) {
+            if (entry.deadline < latestDeadline) {
+                expireAtDeadline(entry, now);
+            }
+        }
+
+        final List<BidPutObject> puts = new ArrayList<>(batch.size);
+        entries.forEach(entry -> puts.addAll(entry.puts));
+
+        final String body = mapper.encodeToString(BidCacheRequest.of(puts));
+        httpClient.post(batch.key.url(), batch.headers, body, latestDeadline - now)
+                .onSuccess(response -> completeEntries(entries, response, puts.size()))
+                .onFailure(error -> entries.forEach(entry -> entry.promise.tryFail(error)));
+    }
+
+    private static long latestDeadline(List<BatchEntry> entries) {
+        long latest = Long.MIN_VALUE;
+        for (BatchEntry entry : entries) {
+            latest = Math.max(latest, entry.deadline);
+        }
+        return latest;
+    }
+
+    /**
+     * Fails given entry once its own timeout expires, while batched request is still waited for by other entries.
+     */
+    private void expireAtDeadline(BatchEntry entry, long now) {
+        final Promise<HttpClientResponse> promise = entry.promise;
+        final long timerId = vertx.setTimer(entry.deadline - now,
+                ignored -> promise.tryFail(new TimeoutException("Timeout has been exceeded")));
+        promise.future().onComplete(ignored -> vertx.cancelTimer(timerId));
+    }
+
+    /**
+     * Completes each entry with response containing only its own cache objects. If batched response
+     * cannot be split, each entry receives it as is and handles it the same way as a failed request of its own.
+     */
+    private void completeEntries(List<BatchEntry> entries, HttpClientResponse response, int putsCount) {
+        final List<CacheObject> cacheObjects = response.getStatusCode() == 200
+                ? parseCacheObjects(response.getBody())
+                : null;
+
+        if (entries.size() == 1 || cacheObjects == null || cacheObjects.size() != putsCount) {
+            entries.forEach(entry -> entry.promise.tryComplete(response));
+            return;
+        }
+
+        int offset = 0;
+        for (BatchEntry entry : entries) {
+            final int end = offset + entry.puts.size();
+            final BidCacheResponse entryResponse = BidCacheResponse.of(cacheObjects.subList(offset, end));
+            entry.promise.tryComplete(HttpClientResponse.of(
+                    response.getStatusCode(), response.getHeaders(), mapper.encodeToString(entryResponse)));
+            offset = end;
+        }
+    }
+
+    private List<CacheObject> parseCacheObjects(String body) {
+        try {
+            return mapper.decodeValue(body, BidCacheResponse.class).getResponses();
+        } catch (DecodeException e) {
+            return null;
+        }
+    }
+
+    private record BatchKey(String url, List<String> headers) {
+
+        static BatchKey of(String url, MultiMap headers) {
+            final List<String> headerLines = new ArrayList<>(headers.size());
+            for (Map.Entry<String, String> header : headers) {
+                headerLines.add(header.getKey().toLowerCase() + ": " + header.getValue());
+            }
+            headerLines.sort(null);
+            return new BatchKey(url, headerLines);
+        }
+    }
+
+    private static class Batch {
+
+        private final BatchKey key;
+        private final MultiMap headers;
+        private final List<BatchEntry> entries = new ArrayList<>();
+        private int size;
+        private long timerId;
+
+        Batch(BatchKey key, MultiMap headers) {
+            this.key = key;
+            this.headers = headers;
+        }
+
+        void add(BatchEntry entry) {
+            entries.add(entry);
+            size += entry.puts.size();
+        }
+    }
+
+    private record BatchEntry(List<BidPutObject> puts, long deadline, Promise<HttpClientResponse> promise) {
+    }
+}
@@ -77,6 +77,9 @@ public class CoreCacheService {
     private final Clock clock;
     private final UUIDIdGenerator idGenerator;
     private final JacksonMapper mapper;
+    private final BidCacheRequestBatcher requestBatcher;
+    private final CreativeDeduplicator creativeDeduplicator;
+    private final EmbeddedCacheStore embeddedCacheStore;
 
     private final MultiMap cacheHeaders;
     private final Map<String, List<String>> debugHeaders;
@@ -98,7 +101,10 @@ public class CoreCacheService {
             Metrics metrics,
             Clock clock,
             UUIDIdGenerator idGenerator,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            BidCacheRequestBatcher requestBatcher,
+            CreativeDeduplicator creativeDeduplicator,
+            EmbeddedCacheStore embeddedCacheStore) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
         this.endpointUrl = Objects.requireNonNull(endpointUrl);
@@ -110,6 +116,9 @@ public class CoreCacheService {
         this.clock = Objects.requireNonNull(clock);
         this.idGenerator = Objects.requireNonNull(idGenerator);
         this.mapper = Objects.requireNonNull(mapper);
+        this.requestBatcher = requestBatcher;
+        this.creativeDeduplicator = creativeDeduplicator;
+        this.embeddedCacheStore = embeddedCacheStore;
 
         cacheHeaders = isApiKeySecured
                 ? HttpUtil.headers().add(HttpUtil.X_PBC_API_KEY_HEADER, Objects.requireNonNull(apiKey))
@@ -141,11 +150,7 @@ public class CoreCacheService {
         final List<CachedCreative> cachedCreatives = Collections.singletonList(
                 makeDebugCacheCreative(cachedDebugLog, cacheKey, videoCacheTtl));
         final BidCacheRequest bidCacheRequest = toBidCacheRequest(cachedCreatives);
-        httpClient.post(
-                endpointUrl.toString(),
-                cacheHeaders,
-                mapper.encodeToString(bidCacheRequest),
-                expectedCacheTimeMs);
+        sendRequest(bidCacheRequest, expectedCacheTimeMs);
         return cacheKey;
     }
 
@@ -178,16 +183,33 @@ public class CoreCacheService {
         }
 
         final long startTime = clock.millis();
-        return httpClient.post(
-                        endpointUrl.toString(),
-                        cacheHeaders,
-                        mapper.encodeToString(bidCacheRequest),
-                        remainingTimeout)
+        return sendRequest(bidCacheRequest, remainingTimeout)
                 .map(response -> toBidCacheResponse(
                         response.getStatusCode(), response.getBody(), bidCount, accountId, startTime))
                 .recover(exception -> failResponse(exception, accountId, startTime));
     }
 
+    private Future<HttpClientResponse> sendRequest(BidCacheRequest bidCacheRequest, long timeout) {
+        return sendRequest(bidCacheRequest, mapper.encodeToString(bidCacheRequest), timeout);
+    }
+
+    /**
+     * Sends request to the cache service, or stores creatives in the embedded store if it is enabled.
+     * Embedded store result is represented as the cache service response, so it is handled the same way.
+     */
+    private Future<HttpClientResponse> sendRequest(BidCacheRequest bidCacheRequest, String body, long timeout) {
+        if (embeddedCacheStore == null) {
+            return httpClient.post(endpointUrl.toString(), cacheHeaders, body, timeout);
+        }
+
+        try {
+            final BidCacheResponse bidCacheResponse = embeddedCacheStore.put(bidCacheRequest);
+            return Future.succeededFuture(HttpClientResponse.of(200, null, mapper.encodeToString(bidCacheResponse)));
+        } catch (PreBidException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
     private Future<BidCacheResponse> failResponse(Throwable exception, String accountId, long startTime) {
         metrics.updateCacheRequestFailedTime(accountId, clock.millis() - startTime);
 
@@ -304,22 +326,40 @@ public class CoreCacheService {
                     Collections.emptyMap()));
         }
 
-        final BidCacheRequest bidCacheRequest = toBidCacheRequest(cachedCreatives);
+        final CreativeDeduplicator.Deduplication deduplication = creativeDeduplicator != null
+                ? creativeDeduplicator.deduplicate(cachedCreatives)
+                : null;
+        final List<CachedCreative> creativesToCache = deduplication != null
+                ? deduplication.getCreativesToCache()
+                : cachedCreatives;
+
+        if (creativesToCache.isEmpty()) {
+            final List<String> uuids = deduplication.resolveUuids(Collections.emptyList());
+            return Future.succeededFuture(
+                    CacheServiceResult.of(null, null, toResultMap(bids, videoBids, uuids, hbCacheId)));
+        }
 
-        updateCreativeMetrics(accountId, cachedCreatives);
+        final BidCacheRequest bidCacheRequest = toBidCacheRequest(creativesToCache);
+
+        updateCreativeMetrics(accountId, creativesToCache);
 
         final String url = endpointUrl.toString();
         final String body = mapper.encodeToString(bidCacheRequest);
         final CacheHttpRequest httpRequest = CacheHttpRequest.of(url, body);
 
         final long startTime = clock.millis();
-        return httpClient.post(url, cacheHeaders, body, remainingTimeout)
+        final Future<HttpClientResponse> responseFuture = requestBatcher != null
+                ? requestBatcher.post(url, cacheHeaders, bidCacheRequest, remainingTimeout)
+                : sendRequest(bidCacheRequest, body, remainingTimeout);
+
+        return responseFuture
                 .map(response -> processResponseOpenrtb(response,
                         httpRequest,
-                        cachedCreatives.size(),
+                        creativesToCache.size(),
                         bids,
                         videoBids,
                         hbCacheId,
+                        deduplication,
                         accountId,
                         startTime))
                 .otherwise(exception -> failResponseOpenrtb(exception, accountId, httpRequest, startTime));
@@ -331,6 +371,7 @@ public class CoreCacheService {
                                                       List<CacheBid> bids,
                                                       List<CacheBid> videoBids,
                                                       String hbCacheId,
+                                                      CreativeDeduplicator.Deduplication deduplication,
                                                       String accountId,
                                                       long startTime) {
 
@@ -345,7 +386,8 @@ public class CoreCacheService {
             return CacheServiceResult.of(httpCall, e, Collections.emptyMap());
         }
 
-        final List<String> uuids = toResponse(bidCacheResponse, CacheObject::getUuid);
+        final List<String> cachedUuids = toResponse(bidCacheResponse, CacheObject::getUuid);
+        final List<String> uuids = deduplication != null ? deduplication.resolveUuids(cachedUuids) : cachedUuids;
         return CacheServiceResult.of(httpCall, null, toResultMap(bids, videoBids, uuids, hbCacheId));
     }
 
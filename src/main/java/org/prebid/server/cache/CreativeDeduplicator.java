@@ -0,0 +1,206 @@
+package org.prebid.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.cache.model.CachedCreative;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.json.JacksonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds identical creatives, so each of them is sent to the cache only once and its cache UUID is reused.
+ * <p>
+ * Creatives are identified by hash of their type and value. Creatives with explicit cache key are never
+ * deduplicated, since the key defines their cache UUID.
+ * <p>
+ * Identical creatives of a single auction with the same TTL are cached once. If cross-auction window is positive,
+ * UUIDs of cached creatives are remembered for this window together with expiration time of their cache entries,
+ * and identical creatives of following auctions reuse UUID only if its entry lives at least as long as their TTL.
+ * Creatives without TTL are never reused by following auctions, since their expiration is defined by the cache
+ * service.
+ */
+public class CreativeDeduplicator {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char HASH_FIELD_SEPARATOR = '\u0000';
+
+    private final Clock clock;
+    private final JacksonMapper mapper;
+
+    private final Cache<String, RememberedUuid> hashToUuid;
+
+    public CreativeDeduplicator(long crossAuctionWindowMs, int maxSize, Clock clock, JacksonMapper mapper) {
+        if (crossAuctionWindowMs < 0) {
+            throw new IllegalArgumentException("Cross-auction window must be non-negative");
+        }
+
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+
+        hashToUuid = crossAuctionWindowMs > 0
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(crossAuctionWindowMs))
+                .maximumSize(maxSize)
+                .build()
+                : null;
+    }
+
+    public Deduplication deduplicate(List<CachedCreative> cachedCreatives) {
+        final int size = cachedCreatives.size();
+        final String[] hashes = new String[size];
+        final String[] knownUuids = new String[size];
+        final int[] indexes = new int[size];
+        Arrays.fill(indexes, -1);
+
+        final List<CachedCreative> creativesToCache = new ArrayList<>(size);
+        final Map<String, Integer> hashAndTtlToIndex = new HashMap<>();
+        final long now = clock.millis();
+
+        for (int i = 0; i < size; i++) {
+            final CachedCreative cachedCreative = cachedCreatives.get(i);
+            final BidPutObject payload = cachedCreative.getPayload();
+            final String hash = payload.getKey() == null ? hash(payload) : null;
+            hashes[i] = hash;
+
+            final String knownUuid = hash != null ? knownUuid(hash, ttl(payload), now) : null;
+            if (knownUuid != null) {
+                knownUuids[i] = knownUuid;
+                continue;
+            }
+
+            final String hashAndTtl = hash != null ? hash + HASH_FIELD_SEPARATOR + ttl(payload) : null;
+            final Integer index = hashAndTtl != null ? hashAndTtlToIndex.get(hashAndTtl) : null;
+            if (index != null) {
+                indexes[i] = index;
+                continue;
+            }
+
+            indexes[i] = creativesToCache.size();
+            creativesToCache.add(cachedCreative);
+            if (hashAndTtl != null) {
+                hashAndTtlToIndex.put(hashAndTtl, indexes[i]);
+            }
+        }
+
+        return new Deduplication(cachedCreatives, creativesToCache, hashes, knownUuids, indexes, now);
+    }
+
+    private String hash(BidPutObject payload) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        final String content = payload.getType() + HASH_FIELD_SEPARATOR + mapper.encodeToString(payload.getValue());
+
+        return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Integer ttl(BidPutObject payload) {
+        return ObjectUtils.defaultIfNull(payload.getTtlseconds(), payload.getExpiry());
+    }
+
+    /**
+     * Returns UUID remembered for given hash, if its cache entry doesn't expire before given TTL ends.
+     */
+    private String knownUuid(String hash, Integer ttl, long now) {
+        final RememberedUuid rememberedUuid = ttl != null && hashToUuid != null ? hashToUuid.getIfPresent(hash) : null;
+        return rememberedUuid != null && rememberedUuid.getExpiresAt() - now >= ttl * 1000L
+                ? rememberedUuid.getUuid()
+                : null;
+    }
+
+    /**
+     * Remembers UUID of cached creative, unless UUID of the same creative living longer is already remembered.
+     */
+    private void remember(String hash, String uuid, Integer ttl, long now) {
+        if (hashToUuid == null || ttl == null) {
+            return;
+        }
+
+        final RememberedUuid rememberedUuid = RememberedUuid.of(uuid, now + ttl * 1000L);
+        hashToUuid.asMap().merge(hash, rememberedUuid, (previous, current) ->
+                previous.getExpiresAt() >= current.getExpiresAt() ? previous : current);
+    }
+
+    @Value(staticConstructor = "of")
+    private static class RememberedUuid {
+
+        String uuid;
+
+        long expiresAt;
+    }
+
+    /**
+     * Result of creatives deduplication, that maps UUIDs of cached creatives back to all given creatives.
+     */
+    public class Deduplication {
+
+        private final List<CachedCreative> cachedCreatives;
+        private final List<CachedCreative> creativesToCache;
+        private final String[] hashes;
+        private final String[] knownUuids;
+        private final int[] indexes;
+        private final long createdAt;
+
+        private Deduplication(List<CachedCreative> cachedCreatives,
+                              List<CachedCreative> creativesToCache,
+                              String[] hashes,
+                              String[] knownUuids,
+                              int[] indexes,
+                              long createdAt) {
+
+            this.cachedCreatives = cachedCreatives;
+            this.creativesToCache = creativesToCache;
+            this.hashes = hashes;
+            this.knownUuids = knownUuids;
+            this.indexes = indexes;
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * Returns creatives that should be sent to the cache.
+         */
+        public List<CachedCreative> getCreativesToCache() {
+            return creativesToCache;
+        }
+
+        /**
+         * Returns UUIDs of all given creatives, in their order, by UUIDs of creatives sent to the cache.
+         * Remembers received UUIDs for the following auctions.
+         */
+        public List<String> resolveUuids(List<String> cachedUuids) {
+            final List<String> uuids = new ArrayList<>(indexes.length);
+            for (int i = 0; i < indexes.length; i++) {
+                final String uuid = knownUuids[i] != null ? knownUuids[i] : cachedUuid(cachedUuids, indexes[i]);
+                uuids.add(uuid);
+
+                if (knownUuids[i] == null && hashes[i] != null && uuid != null) {
+                    // cache entries are written after deduplication, so expiration counted from it is never late
+                    remember(hashes[i], uuid, ttl(cachedCreatives.get(i).getPayload()), createdAt);
+                }
+            }
+            return uuids;
+        }
+
+        private static String cachedUuid(List<String> cachedUuids, int index) {
+            return index < cachedUuids.size() ? cachedUuids.get(index) : null;
+        }
+    }
+}
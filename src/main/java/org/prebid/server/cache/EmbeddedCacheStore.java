@@ -0,0 +1,166 @@
+package org.prebid.server.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.cache.proto.response.bid.BidCacheResponse;
+import org.prebid.server.cache.proto.response.bid.CacheObject;
+import org.prebid.server.cache.utils.CacheServiceUtil;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.identity.IdGenerator;
+import org.prebid.server.json.JacksonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process replacement of the Prebid Cache server for single-region deployments.
+ * <p>
+ * Stores creatives in memory as UTF-8 encoded bytes, bounded by total size of stored creatives. Each creative expires
+ * after its own TTL, limited by max TTL. Least recently used creatives are evicted first when the store is full.
+ * <p>
+ * Follows the Prebid Cache put/get contract: put returns UUIDs of stored creatives in the order of put objects,
+ * creatives with explicit key are stored under it, unless the key is already in use.
+ */
+public class EmbeddedCacheStore {
+
+    private final int defaultTtlSeconds;
+    private final int maxTtlSeconds;
+    private final IdGenerator idGenerator;
+    private final JacksonMapper mapper;
+
+    private final Cache<String, StoredCreative> creatives;
+
+    public EmbeddedCacheStore(long maxSizeBytes,
+                              int defaultTtlSeconds,
+                              int maxTtlSeconds,
+                              IdGenerator idGenerator,
+                              Ticker ticker,
+                              JacksonMapper mapper) {
+
+        if (defaultTtlSeconds < 1 || maxTtlSeconds < 1) {
+            throw new IllegalArgumentException("Default and max TTL must be positive");
+        }
+
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.idGenerator = Objects.requireNonNull(idGenerator);
+        this.mapper = Objects.requireNonNull(mapper);
+
+        creatives = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .<String, StoredCreative>weigher((key, creative) -> key.length() + creative.content().length)
+                .expireAfter(new CreativeExpiry())
+                .ticker(Objects.requireNonNull(ticker))
+                .build();
+    }
+
+    /**
+     * Stores given creatives and returns their UUIDs.
+     *
+     * Either all creatives are stored or none of them.
+     *
+     * @throws PreBidException if any of put objects is invalid or its key is already in use
+     */
+    public BidCacheResponse put(BidCacheRequest bidCacheRequest) {
+        final List<BidPutObject> puts = ListUtils.emptyIfNull(bidCacheRequest.getPuts());
+
+        final List<StoredCreative> storedCreatives = new ArrayList<>(puts.size());
+        for (BidPutObject put : puts) {
+            storedCreatives.add(toStoredCreative(put));
+        }
+
+        final List<CacheObject> cacheObjects = new ArrayList<>(puts.size());
+        for (int i = 0; i < puts.size(); i++) {
+            final String key = puts.get(i).getKey();
+            final String uuid = key != null ? key : idGenerator.generateId();
+
+            if (creatives.asMap().putIfAbsent(uuid, storedCreatives.get(i)) != null) {
+                rollback(cacheObjects, storedCreatives);
+                throw new PreBidException("Key is already in use: " + uuid);
+            }
+            cacheObjects.add(CacheObject.of(uuid));
+        }
+
+        return BidCacheResponse.of(cacheObjects);
+    }
+
+    /**
+     * Removes creatives already stored by the failed put, unless they were replaced in the meantime.
+     */
+    private void rollback(List<CacheObject> cacheObjects, List<StoredCreative> storedCreatives) {
+        for (int i = 0; i < cacheObjects.size(); i++) {
+            creatives.asMap().remove(cacheObjects.get(i).getUuid(), storedCreatives.get(i));
+        }
+    }
+
+    /**
+     * Returns stored creative, or null if there is no creative with given UUID or it has already expired.
+     */
+    public StoredCreative get(String uuid) {
+        return uuid != null ? creatives.getIfPresent(uuid) : null;
+    }
+
+    private StoredCreative toStoredCreative(BidPutObject put) {
+        final String type = put.getType();
+        final JsonNode value = put.getValue();
+        if (value == null || value.isNull()) {
+            throw new PreBidException("Missing value");
+        }
+
+        final String content;
+        if (CacheServiceUtil.XML_CREATIVE_TYPE.equals(type)) {
+            if (!value.isTextual()) {
+                throw new PreBidException("XML value must be a string");
+            }
+            content = value.asText();
+        } else if (CacheServiceUtil.JSON_CREATIVE_TYPE.equals(type)) {
+            content = mapper.encodeToString(value);
+        } else {
+            throw new PreBidException("Type must be one of [\"json\", \"xml\"]. Found: " + type);
+        }
+
+        final int ttlSeconds = Math.min(
+                ObjectUtils.firstNonNull(put.getTtlseconds(), put.getExpiry(), defaultTtlSeconds),
+                maxTtlSeconds);
+
+        return new StoredCreative(
+                type,
+                content.getBytes(StandardCharsets.UTF_8),
+                TimeUnit.SECONDS.toNanos(Math.max(ttlSeconds, 1)));
+    }
+
+    public record StoredCreative(String type, byte[] content, long ttlNanos) {
+
+        public String contentAsString() {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class CreativeExpiry implements Expiry<String, StoredCreative> {
+
+        @Override
+        public long expireAfterCreate(String key, StoredCreative creative, long currentTime) {
+            return creative.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredCreative creative, long currentTime, long currentDuration) {
+            return creative.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredCreative creative, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.prebid.server.cookie;
+
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact binary form of {@link Uids}, used as uids cookie value instead of JSON.
+ * <p>
+ * Layout: format version byte, optout flags byte, base expiration as varint epoch seconds, varint number of uids
+ * and then for each uid: family name and uid as varint length-prefixed UTF-8 bytes, followed by varint number of
+ * seconds the uid expires after base expiration, increased by one (zero stands for uid without expiration).
+ * <p>
+ * Format version byte never equals to the first byte of JSON object, so both forms can be told apart.
+ */
+class CompactUidsCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int OPTOUT_PRESENT = 1;
+    private static final int OPTOUT_VALUE = 1 << 1;
+
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    static final int MAX_HEADER_BYTES = Byte.BYTES + Byte.BYTES + MAX_VARLONG_BYTES + MAX_VARINT_BYTES;
+
+    private CompactUidsCodec() {
+    }
+
+    static boolean isCompact(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == FORMAT_VERSION;
+    }
+
+    static byte[] encode(Uids uids) {
+        final Map<String, UidWithExpiry> uidsMap = Objects.requireNonNull(uids.getUids());
+        final long baseExpires = uidsMap.values().stream()
+                .map(UidWithExpiry::getExpires)
+                .filter(Objects::nonNull)
+                .mapToLong(ZonedDateTime::toEpochSecond)
+                .min()
+                .orElse(0L);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(FORMAT_VERSION);
+        output.write(optoutFlags(uids.getOptout()));
+        writeVarLong(output, baseExpires);
+        writeVarLong(output, uidsMap.size());
+
+        for (Map.Entry<String, UidWithExpiry> familyAndUid : uidsMap.entrySet()) {
+            final UidWithExpiry uid = familyAndUid.getValue();
+            final ZonedDateTime expires = uid.getExpires();
+
+            writeString(output, familyAndUid.getKey());
+            writeString(output, uid.getUid());
+            writeVarLong(output, expires != null ? expires.toEpochSecond() - baseExpires + 1 : 0L);
+        }
+
+        return output.toByteArray();
+    }
+
+    private static int optoutFlags(Boolean optout) {
+        if (optout == null) {
+            return 0;
+        }
+
+        return optout ? OPTOUT_PRESENT | OPTOUT_VALUE : OPTOUT_PRESENT;
+    }
+
+    private static void writeString(ByteArrayOutputStream output, String value) {
+        final byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        writeVarLong(output, bytes.length);
+        output.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.write((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.write((int) remaining);
+    }
+
+    /**
+     * Decodes {@link Uids} from given bytes or throws {@link IllegalArgumentException} if they are malformed.
+     */
+    static Uids decode(byte[] bytes) {
+        if (!isCompact(bytes)) {
+            throw new IllegalArgumentException("Unsupported compact uids format");
+        }
+
+        final Reader reader = new Reader(bytes);
+        final int optoutFlags = reader.readByte();
+        final long baseExpires = reader.readVarLong();
+        final int uidsCount = reader.readLength();
+
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        for (int i = 0; i < uidsCount; i++) {
+            final String family = reader.readString();
+            final String uid = reader.readString();
+            final long expiresDelta = reader.readVarLong();
+            final ZonedDateTime expires = expiresDelta != 0 ? toExpires(baseExpires, expiresDelta - 1) : null;
+
+            uids.put(family, new UidWithExpiry(uid, expires));
+        }
+
+        if (reader.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected trailing bytes in compact uids");
+        }
+
+        return Uids.builder()
+                .uids(uids)
+                .optout((optoutFlags & OPTOUT_PRESENT) != 0 ? (optoutFlags & OPTOUT_VALUE) != 0 : null)
+                .build();
+    }
+
+    private static ZonedDateTime toExpires(long baseEpochSecond, long delta) {
+        try {
+            final long epochSecond = Math.addExact(baseEpochSecond, delta);
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+        } catch (ArithmeticException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid expiration in compact uids", e);
+        }
+    }
+
+    /**
+     * Returns max number of bytes given uid can take in encoded form.
+     */
+    static int maxUidBytes(String family, String uid) {
+        return stringBytes(family) + stringBytes(uid) + MAX_VARLONG_BYTES;
+    }
+
+    private static int stringBytes(String value) {
+        return value != null ? MAX_VARINT_BYTES + value.getBytes(StandardCharsets.UTF_8).length : MAX_VARINT_BYTES;
+    }
+
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+            position = 1;
+        }
+
+        int readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Compact uids are truncated");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                final int current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in compact uids");
+        }
+
+        int readLength() {
+            final long length = readVarLong();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid length in compact uids: " + length);
+            }
+            return (int) length;
+        }
+
+        String readString() {
+            final int length = readLength();
+            final String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        boolean hasRemaining() {
+            return position < bytes.length;
+        }
+    }
+}
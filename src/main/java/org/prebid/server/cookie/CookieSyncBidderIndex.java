@@ -0,0 +1,86 @@
+package org.prebid.server.cookie;
+
+import lombok.Value;
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.Usersyncer;
+import org.prebid.server.cookie.model.RejectionReason;
+
+import java.util.Map;
+
+/**
+ * Usersync eligibility of all registered bidders, resolved from {@link BidderCatalog} once.
+ * <p>
+ * Bidder configuration doesn't change at runtime, so cookie-sync request only needs single lookup per bidder
+ * to find out if it can be synced at all, instead of walking catalog for each configuration check.
+ */
+class CookieSyncBidderIndex {
+
+    private static final BidderEntry INVALID_BIDDER = BidderEntry.of(RejectionReason.INVALID_BIDDER, null);
+
+    private final Map<String, BidderEntry> bidderToEntry;
+
+    private CookieSyncBidderIndex(Map<String, BidderEntry> bidderToEntry) {
+        this.bidderToEntry = bidderToEntry;
+    }
+
+    static CookieSyncBidderIndex of(BidderCatalog bidderCatalog) {
+        final Map<String, BidderEntry> bidderToEntry = new CaseInsensitiveMap<>();
+        for (String bidder : bidderCatalog.names()) {
+            final Usersyncer usersyncer = bidderCatalog.usersyncerByName(bidder).orElse(null);
+            bidderToEntry.put(bidder, BidderEntry.of(rejectionReason(bidderCatalog, bidder, usersyncer), usersyncer));
+        }
+
+        return new CookieSyncBidderIndex(bidderToEntry);
+    }
+
+    /**
+     * Checks are made in order of their priority, so the first failed one gives the reason.
+     */
+    private static RejectionReason rejectionReason(BidderCatalog bidderCatalog, String bidder, Usersyncer usersyncer) {
+        if (!bidderCatalog.isActive(bidder)) {
+            return RejectionReason.DISABLED_BIDDER;
+        } else if (usersyncer == null) {
+            return RejectionReason.UNCONFIGURED_USERSYNC;
+        } else if (!usersyncer.isEnabled()) {
+            return RejectionReason.DISABLED_USERSYNC;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the reason given bidder can never be synced for or null if it is eligible for sync.
+     */
+    RejectionReason rejectionReason(String bidder) {
+        return entry(bidder).getRejectionReason();
+    }
+
+    /**
+     * Returns usersyncer of given bidder or null if there is none.
+     */
+    Usersyncer usersyncer(String bidder) {
+        return entry(bidder).getUsersyncer();
+    }
+
+    /**
+     * Returns cookie family name of given bidder or null if bidder has no usersyncer.
+     */
+    String cookieFamilyName(String bidder) {
+        final Usersyncer usersyncer = usersyncer(bidder);
+        return usersyncer != null ? usersyncer.getCookieFamilyName() : null;
+    }
+
+    private BidderEntry entry(String bidder) {
+        final BidderEntry entry = bidder != null ? bidderToEntry.get(bidder) : null;
+        return entry != null ? entry : INVALID_BIDDER;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class BidderEntry {
+
+        RejectionReason rejectionReason;
+
+        Usersyncer usersyncer;
+    }
+}
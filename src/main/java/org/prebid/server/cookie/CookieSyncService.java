@@ -48,6 +48,7 @@ import org.prebid.server.util.StreamUtil;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -65,6 +66,7 @@ public class CookieSyncService {
     private final int maxLimit;
 
     private final BidderCatalog bidderCatalog;
+    private final CookieSyncBidderIndex bidderIndex;
     private final HostVendorTcfDefinerService tcfDefinerService;
     private final CcpaEnforcement ccpaEnforcement;
     private final UidsCookieService uidsCookieService;
@@ -87,6 +89,7 @@ public class CookieSyncService {
         this.maxLimit = maxLimit;
 
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
+        this.bidderIndex = CookieSyncBidderIndex.of(bidderCatalog);
         this.tcfDefinerService = Objects.requireNonNull(tcfDefinerService);
         this.ccpaEnforcement = Objects.requireNonNull(ccpaEnforcement);
         this.uidsCookieService = Objects.requireNonNull(uidsCookieService);
@@ -107,10 +110,7 @@ public class CookieSyncService {
                 .map(this::validateCookieSyncContext)
                 .map(this::resolveLimit)
                 .map(this::resolveBiddersToSync)
-                .map(this::filterInvalidBidders)
-                .map(this::filterDisabledBidders)
-                .map(this::filterBiddersWithoutUsersync)
-                .map(this::filterBiddersWithDisabledUsersync)
+                .map(this::filterIneligibleBidders)
                 .map(this::applyRequestFilterSettings)
                 .compose(this::applyPrivacyFilteringRules)
                 .map(this::filterInSyncBidders);
@@ -174,32 +174,21 @@ public class CookieSyncService {
         return cookieSyncContext.with(updatedContext);
     }
 
-    private CookieSyncContext filterInvalidBidders(CookieSyncContext cookieSyncContext) {
-        return filterBidders(
-                cookieSyncContext,
-                bidder -> !bidderCatalog.isValidName(bidder),
-                RejectionReason.INVALID_BIDDER);
-    }
-
-    private CookieSyncContext filterDisabledBidders(CookieSyncContext cookieSyncContext) {
-        return filterBidders(
-                cookieSyncContext,
-                bidder -> !bidderCatalog.isActive(bidder),
-                RejectionReason.DISABLED_BIDDER);
-    }
+    /**
+     * Rejects invalid and disabled bidders and bidders without enabled usersync in a single pass over bidders.
+     */
+    private CookieSyncContext filterIneligibleBidders(CookieSyncContext cookieSyncContext) {
+        final BiddersContext biddersContext = cookieSyncContext.getBiddersContext();
 
-    private CookieSyncContext filterBiddersWithoutUsersync(CookieSyncContext cookieSyncContext) {
-        return filterBidders(
-                cookieSyncContext,
-                bidder -> bidderCatalog.usersyncerByName(bidder).isEmpty(),
-                RejectionReason.UNCONFIGURED_USERSYNC);
-    }
+        final Map<String, RejectionReason> rejectedBidders = new HashMap<>();
+        for (String bidder : biddersContext.allowedBidders()) {
+            final RejectionReason reason = bidderIndex.rejectionReason(bidder);
+            if (reason != null) {
+                rejectedBidders.put(bidder, reason);
+            }
+        }
 
-    private CookieSyncContext filterBiddersWithDisabledUsersync(CookieSyncContext cookieSyncContext) {
-        return filterBidders(
-                cookieSyncContext,
-                bidder -> !bidderCatalog.usersyncerByName(bidder).orElseThrow().isEnabled(),
-                RejectionReason.DISABLED_USERSYNC);
+        return cookieSyncContext.with(biddersContext.withRejectedBidders(rejectedBidders));
     }
 
     /**
@@ -214,7 +203,7 @@ public class CookieSyncService {
 
     private boolean isBidderInSync(CookieSyncContext cookieSyncContext, String bidder) {
         final RoutingContext routingContext = cookieSyncContext.getRoutingContext();
-        final String cookieFamilyName = bidderCatalog.cookieFamilyName(bidder).orElseThrow();
+        final String cookieFamilyName = bidderIndex.cookieFamilyName(bidder);
         final String uidFromHostCookie = uidsCookieService.hostCookieUidToSync(routingContext, cookieFamilyName);
 
         return StringUtils.isEmpty(uidFromHostCookie)
@@ -239,9 +228,10 @@ public class CookieSyncService {
         final Set<String> allowedBidders = biddersContext.allowedBidders();
 
         for (String bidder : allowedBidders) {
-            final UsersyncMethod usersyncMethod = bidderCatalog.usersyncerByName(bidder)
-                    .map(syncer -> cookieSyncContext.getUsersyncMethodChooser().choose(syncer, bidder))
-                    .orElse(null);
+            final Usersyncer usersyncer = bidderIndex.usersyncer(bidder);
+            final UsersyncMethod usersyncMethod = usersyncer != null
+                    ? cookieSyncContext.getUsersyncMethodChooser().choose(usersyncer, bidder)
+                    : null;
 
             if (usersyncMethod != null) {
                 biddersContext = biddersContext.withBidderUsersyncMethod(bidder, usersyncMethod);
@@ -364,7 +354,7 @@ public class CookieSyncService {
 
         while (cookieFamiliesToSync.size() < cookieSyncContext.getLimit() && biddersIterator.hasNext()) {
             final String bidder = biddersIterator.next();
-            final String cookieFamilyName = bidderCatalog.cookieFamilyName(bidder).orElseThrow();
+            final String cookieFamilyName = bidderIndex.cookieFamilyName(bidder);
 
             cookieFamiliesToSync.add(cookieFamilyName);
             biddersToSync.add(bidder);
@@ -385,7 +375,7 @@ public class CookieSyncService {
 
     private List<BidderUsersyncStatus> validStatuses(Set<String> biddersToSync, CookieSyncContext cookieSyncContext) {
         return biddersToSync.stream()
-                .filter(StreamUtil.distinctBy(bidder -> bidderCatalog.cookieFamilyName(bidder).orElseThrow()))
+                .filter(StreamUtil.distinctBy(bidderIndex::cookieFamilyName))
                 .map(bidder -> validStatus(bidder, cookieSyncContext))
                 .toList();
     }
@@ -393,7 +383,7 @@ public class CookieSyncService {
     private BidderUsersyncStatus validStatus(String bidder, CookieSyncContext cookieSyncContext) {
         final BiddersContext biddersContext = cookieSyncContext.getBiddersContext();
         final RoutingContext routingContext = cookieSyncContext.getRoutingContext();
-        final String cookieFamilyName = bidderCatalog.cookieFamilyName(bidder).orElseThrow();
+        final String cookieFamilyName = bidderIndex.cookieFamilyName(bidder);
 
         final UsersyncMethod usersyncMethod = biddersContext.bidderUsersyncMethod().get(bidder);
         final Privacy privacy = cookieSyncContext.getPrivacyContext().getPrivacy();
@@ -452,7 +442,7 @@ public class CookieSyncService {
     }
 
     private BidderUsersyncStatus rejectionStatus(String bidder, RejectionReason reason, BiddersContext biddersContext) {
-        final String cookieFamilyName = bidderCatalog.cookieFamilyName(bidder).orElse(bidder);
+        final String cookieFamilyName = ObjectUtils.defaultIfNull(bidderIndex.cookieFamilyName(bidder), bidder);
         BidderUsersyncStatus.BidderUsersyncStatusBuilder builder = BidderUsersyncStatus.builder()
                 .bidder(cookieFamilyName);
 
@@ -480,7 +470,7 @@ public class CookieSyncService {
 
         return droppedDueToLimitBidders.stream()
                 .map(bidder -> BidderUsersyncStatus.builder()
-                        .bidder(bidderCatalog.cookieFamilyName(bidder).orElseThrow())
+                        .bidder(bidderIndex.cookieFamilyName(bidder))
                         .error("limit reached")
                         .build())
                 .toList();
@@ -499,15 +489,14 @@ public class CookieSyncService {
     }
 
     private boolean isAliasSyncedAsRootFamily(String bidder) {
+        final Usersyncer usersyncer = bidderIndex.usersyncer(bidder);
         return bidderCatalog.isAlias(bidder)
-                && bidderCatalog.usersyncerByName(bidder)
-                .map(Usersyncer::getCookieFamilySource)
-                .filter(source -> source == CookieFamilySource.ROOT)
-                .isPresent();
+                && usersyncer != null
+                && usersyncer.getCookieFamilySource() == CookieFamilySource.ROOT;
     }
 
     private BidderUsersyncStatus warningForAliasSyncedAsRootFamily(String bidder) {
-        final String cookieFamilyName = bidderCatalog.cookieFamilyName(bidder).orElseThrow();
+        final String cookieFamilyName = bidderIndex.cookieFamilyName(bidder);
         return BidderUsersyncStatus.builder()
                 .bidder(bidder)
                 .error("synced as " + cookieFamilyName)
@@ -51,6 +51,7 @@ public class UidsCookieService {
 
     private final int maxCookieSizeBytes;
     private final int numberOfUidCookies;
+    private final boolean compactUidsEnabled;
 
     private final PrioritizedCoopSyncProvider prioritizedCoopSyncProvider;
     private final Metrics metrics;
@@ -64,6 +65,7 @@ public class UidsCookieService {
                              int ttlDays,
                              int maxCookieSizeBytes,
                              int numberOfUidCookies,
+                             boolean compactUidsEnabled,
                              PrioritizedCoopSyncProvider prioritizedCoopSyncProvider,
                              Metrics metrics,
                              JacksonMapper mapper) {
@@ -87,6 +89,7 @@ public class UidsCookieService {
         this.ttlSeconds = Duration.ofDays(ttlDays).getSeconds();
         this.maxCookieSizeBytes = maxCookieSizeBytes;
         this.numberOfUidCookies = numberOfUidCookies;
+        this.compactUidsEnabled = compactUidsEnabled;
         this.prioritizedCoopSyncProvider = Objects.requireNonNull(prioritizedCoopSyncProvider);
         this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
@@ -103,6 +106,9 @@ public class UidsCookieService {
      * If request contains 'legacy' UIDs cookie format then it will be interpreted as already expired and forced
      * to re-sync
      * <p>
+     * Each of them may be encoded either as JSON or in compact binary form (see {@link CompactUidsCodec}),
+     * regardless of the format this server writes.
+     * <p>
      * This method also sets 'hostCookieFamily' if 'hostCookie' is present in the request and feature is not opted-out.
      * If feature is opted-out uids attribute will be blank.
      * <p>
@@ -144,8 +150,7 @@ public class UidsCookieService {
             }
 
             try {
-                final Uids parsedUids = mapper.decodeValue(
-                        Buffer.buffer(Base64.getUrlDecoder().decode(cookie.getValue())), Uids.class);
+                final Uids parsedUids = decodeUids(cookie.getValue());
                 if (parsedUids != null && parsedUids.getUids() != null) {
                     parsedUids.getUids().forEach((key, value) -> uids.merge(key, value, (newValue, oldValue) ->
                             newValue.getExpires().compareTo(oldValue.getExpires()) > 0 ? newValue : oldValue));
@@ -158,12 +163,22 @@ public class UidsCookieService {
         return Uids.builder().uids(uids).build();
     }
 
+    private Uids decodeUids(String cookieValue) {
+        final byte[] bytes = Base64.getUrlDecoder().decode(cookieValue);
+        return CompactUidsCodec.isCompact(bytes)
+                ? CompactUidsCodec.decode(bytes)
+                : mapper.decodeValue(Buffer.buffer(bytes), Uids.class);
+    }
+
     /**
-     * Creates a {@link Cookie} with 'uids' as a name and encoded JSON string representing supplied {@link UidsCookie}
-     * as a value.
+     * Creates a {@link Cookie} with 'uids' as a name and encoded string representing supplied {@link UidsCookie}
+     * as a value. Uids are encoded in compact binary form, if enabled, or as JSON otherwise.
      */
     public Cookie aliveCookie(String cookieName, UidsCookie uidsCookie) {
-        final String value = Base64.getUrlEncoder().encodeToString(uidsCookie.toJson().getBytes());
+        final String value = compactUidsEnabled
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        CompactUidsCodec.encode(uidsCookie.getCookieUids()))
+                : Base64.getUrlEncoder().encodeToString(uidsCookie.toJson().getBytes());
         return makeCookie(cookieName, value, ttlSeconds);
     }
 
@@ -285,7 +300,8 @@ public class UidsCookieService {
         String nextCookieFamily = null;
         for (int i = 0; i < numberOfUidCookies; i++) {
             final int digits = i < 10 ? Integer.signum(i) : 2;
-            final UidsCookieSize uidsCookieSize = new UidsCookieSize(cookieSchemaSize + digits, maxCookieSizeBytes);
+            final UidsCookieSize uidsCookieSize = new UidsCookieSize(
+                    cookieSchemaSize + digits, maxCookieSizeBytes, compactUidsEnabled);
 
             final Map<String, UidWithExpiry> tempUids = new HashMap<>();
             while (nextCookieFamily != null || cookieFamilies.hasNext()) {
@@ -28,13 +28,23 @@ public class UidsCookieSize {
 
     private final int cookieSchemaSize;
     private final int maxSize;
+    private final boolean compact;
     private int encodedUidsSize;
 
     public UidsCookieSize(int cookieSchemaSize, int maxSize) {
+        this(cookieSchemaSize, maxSize, false);
+    }
+
+    /**
+     * Creates size calculator for uids cookie in {@link CompactUidsCodec} form if compact flag is set,
+     * or in JSON form otherwise.
+     */
+    public UidsCookieSize(int cookieSchemaSize, int maxSize, boolean compact) {
         this.cookieSchemaSize = cookieSchemaSize;
         this.maxSize = maxSize;
+        this.compact = compact;
 
-        encodedUidsSize = 0;
+        encodedUidsSize = compact ? CompactUidsCodec.MAX_HEADER_BYTES : 0;
     }
 
     public static int schemaSize(Cookie cookieSchema) {
@@ -46,12 +56,21 @@ public class UidsCookieSize {
     }
 
     public int totalSize() {
+        if (compact) {
+            return cookieSchemaSize + Base64Size.base64Size(Base64Size.encodeSize(encodedUidsSize));
+        }
+
         return cookieSchemaSize
                 + TEMP_UIDS_BASE64_BYTES
                 + Base64Size.base64Size(encodedUidsSize);
     }
 
     public void addUid(String cookieFamily, String uid) {
+        if (compact) {
+            encodedUidsSize += CompactUidsCodec.maxUidBytes(cookieFamily, uid);
+            return;
+        }
+
         final int uidSize = UID_TEMPLATE_BYTES + cookieFamily.length() + uid.length();
         encodedUidsSize = Base64Size.encodeSize(Base64Size.decodeSize(encodedUidsSize) + uidSize);
     }
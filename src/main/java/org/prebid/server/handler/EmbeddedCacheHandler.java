@@ -0,0 +1,130 @@
+package org.prebid.server.handler;
+
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.cache.EmbeddedCacheStore;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.utils.CacheServiceUtil;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.verticles.server.HttpEndpoint;
+import org.prebid.server.vertx.verticles.server.application.ApplicationResource;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves Prebid Cache put and get requests from {@link EmbeddedCacheStore},
+ * so cached creatives can be stored and read without external Prebid Cache server.
+ * <p>
+ * Prebid Server stores creatives of its own auctions in the store directly, so put requests are served only
+ * for the holders of API key, if it is configured at all. Otherwise, only get requests are served.
+ */
+public class EmbeddedCacheHandler implements ApplicationResource {
+
+    private static final String UUID_PARAMETER = "uuid";
+
+    private final String path;
+    private final EmbeddedCacheStore embeddedCacheStore;
+    private final String apiKey;
+    private final JacksonMapper mapper;
+
+    /**
+     * Put requests are accepted only with the given API key, or not served at all if it is null.
+     */
+    public EmbeddedCacheHandler(String path,
+                                EmbeddedCacheStore embeddedCacheStore,
+                                String apiKey,
+                                JacksonMapper mapper) {
+
+        this.path = Objects.requireNonNull(path);
+        this.embeddedCacheStore = Objects.requireNonNull(embeddedCacheStore);
+        this.apiKey = apiKey;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public List<HttpEndpoint> endpoints() {
+        return apiKey != null
+                ? List.of(HttpEndpoint.of(HttpMethod.GET, path), HttpEndpoint.of(HttpMethod.POST, path))
+                : List.of(HttpEndpoint.of(HttpMethod.GET, path));
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        if (apiKey != null && routingContext.request().method() == HttpMethod.POST) {
+            handlePut(routingContext);
+        } else {
+            handleGet(routingContext);
+        }
+    }
+
+    private void handlePut(RoutingContext routingContext) {
+        if (!StringUtils.equals(apiKey, routingContext.request().getHeader(HttpUtil.X_PBC_API_KEY_HEADER))) {
+            respondWith(routingContext, HttpResponseStatus.UNAUTHORIZED, "Invalid API key");
+            return;
+        }
+
+        final Buffer body = routingContext.body().buffer();
+        if (body == null || body.length() == 0) {
+            respondWith(routingContext, HttpResponseStatus.BAD_REQUEST, "Incoming request has no body");
+            return;
+        }
+
+        final String response;
+        try {
+            final BidCacheRequest bidCacheRequest = mapper.decodeValue(body, BidCacheRequest.class);
+            response = mapper.encodeToString(embeddedCacheStore.put(bidCacheRequest));
+        } catch (DecodeException e) {
+            respondWith(routingContext, HttpResponseStatus.BAD_REQUEST, "Failed to parse request body");
+            return;
+        } catch (PreBidException e) {
+            respondWith(routingContext, HttpResponseStatus.BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        respondWith(routingContext, HttpResponseStatus.OK, HttpUtil.APPLICATION_JSON_CONTENT_TYPE, response);
+    }
+
+    private void handleGet(RoutingContext routingContext) {
+        final String uuid = routingContext.request().getParam(UUID_PARAMETER);
+        if (StringUtils.isEmpty(uuid)) {
+            respondWith(routingContext, HttpResponseStatus.BAD_REQUEST,
+                    "Missing required parameter '%s'".formatted(UUID_PARAMETER));
+            return;
+        }
+
+        final EmbeddedCacheStore.StoredCreative creative = embeddedCacheStore.get(uuid);
+        if (creative == null) {
+            respondWith(routingContext, HttpResponseStatus.NOT_FOUND, "Not found");
+            return;
+        }
+
+        final String contentType = CacheServiceUtil.XML_CREATIVE_TYPE.equals(creative.type())
+                ? HttpHeaderValues.APPLICATION_XML.toString()
+                : HttpHeaderValues.APPLICATION_JSON.toString();
+        respondWith(routingContext, HttpResponseStatus.OK, contentType, creative.contentAsString());
+    }
+
+    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, String body) {
+        respondWith(routingContext, status, HttpHeaderValues.TEXT_PLAIN.toString(), body);
+    }
+
+    private void respondWith(RoutingContext routingContext,
+                             HttpResponseStatus status,
+                             String contentType,
+                             String body) {
+
+        HttpUtil.executeSafely(routingContext, path,
+                response -> response
+                        .putHeader(HttpUtil.CONTENT_TYPE_HEADER, contentType)
+                        .setStatusCode(status.code())
+                        .end(body));
+    }
+}
@@ -0,0 +1,59 @@
+package org.prebid.server.hooks.execution;
+
+import org.prebid.server.hooks.execution.model.ABTest;
+import org.prebid.server.hooks.execution.model.Stage;
+import org.prebid.server.hooks.execution.model.StageExecutionPlan;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.settings.model.AccountHooksConfiguration;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Effective hooks configuration of an account: execution plans of all endpoints and stages combined from
+ * the host and account execution plans, enabled A/B tests and modules execution.
+ * <p>
+ * Compiled once per account hooks configuration, so stage execution only binds its payload and invocation context.
+ * Configuration is matched by identity, since the same account instance is served by settings cache until it is
+ * reloaded, while comparing configurations by value on every stage would cost as much as compiling them again.
+ */
+class CompiledExecutionPlan {
+
+    private final AccountHooksConfiguration hooksConfiguration;
+    private final Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans;
+    private final List<ABTest> abTests;
+    private final Map<String, Boolean> modulesExecution;
+
+    CompiledExecutionPlan(AccountHooksConfiguration hooksConfiguration,
+                          Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans,
+                          List<ABTest> abTests,
+                          Map<String, Boolean> modulesExecution) {
+
+        this.hooksConfiguration = hooksConfiguration;
+        this.stagePlans = Objects.requireNonNull(stagePlans);
+        this.abTests = Objects.requireNonNull(abTests);
+        this.modulesExecution = Objects.requireNonNull(modulesExecution);
+    }
+
+    boolean isCompiledFrom(AccountHooksConfiguration hooksConfiguration) {
+        return this.hooksConfiguration == hooksConfiguration;
+    }
+
+    StageExecutionPlan stagePlan(Endpoint endpoint, Stage stage) {
+        return stagePlans.getOrDefault(endpoint, Collections.emptyMap())
+                .getOrDefault(stage, StageExecutionPlan.empty());
+    }
+
+    List<ABTest> abTests() {
+        return abTests;
+    }
+
+    /**
+     * Returns modules execution, that must not be modified since it is shared by all requests of the account.
+     */
+    Map<String, Boolean> modulesExecution() {
+        return modulesExecution;
+    }
+}
@@ -3,14 +3,16 @@ package org.prebid.server.hooks.execution;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookId;
 import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
+import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationContext;
 import org.prebid.server.hooks.v1.InvocationResult;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.util.Map;
@@ -19,7 +21,7 @@ import java.util.function.Supplier;
 
 class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
     private final Clock clock;
     private final Map<String, Boolean> modulesExecution;
 
@@ -29,19 +31,21 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private InvocationContextProvider<CONTEXT> invocationContextProvider;
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
+    private HookLatencyBudget latencyBudget;
+    private Timeout auctionTimeout;
 
-    private GroupExecutor(Vertx vertx, Clock clock, Map<String, Boolean> modulesExecution) {
-        this.vertx = vertx;
+    private GroupExecutor(TimingWheel timingWheel, Clock clock, Map<String, Boolean> modulesExecution) {
+        this.timingWheel = timingWheel;
         this.clock = clock;
         this.modulesExecution = modulesExecution;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> GroupExecutor<PAYLOAD, CONTEXT> create(
-            Vertx vertx,
+            TimingWheel timingWheel,
             Clock clock,
             Map<String, Boolean> modulesExecution) {
 
-        return new GroupExecutor<>(vertx, clock, modulesExecution);
+        return new GroupExecutor<>(timingWheel, clock, modulesExecution);
     }
 
     public GroupExecutor<PAYLOAD, CONTEXT> withGroup(ExecutionGroup group) {
@@ -76,6 +80,16 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return this;
     }
 
+    public GroupExecutor<PAYLOAD, CONTEXT> withLatencyBudget(HookLatencyBudget latencyBudget) {
+        this.latencyBudget = latencyBudget;
+        return this;
+    }
+
+    public GroupExecutor<PAYLOAD, CONTEXT> withAuctionTimeout(Timeout auctionTimeout) {
+        this.auctionTimeout = auctionTimeout;
+        return this;
+    }
+
     public Future<GroupResult<PAYLOAD>> execute() {
         final GroupResult<PAYLOAD> initialGroupResult = GroupResult.of(initialPayload, rejectAllowed);
         Future<GroupResult<PAYLOAD>> groupFuture = Future.succeededFuture(initialGroupResult);
@@ -98,6 +112,22 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return groupFuture.recover(GroupExecutor::restoreResultFromRejection);
     }
 
+    /**
+     * Is evaluated right before the hook is invoked, so that the time remaining at that moment is taken into account.
+     */
+    private String skipReason(HookId hookId) {
+        if (latencyBudget == null) {
+            return null;
+        }
+
+        final long groupTimeout = group.getTimeout();
+        final long remainingTime = auctionTimeout != null
+                ? Math.min(groupTimeout, auctionTimeout.remaining())
+                : groupTimeout;
+
+        return latencyBudget.skipReason(hookId, remainingTime);
+    }
+
     private Future<Hook<PAYLOAD, CONTEXT>> hook(HookId hookId) {
         try {
             return Future.succeededFuture(hookProvider.apply(hookId));
@@ -111,6 +141,11 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
                                                           GroupResult<PAYLOAD> groupResult,
                                                           HookId hookId) {
 
+        final String skipReason = skipReason(hookId);
+        if (skipReason != null) {
+            return Future.failedFuture(new SkippedException(skipReason));
+        }
+
         final CONTEXT invocationContext = invocationContextProvider.apply(timeout, hookId, moduleContextFor(hookId));
         return executeWithTimeout(() -> hook.call(groupResult.payload(), invocationContext), timeout);
     }
@@ -118,10 +153,10 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, Long timeout) {
         final Promise<T> promise = Promise.promise();
 
-        final long timeoutTimerId = vertx.setTimer(timeout, id -> failWithTimeout(promise));
+        final TimingWheel.Timer timeoutTimer = timingWheel.schedule(timeout, () -> failWithTimeout(promise));
 
         executeSafely(action)
-                .onComplete(result -> completeWithActionResult(promise, timeoutTimerId, result));
+                .onComplete(result -> completeWithActionResult(promise, timeoutTimer, result));
 
         return promise.future();
     }
@@ -142,8 +177,11 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         }
     }
 
-    private <T> void completeWithActionResult(Promise<T> promise, long timeoutTimerId, AsyncResult<T> result) {
-        vertx.cancelTimer(timeoutTimerId);
+    private static <T> void completeWithActionResult(Promise<T> promise,
+                                                     TimingWheel.Timer timeoutTimer,
+                                                     AsyncResult<T> result) {
+
+        timeoutTimer.cancel();
 
         // check is to avoid harmless exception if timeout exceeds before successful result becomes ready
         if (!promise.future().isComplete()) {
@@ -164,12 +202,30 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return invocationResult
                 .map(result -> {
                     saveModuleContext(hookId, result);
-                    return groupResult.applyInvocationResult(result, hookId, executionTime(startTime));
+                    final long executionTime = executionTime(startTime);
+                    if (result.action() != InvocationAction.no_invocation) {
+                        recordLatency(hookId, executionTime);
+                    }
+                    return groupResult.applyInvocationResult(result, hookId, executionTime);
+                })
+                .otherwise(throwable -> {
+                    if (throwable instanceof SkippedException) {
+                        return groupResult.applySkip(hookId, throwable.getMessage());
+                    }
+
+                    final long executionTime = executionTime(startTime);
+                    recordLatency(hookId, executionTime);
+                    return groupResult.applyFailure(throwable, hookId, executionTime);
                 })
-                .otherwise(throwable -> groupResult.applyFailure(throwable, hookId, executionTime(startTime)))
                 .compose(this::propagateRejection);
     }
 
+    private void recordLatency(HookId hookId, long executionTime) {
+        if (latencyBudget != null) {
+            latencyBudget.recordLatency(hookId, executionTime);
+        }
+    }
+
     private Object moduleContextFor(HookId hookId) {
         return hookExecutionContext.getModuleContexts().get(hookId.getModuleCode());
     }
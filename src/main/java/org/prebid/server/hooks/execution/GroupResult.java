@@ -1,5 +1,6 @@
 package org.prebid.server.hooks.execution;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
@@ -7,6 +8,7 @@ import org.prebid.server.hooks.execution.model.ExecutionStatus;
 import org.prebid.server.hooks.execution.model.GroupExecutionOutcome;
 import org.prebid.server.hooks.execution.model.HookExecutionOutcome;
 import org.prebid.server.hooks.execution.model.HookId;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
 import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationResult;
 import org.prebid.server.hooks.v1.InvocationStatus;
@@ -29,10 +31,14 @@ class GroupResult<T> {
 
     private boolean shouldReject;
 
+    @Getter(AccessLevel.NONE)
     private T payload;
 
     private final boolean rejectAllowed;
 
+    @Getter(AccessLevel.NONE)
+    private BidRequestPayloadUpdate.Changes<T> pendingChanges;
+
     private final List<HookExecutionOutcome> hookExecutionOutcomes = new ArrayList<>();
 
     private GroupResult(T payload, boolean rejectAllowed) {
@@ -64,12 +70,32 @@ class GroupResult<T> {
         return this;
     }
 
+    public GroupResult<T> applySkip(HookId hookId, String reason) {
+        hookExecutionOutcomes.add(HookExecutionOutcome.builder()
+                .hookId(hookId)
+                .executionTime(0L)
+                .status(ExecutionStatus.skipped)
+                .message(reason)
+                .action(ExecutionAction.no_invocation)
+                .build());
+
+        return this;
+    }
+
     public GroupResult<T> applyFailure(Throwable throwable, HookId hookId, long executionTime) {
         hookExecutionOutcomes.add(toExecutionOutcome(throwable, hookId, executionTime));
 
         return this;
     }
 
+    /**
+     * Returns payload with all payload updates applied.
+     */
+    public T payload() {
+        applyPendingChanges();
+        return payload;
+    }
+
     public GroupExecutionOutcome toGroupExecutionOutcome() {
         return GroupExecutionOutcome.of(this.hookExecutionOutcomes());
     }
@@ -93,6 +119,7 @@ class GroupResult<T> {
 
         shouldReject = true;
         payload = null;
+        pendingChanges = null;
     }
 
     private void applyPayloadUpdate(HookId hookId, PayloadUpdate<T> payloadUpdate) {
@@ -106,7 +133,12 @@ class GroupResult<T> {
         }
 
         try {
-            payload = payloadUpdate.apply(payload);
+            if (payloadUpdate instanceof BidRequestPayloadUpdate<T> bidRequestPayloadUpdate) {
+                collectChanges(bidRequestPayloadUpdate);
+            } else {
+                applyPendingChanges();
+                payload = payloadUpdate.apply(payload);
+            }
         } catch (Exception e) {
             conditionalLogger.error("""
                             Hook implementation %s requested to update an entity \
@@ -117,6 +149,25 @@ class GroupResult<T> {
         }
     }
 
+    /**
+     * Collects changes of the bid request instead of applying them, so changes made by several hooks
+     * are applied to the payload at once.
+     */
+    private void collectChanges(BidRequestPayloadUpdate<T> payloadUpdate) {
+        if (pendingChanges == null) {
+            pendingChanges = payloadUpdate.changesOf(payload);
+        }
+
+        pendingChanges.add(payloadUpdate);
+    }
+
+    private void applyPendingChanges() {
+        if (pendingChanges != null) {
+            payload = pendingChanges.toPayload();
+            pendingChanges = null;
+        }
+    }
+
     private static HookExecutionOutcome toExecutionOutcome(InvocationResult<?> invocationResult,
                                                            HookId hookId,
                                                            long executionTime) {
@@ -0,0 +1,137 @@
+package org.prebid.server.hooks.execution;
+
+import org.prebid.server.hooks.execution.model.HookId;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks recent execution time of each hook and decides whether the hook should be skipped,
+ * because its tail latency would not fit into the time remaining for its execution.
+ * <p>
+ * Tail latency is the configured percentile of execution times recorded within the window, and is known only
+ * when there are enough of them. Skipped hook is still invoked once per probe period, so its latency keeps being
+ * measured: as slow executions leave the window, its tail latency goes down and the hook is not skipped anymore.
+ */
+public class HookLatencyBudget {
+
+    private static final long STATS_REFRESH_PERIOD_MS = 1000L;
+
+    private final long windowMs;
+    private final int maxSamples;
+    private final int minSamples;
+    private final double percentile;
+    private final long probePeriodMs;
+    private final Clock clock;
+
+    private final Map<HookId, HookLatencies> hookLatencies = new ConcurrentHashMap<>();
+
+    public HookLatencyBudget(long windowMs,
+                             int maxSamples,
+                             int minSamples,
+                             double percentile,
+                             long probePeriodMs,
+                             Clock clock) {
+
+        if (windowMs < 1 || probePeriodMs < 1) {
+            throw new IllegalArgumentException("Window and probe period must be positive");
+        }
+        if (minSamples < 1 || maxSamples < minSamples) {
+            throw new IllegalArgumentException("Min samples must be positive and not exceed max samples");
+        }
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 1]");
+        }
+
+        this.windowMs = windowMs;
+        this.maxSamples = maxSamples;
+        this.minSamples = minSamples;
+        this.percentile = percentile;
+        this.probePeriodMs = probePeriodMs;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Returns the reason to skip given hook, or null if it should be invoked.
+     */
+    public String skipReason(HookId hookId, long remainingTimeMs) {
+        final HookLatencies latencies = hookLatencies.get(hookId);
+        if (latencies == null) {
+            return null;
+        }
+
+        final long now = clock.millis();
+        final long tailLatency = latencies.tailLatency(now);
+        if (tailLatency < 0 || tailLatency < remainingTimeMs || latencies.tryProbe(now)) {
+            return null;
+        }
+
+        return "Hook has been skipped: its recent latency of %dms exceeds remaining time of %dms"
+                .formatted(tailLatency, remainingTimeMs);
+    }
+
+    public void recordLatency(HookId hookId, long executionTimeMs) {
+        hookLatencies.computeIfAbsent(hookId, key -> new HookLatencies())
+                .record(clock.millis(), executionTimeMs);
+    }
+
+    private class HookLatencies {
+
+        private final long[] timestamps = new long[maxSamples];
+        private final long[] latencies = new long[maxSamples];
+        private int position;
+        private int size;
+
+        private volatile long cachedTailLatency = -1;
+        private volatile long cachedAt = -STATS_REFRESH_PERIOD_MS;
+        private long lastProbeAt = -probePeriodMs;
+
+        synchronized void record(long timestamp, long latency) {
+            timestamps[position] = timestamp;
+            latencies[position] = latency;
+            position = (position + 1) % maxSamples;
+            size = Math.min(size + 1, maxSamples);
+        }
+
+        long tailLatency(long now) {
+            if (now - cachedAt >= STATS_REFRESH_PERIOD_MS) {
+                cachedTailLatency = calculateTailLatency(now);
+                cachedAt = now;
+            }
+            return cachedTailLatency;
+        }
+
+        private synchronized long calculateTailLatency(long now) {
+            final long[] recentLatencies = new long[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (now - timestamps[i] < windowMs) {
+                    recentLatencies[count++] = latencies[i];
+                }
+            }
+
+            if (count < minSamples) {
+                return -1;
+            }
+
+            Arrays.sort(recentLatencies, 0, count);
+            final int index = (int) Math.ceil(percentile * count) - 1;
+            return recentLatencies[Math.max(index, 0)];
+        }
+
+        /**
+         * Admits at most one invocation of skipped hook per probe period.
+         */
+        synchronized boolean tryProbe(long now) {
+            if (now - lastProbeAt < probePeriodMs) {
+                return false;
+            }
+
+            lastProbeAt = now;
+            return true;
+        }
+    }
+}
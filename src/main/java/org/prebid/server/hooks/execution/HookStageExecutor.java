@@ -2,11 +2,12 @@ package org.prebid.server.hooks.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -16,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
@@ -59,11 +61,14 @@ import org.prebid.server.model.Endpoint;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountHooksConfiguration;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -85,30 +90,46 @@ public class HookStageExecutor {
     private final Map<String, Boolean> hostModuleExecution;
     private final HookCatalog hookCatalog;
     private final TimeoutFactory timeoutFactory;
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
     private final Clock clock;
     private final ObjectMapper mapper;
     private final boolean isConfigToInvokeRequired;
+    private final HookLatencyBudget latencyBudget;
+
+    private final CompiledExecutionPlan entrypointExecutionPlan;
+    private final Cache<String, CompiledExecutionPlan> accountExecutionPlans;
 
     private HookStageExecutor(ExecutionPlan hostExecutionPlan,
                               ExecutionPlan defaultAccountExecutionPlan,
                               Map<String, Boolean> hostModuleExecution,
                               HookCatalog hookCatalog,
                               TimeoutFactory timeoutFactory,
-                              Vertx vertx,
+                              TimingWheel timingWheel,
                               Clock clock,
                               ObjectMapper mapper,
-                              boolean isConfigToInvokeRequired) {
+                              boolean isConfigToInvokeRequired,
+                              int executionPlansCacheSize,
+                              HookLatencyBudget latencyBudget) {
 
         this.hostExecutionPlan = hostExecutionPlan;
         this.defaultAccountExecutionPlan = defaultAccountExecutionPlan;
         this.hookCatalog = hookCatalog;
         this.timeoutFactory = timeoutFactory;
-        this.vertx = vertx;
+        this.timingWheel = timingWheel;
         this.clock = clock;
         this.mapper = mapper;
         this.isConfigToInvokeRequired = isConfigToInvokeRequired;
         this.hostModuleExecution = hostModuleExecution;
+        this.latencyBudget = latencyBudget;
+
+        entrypointExecutionPlan = new CompiledExecutionPlan(
+                null,
+                compileStagePlans(ExecutionPlan.empty()),
+                abTestsForEntrypointStage(),
+                DefaultedMap.defaultedMap(hostModuleExecution, true));
+        accountExecutionPlans = Caffeine.newBuilder()
+                .maximumSize(executionPlansCacheSize)
+                .build();
     }
 
     public static HookStageExecutor create(String hostExecutionPlan,
@@ -116,10 +137,12 @@ public class HookStageExecutor {
                                            Map<String, Boolean> hostModuleExecution,
                                            HookCatalog hookCatalog,
                                            TimeoutFactory timeoutFactory,
-                                           Vertx vertx,
+                                           TimingWheel timingWheel,
                                            Clock clock,
                                            JacksonMapper mapper,
-                                           boolean isConfigToInvokeRequired) {
+                                           boolean isConfigToInvokeRequired,
+                                           int executionPlansCacheSize,
+                                           HookLatencyBudget latencyBudget) {
 
         Objects.requireNonNull(hookCatalog);
         Objects.requireNonNull(mapper);
@@ -130,10 +153,12 @@ public class HookStageExecutor {
                 hostModuleExecution,
                 hookCatalog,
                 Objects.requireNonNull(timeoutFactory),
-                Objects.requireNonNull(vertx),
+                Objects.requireNonNull(timingWheel),
                 Objects.requireNonNull(clock),
                 mapper.mapper(),
-                isConfigToInvokeRequired);
+                isConfigToInvokeRequired,
+                executionPlansCacheSize,
+                latencyBudget);
     }
 
     private static ExecutionPlan parseAndValidateExecutionPlan(String executionPlan,
@@ -186,12 +211,11 @@ public class HookStageExecutor {
 
         final Endpoint endpoint = context.getEndpoint();
 
-        return stageExecutor(StageWithHookType.ENTRYPOINT, ENTITY_HTTP_REQUEST, context)
-                .withExecutionPlan(planForEntrypointStage(endpoint))
-                .withHookProvider(hookProviderForEntrypointStage(context))
+        return this
+                .stageExecutor(
+                        StageWithHookType.ENTRYPOINT, ENTITY_HTTP_REQUEST, context, entrypointExecutionPlan, endpoint)
                 .withInitialPayload(EntrypointPayloadImpl.of(queryParams, headers, body))
                 .withInvocationContextProvider(invocationContextProvider(endpoint))
-                .withModulesExecution(DefaultedMap.defaultedMap(hostModuleExecution, true))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -209,6 +233,7 @@ public class HookStageExecutor {
                 .stageExecutor(
                         StageWithHookType.RAW_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(true)
                 .execute();
@@ -227,6 +252,7 @@ public class HookStageExecutor {
                 .stageExecutor(
                         StageWithHookType.PROCESSED_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(true)
                 .execute();
@@ -245,6 +271,7 @@ public class HookStageExecutor {
         return this
                 .stageExecutor(StageWithHookType.BIDDER_REQUEST, bidder, context, account, endpoint)
                 .withInitialPayload(BidderRequestPayloadImpl.of(bidderRequest.getBidRequest()))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute();
@@ -265,6 +292,7 @@ public class HookStageExecutor {
         return this
                 .stageExecutor(StageWithHookType.RAW_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute();
@@ -284,6 +312,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.PROCESSED_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute();
@@ -302,6 +331,7 @@ public class HookStageExecutor {
                 StageWithHookType.ALL_PROCESSED_BID_RESPONSES, ENTITY_ALL_PROCESSED_BID_RESPONSES,
                 context, account, endpoint)
                 .withInitialPayload(AllProcessedBidResponsesPayloadImpl.of(bidderResponses))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(false)
                 .execute();
@@ -318,6 +348,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.AUCTION_RESPONSE, ENTITY_AUCTION_RESPONSE, context, account, endpoint)
                 .withInitialPayload(AuctionResponsePayloadImpl.of(bidResponse))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(false)
                 .execute();
@@ -334,6 +365,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.EXITPOINT, ENTITY_HTTP_RESPONSE, context, account, endpoint)
                 .withInitialPayload(ExitpointPayloadImpl.of(responseHeaders, responseBody))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(false)
                 .execute();
@@ -344,10 +376,11 @@ public class HookStageExecutor {
             String entity,
             HookExecutionContext context) {
 
-        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock)
+        return StageExecutor.<PAYLOAD, CONTEXT>create(timingWheel, clock)
                 .withStage(stage)
                 .withEntity(entity)
-                .withHookExecutionContext(context);
+                .withHookExecutionContext(context)
+                .withLatencyBudget(latencyBudget);
     }
 
     private <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> stageExecutor(
@@ -357,10 +390,56 @@ public class HookStageExecutor {
             Account account,
             Endpoint endpoint) {
 
+        return stageExecutor(stage, entity, context, executionPlanFor(account), endpoint);
+    }
+
+    private <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> stageExecutor(
+            StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage,
+            String entity,
+            HookExecutionContext context,
+            CompiledExecutionPlan executionPlan,
+            Endpoint endpoint) {
+
         return stageExecutor(stage, entity, context)
-                .withModulesExecution(modulesExecutionForAccount(account))
-                .withExecutionPlan(planForStage(account, endpoint, stage.stage()))
-                .withHookProvider(hookProvider(stage, account, context));
+                .withModulesExecution(executionPlan.modulesExecution())
+                .withExecutionPlan(executionPlan.stagePlan(endpoint, stage.stage()))
+                .withHookProvider(hookProvider(stage, executionPlan.abTests(), context));
+    }
+
+    private CompiledExecutionPlan executionPlanFor(Account account) {
+        final String accountId = StringUtils.defaultString(account.getId());
+        final CompiledExecutionPlan cachedExecutionPlan = accountExecutionPlans.getIfPresent(accountId);
+        if (cachedExecutionPlan != null && cachedExecutionPlan.isCompiledFrom(account.getHooks())) {
+            return cachedExecutionPlan;
+        }
+
+        final CompiledExecutionPlan executionPlan = new CompiledExecutionPlan(
+                account.getHooks(),
+                compileStagePlans(effectiveExecutionPlanFor(account)),
+                abTests(account),
+                modulesExecutionForAccount(account));
+        accountExecutionPlans.put(accountId, executionPlan);
+
+        return executionPlan;
+    }
+
+    private Map<Endpoint, Map<Stage, StageExecutionPlan>> compileStagePlans(ExecutionPlan accountExecutionPlan) {
+        final Set<Endpoint> endpoints = new HashSet<>(MapUtils.emptyIfNull(hostExecutionPlan.getEndpoints()).keySet());
+        endpoints.addAll(MapUtils.emptyIfNull(accountExecutionPlan.getEndpoints()).keySet());
+
+        final Map<Endpoint, Map<Stage, StageExecutionPlan>> stagePlans = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : endpoints) {
+            final Map<Stage, StageExecutionPlan> endpointStagePlans = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                final StageExecutionPlan stagePlan = effectiveStagePlanFrom(accountExecutionPlan, endpoint, stage);
+                if (!stagePlan.isEmpty()) {
+                    endpointStagePlans.put(stage, stagePlan);
+                }
+            }
+            stagePlans.put(endpoint, Collections.unmodifiableMap(endpointStagePlans));
+        }
+
+        return Collections.unmodifiableMap(stagePlans);
     }
 
     private Map<String, Boolean> modulesExecutionForAccount(Account account) {
@@ -384,14 +463,6 @@ public class HookStageExecutor {
         return DefaultedMap.defaultedMap(resultModulesExecution, !isConfigToInvokeRequired);
     }
 
-    private StageExecutionPlan planForEntrypointStage(Endpoint endpoint) {
-        return effectiveStagePlanFrom(ExecutionPlan.empty(), endpoint, Stage.entrypoint);
-    }
-
-    private StageExecutionPlan planForStage(Account account, Endpoint endpoint, Stage stage) {
-        return effectiveStagePlanFrom(effectiveExecutionPlanFor(account), endpoint, stage);
-    }
-
     private StageExecutionPlan effectiveStagePlanFrom(
             ExecutionPlan accountExecutionPlan, Endpoint endpoint, Stage stage) {
 
@@ -427,24 +498,14 @@ public class HookStageExecutor {
         return accountExecutionPlan != null ? accountExecutionPlan : defaultAccountExecutionPlan;
     }
 
-    private HookProvider<EntrypointPayload, InvocationContext> hookProviderForEntrypointStage(
-            HookExecutionContext context) {
-
-        return new ABTestHookProvider<>(
-                defaultHookProvider(StageWithHookType.ENTRYPOINT),
-                abTestsForEntrypointStage(),
-                context,
-                mapper);
-    }
-
     private <PAYLOAD, CONTEXT extends InvocationContext> HookProvider<PAYLOAD, CONTEXT> hookProvider(
             StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage,
-            Account account,
+            List<ABTest> abTests,
             HookExecutionContext context) {
 
         return new ABTestHookProvider<>(
                 defaultHookProvider(stage),
-                abTests(account),
+                abTests,
                 context,
                 mapper);
     }
@@ -495,6 +556,11 @@ public class HookStageExecutor {
                 bidder);
     }
 
+    private static Timeout auctionTimeout(AuctionContext auctionContext) {
+        final TimeoutContext timeoutContext = auctionContext.getTimeoutContext();
+        return timeoutContext != null ? timeoutContext.getTimeout() : null;
+    }
+
     private Timeout createTimeout(Long timeout) {
         return timeoutFactory.create(timeout);
     }
@@ -0,0 +1,8 @@
+package org.prebid.server.hooks.execution;
+
+class SkippedException extends RuntimeException {
+
+    SkippedException(String message) {
+        super(message);
+    }
+}
@@ -2,5 +2,5 @@ package org.prebid.server.hooks.execution.model;
 
 public enum ExecutionStatus {
 
-    success, failure, timeout, invocation_failure, execution_failure
+    success, failure, timeout, invocation_failure, execution_failure, skipped
 }
@@ -0,0 +1,160 @@
+package org.prebid.server.hooks.v1;
+
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Dooh;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Field of {@link BidRequest}, that can be changed by {@link BidRequestPayloadUpdate}.
+ * <p>
+ * Besides top-level fields, described by the constants of this class, fields of nested objects can be described
+ * with {@link #nested(String, Function, BiFunction)}. Changing a nested field replaces only its parent object,
+ * so the request itself is still copied once for all the changes.
+ * <p>
+ * Fields are compared by identity, so the same instance should be used rather than new instances
+ * describing the same field.
+ */
+public final class BidRequestField<T> {
+
+    public static final BidRequestField<String> ID =
+            of("id", BidRequest::getId, BidRequest.BidRequestBuilder::id);
+
+    public static final BidRequestField<List<Imp>> IMP =
+            of("imp", BidRequest::getImp, BidRequest.BidRequestBuilder::imp);
+
+    public static final BidRequestField<Site> SITE =
+            of("site", BidRequest::getSite, BidRequest.BidRequestBuilder::site);
+
+    public static final BidRequestField<App> APP =
+            of("app", BidRequest::getApp, BidRequest.BidRequestBuilder::app);
+
+    public static final BidRequestField<Dooh> DOOH =
+            of("dooh", BidRequest::getDooh, BidRequest.BidRequestBuilder::dooh);
+
+    public static final BidRequestField<Device> DEVICE =
+            of("device", BidRequest::getDevice, BidRequest.BidRequestBuilder::device);
+
+    public static final BidRequestField<User> USER =
+            of("user", BidRequest::getUser, BidRequest.BidRequestBuilder::user);
+
+    public static final BidRequestField<Integer> TEST =
+            of("test", BidRequest::getTest, BidRequest.BidRequestBuilder::test);
+
+    public static final BidRequestField<Integer> AT =
+            of("at", BidRequest::getAt, BidRequest.BidRequestBuilder::at);
+
+    public static final BidRequestField<Long> TMAX =
+            of("tmax", BidRequest::getTmax, BidRequest.BidRequestBuilder::tmax);
+
+    public static final BidRequestField<List<String>> WSEAT =
+            of("wseat", BidRequest::getWseat, BidRequest.BidRequestBuilder::wseat);
+
+    public static final BidRequestField<List<String>> BSEAT =
+            of("bseat", BidRequest::getBseat, BidRequest.BidRequestBuilder::bseat);
+
+    public static final BidRequestField<Integer> ALLIMPS =
+            of("allimps", BidRequest::getAllimps, BidRequest.BidRequestBuilder::allimps);
+
+    public static final BidRequestField<List<String>> CUR =
+            of("cur", BidRequest::getCur, BidRequest.BidRequestBuilder::cur);
+
+    public static final BidRequestField<List<String>> WLANG =
+            of("wlang", BidRequest::getWlang, BidRequest.BidRequestBuilder::wlang);
+
+    public static final BidRequestField<List<String>> WLANGB =
+            of("wlangb", BidRequest::getWlangb, BidRequest.BidRequestBuilder::wlangb);
+
+    public static final BidRequestField<List<String>> ACAT =
+            of("acat", BidRequest::getAcat, BidRequest.BidRequestBuilder::acat);
+
+    public static final BidRequestField<List<String>> BCAT =
+            of("bcat", BidRequest::getBcat, BidRequest.BidRequestBuilder::bcat);
+
+    public static final BidRequestField<Integer> CATTAX =
+            of("cattax", BidRequest::getCattax, BidRequest.BidRequestBuilder::cattax);
+
+    public static final BidRequestField<List<String>> BADV =
+            of("badv", BidRequest::getBadv, BidRequest.BidRequestBuilder::badv);
+
+    public static final BidRequestField<List<String>> BAPP =
+            of("bapp", BidRequest::getBapp, BidRequest.BidRequestBuilder::bapp);
+
+    public static final BidRequestField<Source> SOURCE =
+            of("source", BidRequest::getSource, BidRequest.BidRequestBuilder::source);
+
+    public static final BidRequestField<Regs> REGS =
+            of("regs", BidRequest::getRegs, BidRequest.BidRequestBuilder::regs);
+
+    public static final BidRequestField<ExtRequest> EXT =
+            of("ext", BidRequest::getExt, BidRequest.BidRequestBuilder::ext);
+
+    private final String name;
+    private final Function<BidRequest, T> getter;
+    private final BiConsumer<BidRequest.BidRequestBuilder, T> setter;
+    private final Nesting<?, T> nesting;
+
+    private BidRequestField(String name,
+                            Function<BidRequest, T> getter,
+                            BiConsumer<BidRequest.BidRequestBuilder, T> setter,
+                            Nesting<?, T> nesting) {
+
+        this.name = Objects.requireNonNull(name);
+        this.getter = getter;
+        this.setter = setter;
+        this.nesting = nesting;
+    }
+
+    public static <T> BidRequestField<T> of(String name,
+                                            Function<BidRequest, T> getter,
+                                            BiConsumer<BidRequest.BidRequestBuilder, T> setter) {
+
+        return new BidRequestField<>(name, Objects.requireNonNull(getter), Objects.requireNonNull(setter), null);
+    }
+
+    /**
+     * Returns field of the object held by this field.
+     * <p>
+     * Getter is called only when this field has a value, otherwise nested field is considered absent.
+     * Setter receives current value of this field, which may be null, and returns its copy with nested field set.
+     */
+    public <N> BidRequestField<N> nested(String name, Function<T, N> getter, BiFunction<T, N, T> setter) {
+        return new BidRequestField<>(
+                this.name + "." + name,
+                null,
+                null,
+                new Nesting<>(this, Objects.requireNonNull(getter), Objects.requireNonNull(setter)));
+    }
+
+    Nesting<?, T> nesting() {
+        return nesting;
+    }
+
+    T get(BidRequest bidRequest) {
+        return getter.apply(bidRequest);
+    }
+
+    void set(BidRequest.BidRequestBuilder builder, T value) {
+        setter.accept(builder, value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    record Nesting<P, T>(BidRequestField<P> parent, Function<P, T> getter, BiFunction<P, T, P> setter) {
+    }
+}
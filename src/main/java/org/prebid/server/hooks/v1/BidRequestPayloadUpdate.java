@@ -0,0 +1,174 @@
+package org.prebid.server.hooks.v1;
+
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.util.ListUtil;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Payload update, that records changes of {@link BidRequest} fields instead of building updated request.
+ * <p>
+ * Each field change receives the latest value of its field, the same as if updates were applied one by one.
+ * Changes of all such updates returned by hooks of a group are applied to the request at once, when the group
+ * completes, so the request is copied once per group rather than once per hook.
+ * <p>
+ * Instances are immutable: each change returns a new update.
+ */
+public final class BidRequestPayloadUpdate<PAYLOAD> implements PayloadUpdate<PAYLOAD> {
+
+    private final Function<PAYLOAD, BidRequest> bidRequestExtractor;
+    private final Function<BidRequest, PAYLOAD> payloadCreator;
+    private final List<FieldUpdate<?>> fieldUpdates;
+
+    private BidRequestPayloadUpdate(Function<PAYLOAD, BidRequest> bidRequestExtractor,
+                                    Function<BidRequest, PAYLOAD> payloadCreator,
+                                    List<FieldUpdate<?>> fieldUpdates) {
+
+        this.bidRequestExtractor = bidRequestExtractor;
+        this.payloadCreator = payloadCreator;
+        this.fieldUpdates = fieldUpdates;
+    }
+
+    /**
+     * Returns empty update of payloads holding bid request, e.g. {@code AuctionRequestPayload} or
+     * {@code BidderRequestPayload}.
+     */
+    public static <PAYLOAD> BidRequestPayloadUpdate<PAYLOAD> of(Function<PAYLOAD, BidRequest> bidRequestExtractor,
+                                                                Function<BidRequest, PAYLOAD> payloadCreator) {
+
+        return new BidRequestPayloadUpdate<>(
+                Objects.requireNonNull(bidRequestExtractor),
+                Objects.requireNonNull(payloadCreator),
+                Collections.emptyList());
+    }
+
+    /**
+     * Returns update, that additionally replaces value of given field with the result of given updater.
+     */
+    public <T> BidRequestPayloadUpdate<PAYLOAD> update(BidRequestField<T> field, UnaryOperator<T> updater) {
+        final FieldUpdate<?> fieldUpdate = new FieldUpdate<>(
+                Objects.requireNonNull(field),
+                Objects.requireNonNull(updater));
+
+        return new BidRequestPayloadUpdate<>(
+                bidRequestExtractor, payloadCreator, ListUtil.union(fieldUpdates, List.of(fieldUpdate)));
+    }
+
+    /**
+     * Returns update, that additionally sets given value to given field.
+     */
+    public <T> BidRequestPayloadUpdate<PAYLOAD> set(BidRequestField<T> field, T value) {
+        return update(field, ignored -> value);
+    }
+
+    @Override
+    public PAYLOAD apply(PAYLOAD payload) {
+        final Changes<PAYLOAD> changes = changesOf(payload);
+        changes.add(this);
+        return changes.toPayload();
+    }
+
+    /**
+     * Starts collecting changes of given payload.
+     */
+    public Changes<PAYLOAD> changesOf(PAYLOAD payload) {
+        return new Changes<>(payload, bidRequestExtractor.apply(payload), payloadCreator);
+    }
+
+    /**
+     * Changes of a payload, collected from several {@link BidRequestPayloadUpdate}s.
+     * <p>
+     * Only values of top-level fields are kept: change of a nested field is kept as a new value of its parent.
+     */
+    public static final class Changes<PAYLOAD> {
+
+        private final PAYLOAD payload;
+        private final BidRequest bidRequest;
+        private final Function<BidRequest, PAYLOAD> payloadCreator;
+        private Map<BidRequestField<?>, Object> values = Collections.emptyMap();
+
+        private Changes(PAYLOAD payload, BidRequest bidRequest, Function<BidRequest, PAYLOAD> payloadCreator) {
+            this.payload = payload;
+            this.bidRequest = bidRequest;
+            this.payloadCreator = payloadCreator;
+        }
+
+        /**
+         * Adds all changes of given update, or none of them if any updater fails.
+         */
+        public void add(BidRequestPayloadUpdate<PAYLOAD> update) {
+            final Map<BidRequestField<?>, Object> updatedValues = new LinkedHashMap<>(values);
+            for (FieldUpdate<?> fieldUpdate : update.fieldUpdates) {
+                applyFieldUpdate(fieldUpdate, updatedValues);
+            }
+
+            values = updatedValues;
+        }
+
+        private <T> void applyFieldUpdate(FieldUpdate<T> fieldUpdate, Map<BidRequestField<?>, Object> updatedValues) {
+            final BidRequestField<T> field = fieldUpdate.field();
+            putValue(field, fieldUpdate.updater().apply(currentValue(field, updatedValues)), updatedValues);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T currentValue(BidRequestField<T> field, Map<BidRequestField<?>, Object> updatedValues) {
+            final BidRequestField.Nesting<?, T> nesting = field.nesting();
+            if (nesting != null) {
+                return nestedValue(nesting, updatedValues);
+            }
+
+            return updatedValues.containsKey(field) ? (T) updatedValues.get(field) : field.get(bidRequest);
+        }
+
+        private <P, T> T nestedValue(BidRequestField.Nesting<P, T> nesting,
+                                     Map<BidRequestField<?>, Object> updatedValues) {
+
+            final P parentValue = currentValue(nesting.parent(), updatedValues);
+            return parentValue != null ? nesting.getter().apply(parentValue) : null;
+        }
+
+        private <T> void putValue(BidRequestField<T> field, T value, Map<BidRequestField<?>, Object> updatedValues) {
+            final BidRequestField.Nesting<?, T> nesting = field.nesting();
+            if (nesting != null) {
+                putNestedValue(nesting, value, updatedValues);
+            } else {
+                updatedValues.put(field, value);
+            }
+        }
+
+        private <P, T> void putNestedValue(BidRequestField.Nesting<P, T> nesting,
+                                           T value,
+                                           Map<BidRequestField<?>, Object> updatedValues) {
+
+            final BidRequestField<P> parent = nesting.parent();
+            putValue(parent, nesting.setter().apply(currentValue(parent, updatedValues), value), updatedValues);
+        }
+
+        /**
+         * Returns payload with all collected changes applied.
+         */
+        public PAYLOAD toPayload() {
+            if (values.isEmpty()) {
+                return payload;
+            }
+
+            final BidRequest.BidRequestBuilder builder = bidRequest.toBuilder();
+            values.forEach((field, value) -> setValue(builder, field, value));
+            return payloadCreator.apply(builder.build());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> void setValue(BidRequest.BidRequestBuilder builder, BidRequestField<T> field, Object value) {
+            field.set(builder, (T) value);
+        }
+    }
+
+    private record FieldUpdate<T>(BidRequestField<T> field, UnaryOperator<T> updater) {
+    }
+}
@@ -0,0 +1,97 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registers metrics of single account in the underlying metric registry, remembering their names,
+ * so they can be removed exactly, without touching metrics of other accounts sharing the same name prefix.
+ * <p>
+ * Once metrics are removed, callers still holding {@link AccountMetrics} of the account get detached metrics,
+ * so removed metrics are never registered again.
+ * <p>
+ * Only methods used by {@link UpdatableMetrics} are delegated.
+ */
+class AccountMetricRegistry extends MetricRegistry {
+
+    private final MetricRegistry metricRegistry;
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private volatile boolean removed;
+
+    AccountMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return register(name, () -> metricRegistry.counter(name), Counter::new);
+    }
+
+    @Override
+    public Counter counter(String name, MetricSupplier<Counter> supplier) {
+        return register(name, () -> metricRegistry.counter(name, supplier), supplier::newMetric);
+    }
+
+    @Override
+    public Meter meter(String name) {
+        return register(name, () -> metricRegistry.meter(name), Meter::new);
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return register(name, () -> metricRegistry.timer(name), Timer::new);
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return register(name, () -> metricRegistry.histogram(name),
+                () -> new Histogram(new ExponentiallyDecayingReservoir()));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public <T extends Gauge> T gauge(String name, MetricSupplier<T> supplier) {
+        return register(name, () -> metricRegistry.gauge(name, supplier), supplier::newMetric);
+    }
+
+    @Override
+    public boolean remove(String name) {
+        names.remove(name);
+        return metricRegistry.remove(name);
+    }
+
+    /**
+     * Removes all registered metrics from the underlying registry and detaches all the following ones.
+     */
+    void removeAll() {
+        removed = true;
+        names.forEach(metricRegistry::remove);
+        names.clear();
+    }
+
+    private <T> T register(String name, Supplier<T> registrar, Supplier<T> detachedCreator) {
+        if (removed) {
+            return detachedCreator.get();
+        }
+
+        names.add(name);
+        final T metric = registrar.get();
+
+        // metric could be registered concurrently with removal of the rest
+        if (removed) {
+            metricRegistry.remove(name);
+        }
+
+        return metric;
+    }
+}
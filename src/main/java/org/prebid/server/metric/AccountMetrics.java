@@ -23,9 +23,14 @@ class AccountMetrics extends UpdatableMetrics {
     private final ResponseMetrics responseMetrics;
     private final HooksMetrics hooksMetrics;
     private final ActivitiesMetrics activitiesMetrics;
+    private final AccountMetricRegistry metricRegistry;
 
     AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, String account) {
-        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+        this(new AccountMetricRegistry(Objects.requireNonNull(metricRegistry)), counterType, account);
+    }
+
+    private AccountMetrics(AccountMetricRegistry metricRegistry, CounterType counterType, String account) {
+        super(metricRegistry, Objects.requireNonNull(counterType),
                 nameCreator(createPrefix(Objects.requireNonNull(account))));
         requestTypeMetricsCreator = requestType ->
                 new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account), requestType);
@@ -36,6 +41,7 @@ class AccountMetrics extends UpdatableMetrics {
         responseMetrics = new ResponseMetrics(metricRegistry, counterType, createPrefix(account));
         hooksMetrics = new HooksMetrics(metricRegistry, counterType, createPrefix(account));
         activitiesMetrics = new ActivitiesMetrics(metricRegistry, counterType, createPrefix(account));
+        this.metricRegistry = metricRegistry;
     }
 
     private static String createPrefix(String account) {
@@ -73,4 +79,12 @@ class AccountMetrics extends UpdatableMetrics {
     ActivitiesMetrics activities() {
         return activitiesMetrics;
     }
+
+    /**
+     * Removes all metrics of this account from the underlying metric registry. Metrics updated through this
+     * instance afterward are not registered anymore.
+     */
+    void removeAll() {
+        metricRegistry.removeAll();
+    }
 }
@@ -8,17 +8,32 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public class AccountMetricsVerbosityResolver {
 
+    public static final String OTHER_ACCOUNTS = "~other";
+
+    private static final String RESERVED_PREFIX = "~";
+
     private final AccountMetricsVerbosityLevel defaultVerbosity;
     private final Map<String, AccountMetricsVerbosityLevel> accountVerbosityLevels;
+    private final TopAccountsTracker topAccountsTracker;
 
     public AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel defaultVerbosity,
                                            List<String> basicVerbosity,
                                            List<String> detailedVerbosity) {
 
+        this(defaultVerbosity, basicVerbosity, detailedVerbosity, null);
+    }
+
+    public AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel defaultVerbosity,
+                                           List<String> basicVerbosity,
+                                           List<String> detailedVerbosity,
+                                           TopAccountsTracker topAccountsTracker) {
+
         this.defaultVerbosity = Objects.requireNonNull(defaultVerbosity);
+        this.topAccountsTracker = topAccountsTracker;
 
         this.accountVerbosityLevels = new HashMap<>();
         Objects.requireNonNull(basicVerbosity)
@@ -36,4 +51,44 @@ public class AccountMetricsVerbosityResolver {
                 ? accountVerbosity
                 : accountVerbosityLevels.getOrDefault(account.getId(), defaultVerbosity);
     }
+
+    /**
+     * Returns account id under which metrics of the given account should be submitted.
+     * <p>
+     * When top accounts tracking is enabled, accounts outside the top by traffic are folded into
+     * {@link #OTHER_ACCOUNTS} bucket. Accounts explicitly listed in configuration are never folded.
+     */
+    public String metricsAccountId(String accountId) {
+        if (topAccountsTracker == null) {
+            return accountId;
+        }
+
+        return accountVerbosityLevels.containsKey(accountId) || topAccountsTracker.isTop(accountId)
+                ? escape(accountId)
+                : OTHER_ACCOUNTS;
+    }
+
+    /**
+     * Prepends one more reserved prefix to account ids starting with it, so no account id becomes
+     * {@link #OTHER_ACCOUNTS}, which has the prefix only once.
+     */
+    private static String escape(String accountId) {
+        return accountId != null && accountId.startsWith(RESERVED_PREFIX) ? RESERVED_PREFIX + accountId : accountId;
+    }
+
+    public void recordAccountRequest(String accountId) {
+        if (topAccountsTracker != null) {
+            topAccountsTracker.record(accountId);
+        }
+    }
+
+    public void setAccountEvictionListener(Consumer<String> evictionListener) {
+        if (topAccountsTracker != null) {
+            topAccountsTracker.setEvictionListener(accountId -> {
+                if (!accountVerbosityLevels.containsKey(accountId)) {
+                    evictionListener.accept(escape(accountId));
+                }
+            });
+        }
+    }
 }
@@ -14,6 +14,7 @@ class AnalyticsReporterMetrics extends UpdatableMetrics {
 
     private final Function<MetricName, EventTypeMetrics> eventTypeMetricsCreator;
     private final Map<MetricName, EventTypeMetrics> eventTypeMetrics;
+    private final AnalyticsTransportMetrics transportMetrics;
 
     AnalyticsReporterMetrics(MetricRegistry metricRegistry, CounterType counterType, String analyticCode) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
@@ -22,6 +23,8 @@ class AnalyticsReporterMetrics extends UpdatableMetrics {
         eventTypeMetricsCreator = eventType ->
                 new EventTypeMetrics(metricRegistry, counterType, createAdapterPrefix(analyticCode), eventType);
         eventTypeMetrics = new HashMap<>();
+        transportMetrics = new AnalyticsTransportMetrics(
+                metricRegistry, counterType, createAdapterPrefix(analyticCode));
     }
 
     private static String createAdapterPrefix(String reporterName) {
@@ -35,4 +38,8 @@ class AnalyticsReporterMetrics extends UpdatableMetrics {
     EventTypeMetrics forEventType(MetricName eventType) {
         return eventTypeMetrics.computeIfAbsent(eventType, eventTypeMetricsCreator);
     }
+
+    AnalyticsTransportMetrics transport() {
+        return transportMetrics;
+    }
 }
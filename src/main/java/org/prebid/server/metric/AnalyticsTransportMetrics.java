@@ -0,0 +1,19 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.function.Function;
+
+/**
+ * Metrics of the transport, sending events of analytics reporter.
+ */
+class AnalyticsTransportMetrics extends UpdatableMetrics {
+
+    AnalyticsTransportMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+        super(metricRegistry, counterType, nameCreator(prefix));
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.transport.%s".formatted(prefix, metricName);
+    }
+}
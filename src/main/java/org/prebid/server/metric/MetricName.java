@@ -57,6 +57,12 @@ public enum MetricName {
     event_setuid("setuid"),
     event_unknown("unknown"),
 
+    // analytics dispatch
+    queue_size,
+    dropped,
+    retried,
+    spilled,
+
     // request and adapter statuses
     ok,
     failed,
@@ -133,11 +139,15 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    video_stored_request("video-stored-request"),
     account,
+    categories,
     initialize,
     update,
     hit,
     miss,
+    reload,
+    reload_failed("reload-failed"),
 
     // hooks
     call,
@@ -148,6 +158,7 @@ public enum MetricName {
     unknown,
     failure,
     execution_error("execution-error"),
+    skipped,
     duration,
 
     // price-floors
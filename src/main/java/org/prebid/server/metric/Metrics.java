@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
@@ -82,7 +83,7 @@ public class Metrics extends UpdatableMetrics {
 
         requestsMetrics = new RequestsMetrics(metricRegistry, counterType);
         requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
         adapterMetrics = new HashMap<>();
         analyticMetrics = new HashMap<>();
         priceFloorsMetrics = new HashMap<>();
@@ -97,6 +98,8 @@ public class Metrics extends UpdatableMetrics {
         currencyRatesMetrics = new CurrencyRatesMetrics(metricRegistry, counterType);
         settingsCacheMetrics = new HashMap<>();
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
+
+        accountMetricsVerbosityResolver.setAccountEvictionListener(this::removeAccountMetrics);
     }
 
     RequestsMetrics requests() {
@@ -112,7 +115,15 @@ public class Metrics extends UpdatableMetrics {
     }
 
     AccountMetrics forAccount(String accountId) {
-        return accountMetrics.computeIfAbsent(accountId, accountMetricsCreator);
+        return accountMetrics.computeIfAbsent(
+                accountMetricsVerbosityResolver.metricsAccountId(accountId), accountMetricsCreator);
+    }
+
+    private void removeAccountMetrics(String accountId) {
+        final AccountMetrics removedAccountMetrics = accountMetrics.remove(accountId);
+        if (removedAccountMetrics != null) {
+            removedAccountMetrics.removeAll();
+        }
     }
 
     AdapterTypeMetrics forAdapter(String adapterType) {
@@ -236,6 +247,8 @@ public class Metrics extends UpdatableMetrics {
     }
 
     public void updateAccountRequestMetrics(Account account, MetricName requestType) {
+        accountMetricsVerbosityResolver.recordAccountRequest(account.getId());
+
         final AccountMetricsVerbosityLevel verbosityLevel = accountMetricsVerbosityResolver.forAccount(account);
         if (verbosityLevel.isAtLeast(AccountMetricsVerbosityLevel.basic)) {
             final AccountMetrics accountMetrics = forAccount(account.getId());
@@ -356,6 +369,18 @@ public class Metrics extends UpdatableMetrics {
         forAnalyticReporter(analyticCode).forEventType(eventType).incCounter(result);
     }
 
+    public void updateAnalyticEventDroppedMetric(String analyticCode) {
+        forAnalyticReporter(analyticCode).incCounter(MetricName.dropped);
+    }
+
+    public void updateAnalyticsTransportMetric(String analyticCode, MetricName result) {
+        forAnalyticReporter(analyticCode).transport().incCounter(result);
+    }
+
+    public void createAnalyticsQueueSizeGauge(String analyticCode, LongSupplier queueSizeSupplier) {
+        forAnalyticReporter(analyticCode).createGauge(MetricName.queue_size, queueSizeSupplier);
+    }
+
     public void updatePriceFloorFetchMetric(MetricName result) {
         forPriceFloorFetch().incCounter(result);
     }
@@ -528,6 +553,22 @@ public class Metrics extends UpdatableMetrics {
         versionMetrics.incCounter(metricName);
     }
 
+    public void updatePrivacyTcfConsentCacheHitMetric() {
+        privacy().tcf().consentCache().incCounter(MetricName.hit);
+    }
+
+    public void updatePrivacyTcfConsentCacheMissMetric() {
+        privacy().tcf().consentCache().incCounter(MetricName.miss);
+    }
+
+    public void updatePrivacyGppModelCacheHitMetric() {
+        privacy().gppModelCache().incCounter(MetricName.hit);
+    }
+
+    public void updatePrivacyGppModelCacheMissMetric() {
+        privacy().gppModelCache().incCounter(MetricName.miss);
+    }
+
     public void updatePrivacyTcfVendorListMissingMetric(int version) {
         updatePrivacyTcfVendorListMetric(version, MetricName.missing);
     }
@@ -686,6 +727,8 @@ public class Metrics extends UpdatableMetrics {
 
             if (status == ExecutionStatus.success) {
                 accountModuleMetrics.success().incCounter(HookMetricMapper.fromAction(action));
+            } else if (status == ExecutionStatus.skipped) {
+                accountModuleMetrics.incCounter(MetricName.skipped);
             } else {
                 accountModuleMetrics.incCounter(MetricName.failure);
             }
@@ -735,6 +778,7 @@ public class Metrics extends UpdatableMetrics {
             STATUS_TO_METRIC.put(ExecutionStatus.timeout, MetricName.timeout);
             STATUS_TO_METRIC.put(ExecutionStatus.invocation_failure, MetricName.execution_error);
             STATUS_TO_METRIC.put(ExecutionStatus.execution_failure, MetricName.execution_error);
+            STATUS_TO_METRIC.put(ExecutionStatus.skipped, MetricName.skipped);
 
             ACTION_TO_METRIC.put(ExecutionAction.no_action, MetricName.noop);
             ACTION_TO_METRIC.put(ExecutionAction.update, MetricName.update);
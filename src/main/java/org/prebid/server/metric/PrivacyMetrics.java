@@ -12,12 +12,14 @@ class PrivacyMetrics extends UpdatableMetrics {
 
     private final USPrivacyMetrics usPrivacyMetrics;
     private final TcfMetrics tcfMetrics;
+    private final GppModelCacheMetrics gppModelCacheMetrics;
 
     PrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
                 metricName -> "privacy." + metricName);
         usPrivacyMetrics = new USPrivacyMetrics(metricRegistry, counterType, "privacy");
         tcfMetrics = new TcfMetrics(metricRegistry, counterType, "privacy");
+        gppModelCacheMetrics = new GppModelCacheMetrics(metricRegistry, counterType, "privacy");
     }
 
     USPrivacyMetrics usp() {
@@ -28,6 +30,10 @@ class PrivacyMetrics extends UpdatableMetrics {
         return tcfMetrics;
     }
 
+    GppModelCacheMetrics gppModelCache() {
+        return gppModelCacheMetrics;
+    }
+
     static class USPrivacyMetrics extends UpdatableMetrics {
 
         USPrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
@@ -39,4 +45,16 @@ class PrivacyMetrics extends UpdatableMetrics {
             return metricName -> "%s.usp.%s".formatted(prefix, metricName);
         }
     }
+
+    static class GppModelCacheMetrics extends UpdatableMetrics {
+
+        GppModelCacheMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+            super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    nameCreator(Objects.requireNonNull(prefix)));
+        }
+
+        private static Function<MetricName, String> nameCreator(String prefix) {
+            return metricName -> "%s.gpp.model-cache.%s".formatted(prefix, metricName);
+        }
+    }
 }
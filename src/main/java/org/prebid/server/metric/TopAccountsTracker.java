@@ -0,0 +1,191 @@
+package org.prebid.server.metric;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the accounts with the highest traffic using Space-Saving heavy-hitters sketch.
+ * <p>
+ * Sketch holds at most {@code sketchSize} counters, so memory does not depend on the number of accounts seen.
+ * Until the top is full, every recorded account is admitted to it right away. Every {@code refreshRequests}
+ * recorded requests the set of top accounts is recalculated and all counters are halved, which lets membership
+ * follow traffic changes over time. Accounts that drop out of the top are reported to the eviction listener.
+ * <p>
+ * Sketch is shared by all threads and guarded by a lock, so with {@code samplingRate} greater than one only a random
+ * one of every {@code samplingRate} requests is recorded, and the rest don't touch the lock at all.
+ */
+public class TopAccountsTracker {
+
+    private final int topAccountsCount;
+    private final int sketchSize;
+    private final int refreshRequests;
+    private final int samplingRate;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, Long> counts;
+    private final TreeMap<Long, Set<String>> accountsByCount;
+    private long recordedRequests;
+
+    private volatile Set<String> topAccounts;
+    private Consumer<String> evictionListener;
+
+    public TopAccountsTracker(int topAccountsCount, int sketchSize, int refreshRequests) {
+        this(topAccountsCount, sketchSize, refreshRequests, 1);
+    }
+
+    public TopAccountsTracker(int topAccountsCount, int sketchSize, int refreshRequests, int samplingRate) {
+        if (topAccountsCount < 1) {
+            throw new IllegalArgumentException("Top accounts count must be positive");
+        }
+        if (sketchSize < topAccountsCount) {
+            throw new IllegalArgumentException("Sketch size must not be less than top accounts count");
+        }
+        if (refreshRequests < 1) {
+            throw new IllegalArgumentException("Refresh requests must be positive");
+        }
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive");
+        }
+
+        this.topAccountsCount = topAccountsCount;
+        this.sketchSize = sketchSize;
+        this.refreshRequests = refreshRequests;
+        this.samplingRate = samplingRate;
+
+        counts = new HashMap<>();
+        accountsByCount = new TreeMap<>();
+        topAccounts = Collections.emptySet();
+        evictionListener = accountId -> {
+        };
+    }
+
+    public void setEvictionListener(Consumer<String> evictionListener) {
+        this.evictionListener = Objects.requireNonNull(evictionListener);
+    }
+
+    public boolean isTop(String accountId) {
+        return topAccounts.contains(accountId);
+    }
+
+    public void record(String accountId) {
+        if (accountId == null || !isSampled()) {
+            return;
+        }
+
+        final Set<String> evictedAccounts;
+
+        lock.lock();
+        try {
+            increment(accountId);
+
+            if (++recordedRequests % refreshRequests == 0) {
+                evictedAccounts = refresh();
+            } else {
+                admitWhileNotFull(accountId);
+                evictedAccounts = Collections.emptySet();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evictedAccounts.forEach(evictionListener);
+    }
+
+    private boolean isSampled() {
+        return samplingRate == 1 || ThreadLocalRandom.current().nextInt(samplingRate) == 0;
+    }
+
+    private void increment(String accountId) {
+        final Long count = counts.get(accountId);
+        if (count != null) {
+            moveToCount(accountId, count, count + 1);
+        } else if (counts.size() < sketchSize) {
+            moveToCount(accountId, null, 1L);
+        } else {
+            // replace account with the minimum count, the new one inherits its count as overestimation
+            final Map.Entry<Long, Set<String>> minEntry = accountsByCount.firstEntry();
+            final Long minCount = minEntry.getKey();
+            final Iterator<String> iterator = minEntry.getValue().iterator();
+            final String replacedAccountId = iterator.next();
+
+            iterator.remove();
+            if (minEntry.getValue().isEmpty()) {
+                accountsByCount.remove(minCount);
+            }
+            counts.remove(replacedAccountId);
+
+            moveToCount(accountId, null, minCount + 1);
+        }
+    }
+
+    private void moveToCount(String accountId, Long oldCount, long newCount) {
+        if (oldCount != null) {
+            final Set<String> accounts = accountsByCount.get(oldCount);
+            accounts.remove(accountId);
+            if (accounts.isEmpty()) {
+                accountsByCount.remove(oldCount);
+            }
+        }
+
+        counts.put(accountId, newCount);
+        accountsByCount.computeIfAbsent(newCount, key -> new LinkedHashSet<>()).add(accountId);
+    }
+
+    private void admitWhileNotFull(String accountId) {
+        final Set<String> currentTopAccounts = topAccounts;
+        if (currentTopAccounts.size() < topAccountsCount && !currentTopAccounts.contains(accountId)) {
+            final Set<String> newTopAccounts = new HashSet<>(currentTopAccounts);
+            newTopAccounts.add(accountId);
+            topAccounts = Collections.unmodifiableSet(newTopAccounts);
+        }
+    }
+
+    private Set<String> refresh() {
+        final Set<String> previousTopAccounts = topAccounts;
+        final Set<String> newTopAccounts = calculateTopAccounts();
+
+        topAccounts = newTopAccounts;
+        decay();
+
+        final Set<String> evictedAccounts = new HashSet<>(previousTopAccounts);
+        evictedAccounts.removeAll(newTopAccounts);
+        return evictedAccounts;
+    }
+
+    private Set<String> calculateTopAccounts() {
+        final Set<String> result = new HashSet<>();
+        for (Set<String> accounts : accountsByCount.descendingMap().values()) {
+            for (String accountId : accounts) {
+                if (result.size() >= topAccountsCount) {
+                    return Collections.unmodifiableSet(result);
+                }
+                result.add(accountId);
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private void decay() {
+        final Map<String, Long> previousCounts = new HashMap<>(counts);
+
+        counts.clear();
+        accountsByCount.clear();
+        for (Map.Entry<String, Long> entry : previousCounts.entrySet()) {
+            final long decayedCount = entry.getValue() / 2;
+            if (decayedCount > 0) {
+                moveToCount(entry.getKey(), null, decayedCount);
+            }
+        }
+    }
+}
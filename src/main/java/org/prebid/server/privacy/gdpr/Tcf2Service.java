@@ -8,6 +8,7 @@ import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
@@ -25,6 +26,7 @@ import org.prebid.server.settings.model.Purposes;
 import org.prebid.server.settings.model.SpecialFeature;
 import org.prebid.server.settings.model.SpecialFeatures;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -177,6 +179,8 @@ public class Tcf2Service {
             Purposes purposes,
             PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation) {
 
+        final VendorConsentBits consentBits = consentBits(tcfConsent, permissions);
+
         for (PurposeStrategy purposeStrategy : purposeStrategies) {
             final PurposeCode tcfPurpose = purposeStrategy.getPurpose();
             final Purpose purposeById = findPurposeByTcfPurpose(tcfPurpose, purposes);
@@ -187,6 +191,7 @@ public class Tcf2Service {
 
             processPurposeStrategy(
                     tcfConsent,
+                    consentBits,
                     standardPermissions,
                     purposeById,
                     purposeStrategy,
@@ -194,6 +199,7 @@ public class Tcf2Service {
                     false);
             processPurposeStrategy(
                     tcfConsent,
+                    consentBits,
                     weakPermissions,
                     weakPurpose,
                     purposeStrategy,
@@ -210,6 +216,8 @@ public class Tcf2Service {
             Purposes purposes,
             PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation) {
 
+        final VendorConsentBits consentBits = consentBits(tcfConsent, permissions);
+
         for (PurposeStrategy purposeStrategy : purposeStrategies) {
             final PurposeCode tcfPurpose = purposeStrategy.getPurpose();
             final Purpose downgradedPurposeById = downgradePurpose(findPurposeByTcfPurpose(tcfPurpose, purposes));
@@ -220,6 +228,7 @@ public class Tcf2Service {
 
             processPurposeStrategy(
                     tcfConsent,
+                    consentBits,
                     standardPermissions,
                     downgradedPurposeById,
                     purposeStrategy,
@@ -227,6 +236,7 @@ public class Tcf2Service {
                     true);
             processPurposeStrategy(
                     tcfConsent,
+                    consentBits,
                     weakPermissions,
                     weakPurpose,
                     purposeStrategy,
@@ -237,6 +247,15 @@ public class Tcf2Service {
         return Future.succeededFuture();
     }
 
+    private static VendorConsentBits consentBits(TCString tcfConsent,
+                                                 VendorPermissionsByType<VendorPermissionWithGvl> permissions) {
+
+        final List<VendorPermissionWithGvl> allPermissions = new ArrayList<>(permissions.getStandardPermissions());
+        allPermissions.addAll(permissions.getWeakPermissions());
+
+        return VendorConsentBits.of(tcfConsent, allPermissions);
+    }
+
     private static Purpose downgradePurpose(Purpose purpose) {
         final EnforcePurpose enforcePurpose = purpose.getEnforcePurpose();
 
@@ -259,6 +278,7 @@ public class Tcf2Service {
     }
 
     private static void processPurposeStrategy(TCString tcfConsent,
+                                               VendorConsentBits consentBits,
                                                Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
                                                Purpose purpose,
                                                PurposeStrategy purposeStrategy,
@@ -268,18 +288,18 @@ public class Tcf2Service {
         if (purposeStrategy.getPurpose() == PurposeCode.ONE && tcfConsent.getPurposeOneTreatment()) {
             processPurposeOneTreatment(
                     purposeOneTreatmentInterpretation,
-                    tcfConsent,
+                    consentBits,
                     purpose,
                     purposeStrategy,
                     vendorPermissionsWithGvl,
                     wasDowngraded);
         } else {
-            purposeStrategy.processTypePurposeStrategy(tcfConsent, purpose, vendorPermissionsWithGvl, wasDowngraded);
+            purposeStrategy.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, wasDowngraded);
         }
     }
 
     private static void processPurposeOneTreatment(PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation,
-                                                   TCString tcfConsent,
+                                                   VendorConsentBits consentBits,
                                                    Purpose purposeOne,
                                                    PurposeStrategy purposeOneStrategy,
                                                    Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
@@ -292,7 +312,7 @@ public class Tcf2Service {
                 // no need for special processing of no-access-allowed since everything is disallowed from the beginning
             }
             case ignore -> purposeOneStrategy.processTypePurposeStrategy(
-                    tcfConsent, purposeOne, vendorPermissionsWithGvl, wasDowngraded);
+                    consentBits, purposeOne, vendorPermissionsWithGvl, wasDowngraded);
         }
     }
 
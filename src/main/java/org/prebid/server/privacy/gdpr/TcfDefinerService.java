@@ -1,5 +1,7 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import lombok.Value;
@@ -20,6 +22,7 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.RequestLogInfo;
 import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
+import org.prebid.server.privacy.gdpr.model.TCStringSnapshot;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.gdpr.model.TcfResponse;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
@@ -67,6 +70,7 @@ public class TcfDefinerService {
     private final IpAddressHelper ipAddressHelper;
     private final Metrics metrics;
     private final double samplingRate;
+    private final Cache<String, TCString> consentCache;
 
     public TcfDefinerService(GdprConfig gdprConfig,
                              Set<String> eeaCountries,
@@ -75,7 +79,8 @@ public class TcfDefinerService {
                              BidderCatalog bidderCatalog,
                              IpAddressHelper ipAddressHelper,
                              Metrics metrics,
-                             double samplingRate) {
+                             double samplingRate,
+                             int consentCacheSize) {
 
         this.gdprEnabled = gdprConfig != null && BooleanUtils.isNotFalse(gdprConfig.getEnabled());
         this.gdprDefaultValue = gdprConfig != null ? gdprConfig.getDefaultValue() : null;
@@ -88,6 +93,10 @@ public class TcfDefinerService {
         this.ipAddressHelper = Objects.requireNonNull(ipAddressHelper);
         this.metrics = Objects.requireNonNull(metrics);
         this.samplingRate = samplingRate;
+
+        consentCache = consentCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(consentCacheSize).build()
+                : null;
     }
 
     /**
@@ -378,7 +387,7 @@ public class TcfDefinerService {
 
     private TCString decodeTcString(String consentString, RequestLogInfo requestLogInfo, List<String> warnings) {
         try {
-            return TCString.decode(consentString);
+            return consentCache != null ? decodeCachedTcString(consentString) : TCString.decode(consentString);
         } catch (Exception e) {
             logWarn(consentString, e.getMessage(), requestLogInfo);
             warnings.add("Parsing consent string:\"%s\" - failed. %s".formatted(consentString, e.getMessage()));
@@ -386,6 +395,41 @@ public class TcfDefinerService {
         }
     }
 
+    private TCString decodeCachedTcString(String consentString) {
+        final TCString cachedTcString = consentCache.getIfPresent(consentString);
+        if (cachedTcString != null) {
+            metrics.updatePrivacyTcfConsentCacheHitMetric();
+            return cachedTcString;
+        }
+
+        metrics.updatePrivacyTcfConsentCacheMissMetric();
+
+        final TCString tcString = TCString.decode(consentString);
+        final TCString tcStringSnapshot = toSnapshot(tcString);
+        if (tcStringSnapshot == null) {
+            return tcString;
+        }
+
+        consentCache.put(consentString, tcStringSnapshot);
+        return tcStringSnapshot;
+    }
+
+    /**
+     * Returns shareable copy of TCF v2 consent, or null if it cannot be fully decoded upfront.
+     * Such consent, as well as TCF v1 one, is not cached and is processed the same way as before caching.
+     */
+    private static TCString toSnapshot(TCString tcString) {
+        if (tcString.getVersion() != 2) {
+            return null;
+        }
+
+        try {
+            return TCStringSnapshot.of(tcString);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     private static void logWarn(String consent, String message, RequestLogInfo requestLogInfo) {
         if (requestLogInfo == null || requestLogInfo.getRequestType() == null) {
             final String exceptionMessage = "Parsing consent string:\"%s\" failed for undefined type with exception %s"
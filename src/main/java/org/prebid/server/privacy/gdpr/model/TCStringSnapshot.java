@@ -0,0 +1,224 @@
+package org.prebid.server.privacy.gdpr.model;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.BitSetIntIterable;
+import com.iabtcf.utils.IntIterable;
+import com.iabtcf.v2.PublisherRestriction;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Fully decoded, immutable copy of {@link TCString}.
+ * <p>
+ * Decoder of the library reads fields lazily from shared bit reader, so its {@link TCString} must not be used
+ * by several threads at once. This copy decodes all fields upfront and can be shared.
+ */
+public class TCStringSnapshot implements TCString {
+
+    private final int version;
+    private final Instant created;
+    private final Instant lastUpdated;
+    private final int cmpId;
+    private final int cmpVersion;
+    private final int consentScreen;
+    private final String consentLanguage;
+    private final int vendorListVersion;
+    private final IntIterable purposesConsent;
+    private final IntIterable vendorConsent;
+    private final boolean defaultVendorConsent;
+    private final int tcfPolicyVersion;
+    private final boolean serviceSpecific;
+    private final boolean useNonStandardStacks;
+    private final IntIterable specialFeatureOptIns;
+    private final IntIterable purposesLITransparency;
+    private final boolean purposeOneTreatment;
+    private final String publisherCC;
+    private final IntIterable vendorLegitimateInterest;
+    private final List<PublisherRestriction> publisherRestrictions;
+    private final IntIterable allowedVendors;
+    private final IntIterable disclosedVendors;
+    private final IntIterable pubPurposesConsent;
+    private final IntIterable pubPurposesLITransparency;
+    private final IntIterable customPurposesConsent;
+    private final IntIterable customPurposesLITransparency;
+
+    private TCStringSnapshot(TCString tcString) {
+        version = tcString.getVersion();
+        created = tcString.getCreated();
+        lastUpdated = tcString.getLastUpdated();
+        cmpId = tcString.getCmpId();
+        cmpVersion = tcString.getCmpVersion();
+        consentScreen = tcString.getConsentScreen();
+        consentLanguage = tcString.getConsentLanguage();
+        vendorListVersion = tcString.getVendorListVersion();
+        purposesConsent = copy(tcString.getPurposesConsent());
+        vendorConsent = copy(tcString.getVendorConsent());
+        defaultVendorConsent = tcString.getDefaultVendorConsent();
+        tcfPolicyVersion = tcString.getTcfPolicyVersion();
+        serviceSpecific = tcString.isServiceSpecific();
+        useNonStandardStacks = tcString.getUseNonStandardStacks();
+        specialFeatureOptIns = copy(tcString.getSpecialFeatureOptIns());
+        purposesLITransparency = copy(tcString.getPurposesLITransparency());
+        purposeOneTreatment = tcString.getPurposeOneTreatment();
+        publisherCC = tcString.getPublisherCC();
+        vendorLegitimateInterest = copy(tcString.getVendorLegitimateInterest());
+        publisherRestrictions = tcString.getPublisherRestrictions().stream()
+                .map(TCStringSnapshot::copy)
+                .toList();
+        allowedVendors = copy(tcString.getAllowedVendors());
+        disclosedVendors = copy(tcString.getDisclosedVendors());
+        pubPurposesConsent = copy(tcString.getPubPurposesConsent());
+        pubPurposesLITransparency = copy(tcString.getPubPurposesLITransparency());
+        customPurposesConsent = copy(tcString.getCustomPurposesConsent());
+        customPurposesLITransparency = copy(tcString.getCustomPurposesLITransparency());
+    }
+
+    /**
+     * Decodes all fields of given {@link TCString}. Fails if any of them cannot be decoded.
+     */
+    public static TCString of(TCString tcString) {
+        return new TCStringSnapshot(tcString);
+    }
+
+    private static IntIterable copy(IntIterable intIterable) {
+        return BitSetIntIterable.from(intIterable);
+    }
+
+    private static PublisherRestriction copy(PublisherRestriction publisherRestriction) {
+        return new PublisherRestriction(
+                publisherRestriction.getPurposeId(),
+                publisherRestriction.getRestrictionType(),
+                copy(publisherRestriction.getVendorIds()));
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public Instant getCreated() {
+        return created;
+    }
+
+    @Override
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    @Override
+    public int getCmpId() {
+        return cmpId;
+    }
+
+    @Override
+    public int getCmpVersion() {
+        return cmpVersion;
+    }
+
+    @Override
+    public int getConsentScreen() {
+        return consentScreen;
+    }
+
+    @Override
+    public String getConsentLanguage() {
+        return consentLanguage;
+    }
+
+    @Override
+    public int getVendorListVersion() {
+        return vendorListVersion;
+    }
+
+    @Override
+    public IntIterable getPurposesConsent() {
+        return purposesConsent;
+    }
+
+    @Override
+    public IntIterable getVendorConsent() {
+        return vendorConsent;
+    }
+
+    @Override
+    public boolean getDefaultVendorConsent() {
+        return defaultVendorConsent;
+    }
+
+    @Override
+    public int getTcfPolicyVersion() {
+        return tcfPolicyVersion;
+    }
+
+    @Override
+    public boolean isServiceSpecific() {
+        return serviceSpecific;
+    }
+
+    @Override
+    public boolean getUseNonStandardStacks() {
+        return useNonStandardStacks;
+    }
+
+    @Override
+    public IntIterable getSpecialFeatureOptIns() {
+        return specialFeatureOptIns;
+    }
+
+    @Override
+    public IntIterable getPurposesLITransparency() {
+        return purposesLITransparency;
+    }
+
+    @Override
+    public boolean getPurposeOneTreatment() {
+        return purposeOneTreatment;
+    }
+
+    @Override
+    public String getPublisherCC() {
+        return publisherCC;
+    }
+
+    @Override
+    public IntIterable getVendorLegitimateInterest() {
+        return vendorLegitimateInterest;
+    }
+
+    @Override
+    public List<PublisherRestriction> getPublisherRestrictions() {
+        return publisherRestrictions;
+    }
+
+    @Override
+    public IntIterable getAllowedVendors() {
+        return allowedVendors;
+    }
+
+    @Override
+    public IntIterable getDisclosedVendors() {
+        return disclosedVendors;
+    }
+
+    @Override
+    public IntIterable getPubPurposesConsent() {
+        return pubPurposesConsent;
+    }
+
+    @Override
+    public IntIterable getPubPurposesLITransparency() {
+        return pubPurposesLITransparency;
+    }
+
+    @Override
+    public IntIterable getCustomPurposesConsent() {
+        return customPurposesConsent;
+    }
+
+    @Override
+    public IntIterable getCustomPurposesLITransparency() {
+        return customPurposesLITransparency;
+    }
+}
@@ -0,0 +1,264 @@
+package org.prebid.server.privacy.gdpr.model;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.IntIterable;
+import com.iabtcf.utils.IntIterator;
+import com.iabtcf.v2.PublisherRestriction;
+import com.iabtcf.v2.RestrictionType;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * TCF consent and GVL declarations of vendors taking part in the request, converted to bit sets indexed by vendor id.
+ * <p>
+ * Built once per request, so purposes are enforced for all vendors at once with bitwise operations,
+ * instead of checking consent string and GVL vendor by vendor for each purpose.
+ * <p>
+ * Only vendors with known (non-negative) id are represented. All returned bit sets are copies.
+ */
+public class VendorConsentBits {
+
+    private static final int PURPOSES_COUNT = PurposeCode.TEN.code() + 1;
+
+    private final BitSet vendors;
+    private final BitSet vendorConsent;
+    private final BitSet vendorLegitimateInterest;
+    private final BitSet purposesConsent;
+    private final BitSet purposesLITransparency;
+
+    private final BitSet[] notAllowed = newBitSets();
+    private final BitSet[] requireConsent = newBitSets();
+    private final BitSet[] requireLegitimateInterest = newBitSets();
+
+    private final BitSet[] gvlPurposes = newBitSets();
+    private final BitSet[] gvlLegIntPurposes = newBitSets();
+    private final BitSet[] gvlFlexiblePurposes = newBitSets();
+
+    private VendorConsentBits(TCString tcString, Collection<VendorPermissionWithGvl> vendorPermissions) {
+        vendors = new BitSet();
+        for (VendorPermissionWithGvl vendorPermission : vendorPermissions) {
+            final Integer vendorId = vendorPermission.getVendorPermission().getVendorId();
+            if (isKnown(vendorId)) {
+                vendors.set(vendorId);
+                addGvlDeclarations(vendorId, vendorPermission.getVendor());
+            }
+        }
+
+        vendorConsent = vendorsContainedIn(tcString.getVendorConsent());
+        vendorLegitimateInterest = vendorsContainedIn(tcString.getVendorLegitimateInterest());
+        purposesConsent = purposesContainedIn(tcString.getPurposesConsent());
+        purposesLITransparency = purposesContainedIn(tcString.getPurposesLITransparency());
+
+        addPublisherRestrictions(tcString.getPublisherRestrictions());
+    }
+
+    public static VendorConsentBits of(TCString tcString, Collection<VendorPermissionWithGvl> vendorPermissions) {
+        return new VendorConsentBits(tcString, vendorPermissions);
+    }
+
+    private static BitSet[] newBitSets() {
+        final BitSet[] bitSets = new BitSet[PURPOSES_COUNT];
+        for (int i = 0; i < PURPOSES_COUNT; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    private void addGvlDeclarations(int vendorId, Vendor vendor) {
+        if (vendor == null) {
+            return;
+        }
+
+        addPurposes(gvlPurposes, vendor.getPurposes(), vendorId);
+        addPurposes(gvlLegIntPurposes, vendor.getLegIntPurposes(), vendorId);
+        addPurposes(gvlFlexiblePurposes, vendor.getFlexiblePurposes(), vendorId);
+    }
+
+    private static void addPurposes(BitSet[] vendorsByPurpose, Set<PurposeCode> purposes, int vendorId) {
+        if (purposes != null) {
+            purposes.forEach(purpose -> vendorsByPurpose[purpose.code()].set(vendorId));
+        }
+    }
+
+    private BitSet vendorsContainedIn(IntIterable vendorIds) {
+        final BitSet result = new BitSet();
+        for (int vendorId = vendors.nextSetBit(0); vendorId >= 0; vendorId = vendors.nextSetBit(vendorId + 1)) {
+            if (vendorIds.contains(vendorId)) {
+                result.set(vendorId);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet purposesContainedIn(IntIterable purposeIds) {
+        final BitSet result = new BitSet();
+        for (int purposeId = 1; purposeId < PURPOSES_COUNT; purposeId++) {
+            if (purposeIds.contains(purposeId)) {
+                result.set(purposeId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vendor restricted by several restrictions of the same purpose is not allowed, if any of them says so,
+     * otherwise the first restriction is applied.
+     */
+    private void addPublisherRestrictions(Collection<PublisherRestriction> publisherRestrictions) {
+        final BitSet[] restricted = newBitSets();
+
+        for (PublisherRestriction publisherRestriction : publisherRestrictions) {
+            final int purposeId = publisherRestriction.getPurposeId();
+            if (purposeId < 1 || purposeId >= PURPOSES_COUNT) {
+                continue;
+            }
+
+            final BitSet restrictedVendors = restrictedVendors(publisherRestriction.getVendorIds());
+            final RestrictionType restrictionType = publisherRestriction.getRestrictionType();
+            if (restrictionType == RestrictionType.NOT_ALLOWED) {
+                notAllowed[purposeId].or(restrictedVendors);
+                continue;
+            }
+
+            restrictedVendors.andNot(restricted[purposeId]);
+            restricted[purposeId].or(restrictedVendors);
+            switch (restrictionType) {
+                case REQUIRE_CONSENT -> requireConsent[purposeId].or(restrictedVendors);
+                case REQUIRE_LEGITIMATE_INTEREST -> requireLegitimateInterest[purposeId].or(restrictedVendors);
+                default -> {
+                }
+            }
+        }
+
+        for (int purposeId = 1; purposeId < PURPOSES_COUNT; purposeId++) {
+            requireConsent[purposeId].andNot(notAllowed[purposeId]);
+            requireLegitimateInterest[purposeId].andNot(notAllowed[purposeId]);
+        }
+    }
+
+    private BitSet restrictedVendors(IntIterable vendorIds) {
+        final BitSet result = new BitSet();
+        final IntIterator iterator = vendorIds.intIterator();
+        while (iterator.hasNext()) {
+            final int vendorId = iterator.nextInt();
+            if (vendorId >= 0 && vendors.get(vendorId)) {
+                result.set(vendorId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns ids of given vendors, that can be represented in bit sets.
+     */
+    public BitSet vendorsOf(Collection<VendorPermissionWithGvl> vendorPermissions) {
+        final BitSet result = new BitSet();
+        for (VendorPermissionWithGvl vendorPermission : vendorPermissions) {
+            final Integer vendorId = vendorPermission.getVendorPermission().getVendorId();
+            if (isKnown(vendorId) && vendors.get(vendorId)) {
+                result.set(vendorId);
+            }
+        }
+        return result;
+    }
+
+    public boolean hasPurposeLITransparency(PurposeCode purpose) {
+        return purposesLITransparency.get(purpose.code());
+    }
+
+    /**
+     * Returns given vendors allowed by purpose consent and, if vendors are enforced, by vendor consent.
+     */
+    public BitSet allowedBySimpleConsent(PurposeCode purpose, BitSet vendorIds, boolean isEnforceVendors) {
+        return allowedBy(purposesConsent, vendorConsent, purpose, vendorIds, isEnforceVendors);
+    }
+
+    /**
+     * Returns given vendors allowed by purpose and, if vendors are enforced, by vendor legitimate interest.
+     */
+    public BitSet allowedByLegitimateInterest(PurposeCode purpose, BitSet vendorIds, boolean isEnforceVendors) {
+        return allowedBy(purposesLITransparency, vendorLegitimateInterest, purpose, vendorIds, isEnforceVendors);
+    }
+
+    private static BitSet allowedBy(BitSet purposes,
+                                    BitSet allowedVendors,
+                                    PurposeCode purpose,
+                                    BitSet vendorIds,
+                                    boolean isEnforceVendors) {
+
+        if (!purposes.get(purpose.code())) {
+            return new BitSet();
+        }
+
+        final BitSet result = (BitSet) vendorIds.clone();
+        if (isEnforceVendors) {
+            result.and(allowedVendors);
+        }
+        return result;
+    }
+
+    /**
+     * Returns given vendors having either vendor consent or vendor legitimate interest, regardless of purposes.
+     */
+    public BitSet allowedByVendorConsentOrLegitimateInterest(BitSet vendorIds) {
+        final BitSet allowedVendors = (BitSet) vendorConsent.clone();
+        allowedVendors.or(vendorLegitimateInterest);
+
+        final BitSet result = (BitSet) vendorIds.clone();
+        result.and(allowedVendors);
+        return result;
+    }
+
+    /**
+     * Returns vendors, to which publisher restriction of given type is applied for given purpose.
+     * Vendors without publisher restriction are returned for {@link RestrictionType#UNDEFINED}.
+     */
+    public BitSet restrictedWith(PurposeCode purpose, RestrictionType restrictionType) {
+        final int purposeId = purpose.code();
+        return switch (restrictionType) {
+            case NOT_ALLOWED -> (BitSet) notAllowed[purposeId].clone();
+            case REQUIRE_CONSENT -> (BitSet) requireConsent[purposeId].clone();
+            case REQUIRE_LEGITIMATE_INTEREST -> (BitSet) requireLegitimateInterest[purposeId].clone();
+            case UNDEFINED -> {
+                final BitSet result = (BitSet) vendors.clone();
+                result.andNot(notAllowed[purposeId]);
+                result.andNot(requireConsent[purposeId]);
+                result.andNot(requireLegitimateInterest[purposeId]);
+                yield result;
+            }
+        };
+    }
+
+    /**
+     * Returns vendors declaring given purpose in GVL.
+     */
+    public BitSet gvlPurposes(PurposeCode purpose) {
+        return (BitSet) gvlPurposes[purpose.code()].clone();
+    }
+
+    /**
+     * Returns vendors declaring given purpose as legitimate interest purpose in GVL.
+     */
+    public BitSet gvlLegIntPurposes(PurposeCode purpose) {
+        return (BitSet) gvlLegIntPurposes[purpose.code()].clone();
+    }
+
+    /**
+     * Returns vendors declaring given purpose as flexible in GVL.
+     */
+    public BitSet gvlFlexiblePurposes(PurposeCode purpose) {
+        return (BitSet) gvlFlexiblePurposes[purpose.code()].clone();
+    }
+
+    public static boolean contains(BitSet vendorIds, Integer vendorId) {
+        return isKnown(vendorId) && vendorIds.get(vendorId);
+    }
+
+    private static boolean isKnown(Integer vendorId) {
+        return vendorId != null && vendorId >= 0;
+    }
+}
@@ -1,9 +1,9 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose;
 
-import com.iabtcf.decoder.TCString;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
@@ -15,7 +15,11 @@ import org.prebid.server.settings.model.Purpose;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class PurposeStrategy {
@@ -56,38 +60,41 @@ public abstract class PurposeStrategy {
         allowNaturally(vendorPermission.getPrivacyEnforcementAction());
     }
 
-    public void processTypePurposeStrategy(TCString vendorConsent,
+    public void processTypePurposeStrategy(VendorConsentBits consentBits,
                                            Purpose purpose,
                                            Collection<VendorPermissionWithGvl> vendorPermissions,
                                            boolean wasDowngraded) {
 
-        final Collection<VendorPermissionWithGvl> excludedVendors = excludedVendors(vendorPermissions, purpose);
-        final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorPermissions.stream()
-                .filter(vendorPermission -> !excludedVendors.contains(vendorPermission))
-                .toList();
+        final Map<Boolean, List<VendorPermissionWithGvl>> vendorsByExclusion =
+                partitionByExclusion(vendorPermissions, purpose);
+        final Collection<VendorPermissionWithGvl> excludedVendors = vendorsByExclusion.get(true);
+        final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorsByExclusion.get(false);
 
-        allowedByTypeStrategy(vendorConsent, purpose, vendorForPurpose, excludedVendors)
+        allowedByTypeStrategy(consentBits, purpose, vendorForPurpose, excludedVendors)
                 .forEach(this::allow);
 
         final Stream<VendorPermission> naturalVendorPermission = wasDowngraded
-                ? allowedByBasicTypeStrategy(vendorConsent, true, vendorForPurpose, excludedVendors)
-                : allowedByFullTypeStrategy(vendorConsent, true, vendorForPurpose, excludedVendors);
+                ? allowedByBasicTypeStrategy(consentBits, true, vendorForPurpose, excludedVendors)
+                : allowedByFullTypeStrategy(consentBits, true, vendorForPurpose, excludedVendors);
 
         naturalVendorPermission.forEach(this::allowNaturally);
     }
 
-    private Collection<VendorPermissionWithGvl> excludedVendors(Collection<VendorPermissionWithGvl> vendorPermissions,
-                                                                Purpose purpose) {
+    private static Map<Boolean, List<VendorPermissionWithGvl>> partitionByExclusion(
+            Collection<VendorPermissionWithGvl> vendorPermissions,
+            Purpose purpose) {
 
-        final List<String> bidderNameExceptions = purpose.getVendorExceptions();
+        final List<String> vendorExceptions = purpose.getVendorExceptions();
+        final Set<String> bidderNameExceptions = CollectionUtils.isEmpty(vendorExceptions)
+                ? Collections.emptySet()
+                : new HashSet<>(vendorExceptions);
 
-        return CollectionUtils.isEmpty(bidderNameExceptions)
-                ? Collections.emptyList()
-                : CollectionUtils.select(vendorPermissions, vendorPermission ->
-                bidderNameExceptions.contains(vendorPermission.getVendorPermission().getBidderName()));
+        return vendorPermissions.stream()
+                .collect(Collectors.partitioningBy(vendorPermission ->
+                        bidderNameExceptions.contains(vendorPermission.getVendorPermission().getBidderName())));
     }
 
-    private Stream<VendorPermission> allowedByTypeStrategy(TCString vendorConsent,
+    private Stream<VendorPermission> allowedByTypeStrategy(VendorConsentBits consentBits,
                                                            Purpose purpose,
                                                            Collection<VendorPermissionWithGvl> vendorForPurpose,
                                                            Collection<VendorPermissionWithGvl> excludedVendors) {
@@ -96,43 +103,43 @@ public abstract class PurposeStrategy {
 
         final EnforcePurpose purposeType = purpose.getEnforcePurpose();
         if (purposeType == EnforcePurpose.no) {
-            return allowedByNoTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
+            return allowedByNoTypeStrategy(consentBits, isEnforceVendors, vendorForPurpose, excludedVendors);
         }
 
         if (purposeType == EnforcePurpose.basic) {
-            return allowedByBasicTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
+            return allowedByBasicTypeStrategy(consentBits, isEnforceVendors, vendorForPurpose, excludedVendors);
         }
 
-        return allowedByFullTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
+        return allowedByFullTypeStrategy(consentBits, isEnforceVendors, vendorForPurpose, excludedVendors);
     }
 
     private Stream<VendorPermission> allowedByBasicTypeStrategy(
-            TCString vendorConsent,
+            VendorConsentBits consentBits,
             boolean isEnforceVendors,
             Collection<VendorPermissionWithGvl> vendorForPurpose,
             Collection<VendorPermissionWithGvl> excludedVendors) {
 
         return basicEnforcePurposeStrategy.allowedByTypeStrategy(
-                getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
+                getPurpose(), consentBits, vendorForPurpose, excludedVendors, isEnforceVendors);
     }
 
     private Stream<VendorPermission> allowedByNoTypeStrategy(
-            TCString vendorConsent,
+            VendorConsentBits consentBits,
             boolean isEnforceVendors,
             Collection<VendorPermissionWithGvl> vendorForPurpose,
             Collection<VendorPermissionWithGvl> excludedVendors) {
 
         return noEnforcePurposeStrategy.allowedByTypeStrategy(
-                getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
+                getPurpose(), consentBits, vendorForPurpose, excludedVendors, isEnforceVendors);
     }
 
     private Stream<VendorPermission> allowedByFullTypeStrategy(
-            TCString vendorConsent,
+            VendorConsentBits consentBits,
             boolean isEnforceVendors,
             Collection<VendorPermissionWithGvl> vendorForPurpose,
             Collection<VendorPermissionWithGvl> excludedVendors) {
 
         return fullEnforcePurposeStrategy.allowedByTypeStrategy(
-                getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
+                getPurpose(), consentBits, vendorForPurpose, excludedVendors, isEnforceVendors);
     }
 }
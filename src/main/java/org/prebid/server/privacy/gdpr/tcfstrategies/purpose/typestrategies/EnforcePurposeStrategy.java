@@ -1,66 +1,63 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
 import com.iabtcf.decoder.TCString;
-import com.iabtcf.utils.IntIterable;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 public abstract class EnforcePurposeStrategy {
 
+    /**
+     * Same as {@link #allowedByTypeStrategy(PurposeCode, VendorConsentBits, Collection, Collection, boolean)},
+     * with consent decoded for given vendors only.
+     */
+    public Stream<VendorPermission> allowedByTypeStrategy(PurposeCode purpose,
+                                                          TCString tcString,
+                                                          Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                                                          Collection<VendorPermissionWithGvl> excludedVendors,
+                                                          boolean isEnforceVendors) {
+
+        final List<VendorPermissionWithGvl> vendorPermissions = new ArrayList<>(vendorsForPurpose);
+        vendorPermissions.addAll(excludedVendors);
+
+        return allowedByTypeStrategy(
+                purpose,
+                VendorConsentBits.of(tcString, vendorPermissions),
+                vendorsForPurpose,
+                excludedVendors,
+                isEnforceVendors);
+    }
+
     public abstract Stream<VendorPermission> allowedByTypeStrategy(
             PurposeCode purpose,
-            TCString vendorConsent,
+            VendorConsentBits consentBits,
             Collection<VendorPermissionWithGvl> vendorsForPurpose,
             Collection<VendorPermissionWithGvl> excludedVendors,
             boolean isEnforceVendors);
 
-    protected boolean isAllowedBySimpleConsentOrLegitimateInterest(PurposeCode purpose,
-                                                                   Integer vendorId,
-                                                                   boolean isEnforceVendor,
-                                                                   TCString tcString) {
+    protected BitSet allowedBySimpleConsent(PurposeCode purpose,
+                                            VendorConsentBits consentBits,
+                                            BitSet vendorIds,
+                                            boolean isEnforceVendors) {
 
-        return isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString)
-                || isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+        return consentBits.allowedBySimpleConsent(purpose, vendorIds, isEnforceVendors);
     }
 
-    protected boolean isAllowedBySimpleConsent(PurposeCode purpose,
-                                               Integer vendorId,
-                                               boolean isEnforceVendor,
-                                               TCString tcString) {
-
-        final IntIterable purposesConsent = tcString.getPurposesConsent();
-        final IntIterable vendorConsent = tcString.getVendorConsent();
-
-        return isAllowedByConsents(purpose, vendorId, isEnforceVendor, purposesConsent, vendorConsent);
-    }
-
-    protected boolean isAllowedByLegitimateInterest(PurposeCode purpose,
-                                                    Integer vendorId,
-                                                    boolean isEnforceVendor,
-                                                    TCString tcString) {
-
-        final IntIterable purposesConsent = tcString.getPurposesLITransparency();
-        final IntIterable vendorConsent = tcString.getVendorLegitimateInterest();
-
-        return isAllowedByConsents(purpose, vendorId, isEnforceVendor, purposesConsent, vendorConsent);
+    protected static Stream<VendorPermission> toVendorPermissions(Collection<VendorPermissionWithGvl> permissions) {
+        return permissions.stream().map(VendorPermissionWithGvl::getVendorPermission);
     }
 
-    private boolean isAllowedByConsents(PurposeCode purpose,
-                                        Integer vendorId,
-                                        boolean isEnforceVendors,
-                                        IntIterable purposesConsent,
-                                        IntIterable vendorConsent) {
+    protected static Stream<VendorPermission> toVendorPermissions(Collection<VendorPermissionWithGvl> permissions,
+                                                                  BitSet vendorIds) {
 
-        final boolean isPurposeAllowed = purposesConsent.contains(purpose.code());
-        final boolean isVendorAllowed = !isEnforceVendors || vendorConsent.contains(vendorId);
-        return isPurposeAllowed && isVendorAllowed;
-    }
-
-    protected static Stream<VendorPermission> toVendorPermissions(Collection<VendorPermissionWithGvl> permissions) {
-        return permissions.stream().map(VendorPermissionWithGvl::getVendorPermission);
+        return toVendorPermissions(permissions)
+                .filter(vendorPermission -> VendorConsentBits.contains(vendorIds, vendorPermission.getVendorId()));
     }
 }
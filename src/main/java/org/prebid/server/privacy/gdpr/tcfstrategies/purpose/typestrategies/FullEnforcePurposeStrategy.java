@@ -1,78 +1,37 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
-import com.iabtcf.decoder.TCString;
 import com.iabtcf.v2.RestrictionType;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.map.DefaultedMap;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
 
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
 
     public Stream<VendorPermission> allowedByTypeStrategy(PurposeCode purpose,
-                                                          TCString vendorConsent,
+                                                          VendorConsentBits consentBits,
                                                           Collection<VendorPermissionWithGvl> vendorsForPurpose,
                                                           Collection<VendorPermissionWithGvl> excludedVendors,
                                                           boolean isEnforceVendors) {
 
-        final Map<Integer, RestrictionType> vendorToRestriction = vendorToRestriction(
-                purpose, vendorConsent, vendorsForPurpose, excludedVendors);
-
+        final BitSet notAllowed = consentBits.restrictedWith(purpose, RestrictionType.NOT_ALLOWED);
         final Stream<VendorPermission> allowedExcluded = toVendorPermissions(excludedVendors)
-                .filter(vendorPermission -> isNotRestricted(vendorPermission, vendorToRestriction));
-
-        final Stream<VendorPermission> allowedVendorPermissions = vendorsForPurpose.stream()
-                .filter(vendorPermissionWithGvl -> isAllowedByPublisherRestrictionAndFlexible(
-                        purpose,
-                        isEnforceVendors,
-                        vendorPermissionWithGvl,
-                        vendorConsent,
-                        vendorToRestriction.get(vendorPermissionWithGvl.getVendorPermission().getVendorId())))
-                .map(VendorPermissionWithGvl::getVendorPermission);
-
-        return Stream.concat(allowedExcluded, allowedVendorPermissions);
-    }
+                .filter(vendorPermission -> isNotRestricted(vendorPermission, notAllowed));
 
-    private static Map<Integer, RestrictionType> vendorToRestriction(
-            PurposeCode purpose,
-            TCString vendorConsent,
-            Collection<VendorPermissionWithGvl> vendorsForPurpose,
-            Collection<VendorPermissionWithGvl> excludedVendors) {
-
-        final Set<Integer> participatingVendorsIds =
-                Stream.concat(vendorsForPurpose.stream(), excludedVendors.stream())
-                        .map(VendorPermissionWithGvl::getVendorPermission)
-                        .map(VendorPermission::getVendorId)
-                        .collect(Collectors.toSet());
-
-        final Map<Integer, RestrictionType> publisherRestrictions = new HashMap<>();
-        vendorConsent.getPublisherRestrictions().stream()
-                .filter(publisherRestriction -> publisherRestriction.getPurposeId() == purpose.code())
-                .forEach(publisherRestriction -> publisherRestriction.getVendorIds().toStream()
-                        .filter(participatingVendorsIds::contains)
-                        .forEach(vendorId -> publisherRestrictions.merge(
-                                vendorId,
-                                publisherRestriction.getRestrictionType(),
-                                (first, second) -> second == RestrictionType.NOT_ALLOWED ? second : first)));
-
-        return DefaultedMap.defaultedMap(publisherRestrictions, RestrictionType.UNDEFINED);
-    }
+        final BitSet allowedVendorIds = allowedByPublisherRestrictionAndFlexible(
+                purpose, consentBits, consentBits.vendorsOf(vendorsForPurpose), isEnforceVendors);
 
-    private boolean isNotRestricted(VendorPermission vendorPermission,
-                                    Map<Integer, RestrictionType> vendorToRestriction) {
+        return Stream.concat(allowedExcluded, toVendorPermissions(vendorsForPurpose, allowedVendorIds));
+    }
 
+    private static boolean isNotRestricted(VendorPermission vendorPermission, BitSet notAllowed) {
         final Integer vendorId = vendorPermission.getVendorId();
-        return vendorId == null || vendorToRestriction.get(vendorId) != RestrictionType.NOT_ALLOWED;
+        return vendorId == null || !VendorConsentBits.contains(notAllowed, vendorId);
     }
 
     /**
@@ -89,76 +48,59 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
      * <li>For UNDEFINED we check by purposeConsent and vendorConsent
      * or purposesLITransparency and vendorLegitimateInterest</li>
      * <p>
+     * All given vendors are checked at once, vendors restricted with NOT_ALLOWED are never allowed.
      */
-    private boolean isAllowedByPublisherRestrictionAndFlexible(PurposeCode purpose,
-                                                               boolean isEnforceVendor,
-                                                               VendorPermissionWithGvl vendorPermissionWithGvl,
-                                                               TCString tcString,
-                                                               RestrictionType restrictionType) {
-
-        if (restrictionType == RestrictionType.NOT_ALLOWED) {
-            return false;
-        }
-
-        final Integer vendorId = vendorPermissionWithGvl.getVendorPermission().getVendorId();
-        final Vendor vendorGvl = vendorPermissionWithGvl.getVendor();
-
-        final EnumSet<PurposeCode> flexiblePurposes = vendorGvl.getFlexiblePurposes();
-        final boolean isFlexible = CollectionUtils.isNotEmpty(flexiblePurposes) && flexiblePurposes.contains(purpose);
-
-        final EnumSet<PurposeCode> gvlPurposeCodes = vendorGvl.getPurposes();
-        if (gvlPurposeCodes != null && gvlPurposeCodes.contains(purpose)) {
-            return isFlexible
-                    ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
-                    : isAllowedByNotFlexiblePurpose(purpose, vendorId, isEnforceVendor, tcString, restrictionType);
-        }
-
-        final EnumSet<PurposeCode> legIntGvlPurposeCodes = vendorGvl.getLegIntPurposes();
-        if (legIntGvlPurposeCodes != null && legIntGvlPurposeCodes.contains(purpose)) {
-            return isFlexible
-                    ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
-                    : isAllowedByNotFlexibleLegitimateInterest(
-                        purpose, vendorId, isEnforceVendor, tcString, restrictionType);
-        }
-
-        return false;
+    private BitSet allowedByPublisherRestrictionAndFlexible(PurposeCode purpose,
+                                                            VendorConsentBits consentBits,
+                                                            BitSet vendorIds,
+                                                            boolean isEnforceVendors) {
+
+        final BitSet consent = allowedBySimpleConsent(purpose, consentBits, vendorIds, isEnforceVendors);
+        final BitSet legitimateInterest = consentBits.allowedByLegitimateInterest(
+                purpose, vendorIds, isEnforceVendors);
+
+        final BitSet requireConsent = consentBits.restrictedWith(purpose, RestrictionType.REQUIRE_CONSENT);
+        final BitSet requireLegitimateInterest = consentBits.restrictedWith(
+                purpose, RestrictionType.REQUIRE_LEGITIMATE_INTEREST);
+        final BitSet undefined = consentBits.restrictedWith(purpose, RestrictionType.UNDEFINED);
+
+        final BitSet gvlPurposes = consentBits.gvlPurposes(purpose);
+        // GVL purposes take precedence over legitimate interest purposes
+        final BitSet gvlLegIntPurposes = consentBits.gvlLegIntPurposes(purpose);
+        gvlLegIntPurposes.andNot(gvlPurposes);
+        final BitSet flexible = consentBits.gvlFlexiblePurposes(purpose);
+
+        final BitSet allowedByFlexible = and(requireConsent, consent);
+        allowedByFlexible.or(and(requireLegitimateInterest, legitimateInterest));
+        allowedByFlexible.or(and(undefined, or(consent, legitimateInterest)));
+        allowedByFlexible.and(or(gvlPurposes, gvlLegIntPurposes));
+        allowedByFlexible.and(flexible);
+
+        final BitSet allowedByNotFlexiblePurpose = or(requireConsent, undefined);
+        allowedByNotFlexiblePurpose.and(consent);
+        allowedByNotFlexiblePurpose.and(gvlPurposes);
+
+        final BitSet allowedByNotFlexibleLegitimateInterest = or(requireLegitimateInterest, undefined);
+        allowedByNotFlexibleLegitimateInterest.and(legitimateInterest);
+        allowedByNotFlexibleLegitimateInterest.and(gvlLegIntPurposes);
+
+        final BitSet allowedByNotFlexible = or(allowedByNotFlexiblePurpose, allowedByNotFlexibleLegitimateInterest);
+        allowedByNotFlexible.andNot(flexible);
+
+        final BitSet allowed = or(allowedByFlexible, allowedByNotFlexible);
+        allowed.and(vendorIds);
+        return allowed;
     }
 
-    private boolean isAllowedByNotFlexiblePurpose(PurposeCode purpose,
-                                                  Integer vendorId,
-                                                  boolean isEnforceVendor,
-                                                  TCString tcString,
-                                                  RestrictionType restrictionType) {
-
-        return (restrictionType == RestrictionType.REQUIRE_CONSENT || restrictionType == RestrictionType.UNDEFINED)
-                && isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
-    }
-
-    private boolean isAllowedByNotFlexibleLegitimateInterest(PurposeCode purpose,
-                                                             Integer vendorId,
-                                                             boolean isEnforceVendor,
-                                                             TCString tcString,
-                                                             RestrictionType restrictionType) {
-
-        final boolean isSupportedRestriction = restrictionType.equals(RestrictionType.REQUIRE_LEGITIMATE_INTEREST)
-                || restrictionType.equals(RestrictionType.UNDEFINED);
-
-        return isSupportedRestriction && isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+    private static BitSet and(BitSet left, BitSet right) {
+        final BitSet result = (BitSet) left.clone();
+        result.and(right);
+        return result;
     }
 
-    private boolean isAllowedByFlexible(PurposeCode purpose,
-                                        Integer vendorId,
-                                        boolean isEnforceVendor,
-                                        TCString tcString,
-                                        RestrictionType restrictionType) {
-
-        return switch (restrictionType) {
-            case NOT_ALLOWED -> false;
-            case REQUIRE_CONSENT -> isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
-            case REQUIRE_LEGITIMATE_INTEREST ->
-                    isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
-            case UNDEFINED ->
-                    isAllowedBySimpleConsentOrLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
-        };
+    private static BitSet or(BitSet left, BitSet right) {
+        final BitSet result = (BitSet) left.clone();
+        result.or(right);
+        return result;
     }
 }
@@ -1,17 +1,20 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
-import com.iabtcf.decoder.TCString;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 
+import java.util.BitSet;
+
 public class PurposeTwoBasicEnforcePurposeStrategy extends BasicEnforcePurposeStrategy {
 
     @Override
-    protected boolean isAllowedBySimpleConsent(PurposeCode purpose,
-                                               Integer vendorId,
-                                               boolean isEnforceVendor,
-                                               TCString tcString) {
+    protected BitSet allowedBySimpleConsent(PurposeCode purpose,
+                                            VendorConsentBits consentBits,
+                                            BitSet vendorIds,
+                                            boolean isEnforceVendors) {
 
-        return tcString.getPurposesLITransparency().contains(purpose.code())
-                || super.isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
+        return consentBits.hasPurposeLITransparency(purpose)
+                ? (BitSet) vendorIds.clone()
+                : super.allowedBySimpleConsent(purpose, consentBits, vendorIds, isEnforceVendors);
     }
 }
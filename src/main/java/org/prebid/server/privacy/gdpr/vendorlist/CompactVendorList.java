@@ -0,0 +1,233 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import io.vertx.core.buffer.Buffer;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Feature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialFeature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialPurpose;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable vendor list of a single version, indexed by vendor ID.
+ * <p>
+ * Vendors are kept in array, so lookup is done by index instead of hashing boxed ID. Vendors declaring the same
+ * purposes or features share the same {@link EnumSet} instances, so they must not be modified.
+ * <p>
+ * Can be encoded to compact binary form, which is much faster to load than original JSON.
+ */
+public class CompactVendorList extends AbstractMap<Integer, Vendor> {
+
+    public static final int MAX_VENDOR_ID = 0xFFFF;
+
+    private static final int MAGIC = 0x50475652;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int VENDOR_SIZE = 8 * Integer.BYTES;
+    private static final int NULL_VALUE = -1;
+
+    private final Vendor[] vendors;
+    private final int size;
+
+    private CompactVendorList(Vendor[] vendors, int size) {
+        this.vendors = vendors;
+        this.size = size;
+    }
+
+    /**
+     * Creates vendor list from map of vendor ID to vendor. Vendors without value are skipped.
+     */
+    public static CompactVendorList of(Map<Integer, Vendor> idToVendor) {
+        final int maxVendorId = idToVendor.keySet().stream()
+                .mapToInt(CompactVendorList::validVendorId)
+                .max()
+                .orElse(0);
+        final Vendor[] vendors = new Vendor[maxVendorId + 1];
+        final EnumSetPool pool = new EnumSetPool();
+
+        int size = 0;
+        for (Map.Entry<Integer, Vendor> idAndVendor : idToVendor.entrySet()) {
+            final Vendor vendor = idAndVendor.getValue();
+            if (vendor != null) {
+                vendors[idAndVendor.getKey()] = pool.intern(vendor);
+                size++;
+            }
+        }
+
+        return new CompactVendorList(vendors, size);
+    }
+
+    private static int validVendorId(Integer vendorId) {
+        if (vendorId == null || vendorId < 0 || vendorId > MAX_VENDOR_ID) {
+            throw new PreBidException("Invalid vendor ID: " + vendorId);
+        }
+        return vendorId;
+    }
+
+    /**
+     * Decodes vendor list from given binary form or throws {@link PreBidException} if it is malformed.
+     */
+    public static CompactVendorList decode(Buffer buffer) {
+        if (buffer.length() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getByte(Integer.BYTES) != FORMAT_VERSION) {
+
+            throw new PreBidException("Unsupported binary vendor list format");
+        }
+
+        final int vendorsCount = buffer.getInt(Integer.BYTES + Byte.BYTES);
+        if (vendorsCount < 0 || buffer.length() != HEADER_SIZE + (long) vendorsCount * VENDOR_SIZE) {
+            throw new PreBidException("Binary vendor list is truncated");
+        }
+
+        final Map<Integer, Vendor> idToVendor = new HashMap<>();
+        for (int i = 0; i < vendorsCount; i++) {
+            final int position = HEADER_SIZE + i * VENDOR_SIZE;
+            final int vendorId = buffer.getInt(position);
+            final int id = buffer.getInt(position + Integer.BYTES);
+
+            idToVendor.put(vendorId, Vendor.builder()
+                    .id(id != NULL_VALUE ? id : null)
+                    .purposes(fromMask(buffer.getInt(position + 2 * Integer.BYTES), PurposeCode.class))
+                    .legIntPurposes(fromMask(buffer.getInt(position + 3 * Integer.BYTES), PurposeCode.class))
+                    .flexiblePurposes(fromMask(buffer.getInt(position + 4 * Integer.BYTES), PurposeCode.class))
+                    .specialPurposes(fromMask(buffer.getInt(position + 5 * Integer.BYTES), SpecialPurpose.class))
+                    .features(fromMask(buffer.getInt(position + 6 * Integer.BYTES), Feature.class))
+                    .specialFeatures(fromMask(buffer.getInt(position + 7 * Integer.BYTES), SpecialFeature.class))
+                    .build());
+        }
+
+        return of(idToVendor);
+    }
+
+    /**
+     * Encodes vendor list to binary form, readable by {@link #decode(Buffer)}.
+     */
+    public Buffer encode() {
+        final Buffer buffer = Buffer.buffer(HEADER_SIZE + size * VENDOR_SIZE)
+                .appendInt(MAGIC)
+                .appendByte(FORMAT_VERSION)
+                .appendInt(size);
+
+        for (int vendorId = 0; vendorId < vendors.length; vendorId++) {
+            final Vendor vendor = vendors[vendorId];
+            if (vendor == null) {
+                continue;
+            }
+
+            final Integer id = vendor.getId();
+            buffer.appendInt(vendorId)
+                    .appendInt(id != null ? id : NULL_VALUE)
+                    .appendInt(toMask(vendor.getPurposes()))
+                    .appendInt(toMask(vendor.getLegIntPurposes()))
+                    .appendInt(toMask(vendor.getFlexiblePurposes()))
+                    .appendInt(toMask(vendor.getSpecialPurposes()))
+                    .appendInt(toMask(vendor.getFeatures()))
+                    .appendInt(toMask(vendor.getSpecialFeatures()));
+        }
+
+        return buffer;
+    }
+
+    private static <E extends Enum<E>> int toMask(EnumSet<E> values) {
+        if (values == null) {
+            return NULL_VALUE;
+        }
+
+        int mask = 0;
+        for (E value : values) {
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    private static <E extends Enum<E>> EnumSet<E> fromMask(int mask, Class<E> type) {
+        if (mask == NULL_VALUE) {
+            return null;
+        }
+
+        final EnumSet<E> values = EnumSet.noneOf(type);
+        for (E value : type.getEnumConstants()) {
+            if ((mask & 1 << value.ordinal()) != 0) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Vendor get(Object key) {
+        return key instanceof Integer vendorId && vendorId >= 0 && vendorId < vendors.length
+                ? vendors[vendorId]
+                : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Integer, Vendor>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<Integer, Vendor>> iterator() {
+                return IntStream.range(0, vendors.length)
+                        .filter(vendorId -> vendors[vendorId] != null)
+                        .mapToObj(vendorId -> Map.entry(vendorId, vendors[vendorId]))
+                        .iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Shares equal {@link EnumSet}s between vendors, as most of them declare the same few combinations.
+     */
+    private static class EnumSetPool {
+
+        private final Map<Class<?>, Map<EnumSet<?>, EnumSet<?>>> pools = new HashMap<>();
+
+        Vendor intern(Vendor vendor) {
+            return Vendor.builder()
+                    .id(vendor.getId())
+                    .purposes(intern(vendor.getPurposes(), PurposeCode.class))
+                    .legIntPurposes(intern(vendor.getLegIntPurposes(), PurposeCode.class))
+                    .flexiblePurposes(intern(vendor.getFlexiblePurposes(), PurposeCode.class))
+                    .specialPurposes(intern(vendor.getSpecialPurposes(), SpecialPurpose.class))
+                    .features(intern(vendor.getFeatures(), Feature.class))
+                    .specialFeatures(intern(vendor.getSpecialFeatures(), SpecialFeature.class))
+                    .build();
+        }
+
+        // empty sets of different types are equal, so each type has its own pool
+        @SuppressWarnings("unchecked")
+        private <E extends Enum<E>> EnumSet<E> intern(EnumSet<E> values, Class<E> type) {
+            if (values == null) {
+                return null;
+            }
+
+            final Map<EnumSet<?>, EnumSet<?>> pool = pools.computeIfAbsent(type, key -> new HashMap<>());
+            return (EnumSet<E>) pool.computeIfAbsent(values, key -> values);
+        }
+    }
+}
@@ -29,10 +29,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +48,9 @@ import java.util.stream.Collectors;
  * So, on service creation we initialize in-memory cache from previously loaded vendor list on file system.
  * If request asks version that is absent in cache, we respond with failed result but start background process
  * to download new version and then put it to cache.
+ * <p>
+ * Besides original JSON, each vendor list is saved on file system in binary form of {@link CompactVendorList},
+ * which is loaded on service creation instead of parsing JSON again.
  */
 public class VendorListService {
 
@@ -55,6 +60,7 @@ public class VendorListService {
     private static final int TCF_VERSION = 2;
 
     private static final String JSON_SUFFIX = ".json";
+    private static final String BINARY_SUFFIX = ".bin";
     private static final String VERSION_PLACEHOLDER = "{VERSION}";
 
     private final double logSamplingRate;
@@ -72,11 +78,11 @@ public class VendorListService {
 
     /**
      * This is memory/performance optimized model slice:
-     * map of vendor list version -> map of vendor ID -> Vendors
+     * map of vendor list version -> vendors indexed by vendor ID
      */
-    private final Map<Integer, Map<Integer, Vendor>> cache;
+    private final Map<Integer, CompactVendorList> cache;
 
-    private final Map<Integer, Vendor> fallbackVendorList;
+    private final CompactVendorList fallbackVendorList;
     private final Set<Integer> versionsToFallback;
     private final VendorListFetchThrottler fetchThrottler;
 
@@ -176,11 +182,10 @@ public class VendorListService {
     }
 
     /**
-     * Returns a Map of vendor id to Vendors.
+     * Returns vendors of given {@link VendorList} indexed by vendor id or throws {@link PreBidException}.
      */
-    private Map<Integer, Vendor> filterVendorIdToVendors(VendorList vendorList) {
-        return vendorList.getVendors().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private static CompactVendorList toCompactVendorList(VendorList vendorList) {
+        return CompactVendorList.of(vendorList.getVendors());
     }
 
     /**
@@ -190,9 +195,15 @@ public class VendorListService {
         return vendorList.getVendorListVersion() != null
                 && vendorList.getLastUpdated() != null
                 && MapUtils.isNotEmpty(vendorList.getVendors())
+                && isValidVendorIds(vendorList.getVendors().keySet())
                 && isValidVendors(vendorList.getVendors().values());
     }
 
+    private static boolean isValidVendorIds(Collection<Integer> vendorIds) {
+        return vendorIds.stream()
+                .allMatch(vendorId -> vendorId != null && vendorId >= 0 && vendorId <= CompactVendorList.MAX_VENDOR_ID);
+    }
+
     private static boolean isValidVendors(Collection<Vendor> vendors) {
         return vendors.stream()
                 .allMatch(vendor -> vendor != null
@@ -230,42 +241,80 @@ public class VendorListService {
 
     /**
      * Creates the cache from previously downloaded vendor lists.
+     * <p>
+     * JSON file is a source of truth, binary file is used instead of it if present and valid,
+     * otherwise it is created from JSON for next start.
      */
-    private Map<Integer, Map<Integer, Vendor>> createCache(FileSystem fileSystem, String cacheDir) {
-        final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
+    private Map<Integer, CompactVendorList> createCache(FileSystem fileSystem, String cacheDir) {
+        final List<String> filepaths = fileSystem.readDirBlocking(cacheDir);
+        final Map<String, String> versionToJsonFilepath = versionToFilepath(filepaths, JSON_SUFFIX);
+        final Map<String, String> versionToBinaryFilepath = versionToFilepath(filepaths, BINARY_SUFFIX);
 
-        final Map<Integer, Map<Integer, Vendor>> cache = Caffeine.newBuilder()
-                .<Integer, Map<Integer, Vendor>>build()
+        final Map<Integer, CompactVendorList> cache = Caffeine.newBuilder()
+                .<Integer, CompactVendorList>build()
                 .asMap();
 
-        for (Map.Entry<String, String> versionAndFileContent : versionToFileContent.entrySet()) {
-            final VendorList vendorList = toVendorList(versionAndFileContent.getValue());
-            final Map<Integer, Vendor> vendorIdToVendors = filterVendorIdToVendors(vendorList);
+        for (Map.Entry<String, String> versionAndFilepath : versionToJsonFilepath.entrySet()) {
+            final String version = versionAndFilepath.getKey();
+            final String binaryFilepath = versionToBinaryFilepath.get(version);
 
-            cache.put(Integer.valueOf(versionAndFileContent.getKey()), vendorIdToVendors);
+            CompactVendorList vendorList = readBinaryVendorList(fileSystem, binaryFilepath);
+            if (vendorList == null) {
+                final String content = fileSystem.readFileBlocking(versionAndFilepath.getValue()).toString();
+                vendorList = toCompactVendorList(toVendorList(content));
+                saveBinaryVendorList(fileSystem, binaryFilepath(Integer.parseInt(version)), vendorList);
+            }
+
+            cache.put(Integer.valueOf(version), vendorList);
         }
         return cache;
     }
 
     /**
-     * Reads files with .json extension in configured directory and
-     * returns a {@link Map} where key is a file name without .json extension and value is file content.
+     * Returns a {@link Map} where key is a file name without given extension and value is file path
+     * for files with given extension.
      */
-    private Map<String, String> readFileSystemCache(FileSystem fileSystem, String dir) {
-        return fileSystem.readDirBlocking(dir).stream()
-                .filter(filepath -> filepath.endsWith(JSON_SUFFIX))
-                .collect(Collectors.toMap(filepath -> StringUtils.removeEnd(new File(filepath).getName(), JSON_SUFFIX),
-                        filename -> fileSystem.readFileBlocking(filename).toString()));
+    private static Map<String, String> versionToFilepath(List<String> filepaths, String suffix) {
+        return filepaths.stream()
+                .filter(filepath -> filepath.endsWith(suffix))
+                .collect(Collectors.toMap(
+                        filepath -> StringUtils.removeEnd(new File(filepath).getName(), suffix),
+                        Function.identity()));
+    }
+
+    private String binaryFilepath(int version) {
+        return new File(cacheDir, version + BINARY_SUFFIX).getPath();
     }
 
-    private Map<Integer, Vendor> readFallbackVendorList(String fallbackVendorListPath) {
+    private CompactVendorList readBinaryVendorList(FileSystem fileSystem, String filepath) {
+        if (filepath == null) {
+            return null;
+        }
+
+        try {
+            return CompactVendorList.decode(fileSystem.readFileBlocking(filepath));
+        } catch (RuntimeException e) {
+            logger.warn("Cannot read binary vendor list from: {}, falling back to JSON: {}", filepath, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveBinaryVendorList(FileSystem fileSystem, String filepath, CompactVendorList vendorList) {
+        try {
+            fileSystem.writeFileBlocking(filepath, vendorList.encode());
+        } catch (RuntimeException e) {
+            logger.warn("Cannot save binary vendor list to: {}: {}", filepath, e.getMessage());
+        }
+    }
+
+    private CompactVendorList readFallbackVendorList(String fallbackVendorListPath) {
         final String vendorListContent = fileSystem.readFileBlocking(fallbackVendorListPath).toString();
         final VendorList vendorList = toVendorList(vendorListContent);
         if (!isValid(vendorList)) {
             throw new PreBidException("Fallback vendor list parsed but has invalid data: " + vendorListContent);
         }
 
-        return filterVendorIdToVendors(vendorList);
+        return toCompactVendorList(vendorList);
     }
 
     private boolean shouldFallback(int version) {
@@ -336,10 +385,28 @@ public class VendorListService {
         return promise.future();
     }
 
+    /**
+     * Saves binary form of given vendor list on file system, so it can be loaded faster on next start.
+     */
+    private void saveBinaryToFile(int version, CompactVendorList vendorList) {
+        final String filepath = binaryFilepath(version);
+
+        fileSystem.writeFile(filepath, vendorList.encode(), result -> {
+            if (result.failed()) {
+                conditionalLogger.error(
+                        "Could not create binary vendor list for version %s.%s, file: %s, trace: %s".formatted(
+                                generationVersion, version, filepath, ExceptionUtils.getStackTrace(result.cause())),
+                        logSamplingRate);
+            }
+        });
+    }
+
     private Void updateCache(VendorListResult<VendorList> vendorListResult) {
         final int version = vendorListResult.getVersion();
 
-        cache.put(version, filterVendorIdToVendors(vendorListResult.getVendorList()));
+        final CompactVendorList vendorList = toCompactVendorList(vendorListResult.getVendorList());
+        cache.put(version, vendorList);
+        saveBinaryToFile(version, vendorList);
 
         final int tcf = getTcfVersion();
 
@@ -0,0 +1,313 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.settings.helper.StoredDataFetcher;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Decorates {@link ApplicationSettings} to collect stored data lookups made by concurrent auctions
+ * within a short window and to fetch them from delegate with a single call per account.
+ * <p>
+ * Batch is flushed when the window elapses or when the number of collected ids reaches the max batch size,
+ * whichever happens first. Each caller receives only the stored data it has asked for.
+ */
+public class BatchingApplicationSettings implements ApplicationSettings {
+
+    private final ApplicationSettings delegate;
+
+    private final Batcher storedDataBatcher;
+    private final Batcher ampStoredDataBatcher;
+    private final Batcher videoStoredDataBatcher;
+
+    public BatchingApplicationSettings(ApplicationSettings delegate, Vertx vertx, long windowMs, int maxBatchSize) {
+        if (windowMs < 1) {
+            throw new IllegalArgumentException("Batching window must be positive");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+
+        this.delegate = Objects.requireNonNull(delegate);
+        Objects.requireNonNull(vertx);
+
+        storedDataBatcher = new Batcher(delegate::getStoredData, vertx, windowMs, maxBatchSize);
+        ampStoredDataBatcher = new Batcher(delegate::getAmpStoredData, vertx, windowMs, maxBatchSize);
+        videoStoredDataBatcher = new Batcher(delegate::getVideoStoredData, vertx, windowMs, maxBatchSize);
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        return delegate.getAccountById(accountId, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getStoredData(String accountId, Set<String> requestIds, Set<String> impIds,
+                                                  Timeout timeout) {
+
+        return storedDataBatcher.fetch(accountId, requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getAmpStoredData(String accountId, Set<String> requestIds, Set<String> impIds,
+                                                     Timeout timeout) {
+
+        return ampStoredDataBatcher.fetch(accountId, requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getVideoStoredData(String accountId, Set<String> requestIds, Set<String> impIds,
+                                                       Timeout timeout) {
+
+        return videoStoredDataBatcher.fetch(accountId, requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        return delegate.getStoredResponses(responseIds, timeout);
+    }
+
+    @Override
+    public Future<Map<String, String>> getCategories(String primaryAdServer, String publisher, Timeout timeout) {
+        return delegate.getCategories(primaryAdServer, publisher, timeout);
+    }
+
+    private static class Batcher {
+
+        private final StoredDataFetcher<String, Set<String>, Set<String>, Timeout, Future<StoredDataResult>> fetcher;
+        private final Vertx vertx;
+        private final long windowMs;
+        private final int maxBatchSize;
+
+        private final Lock lock = new ReentrantLock();
+        private final Map<String, Batch> pendingBatches = new HashMap<>();
+
+        Batcher(StoredDataFetcher<String, Set<String>, Set<String>, Timeout, Future<StoredDataResult>> fetcher,
+                Vertx vertx,
+                long windowMs,
+                int maxBatchSize) {
+
+            this.fetcher = fetcher;
+            this.vertx = vertx;
+            this.windowMs = windowMs;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        Future<StoredDataResult> fetch(String accountId, Set<String> requestIds, Set<String> impIds,
+                                       Timeout timeout) {
+
+            if (requestIds.isEmpty() && impIds.isEmpty()) {
+                return fetcher.apply(accountId, requestIds, impIds, timeout);
+            }
+
+            final Promise<StoredDataResult> promise = Promise.promise();
+            final Batch batchToFlush;
+
+            lock.lock();
+            try {
+                Batch batch = pendingBatches.get(accountId);
+                if (batch == null) {
+                    batch = new Batch(accountId);
+                    pendingBatches.put(accountId, batch);
+
+                    final Batch newBatch = batch;
+                    batch.timerId = vertx.setTimer(windowMs, ignored -> onWindowElapsed(newBatch));
+                }
+
+                batch.add(new BatchEntry(requestIds, impIds, timeout, promise));
+
+                if (batch.size() >= maxBatchSize) {
+                    pendingBatches.remove(accountId);
+                    vertx.cancelTimer(batch.timerId);
+                    batchToFlush = batch;
+                } else {
+                    batchToFlush = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (batchToFlush != null) {
+                flush(batchToFlush);
+            }
+
+            return promise.future();
+        }
+
+        private void onWindowElapsed(Batch batch) {
+            lock.lock();
+            try {
+                // batch could have been already flushed due to its size
+                if (!pendingBatches.remove(batch.accountId, batch)) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            flush(batch);
+        }
+
+        private void flush(Batch batch) {
+            final List<BatchEntry> entries = batch.entries;
+            if (entries.size() == 1) {
+                final BatchEntry entry = entries.getFirst();
+                fetcher.apply(batch.accountId, entry.requestIds, entry.impIds, entry.timeout)
+                        .onComplete(entry.promise);
+                return;
+            }
+
+            fetcher.apply(batch.accountId, batch.requestIds, batch.impIds, batch.longestTimeout())
+                    .onSuccess(result -> completeEntries(result, batch))
+                    .onFailure(error -> entries.forEach(entry -> entry.promise.fail(error)));
+        }
+
+        private static void completeEntries(StoredDataResult result, Batch batch) {
+            final List<BatchError> errors = BatchError.of(result.getErrors(), batch);
+            batch.entries.forEach(entry -> entry.promise.complete(forEntry(result, errors, entry)));
+        }
+
+        /**
+         * Each caller gets errors of the batched call mentioning its own ids, as well as errors mentioning
+         * no ids at all, since they concern the whole call. An error is added for every id of the caller
+         * missing in the batched result only if none of these errors came back.
+         */
+        private static StoredDataResult forEntry(StoredDataResult result, List<BatchError> errors, BatchEntry entry) {
+            final List<String> entryErrors = new ArrayList<>();
+            final Set<String> reportedIds = new HashSet<>();
+            boolean hasGeneralErrors = false;
+
+            for (BatchError error : errors) {
+                if (error.ids.isEmpty()) {
+                    entryErrors.add(error.message);
+                    hasGeneralErrors = true;
+                } else if (error.mentionsAny(entry.requestIds) || error.mentionsAny(entry.impIds)) {
+                    entryErrors.add(error.message);
+                    reportedIds.addAll(error.ids);
+                }
+            }
+
+            final Set<String> idsWithErrors = hasGeneralErrors ? null : reportedIds;
+            final Map<String, String> storedIdToRequest = filterByIds(
+                    result.getStoredIdToRequest(), entry.requestIds, "request", idsWithErrors, entryErrors);
+            final Map<String, String> storedIdToImp = filterByIds(
+                    result.getStoredIdToImp(), entry.impIds, "imp", idsWithErrors, entryErrors);
+
+            return StoredDataResult.of(storedIdToRequest, storedIdToImp, entryErrors);
+        }
+
+        /**
+         * Returns values of given ids, adding an error for every missing id not covered by errors already.
+         * All missing ids are considered covered if ids with errors are not given.
+         */
+        private static Map<String, String> filterByIds(Map<String, String> idToValue,
+                                                       Set<String> ids,
+                                                       String type,
+                                                       Set<String> idsWithErrors,
+                                                       List<String> errors) {
+
+            final Map<String, String> result = new HashMap<>();
+            for (String id : ids) {
+                final String value = idToValue.get(id);
+                if (value != null) {
+                    result.put(id, value);
+                } else if (idsWithErrors != null && !idsWithErrors.contains(id)) {
+                    errors.add("No stored %s found for id: %s".formatted(type, id));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Error of the batched call with the ids of the batch it mentions. Ids are matched as whole words,
+     * since messages of delegates list ids separated by whitespace, commas or brackets.
+     */
+    private static class BatchError {
+
+        private static final Pattern SEPARATOR = Pattern.compile("[\\s,\\[\\]]+");
+
+        private final String message;
+        private final Set<String> ids;
+
+        private BatchError(String message, Set<String> ids) {
+            this.message = message;
+            this.ids = ids;
+        }
+
+        static List<BatchError> of(List<String> messages, Batch batch) {
+            final List<BatchError> errors = new ArrayList<>(messages.size());
+            for (String message : messages) {
+                final Set<String> ids = new HashSet<>();
+                for (String word : SEPARATOR.split(message)) {
+                    if (batch.requestIds.contains(word) || batch.impIds.contains(word)) {
+                        ids.add(word);
+                    }
+                }
+                errors.add(new BatchError(message, ids));
+            }
+            return errors;
+        }
+
+        boolean mentionsAny(Set<String> entryIds) {
+            for (String id : entryIds) {
+                if (ids.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Batch {
+
+        private final String accountId;
+        private final List<BatchEntry> entries = new ArrayList<>();
+        private final Set<String> requestIds = new HashSet<>();
+        private final Set<String> impIds = new HashSet<>();
+        private long timerId;
+
+        Batch(String accountId) {
+            this.accountId = accountId;
+        }
+
+        void add(BatchEntry entry) {
+            entries.add(entry);
+            requestIds.addAll(entry.requestIds);
+            impIds.addAll(entry.impIds);
+        }
+
+        int size() {
+            return requestIds.size() + impIds.size();
+        }
+
+        Timeout longestTimeout() {
+            Timeout longest = entries.getFirst().timeout;
+            for (BatchEntry entry : entries) {
+                if (entry.timeout.remaining() > longest.remaining()) {
+                    longest = entry.timeout;
+                }
+            }
+            return longest;
+        }
+    }
+
+    private record BatchEntry(Set<String> requestIds, Set<String> impIds, Timeout timeout,
+                              Promise<StoredDataResult> promise) {
+    }
+}
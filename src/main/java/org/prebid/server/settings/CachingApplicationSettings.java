@@ -1,9 +1,15 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.MetricName;
@@ -11,18 +17,24 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.helper.StoredDataFetcher;
 import org.prebid.server.settings.helper.StoredItemResolver;
 import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.SettingsCacheSnapshot;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredItem;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Adds caching functionality for {@link ApplicationSettings} implementation.
@@ -33,23 +45,43 @@ public class CachingApplicationSettings implements ApplicationSettings {
 
     private final ApplicationSettings delegate;
 
-    private final Map<String, Account> accountCache;
+    private final Cache<String, Account> accountCache;
     private final Map<String, String> accountToErrorCache;
     private final Map<String, String> adServerPublisherToErrorCache;
-    private final Map<String, Map<String, String>> categoryConfigCache;
+    private final Cache<String, Map<String, String>> categoryConfigCache;
     private final SettingsCache cache;
     private final SettingsCache ampCache;
     private final SettingsCache videoCache;
     private final Metrics metrics;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final TimeoutFactory timeoutFactory;
+    private final long reloadTimeoutMs;
+
+    private final RefreshAheadTracker<String> accountRefreshTracker;
+    private final RefreshAheadTracker<String> categoryRefreshTracker;
+    private final StoredDataRefreshTrackers cacheRefreshTrackers;
+    private final StoredDataRefreshTrackers ampCacheRefreshTrackers;
+    private final StoredDataRefreshTrackers videoCacheRefreshTrackers;
+
+    private final Map<String, Future<Account>> accountRequestsInProgress;
+    private final Map<String, Future<Map<String, String>>> categoryRequestsInProgress;
+    private final Map<StoredDataKey, Future<StoredDataResult>> storedDataRequestsInProgress;
+    private final Map<StoredDataKey, Future<StoredDataResult>> ampStoredDataRequestsInProgress;
+    private final Map<StoredDataKey, Future<StoredDataResult>> videoStoredDataRequestsInProgress;
 
     public CachingApplicationSettings(ApplicationSettings delegate,
                                       SettingsCache cache,
                                       SettingsCache ampCache,
                                       SettingsCache videoCache,
                                       Metrics metrics,
+                                      Clock clock,
                                       int ttl,
                                       int size,
-                                      int jitter) {
+                                      int jitter,
+                                      int refreshAfterWrite,
+                                      TimeoutFactory timeoutFactory,
+                                      long reloadTimeoutMs) {
 
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
@@ -57,16 +89,36 @@ public class CachingApplicationSettings implements ApplicationSettings {
         if (jitter < 0 || jitter >= ttl) {
             throw new IllegalArgumentException("jitter must match the inequality: 0 <= jitter < ttl");
         }
+        if (refreshAfterWrite < 0 || refreshAfterWrite >= ttl - jitter) {
+            throw new IllegalArgumentException(
+                    "refreshAfterWrite must match the inequality: 0 <= refreshAfterWrite < ttl - jitter");
+        }
 
         this.delegate = Objects.requireNonNull(delegate);
-        this.accountCache = SettingsCache.createCache(ttl, size, jitter);
+        this.accountCache = SettingsCache.createExpiringCache(ttl, size, jitter);
         this.accountToErrorCache = SettingsCache.createCache(ttl, size, jitter);
         this.adServerPublisherToErrorCache = SettingsCache.createCache(ttl, size, jitter);
-        this.categoryConfigCache = SettingsCache.createCache(ttl, size, jitter);
+        this.categoryConfigCache = SettingsCache.createExpiringCache(ttl, size, jitter);
         this.cache = Objects.requireNonNull(cache);
         this.ampCache = Objects.requireNonNull(ampCache);
         this.videoCache = Objects.requireNonNull(videoCache);
         this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.ttlMillis = ttl * 1000L;
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.reloadTimeoutMs = reloadTimeoutMs;
+
+        this.accountRefreshTracker = new RefreshAheadTracker<>(refreshAfterWrite, ttl, size, jitter, clock);
+        this.categoryRefreshTracker = new RefreshAheadTracker<>(refreshAfterWrite, ttl, size, jitter, clock);
+        this.cacheRefreshTrackers = new StoredDataRefreshTrackers(refreshAfterWrite, ttl, size, jitter, clock);
+        this.ampCacheRefreshTrackers = new StoredDataRefreshTrackers(refreshAfterWrite, ttl, size, jitter, clock);
+        this.videoCacheRefreshTrackers = new StoredDataRefreshTrackers(refreshAfterWrite, ttl, size, jitter, clock);
+
+        this.accountRequestsInProgress = new ConcurrentHashMap<>();
+        this.categoryRequestsInProgress = new ConcurrentHashMap<>();
+        this.storedDataRequestsInProgress = new ConcurrentHashMap<>();
+        this.ampStoredDataRequestsInProgress = new ConcurrentHashMap<>();
+        this.videoStoredDataRequestsInProgress = new ConcurrentHashMap<>();
     }
 
     /**
@@ -75,8 +127,10 @@ public class CachingApplicationSettings implements ApplicationSettings {
     @Override
     public Future<Account> getAccountById(String accountId, Timeout timeout) {
         return getFromCacheOrDelegate(
-                accountCache,
+                accountCache.asMap(),
                 accountToErrorCache,
+                accountRefreshTracker,
+                accountRequestsInProgress,
                 StringUtils.isBlank(accountId) ? StringUtils.EMPTY : accountId,
                 timeout,
                 delegate::getAccountById,
@@ -92,7 +146,9 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                   Set<String> impIds,
                                                   Timeout timeout) {
 
-        return getFromCacheOrDelegate(cache, accountId, requestIds, impIds, timeout, delegate::getStoredData);
+        return getFromCacheOrDelegate(cache, cacheRefreshTrackers, storedDataRequestsInProgress,
+                MetricName.stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getStoredData);
     }
 
     /**
@@ -104,7 +160,9 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                      Set<String> impIds,
                                                      Timeout timeout) {
 
-        return getFromCacheOrDelegate(ampCache, accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
+        return getFromCacheOrDelegate(ampCache, ampCacheRefreshTrackers, ampStoredDataRequestsInProgress,
+                MetricName.amp_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
     }
 
     @Override
@@ -113,7 +171,9 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                        Set<String> impIds,
                                                        Timeout timeout) {
 
-        return getFromCacheOrDelegate(videoCache, accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
+        return getFromCacheOrDelegate(videoCache, videoCacheRefreshTrackers, videoStoredDataRequestsInProgress,
+                MetricName.video_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
     }
 
     /**
@@ -130,22 +190,29 @@ public class CachingApplicationSettings implements ApplicationSettings {
                 ? "%s_%s".formatted(primaryAdServer, publisher)
                 : primaryAdServer;
 
-        return getFromCacheOrDelegate(categoryConfigCache, adServerPublisherToErrorCache, compoundKey, timeout,
-                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeout),
-                CachingApplicationSettings::noOp);
+        return getFromCacheOrDelegate(categoryConfigCache.asMap(), adServerPublisherToErrorCache,
+                categoryRefreshTracker, categoryRequestsInProgress, compoundKey, timeout,
+                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeoutParam),
+                event -> metrics.updateSettingsCacheEventMetric(MetricName.categories, event));
     }
 
-    private static <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache,
-                                                        Map<String, String> accountToErrorCache,
-                                                        String key,
-                                                        Timeout timeout,
-                                                        BiFunction<String, Timeout, Future<T>> retriever,
-                                                        Consumer<MetricName> metricUpdater) {
+    private <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache,
+                                                 Map<String, String> accountToErrorCache,
+                                                 RefreshAheadTracker<String> refreshTracker,
+                                                 Map<String, Future<T>> requestsInProgress,
+                                                 String key,
+                                                 Timeout timeout,
+                                                 BiFunction<String, Timeout, Future<T>> retriever,
+                                                 Consumer<MetricName> metricUpdater) {
 
         final T cachedValue = cache.get(key);
         if (cachedValue != null) {
             metricUpdater.accept(MetricName.hit);
 
+            if (refreshTracker.tryStartRefresh(key)) {
+                refresh(cache, refreshTracker, key, reloadTimeout(), retriever, metricUpdater);
+            }
+
             return Future.succeededFuture(cachedValue);
         }
 
@@ -156,12 +223,13 @@ public class CachingApplicationSettings implements ApplicationSettings {
             return Future.failedFuture(new PreBidException(preBidExceptionMessage));
         }
 
-        return retriever.apply(key, timeout)
+        return joinOrDelegate(requestsInProgress, key, () -> retriever.apply(key, timeout)
                 .map(value -> {
                     cache.put(key, value);
+                    refreshTracker.written(key);
                     return value;
                 })
-                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
+                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache)));
     }
 
     /**
@@ -170,8 +238,11 @@ public class CachingApplicationSettings implements ApplicationSettings {
      * {@link Future} propagates its result to caller. In successive call return {@link Future&lt;StoredDataResult&gt;}
      * with all found stored items and error from origin source id call was made.
      */
-    private static Future<StoredDataResult> getFromCacheOrDelegate(
+    private Future<StoredDataResult> getFromCacheOrDelegate(
             SettingsCache cache,
+            StoredDataRefreshTrackers refreshTrackers,
+            Map<StoredDataKey, Future<StoredDataResult>> requestsInProgress,
+            MetricName cacheType,
             String accountId,
             Set<String> requestIds,
             Set<String> impIds,
@@ -186,34 +257,167 @@ public class CachingApplicationSettings implements ApplicationSettings {
         final Map<String, Set<StoredItem>> impCache = cache.getImpCache();
 
         final Set<String> missedRequestIds = new HashSet<>();
+        final Set<String> staleRequestIds = new HashSet<>();
         final Map<String, String> storedIdToRequest = getFromCacheOrAddMissedIds(normalizedAccountId, requestIds,
-                requestCache, missedRequestIds);
+                requestCache, refreshTrackers.requests, missedRequestIds, staleRequestIds);
 
         final Set<String> missedImpIds = new HashSet<>();
+        final Set<String> staleImpIds = new HashSet<>();
         final Map<String, String> storedIdToImp = getFromCacheOrAddMissedIds(normalizedAccountId, impIds, impCache,
-                missedImpIds);
+                refreshTrackers.imps, missedImpIds, staleImpIds);
+
+        if (!staleRequestIds.isEmpty() || !staleImpIds.isEmpty()) {
+            refreshStoredData(cache, refreshTrackers, cacheType, normalizedAccountId, staleRequestIds, staleImpIds,
+                    reloadTimeout(), retriever);
+        }
 
         if (missedRequestIds.isEmpty() && missedImpIds.isEmpty()) {
             return Future.succeededFuture(
                     StoredDataResult.of(storedIdToRequest, storedIdToImp, Collections.emptyList()));
         }
 
-        // delegate call to original source for missed ids and update cache with it
-        return retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
-            final Map<String, String> storedIdToRequestFromDelegate = result.getStoredIdToRequest();
-            storedIdToRequest.putAll(storedIdToRequestFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToRequestFromDelegate.entrySet()) {
-                cache.saveRequestCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+        // delegate call to original source for missed ids and update cache with it,
+        // concurrent calls missing the same ids share single delegate call
+        final StoredDataKey key = new StoredDataKey(normalizedAccountId, missedRequestIds, missedImpIds);
+        return joinOrDelegate(requestsInProgress, key, () -> retriever
+                .apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout)
+                .map(result -> {
+                    saveStoredData(cache, refreshTrackers, normalizedAccountId, result);
+                    return result;
+                }))
+                .map(result -> {
+                    storedIdToRequest.putAll(result.getStoredIdToRequest());
+                    storedIdToImp.putAll(result.getStoredIdToImp());
+
+                    return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+                });
+    }
 
-            final Map<String, String> storedIdToImpFromDelegate = result.getStoredIdToImp();
-            storedIdToImp.putAll(storedIdToImpFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToImpFromDelegate.entrySet()) {
-                cache.saveImpCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+    /**
+     * Returns {@link Future} of the delegate call already in progress for the given key, or makes a new call.
+     * <p>
+     * Key is released before the call result is propagated, so callers arriving after that read the updated cache.
+     * Callers joining the call in progress get the result on their own context rather than on the context
+     * of the caller which made it.
+     */
+    private static <K, T> Future<T> joinOrDelegate(Map<K, Future<T>> requestsInProgress,
+                                                   K key,
+                                                   Supplier<Future<T>> delegateCall) {
+
+        final Promise<T> promise = Promise.promise();
+        final Future<T> requestInProgress = requestsInProgress.putIfAbsent(key, promise.future());
+        if (requestInProgress != null) {
+            return onCurrentContext(requestInProgress);
+        }
 
-            return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+        final Future<T> delegateFuture;
+        try {
+            delegateFuture = delegateCall.get();
+        } catch (Exception e) {
+            requestsInProgress.remove(key);
+            promise.fail(e);
+            return promise.future();
+        }
+
+        delegateFuture.onComplete(result -> {
+            requestsInProgress.remove(key);
+            promise.handle(result);
         });
+
+        return promise.future();
+    }
+
+    private static <T> Future<T> onCurrentContext(Future<T> future) {
+        final Context context = Vertx.currentContext();
+        if (context == null) {
+            return future;
+        }
+
+        final Promise<T> promise = Promise.promise();
+        future.onComplete(result -> {
+            if (Vertx.currentContext() == context) {
+                promise.handle(result);
+            } else {
+                context.runOnContext(ignored -> promise.handle(result));
+            }
+        });
+
+        return promise.future();
+    }
+
+    /**
+     * Background reload is not bound to the request which triggered it, so it gets its own timeout.
+     */
+    private Timeout reloadTimeout() {
+        return timeoutFactory.create(reloadTimeoutMs);
+    }
+
+    /**
+     * Reloads stale stored data in background, stale values stay in cache until reload succeeds or entries expire.
+     */
+    private void refreshStoredData(
+            SettingsCache cache,
+            StoredDataRefreshTrackers refreshTrackers,
+            MetricName cacheType,
+            String accountId,
+            Set<String> requestIds,
+            Set<String> impIds,
+            Timeout timeout,
+            StoredDataFetcher<String, Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
+
+        retriever.apply(accountId, requestIds, impIds, timeout)
+                .onSuccess(result -> {
+                    saveStoredData(cache, refreshTrackers, accountId, result);
+                    metrics.updateSettingsCacheEventMetric(cacheType, MetricName.reload);
+                })
+                .onFailure(throwable -> {
+                    logger.debug("Failed to reload cached stored data for account {}: {}",
+                            accountId, throwable.getMessage());
+                    metrics.updateSettingsCacheEventMetric(cacheType, MetricName.reload_failed);
+                })
+                .onComplete(ignored -> {
+                    requestIds.forEach(id -> refreshTrackers.requests.refreshFinished(StoredItemKey.of(accountId, id)));
+                    impIds.forEach(id -> refreshTrackers.imps.refreshFinished(StoredItemKey.of(accountId, id)));
+                });
+    }
+
+    private static void saveStoredData(SettingsCache cache,
+                                       StoredDataRefreshTrackers refreshTrackers,
+                                       String accountId,
+                                       StoredDataResult result) {
+
+        for (Map.Entry<String, String> entry : result.getStoredIdToRequest().entrySet()) {
+            cache.saveRequestCache(accountId, entry.getKey(), entry.getValue());
+            refreshTrackers.requests.written(StoredItemKey.of(accountId, entry.getKey()));
+        }
+
+        for (Map.Entry<String, String> entry : result.getStoredIdToImp().entrySet()) {
+            cache.saveImpCache(accountId, entry.getKey(), entry.getValue());
+            refreshTrackers.imps.written(StoredItemKey.of(accountId, entry.getKey()));
+        }
+    }
+
+    /**
+     * Reloads value in background, stale value stays in cache until reload succeeds or entry expires.
+     */
+    private static <T> void refresh(Map<String, T> cache,
+                                    RefreshAheadTracker<String> refreshTracker,
+                                    String key,
+                                    Timeout timeout,
+                                    BiFunction<String, Timeout, Future<T>> retriever,
+                                    Consumer<MetricName> metricUpdater) {
+
+        retriever.apply(key, timeout)
+                .onSuccess(value -> {
+                    cache.put(key, value);
+                    refreshTracker.written(key);
+                    metricUpdater.accept(MetricName.reload);
+                })
+                .onFailure(throwable -> {
+                    logger.debug("Failed to reload cached value for key {}: {}", key, throwable.getMessage());
+                    metricUpdater.accept(MetricName.reload_failed);
+                })
+                .onComplete(ignored -> refreshTracker.refreshFinished(key));
     }
 
     private static <T> Future<T> cacheAndReturnFailedFuture(Throwable throwable,
@@ -227,10 +431,17 @@ public class CachingApplicationSettings implements ApplicationSettings {
         return Future.failedFuture(throwable);
     }
 
+    /**
+     * Resolves stored items from cache, collecting ids which were absent and ids which should be reloaded.
+     * <p>
+     * Only items saved for the same account are reloaded, to avoid storing them under another account.
+     */
     private static Map<String, String> getFromCacheOrAddMissedIds(String accountId,
                                                                   Set<String> ids,
                                                                   Map<String, Set<StoredItem>> cache,
-                                                                  Set<String> missedIds) {
+                                                                  RefreshAheadTracker<StoredItemKey> refreshTracker,
+                                                                  Set<String> missedIds,
+                                                                  Set<String> staleIds) {
 
         final Map<String, String> idToStoredItem = new HashMap<>(ids.size());
 
@@ -238,6 +449,12 @@ public class CachingApplicationSettings implements ApplicationSettings {
             try {
                 final StoredItem resolvedStoredItem = StoredItemResolver.resolve(null, accountId, id, cache.get(id));
                 idToStoredItem.put(id, resolvedStoredItem.getData());
+
+                if (Objects.equals(resolvedStoredItem.getAccountId(), accountId)
+                        && refreshTracker.tryStartRefresh(StoredItemKey.of(accountId, id))) {
+
+                    staleIds.add(id);
+                }
             } catch (PreBidException e) {
                 missedIds.add(id);
             }
@@ -247,11 +464,120 @@ public class CachingApplicationSettings implements ApplicationSettings {
     }
 
     public void invalidateAccountCache(String accountId) {
-        accountCache.remove(accountId);
+        accountCache.invalidate(accountId);
         accountToErrorCache.remove(accountId);
+        accountRefreshTracker.invalidate(accountId);
         logger.debug("Account with id {} was invalidated", accountId);
     }
 
-    private static <ANY> void noOp(ANY any) {
+    /**
+     * Returns copy of cached accounts, categories and stored data, along with the moments they expire at.
+     */
+    public SettingsCacheSnapshot snapshot() {
+        final long now = clock.millis();
+        return SettingsCacheSnapshot.of(
+                now,
+                snapshot(accountCache, now),
+                snapshot(categoryConfigCache, now),
+                snapshot(cache, now),
+                snapshot(ampCache, now),
+                snapshot(videoCache, now));
+    }
+
+    private static SettingsCacheSnapshot.StoredData snapshot(SettingsCache cache, long now) {
+        return SettingsCacheSnapshot.StoredData.of(
+                snapshot(cache.getExpiringRequestCache(), now),
+                snapshot(cache.getExpiringImpCache(), now));
+    }
+
+    private static <T> Map<String, SettingsCacheSnapshot.CachedValue<T>> snapshot(Cache<String, T> cache, long now) {
+        final Policy.VarExpiration<String, T> expiration = cache.policy().expireVariably().orElseThrow();
+        final Map<String, SettingsCacheSnapshot.CachedValue<T>> values = new HashMap<>();
+        cache.asMap().forEach((key, value) -> expiration.getExpiresAfter(key, TimeUnit.MILLISECONDS).ifPresent(
+                expiresAfter -> values.put(key, SettingsCacheSnapshot.CachedValue.of(value, now + expiresAfter))));
+        return values;
+    }
+
+    /**
+     * Fills caches with values from the given snapshot, values already present in caches are kept.
+     * <p>
+     * Restored values expire when they would have expired without restart, the already expired ones are skipped.
+     * They are treated as written a TTL before that, so the stale ones are reloaded in background on access
+     * if refresh-ahead is enabled.
+     */
+    public void restore(SettingsCacheSnapshot snapshot) {
+        final long now = clock.millis();
+        restore(snapshot.getAccounts(), accountCache, accountRefreshTracker, (key, value) -> Stream.of(key), now);
+        restore(snapshot.getCategories(), categoryConfigCache, categoryRefreshTracker,
+                (key, value) -> Stream.of(key), now);
+        restore(snapshot.getStoredData(), cache, cacheRefreshTrackers, now);
+        restore(snapshot.getAmpStoredData(), ampCache, ampCacheRefreshTrackers, now);
+        restore(snapshot.getVideoStoredData(), videoCache, videoCacheRefreshTrackers, now);
+    }
+
+    private void restore(SettingsCacheSnapshot.StoredData storedData,
+                         SettingsCache cache,
+                         StoredDataRefreshTrackers refreshTrackers,
+                         long now) {
+
+        if (storedData != null) {
+            restore(storedData.getRequests(), cache.getExpiringRequestCache(), refreshTrackers.requests,
+                    StoredItemKey::allOf, now);
+            restore(storedData.getImps(), cache.getExpiringImpCache(), refreshTrackers.imps,
+                    StoredItemKey::allOf, now);
+        }
+    }
+
+    private <T, K> void restore(Map<String, SettingsCacheSnapshot.CachedValue<T>> values,
+                                Cache<String, T> cache,
+                                RefreshAheadTracker<K> refreshTracker,
+                                BiFunction<String, T, Stream<K>> refreshTrackerKeys,
+                                long now) {
+
+        if (values == null) {
+            return;
+        }
+
+        final Policy.VarExpiration<String, T> expiration = cache.policy().expireVariably().orElseThrow();
+        values.forEach((key, cachedValue) -> {
+            final T value = cachedValue != null ? cachedValue.getValue() : null;
+            final long expiresAfter = value != null ? cachedValue.getExpiresAt() - now : 0L;
+            if (key != null && expiresAfter > 0
+                    && expiration.putIfAbsent(key, value, expiresAfter, TimeUnit.MILLISECONDS) == null) {
+
+                final long writeTime = cachedValue.getExpiresAt() - ttlMillis;
+                refreshTrackerKeys.apply(key, value)
+                        .forEach(refreshTrackerKey -> refreshTracker.written(refreshTrackerKey, writeTime));
+            }
+        });
+    }
+
+    private record StoredDataKey(String accountId, Set<String> requestIds, Set<String> impIds) {
+    }
+
+    /**
+     * Key of stored item in refresh trackers. Items of different accounts can share the same id, so each of them
+     * is reloaded on its own schedule.
+     */
+    private record StoredItemKey(String accountId, String id) {
+
+        static StoredItemKey of(String accountId, String id) {
+            return new StoredItemKey(accountId, id);
+        }
+
+        static Stream<StoredItemKey> allOf(String id, Set<StoredItem> storedItems) {
+            return storedItems.stream().map(storedItem -> of(storedItem.getAccountId(), id));
+        }
+    }
+
+    private static class StoredDataRefreshTrackers {
+
+        private final RefreshAheadTracker<StoredItemKey> requests;
+        private final RefreshAheadTracker<StoredItemKey> imps;
+
+        private StoredDataRefreshTrackers(int refreshAfterWrite, int ttl, int size, int jitter, Clock clock) {
+            requests = new RefreshAheadTracker<>(refreshAfterWrite, ttl, size, jitter, clock);
+            imps = new RefreshAheadTracker<>(refreshAfterWrite, ttl, size, jitter, clock);
+        }
     }
 }
@@ -0,0 +1,73 @@
+package org.prebid.server.settings;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks write time of cached entries to decide when they should be reloaded in background,
+ * while stale value is still served from cache.
+ * <p>
+ * Write times expire the same way as cached entries, so they are kept as long as the entries may be.
+ * <p>
+ * Only one reload per key can be in progress at a time.
+ */
+class RefreshAheadTracker<K> {
+
+    private final long refreshAfterMillis;
+    private final Clock clock;
+
+    private final Map<K, Long> writeTimes;
+    private final Set<K> refreshingKeys;
+
+    RefreshAheadTracker(int refreshAfterSeconds, int ttlSeconds, int size, int jitterSeconds, Clock clock) {
+        this.refreshAfterMillis = refreshAfterSeconds * 1000L;
+        this.clock = Objects.requireNonNull(clock);
+
+        writeTimes = isEnabled()
+                ? SettingsCache.<K, Long>createExpiringCache(ttlSeconds, size, jitterSeconds).asMap()
+                : null;
+        refreshingKeys = ConcurrentHashMap.newKeySet();
+    }
+
+    boolean isEnabled() {
+        return refreshAfterMillis > 0;
+    }
+
+    void written(K key) {
+        written(key, clock.millis());
+    }
+
+    void written(K key, long writeTime) {
+        if (isEnabled()) {
+            writeTimes.put(key, writeTime);
+        }
+    }
+
+    /**
+     * Returns true if value for the given key should be reloaded and no other reload is in progress for it.
+     * Caller is responsible for calling {@link #refreshFinished(Object)} when reload is completed.
+     */
+    boolean tryStartRefresh(K key) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        final Long writeTime = writeTimes.get(key);
+        return writeTime != null
+                && clock.millis() - writeTime >= refreshAfterMillis
+                && refreshingKeys.add(key);
+    }
+
+    void refreshFinished(K key) {
+        refreshingKeys.remove(key);
+    }
+
+    void invalidate(K key) {
+        if (isEnabled()) {
+            writeTimes.remove(key);
+        }
+    }
+}
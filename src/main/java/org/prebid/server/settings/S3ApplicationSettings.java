@@ -36,6 +36,9 @@ import java.util.stream.Stream;
  * <p>
  * Immediately loads stored request data from local files. These are stored in memory for low-latency reads.
  * This expects each file in the directory to be named "{config_id}.json".
+ * <p>
+ * If {@link S3SettingsMirror} is provided, files are read from the mirror and downloaded from the bucket only when
+ * they are not mirrored yet.
  */
 public class S3ApplicationSettings implements ApplicationSettings {
 
@@ -49,6 +52,7 @@ public class S3ApplicationSettings implements ApplicationSettings {
     final String storedResponsesDirectory;
     final JacksonMapper jacksonMapper;
     final Vertx vertx;
+    final S3SettingsMirror mirror;
 
     public S3ApplicationSettings(S3AsyncClient asyncClient,
                                  String bucket,
@@ -57,7 +61,8 @@ public class S3ApplicationSettings implements ApplicationSettings {
                                  String storedRequestsDirectory,
                                  String storedResponsesDirectory,
                                  JacksonMapper jacksonMapper,
-                                 Vertx vertx) {
+                                 Vertx vertx,
+                                 S3SettingsMirror mirror) {
 
         this.asyncClient = Objects.requireNonNull(asyncClient);
         this.bucket = Objects.requireNonNull(bucket);
@@ -67,6 +72,7 @@ public class S3ApplicationSettings implements ApplicationSettings {
         this.storedResponsesDirectory = Objects.requireNonNull(storedResponsesDirectory);
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.vertx = Objects.requireNonNull(vertx);
+        this.mirror = mirror;
     }
 
     @Override
@@ -192,6 +198,11 @@ public class S3ApplicationSettings implements ApplicationSettings {
     }
 
     private Future<String> downloadFile(String key) {
+        final String mirroredContent = mirror != null ? mirror.get(key) : null;
+        if (mirroredContent != null) {
+            return Future.succeededFuture(mirroredContent);
+        }
+
         final GetObjectRequest request = GetObjectRequest.builder().bucket(bucket).key(key).build();
 
         return Future.fromCompletionStage(
@@ -0,0 +1,298 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.vertx.Initializable;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Keeps a local copy of the objects stored under the given prefixes in a s3 bucket.
+ * <p>
+ * Objects are listed periodically and only the ones with changed ETag are downloaded, with bounded number of
+ * downloads in progress. Downloads are conditional on the known ETag, so object that has not changed between listing
+ * and download is not transferred again. Mirrored objects are kept in memory and in the local directory, so after
+ * restart they are revalidated rather than downloaded again.
+ */
+public class S3SettingsMirror implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3SettingsMirror.class);
+
+    private static final String INDEX_FILE_NAME = ".etags.json";
+    private static final int NOT_MODIFIED_STATUS_CODE = 304;
+
+    private final S3AsyncClient asyncClient;
+    private final String bucket;
+    private final List<String> prefixes;
+    private final Path directory;
+    private final long refreshPeriod;
+    private final int maxConcurrentDownloads;
+    private final Vertx vertx;
+    private final JacksonMapper mapper;
+
+    private volatile Map<String, MirroredObject> objects;
+
+    public S3SettingsMirror(S3AsyncClient asyncClient,
+                            String bucket,
+                            List<String> prefixes,
+                            String directory,
+                            long refreshPeriod,
+                            int maxConcurrentDownloads,
+                            Vertx vertx,
+                            JacksonMapper mapper) {
+
+        if (maxConcurrentDownloads < 1) {
+            throw new IllegalArgumentException("Max concurrent downloads must be positive");
+        }
+
+        this.asyncClient = Objects.requireNonNull(asyncClient);
+        this.bucket = Objects.requireNonNull(bucket);
+        this.prefixes = Objects.requireNonNull(prefixes);
+        this.directory = Path.of(Objects.requireNonNull(directory)).toAbsolutePath().normalize();
+        this.refreshPeriod = refreshPeriod;
+        this.maxConcurrentDownloads = maxConcurrentDownloads;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.mapper = Objects.requireNonNull(mapper);
+
+        objects = Collections.emptyMap();
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        vertx.executeBlocking(this::load)
+                .onSuccess(loadedObjects -> objects = loadedObjects)
+                .onFailure(error -> logger.warn("Failed to load s3 mirror from {}: {}", directory, error.getMessage()))
+                .transform(ignored -> sync())
+                .onComplete(ignored -> {
+                    scheduleSync();
+                    initializePromise.tryComplete();
+                });
+    }
+
+    /**
+     * Next sync is scheduled only after the previous one is completed, so slow sync never overlaps with another one.
+     */
+    private void scheduleSync() {
+        if (refreshPeriod > 0) {
+            vertx.setTimer(refreshPeriod, timerId -> sync().onComplete(ignored -> scheduleSync()));
+        }
+    }
+
+    /**
+     * Returns content of mirrored object, or null if object is not mirrored.
+     */
+    public String get(String key) {
+        final MirroredObject object = objects.get(key);
+        return object != null ? object.content() : null;
+    }
+
+    Future<Void> sync() {
+        final Map<String, MirroredObject> currentObjects = objects;
+        final Context context = vertx.getOrCreateContext();
+
+        return Future.all(prefixes.stream()
+                        .map(prefix -> listObjects(prefix, null, new ArrayList<>(), context))
+                        .toList())
+                .map(CompositeFuture::<List<S3Object>>list)
+                .compose(listedObjects -> download(
+                        listedObjects.stream().flatMap(List::stream).toList(), currentObjects, context))
+                .compose(syncedObjects -> vertx.executeBlocking(() -> save(currentObjects, syncedObjects)))
+                .onSuccess(syncedObjects -> objects = syncedObjects)
+                .onFailure(error -> logger.warn("Failed to sync s3 mirror: {}", error.getMessage()))
+                .mapEmpty();
+    }
+
+    private Future<List<S3Object>> listObjects(String prefix,
+                                               String continuationToken,
+                                               List<S3Object> result,
+                                               Context context) {
+
+        final ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix + "/")
+                .continuationToken(continuationToken)
+                .build();
+
+        return Future.fromCompletionStage(asyncClient.listObjectsV2(request), context)
+                .compose(response -> {
+                    result.addAll(response.contents());
+                    return Boolean.TRUE.equals(response.isTruncated())
+                            ? listObjects(prefix, response.nextContinuationToken(), result, context)
+                            : Future.succeededFuture(result);
+                });
+    }
+
+    private Future<Map<String, MirroredObject>> download(List<S3Object> listedObjects,
+                                                          Map<String, MirroredObject> currentObjects,
+                                                          Context context) {
+
+        final Map<String, MirroredObject> syncedObjects = new HashMap<>();
+        final List<S3Object> changedObjects = new ArrayList<>();
+
+        for (S3Object listedObject : listedObjects) {
+            final MirroredObject currentObject = currentObjects.get(listedObject.key());
+            if (currentObject != null && Objects.equals(currentObject.eTag(), listedObject.eTag())) {
+                syncedObjects.put(listedObject.key(), currentObject);
+            } else {
+                changedObjects.add(listedObject);
+            }
+        }
+
+        // all downloads complete on the same context, so iterator and synced objects are not accessed concurrently
+        final Iterator<S3Object> iterator = changedObjects.iterator();
+        final List<Future<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxConcurrentDownloads, changedObjects.size()); i++) {
+            workers.add(downloadNext(iterator, currentObjects, syncedObjects, context));
+        }
+
+        return Future.all(workers).map(ignored -> syncedObjects);
+    }
+
+    private Future<Void> downloadNext(Iterator<S3Object> iterator,
+                                      Map<String, MirroredObject> currentObjects,
+                                      Map<String, MirroredObject> syncedObjects,
+                                      Context context) {
+
+        if (!iterator.hasNext()) {
+            return Future.succeededFuture();
+        }
+
+        final String key = iterator.next().key();
+        return downloadObject(key, currentObjects.get(key), context)
+                .compose(object -> {
+                    if (object != null) {
+                        syncedObjects.put(key, object);
+                    }
+                    return downloadNext(iterator, currentObjects, syncedObjects, context);
+                });
+    }
+
+    private Future<MirroredObject> downloadObject(String key, MirroredObject currentObject, Context context) {
+        final GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .ifNoneMatch(currentObject != null ? currentObject.eTag() : null)
+                .build();
+
+        return Future.fromCompletionStage(
+                        asyncClient.getObject(request, AsyncResponseTransformer.toBytes()),
+                        context)
+                .map(S3SettingsMirror::toMirroredObject)
+                .recover(error -> recoverDownload(key, currentObject, error));
+    }
+
+    private static MirroredObject toMirroredObject(ResponseBytes<GetObjectResponse> responseBytes) {
+        return new MirroredObject(responseBytes.response().eTag(), responseBytes.asUtf8String());
+    }
+
+    /**
+     * Keeps current copy of the object if it was not modified or could not be downloaded.
+     */
+    private static Future<MirroredObject> recoverDownload(String key, MirroredObject currentObject, Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        if (!(cause instanceof S3Exception s3Exception) || s3Exception.statusCode() != NOT_MODIFIED_STATUS_CODE) {
+            logger.warn("Failed to download {} to s3 mirror: {}", key, cause.getMessage());
+        }
+
+        return Future.succeededFuture(currentObject);
+    }
+
+    private Map<String, MirroredObject> load() throws IOException {
+        final Path indexPath = directory.resolve(INDEX_FILE_NAME);
+        if (!Files.exists(indexPath)) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> keyToETag = mapper.decodeValue(
+                Files.readString(indexPath), new TypeReference<Map<String, String>>() {
+                });
+
+        final Map<String, MirroredObject> loadedObjects = new HashMap<>();
+        for (Map.Entry<String, String> entry : keyToETag.entrySet()) {
+            final Path objectPath = resolveObjectPath(entry.getKey());
+            if (objectPath != null && Files.exists(objectPath)) {
+                loadedObjects.put(entry.getKey(), new MirroredObject(entry.getValue(), Files.readString(objectPath)));
+            }
+        }
+
+        logger.info("Loaded {} objects to s3 mirror from {}", loadedObjects.size(), directory);
+        return loadedObjects;
+    }
+
+    private Map<String, MirroredObject> save(Map<String, MirroredObject> previousObjects,
+                                             Map<String, MirroredObject> syncedObjects) throws IOException {
+
+        for (Map.Entry<String, MirroredObject> entry : syncedObjects.entrySet()) {
+            final Path objectPath = resolveObjectPath(entry.getKey());
+            if (objectPath != null && entry.getValue() != previousObjects.get(entry.getKey())) {
+                write(objectPath, entry.getValue().content());
+            }
+        }
+
+        for (String key : previousObjects.keySet()) {
+            final Path objectPath = resolveObjectPath(key);
+            if (objectPath != null && !syncedObjects.containsKey(key)) {
+                Files.deleteIfExists(objectPath);
+            }
+        }
+
+        final Map<String, String> keyToETag = new HashMap<>();
+        syncedObjects.forEach((key, object) -> keyToETag.put(key, object.eTag()));
+        write(directory.resolve(INDEX_FILE_NAME), mapper.encodeToString(keyToETag));
+
+        return syncedObjects;
+    }
+
+    /**
+     * Returns path of the object in mirror directory, or null if object key points outside of it.
+     */
+    private Path resolveObjectPath(String key) {
+        final Path objectPath = directory.resolve(key).normalize();
+        return objectPath.startsWith(directory) && !objectPath.equals(directory) ? objectPath : null;
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+
+        final Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tempPath, content, StandardCharsets.UTF_8);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private record MirroredObject(String eTag, String content) {
+    }
+}
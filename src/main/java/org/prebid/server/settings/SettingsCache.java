@@ -1,9 +1,10 @@
 package org.prebid.server.settings;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.collections4.SetUtils;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.prebid.server.settings.model.StoredItem;
 
@@ -11,6 +12,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -19,8 +21,8 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class SettingsCache implements CacheNotificationListener {
 
-    private final Map<String, Set<StoredItem>> requestCache;
-    private final Map<String, Set<StoredItem>> impCache;
+    private final Cache<String, Set<StoredItem>> requestCache;
+    private final Cache<String, Set<StoredItem>> impCache;
 
     public SettingsCache(int ttl, int size, int jitter) {
         if (ttl <= 0 || size <= 0) {
@@ -30,11 +32,18 @@ public class SettingsCache implements CacheNotificationListener {
             throw new IllegalArgumentException("jitter must match the inequality: 0 <= jitter < ttl");
         }
 
-        requestCache = createCache(ttl, size, jitter);
-        impCache = createCache(ttl, size, jitter);
+        requestCache = createExpiringCache(ttl, size, jitter);
+        impCache = createExpiringCache(ttl, size, jitter);
     }
 
     public static <T> Map<String, T> createCache(int ttlSeconds, int size, int jitterSeconds) {
+        return SettingsCache.<String, T>createExpiringCache(ttlSeconds, size, jitterSeconds).asMap();
+    }
+
+    /**
+     * Creates the same cache as {@link #createCache(int, int, int)}, keeping access to expiration of its entries.
+     */
+    static <K, T> Cache<K, T> createExpiringCache(int ttlSeconds, int size, int jitterSeconds) {
         final long expireAfterNanos = (long) (ttlSeconds * 1e9);
         final long jitterNanos = jitterSeconds == 0 ? 0L : (long) (jitterSeconds * 1e9);
 
@@ -43,24 +52,31 @@ public class SettingsCache implements CacheNotificationListener {
                         ? new StaticExpiry<>(expireAfterNanos)
                         : new ExpiryWithJitter<>(expireAfterNanos, jitterNanos))
                 .maximumSize(size)
-                .<String, T>build()
-                .asMap();
+                .build();
     }
 
     Map<String, Set<StoredItem>> getRequestCache() {
-        return requestCache;
+        return requestCache.asMap();
     }
 
     Map<String, Set<StoredItem>> getImpCache() {
+        return impCache.asMap();
+    }
+
+    Cache<String, Set<StoredItem>> getExpiringRequestCache() {
+        return requestCache;
+    }
+
+    Cache<String, Set<StoredItem>> getExpiringImpCache() {
         return impCache;
     }
 
     void saveRequestCache(String accountId, String requestId, String requestValue) {
-        saveCachedValue(requestCache, accountId, requestId, requestValue);
+        saveCachedValue(getRequestCache(), accountId, requestId, requestValue);
     }
 
     void saveImpCache(String accountId, String impId, String impValue) {
-        saveCachedValue(impCache, accountId, impId, impValue);
+        saveCachedValue(getImpCache(), accountId, impId, impValue);
     }
 
     private static void saveCachedValue(Map<String, Set<StoredItem>> cache,
@@ -68,7 +84,10 @@ public class SettingsCache implements CacheNotificationListener {
                                         String id,
                                         String value) {
 
-        final Set<StoredItem> values = ObjectUtils.defaultIfNull(cache.get(id), new HashSet<>());
+        // copy-on-write, so concurrent readers never see partially updated set; previous value of the same account
+        // is replaced to support reloading of cached items
+        final Set<StoredItem> values = new HashSet<>(SetUtils.emptyIfNull(cache.get(id)));
+        values.removeIf(storedItem -> Objects.equals(storedItem.getAccountId(), accountId));
         values.add(StoredItem.of(accountId, value));
         cache.put(id, values);
     }
@@ -90,8 +109,8 @@ public class SettingsCache implements CacheNotificationListener {
 
     @Override
     public void invalidate(List<String> requests, List<String> imps) {
-        requests.forEach(requestCache.keySet()::remove);
-        imps.forEach(impCache.keySet()::remove);
+        requestCache.invalidateAll(requests);
+        impCache.invalidateAll(imps);
     }
 
     private static class StaticExpiry<K, V> implements Expiry<K, V> {
@@ -0,0 +1,44 @@
+package org.prebid.server.settings.model;
+
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contents of in-memory settings caches taken at the given moment of time.
+ */
+@Value(staticConstructor = "of")
+public class SettingsCacheSnapshot {
+
+    long createdAt;
+
+    Map<String, CachedValue<Account>> accounts;
+
+    Map<String, CachedValue<Map<String, String>>> categories;
+
+    StoredData storedData;
+
+    StoredData ampStoredData;
+
+    StoredData videoStoredData;
+
+    @Value(staticConstructor = "of")
+    public static class StoredData {
+
+        Map<String, CachedValue<Set<StoredItem>>> requests;
+
+        Map<String, CachedValue<Set<StoredItem>>> imps;
+    }
+
+    /**
+     * Cached value with the moment (epoch milliseconds) it expires at.
+     */
+    @Value(staticConstructor = "of")
+    public static class CachedValue<T> {
+
+        T value;
+
+        long expiresAt;
+    }
+}
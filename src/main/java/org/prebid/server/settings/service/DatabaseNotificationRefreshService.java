@@ -0,0 +1,237 @@
+package org.prebid.server.settings.service;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.CacheNotificationListener;
+import org.prebid.server.settings.helper.DatabaseStoredDataResultMapper;
+import org.prebid.server.settings.helper.ParametrizedQueryHelper;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredDataType;
+import org.prebid.server.vertx.Initializable;
+import org.prebid.server.vertx.database.DatabaseClient;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Service that listens for PostgreSQL notifications about changed stored requests and imps
+ * and reloads only changed ids, instead of polling for updates.
+ * <p>
+ * Notification payload should contain comma separated list of changed items in format {@code type:id},
+ * where type is "request" or "imp", for example:
+ * <pre>
+ * CREATE FUNCTION notify_stored_requests() RETURNS trigger AS $$
+ * BEGIN
+ *   PERFORM pg_notify('stored_requests', COALESCE(NEW.type, OLD.type) || ':' || COALESCE(NEW.reqid, OLD.reqid));
+ *   RETURN NULL;
+ * END;
+ * $$ LANGUAGE plpgsql;
+ * </pre>
+ * Notifications received within the debounce period are coalesced and changed ids are reloaded with a single query.
+ * Ids that are absent in the query result, or have empty data, are invalidated.
+ * <p>
+ * Notifications sent while connection is lost are not delivered, so it is advised to keep periodic refresh
+ * with longer refresh rate as a fallback.
+ */
+public class DatabaseNotificationRefreshService implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseNotificationRefreshService.class);
+
+    private static final long RECONNECT_DELAY_MS = 1000L;
+
+    private final PgSubscriber subscriber;
+    private final String channel;
+    /**
+     * Example of changed ids query:
+     * <pre>
+     * SELECT accountId, reqid, requestData, 'request' as dataType
+     * FROM stored_requests
+     * WHERE reqid IN (%REQUEST_ID_LIST%)
+     * UNION ALL
+     * SELECT accountId, impid, impData, 'imp' as dataType
+     * FROM stored_imps
+     * WHERE impid IN (%IMP_ID_LIST%)
+     * </pre>
+     */
+    private final String changedIdsQuery;
+    private final long debouncePeriod;
+    private final long timeout;
+    private final MetricName cacheType;
+    private final CacheNotificationListener cacheNotificationListener;
+    private final Vertx vertx;
+    private final DatabaseClient databaseClient;
+    private final ParametrizedQueryHelper parametrizedQueryHelper;
+    private final TimeoutFactory timeoutFactory;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private Set<String> changedRequestIds = new HashSet<>();
+    private Set<String> changedImpIds = new HashSet<>();
+    private boolean reloadScheduled;
+
+    public DatabaseNotificationRefreshService(PgSubscriber subscriber,
+                                              String channel,
+                                              String changedIdsQuery,
+                                              long debouncePeriod,
+                                              long timeout,
+                                              MetricName cacheType,
+                                              CacheNotificationListener cacheNotificationListener,
+                                              Vertx vertx,
+                                              DatabaseClient databaseClient,
+                                              ParametrizedQueryHelper parametrizedQueryHelper,
+                                              TimeoutFactory timeoutFactory,
+                                              Metrics metrics,
+                                              Clock clock) {
+
+        if (debouncePeriod <= 0) {
+            throw new IllegalArgumentException("Debounce period must be positive");
+        }
+
+        this.subscriber = Objects.requireNonNull(subscriber);
+        this.channel = Objects.requireNonNull(StringUtils.stripToNull(channel));
+        this.changedIdsQuery = Objects.requireNonNull(StringUtils.stripToNull(changedIdsQuery));
+        this.debouncePeriod = debouncePeriod;
+        this.timeout = timeout;
+        this.cacheType = Objects.requireNonNull(cacheType);
+        this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.databaseClient = Objects.requireNonNull(databaseClient);
+        this.parametrizedQueryHelper = Objects.requireNonNull(parametrizedQueryHelper);
+        this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        subscriber.reconnectPolicy(retries -> RECONNECT_DELAY_MS);
+        subscriber.channel(channel)
+                .handler(this::handleNotification)
+                .subscribeHandler(ignored -> logger.info("Subscribed to database notifications on channel {}",
+                        channel));
+
+        connect();
+
+        initializePromise.tryComplete();
+    }
+
+    private void connect() {
+        subscriber.connect().onFailure(exception -> {
+            logger.warn("Cannot connect to database for notifications on channel {}, retrying", exception,
+                    channel);
+            vertx.setTimer(RECONNECT_DELAY_MS, ignored -> connect());
+        });
+    }
+
+    private void handleNotification(String payload) {
+        for (String changedItem : StringUtils.split(StringUtils.defaultString(payload), ',')) {
+            final String type = StringUtils.trim(StringUtils.substringBefore(changedItem, ':'));
+            final String id = StringUtils.trim(StringUtils.substringAfter(changedItem, ':'));
+
+            if (StringUtils.isNotEmpty(id) && StoredDataType.request.name().equals(type)) {
+                changedRequestIds.add(id);
+            } else if (StringUtils.isNotEmpty(id) && StoredDataType.imp.name().equals(type)) {
+                changedImpIds.add(id);
+            } else {
+                logger.warn("Invalid stored data change notification on channel {}: ''{}''", channel, changedItem);
+            }
+        }
+
+        if (!reloadScheduled && (!changedRequestIds.isEmpty() || !changedImpIds.isEmpty())) {
+            reloadScheduled = true;
+            vertx.setTimer(debouncePeriod, ignored -> reload());
+        }
+    }
+
+    private void reload() {
+        final Set<String> requestIds = changedRequestIds;
+        final Set<String> impIds = changedImpIds;
+        changedRequestIds = new HashSet<>();
+        changedImpIds = new HashSet<>();
+        reloadScheduled = false;
+
+        final long startTime = clock.millis();
+
+        final String query = parametrizedQueryHelper.replaceRequestAndImpIdPlaceholders(
+                changedIdsQuery, requestIds.size(), impIds.size());
+
+        databaseClient.executeQuery(
+                        query,
+                        queryParameters(requestIds, impIds),
+                        DatabaseStoredDataResultMapper::map,
+                        timeoutFactory.create(timeout))
+                .onSuccess(result -> handleResult(result, requestIds, impIds, startTime))
+                .onFailure(exception -> handleFailure(exception, requestIds, impIds, startTime));
+    }
+
+    private List<Object> queryParameters(Set<String> requestIds, Set<String> impIds) {
+        final int requestIdPlaceholders =
+                StringUtils.countMatches(changedIdsQuery, ParametrizedQueryHelper.REQUEST_ID_PLACEHOLDER);
+        final int impIdPlaceholders =
+                StringUtils.countMatches(changedIdsQuery, ParametrizedQueryHelper.IMP_ID_PLACEHOLDER);
+
+        final List<Object> parameters = new ArrayList<>();
+        IntStream.rangeClosed(1, requestIdPlaceholders).forEach(i -> parameters.addAll(requestIds));
+        IntStream.rangeClosed(1, impIdPlaceholders).forEach(i -> parameters.addAll(impIds));
+        return parameters;
+    }
+
+    private void handleResult(StoredDataResult result, Set<String> requestIds, Set<String> impIds, long startTime) {
+        final Map<String, String> requestsToSave = new HashMap<>();
+        final List<String> invalidatedRequests = new ArrayList<>();
+        splitChanges(requestIds, result.getStoredIdToRequest(), requestsToSave, invalidatedRequests);
+
+        final Map<String, String> impsToSave = new HashMap<>();
+        final List<String> invalidatedImps = new ArrayList<>();
+        splitChanges(impIds, result.getStoredIdToImp(), impsToSave, invalidatedImps);
+
+        if (!invalidatedRequests.isEmpty() || !invalidatedImps.isEmpty()) {
+            cacheNotificationListener.invalidate(invalidatedRequests, invalidatedImps);
+        }
+        cacheNotificationListener.save(requestsToSave, impsToSave);
+
+        metrics.updateSettingsCacheRefreshTime(cacheType, MetricName.update, clock.millis() - startTime);
+    }
+
+    private static void splitChanges(Set<String> changedIds,
+                                     Map<String, String> idToData,
+                                     Map<String, String> toSave,
+                                     List<String> toInvalidate) {
+
+        for (String id : changedIds) {
+            final String data = idToData.get(id);
+            if (StringUtils.isBlank(data) || StringUtils.equalsIgnoreCase(data, "null")) {
+                toInvalidate.add(id);
+            } else {
+                toSave.put(id, data);
+            }
+        }
+    }
+
+    /**
+     * Invalidates changed ids, so they are fetched from database on demand instead of serving outdated data.
+     */
+    private void handleFailure(Throwable exception, Set<String> requestIds, Set<String> impIds, long startTime) {
+        logger.warn("Error occurred while reloading changed stored data from database", exception);
+
+        cacheNotificationListener.invalidate(new ArrayList<>(requestIds), new ArrayList<>(impIds));
+
+        metrics.updateSettingsCacheRefreshTime(cacheType, MetricName.update, clock.millis() - startTime);
+        metrics.updateSettingsCacheRefreshErrorMetric(cacheType, MetricName.update);
+    }
+}
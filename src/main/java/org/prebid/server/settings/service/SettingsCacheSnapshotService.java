@@ -0,0 +1,123 @@
+package org.prebid.server.settings.service;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.settings.CachingApplicationSettings;
+import org.prebid.server.settings.model.SettingsCacheSnapshot;
+import org.prebid.server.vertx.Initializable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service that periodically saves contents of in-memory settings caches to a local file
+ * and restores them on startup, so the node does not start with empty caches after restart.
+ * <p>
+ * Snapshot is stored as gzipped JSON. Snapshots older than max age are ignored. Failure to read or write
+ * the snapshot does not affect the application, it only means caches are filled from settings sources as usual.
+ */
+public class SettingsCacheSnapshotService implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SettingsCacheSnapshotService.class);
+
+    private final CachingApplicationSettings cachingApplicationSettings;
+    private final Path snapshotPath;
+    private final long snapshotPeriod;
+    private final long maxAge;
+    private final Vertx vertx;
+    private final Clock clock;
+    private final JacksonMapper mapper;
+
+    public SettingsCacheSnapshotService(CachingApplicationSettings cachingApplicationSettings,
+                                        String snapshotPath,
+                                        long snapshotPeriod,
+                                        long maxAge,
+                                        Vertx vertx,
+                                        Clock clock,
+                                        JacksonMapper mapper) {
+
+        if (snapshotPeriod <= 0) {
+            throw new IllegalArgumentException("Snapshot period must be positive");
+        }
+
+        this.cachingApplicationSettings = Objects.requireNonNull(cachingApplicationSettings);
+        this.snapshotPath = Path.of(Objects.requireNonNull(snapshotPath));
+        this.snapshotPeriod = snapshotPeriod;
+        this.maxAge = maxAge;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        vertx.executeBlocking(this::restore)
+                .onFailure(error -> logger.warn("Failed to restore settings cache snapshot from {}: {}",
+                        snapshotPath, error.getMessage()))
+                .onComplete(ignored -> {
+                    vertx.setPeriodic(snapshotPeriod, timerId -> save());
+                    initializePromise.tryComplete();
+                });
+    }
+
+    private Void restore() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("Settings cache snapshot {} does not exist, skipping restore", snapshotPath);
+            return null;
+        }
+
+        final SettingsCacheSnapshot snapshot;
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(snapshotPath))) {
+            snapshot = mapper.decodeValue(inputStream.readAllBytes(), SettingsCacheSnapshot.class);
+        }
+
+        final long age = clock.millis() - snapshot.getCreatedAt();
+        if (age > maxAge) {
+            logger.info("Settings cache snapshot {} is {} ms old, skipping restore", snapshotPath, age);
+            return null;
+        }
+
+        cachingApplicationSettings.restore(snapshot);
+        logger.info("Settings cache snapshot {} was restored", snapshotPath);
+        return null;
+    }
+
+    private void save() {
+        vertx.<Void>executeBlocking(this::write, false)
+                .onFailure(error -> logger.warn("Failed to save settings cache snapshot to {}: {}",
+                        snapshotPath, error.getMessage()));
+    }
+
+    /**
+     * Writes snapshot to temporary file first and then moves it, so readers never see partially written snapshot.
+     */
+    private Void write() throws IOException {
+        final byte[] snapshot = mapper.encodeToBytes(cachingApplicationSettings.snapshot());
+
+        final Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        final Path tempPath = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(tempPath))) {
+                outputStream.write(snapshot);
+            }
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
+import org.prebid.server.analytics.reporter.AnalyticsEventDispatcher;
 import org.prebid.server.analytics.reporter.AnalyticsReporterDelegator;
 import org.prebid.server.analytics.reporter.agma.AgmaAnalyticsReporter;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
@@ -15,10 +16,12 @@ import org.prebid.server.analytics.reporter.greenbids.model.GreenbidsAnalyticsPr
 import org.prebid.server.analytics.reporter.log.LogAnalyticsReporter;
 import org.prebid.server.analytics.reporter.pubstack.PubstackAnalyticsReporter;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
+import org.prebid.server.analytics.transport.AnalyticsTransportFactory;
 import org.prebid.server.auction.privacy.enforcement.TcfEnforcement;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.spring.config.retry.RetryPolicyConfigurationProperties;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +32,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.time.Clock;
@@ -49,7 +53,8 @@ public class AnalyticsConfiguration {
             Metrics metrics,
             @Value("${logging.sampling-rate:0.01}") double logSamplingRate,
             @Value("${analytics.global.adapters}") Set<String> globalEnabledAdapters,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            @Autowired(required = false) AnalyticsEventDispatcher analyticsEventDispatcher) {
 
         return new AnalyticsReporterDelegator(
                 vertx,
@@ -59,7 +64,77 @@ public class AnalyticsConfiguration {
                 metrics,
                 logSamplingRate,
                 globalEnabledAdapters,
-                mapper);
+                mapper,
+                analyticsEventDispatcher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "analytics.dispatch", name = "enabled", havingValue = "true")
+    AnalyticsEventDispatcher analyticsEventDispatcher(
+            Vertx vertx,
+            @Value("${analytics.dispatch.worker-pool-size:2}") int workerPoolSize,
+            @Value("${analytics.dispatch.queue-capacity:10000}") int queueCapacity,
+            @Value("${analytics.dispatch.drop-policy:newest}") AnalyticsEventDispatcher.DropPolicy dropPolicy,
+            Metrics metrics) {
+
+        return new AnalyticsEventDispatcher(
+                vertx.createSharedWorkerExecutor("analytics-dispatcher", workerPoolSize),
+                queueCapacity,
+                dropPolicy,
+                metrics);
+    }
+
+    @Bean
+    AnalyticsTransportFactory analyticsTransportFactory(AnalyticsTransportConfigurationProperties properties,
+                                                        Vertx vertx,
+                                                        HttpClient httpClient,
+                                                        Metrics metrics,
+                                                        Clock clock) {
+
+        return new AnalyticsTransportFactory(
+                properties.getRetryPolicy().toPolicy(),
+                properties.getMaxRetries(),
+                properties.getMaxPendingBytes(),
+                properties.getSpillDir(),
+                properties.getMaxSpilledBytes(),
+                properties.getSpillRetentionMs(),
+                vertx,
+                httpClient,
+                metrics,
+                clock);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "analytics.transport")
+    AnalyticsTransportConfigurationProperties analyticsTransportConfigurationProperties() {
+        return new AnalyticsTransportConfigurationProperties();
+    }
+
+    @Validated
+    @NoArgsConstructor
+    @Data
+    private static class AnalyticsTransportConfigurationProperties {
+
+        @NotNull
+        private RetryPolicyConfigurationProperties retryPolicy;
+
+        @NotNull
+        @Min(0)
+        private Integer maxRetries;
+
+        @NotNull
+        @Min(1)
+        private Long maxPendingBytes;
+
+        private String spillDir;
+
+        @NotNull
+        @Min(0)
+        private Long maxSpilledBytes;
+
+        @NotNull
+        @Min(0)
+        private Long spillRetentionMs;
     }
 
     @Bean
@@ -75,18 +150,16 @@ public class AnalyticsConfiguration {
         @Bean
         AgmaAnalyticsReporter agmaAnalyticsReporter(AgmaAnalyticsConfigurationProperties properties,
                                                     JacksonMapper jacksonMapper,
-                                                    HttpClient httpClient,
                                                     Clock clock,
                                                     PrebidVersionProvider prebidVersionProvider,
-                                                    Vertx vertx) {
+                                                    AnalyticsTransportFactory analyticsTransportFactory) {
 
             return new AgmaAnalyticsReporter(
                     properties.toComponentProperties(),
                     prebidVersionProvider,
                     jacksonMapper,
                     clock,
-                    httpClient,
-                    vertx);
+                    analyticsTransportFactory);
         }
 
         @Bean
@@ -237,13 +310,15 @@ public class AnalyticsConfiguration {
                 PubstackAnalyticsConfiguratinProperties pubstackAnalyticsConfiguratinProperties,
                 HttpClient httpClient,
                 JacksonMapper jacksonMapper,
-                Vertx vertx) {
+                Vertx vertx,
+                AnalyticsTransportFactory analyticsTransportFactory) {
 
             return new PubstackAnalyticsReporter(
                     pubstackAnalyticsConfiguratinProperties.toComponentProperties(),
                     httpClient,
                     jacksonMapper,
-                    vertx);
+                    vertx,
+                    analyticsTransportFactory);
         }
 
         @Bean
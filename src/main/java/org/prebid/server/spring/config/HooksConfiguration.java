@@ -1,15 +1,20 @@
 package org.prebid.server.spring.config;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.vertx.core.Vertx;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.hooks.execution.HookCatalog;
+import org.prebid.server.hooks.execution.HookLatencyBudget;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,15 +33,38 @@ public class HooksConfiguration {
         return new HookCatalog(modules);
     }
 
+    @Bean
+    TimingWheel hooksTimingWheel(Vertx vertx,
+                                 @Value("${hooks.timing-wheel.tick-duration-ms:5}") long tickDurationMs,
+                                 @Value("${hooks.timing-wheel.size:512}") int wheelSize) {
+
+        return new TimingWheel(vertx, Ticker.systemTicker(), tickDurationMs, wheelSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "hooks.latency-budget", name = "enabled", havingValue = "true")
+    HookLatencyBudget hookLatencyBudget(@Value("${hooks.latency-budget.window-ms:60000}") long windowMs,
+                                        @Value("${hooks.latency-budget.max-samples:1000}") int maxSamples,
+                                        @Value("${hooks.latency-budget.min-samples:50}") int minSamples,
+                                        @Value("${hooks.latency-budget.percentile:0.99}") double percentile,
+                                        @Value("${hooks.latency-budget.probe-period-ms:1000}") long probePeriodMs,
+                                        Clock clock) {
+
+        return new HookLatencyBudget(windowMs, maxSamples, minSamples, percentile, probePeriodMs, clock);
+    }
+
     @Bean
     HookStageExecutor hookStageExecutor(HooksConfigurationProperties hooksConfiguration,
                                         HookCatalog hookCatalog,
                                         TimeoutFactory timeoutFactory,
-                                        Vertx vertx,
+                                        TimingWheel hooksTimingWheel,
                                         Clock clock,
                                         JacksonMapper mapper,
                                         @Value("${settings.modules.require-config-to-invoke:false}")
-                                        boolean isConfigToInvokeRequired) {
+                                        boolean isConfigToInvokeRequired,
+                                        @Value("${hooks.execution-plans-cache-size:10000}")
+                                        int executionPlansCacheSize,
+                                        @Autowired(required = false) HookLatencyBudget hookLatencyBudget) {
 
         return HookStageExecutor.create(
                 hooksConfiguration.getHostExecutionPlan(),
@@ -46,10 +74,12 @@ public class HooksConfiguration {
                         .orElseGet(Collections::emptyMap),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                hooksTimingWheel,
                 clock,
                 mapper,
-                isConfigToInvokeRequired);
+                isConfigToInvokeRequired,
+                executionPlansCacheSize,
+                hookLatencyBudget);
     }
 
     @Bean
@@ -165,7 +165,8 @@ public class PrivacyServiceConfiguration {
             BidderCatalog bidderCatalog,
             IpAddressHelper ipAddressHelper,
             Metrics metrics,
-            @Value("${logging.sampling-rate:0.01}") double samplingRate) {
+            @Value("${logging.sampling-rate:0.01}") double samplingRate,
+            @Value("${gdpr.consent-cache-size:10000}") int consentCacheSize) {
 
         final Set<String> eeaCountries = new HashSet<>(Arrays.asList(eeaCountriesAsString.trim().split(",")));
 
@@ -177,7 +178,8 @@ public class PrivacyServiceConfiguration {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                samplingRate);
+                samplingRate,
+                consentCacheSize);
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package org.prebid.server.spring.config;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
 import io.vertx.core.Vertx;
@@ -43,6 +44,7 @@ import org.prebid.server.auction.gpp.AuctionGppService;
 import org.prebid.server.auction.gpp.CookieSyncGppService;
 import org.prebid.server.auction.gpp.GppService;
 import org.prebid.server.auction.gpp.SetuidGppService;
+import org.prebid.server.auction.gpp.model.GppModelCache;
 import org.prebid.server.auction.gpp.processor.GppContextProcessor;
 import org.prebid.server.auction.gpp.processor.tcfeuv2.TcfEuV2ContextProcessor;
 import org.prebid.server.auction.gpp.processor.uspv1.UspV1ContextProcessor;
@@ -74,7 +76,10 @@ import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
 import org.prebid.server.bidder.HttpBidderRequester;
 import org.prebid.server.cache.BasicPbcStorageService;
+import org.prebid.server.cache.BidCacheRequestBatcher;
 import org.prebid.server.cache.CoreCacheService;
+import org.prebid.server.cache.CreativeDeduplicator;
+import org.prebid.server.cache.EmbeddedCacheStore;
 import org.prebid.server.cache.PbcStorageService;
 import org.prebid.server.cache.model.CacheTtl;
 import org.prebid.server.cache.utils.CacheServiceUtil;
@@ -100,7 +105,9 @@ import org.prebid.server.json.JsonMerger;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.log.CriteriaManager;
 import org.prebid.server.log.HttpInteractionLogger;
+import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerControlKnob;
+import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
@@ -152,6 +159,8 @@ import java.util.stream.Stream;
 @Configuration
 public class ServiceConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(ServiceConfiguration.class);
+
     @Value("${logging.sampling-rate:0.01}")
     private double logSamplingRate;
 
@@ -166,9 +175,17 @@ public class ServiceConfiguration {
             @Value("${cache.api-key-secured:false}") boolean apiKeySecured,
             @Value("${cache.append-trace-info-to-cache-id:false}") boolean appendTraceInfoToCacheId,
             @Value("${datacenter-region:#{null}}") String datacenterRegion,
+            @Value("${cache.batching.enabled:false}") boolean batchingEnabled,
+            @Value("${cache.batching.window-ms:1}") long batchingWindowMs,
+            @Value("${cache.batching.max-batch-size:50}") int batchingMaxBatchSize,
+            @Value("${cache.deduplication.enabled:false}") boolean deduplicationEnabled,
+            @Value("${cache.deduplication.window-ms:0}") long deduplicationWindowMs,
+            @Value("${cache.deduplication.max-size:10000}") int deduplicationMaxSize,
             VastModifier vastModifier,
             EventsService eventsService,
             HttpClient httpClient,
+            @Autowired(required = false) EmbeddedCacheStore embeddedCacheStore,
+            Vertx vertx,
             Metrics metrics,
             Clock clock,
             JacksonMapper mapper) {
@@ -187,6 +204,52 @@ public class ServiceConfiguration {
                 metrics,
                 clock,
                 new UUIDIdGenerator(),
+                mapper,
+                bidCacheRequestBatcher(batchingEnabled, batchingWindowMs, batchingMaxBatchSize,
+                        embeddedCacheStore != null, httpClient, vertx, clock, mapper),
+                deduplicationEnabled
+                        ? new CreativeDeduplicator(deduplicationWindowMs, deduplicationMaxSize, clock, mapper)
+                        : null,
+                embeddedCacheStore);
+    }
+
+    /**
+     * Embedded store is written in-process, so there are no requests to the Cache Service to batch.
+     */
+    private static BidCacheRequestBatcher bidCacheRequestBatcher(boolean enabled,
+                                                                 long windowMs,
+                                                                 int maxBatchSize,
+                                                                 boolean embeddedCacheEnabled,
+                                                                 HttpClient httpClient,
+                                                                 Vertx vertx,
+                                                                 Clock clock,
+                                                                 JacksonMapper mapper) {
+
+        if (!enabled) {
+            return null;
+        }
+        if (embeddedCacheEnabled) {
+            logger.warn("cache.batching.enabled is ignored, because cache.embedded.enabled is set");
+            return null;
+        }
+
+        return new BidCacheRequestBatcher(httpClient, vertx, clock, mapper, windowMs, maxBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.embedded", name = "enabled", havingValue = "true")
+    EmbeddedCacheStore embeddedCacheStore(
+            @Value("${cache.embedded.max-size-bytes:268435456}") long maxSizeBytes,
+            @Value("${cache.embedded.default-ttl-seconds:300}") int defaultTtlSeconds,
+            @Value("${cache.embedded.max-ttl-seconds:3600}") int maxTtlSeconds,
+            JacksonMapper mapper) {
+
+        return new EmbeddedCacheStore(
+                maxSizeBytes,
+                defaultTtlSeconds,
+                maxTtlSeconds,
+                new UUIDIdGenerator(),
+                Ticker.systemTicker(),
                 mapper);
     }
 
@@ -362,23 +425,28 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    AuctionGppService auctionGppProcessor(GppService gppService) {
-        return new AuctionGppService(gppService);
+    GppModelCache gppModelCache(@Value("${gpp.model-cache-size:10000}") int cacheSize, Metrics metrics) {
+        return new GppModelCache(cacheSize, metrics);
+    }
+
+    @Bean
+    AuctionGppService auctionGppProcessor(GppService gppService, GppModelCache gppModelCache) {
+        return new AuctionGppService(gppService, gppModelCache);
     }
 
     @Bean
-    AmpGppService ampGppProcessor(GppService gppService) {
-        return new AmpGppService(gppService);
+    AmpGppService ampGppProcessor(GppService gppService, GppModelCache gppModelCache) {
+        return new AmpGppService(gppService, gppModelCache);
     }
 
     @Bean
-    CookieSyncGppService cookieSyncGppProcessor(GppService gppService) {
-        return new CookieSyncGppService(gppService);
+    CookieSyncGppService cookieSyncGppProcessor(GppService gppService, GppModelCache gppModelCache) {
+        return new CookieSyncGppService(gppService, gppModelCache);
     }
 
     @Bean
-    SetuidGppService setuidGppService(GppService gppService) {
-        return new SetuidGppService(gppService);
+    SetuidGppService setuidGppService(GppService gppService, GppModelCache gppModelCache) {
+        return new SetuidGppService(gppService, gppModelCache);
     }
 
     @Bean
@@ -663,6 +731,7 @@ public class ServiceConfiguration {
             @Value("${host-cookie.ttl-days}") Integer ttlDays,
             @Value("${host-cookie.max-cookie-size-bytes}") Integer maxCookieSizeBytes,
             @Value("${setuid.number-of-uid-cookies:1}") int numberOfUidCookies,
+            @Value("${host-cookie.compact-uids-enabled:false}") boolean compactUidsEnabled,
             PrioritizedCoopSyncProvider prioritizedCoopSyncProvider,
             Metrics metrics,
             JacksonMapper mapper) {
@@ -676,6 +745,7 @@ public class ServiceConfiguration {
                 ttlDays,
                 maxCookieSizeBytes,
                 numberOfUidCookies,
+                compactUidsEnabled,
                 prioritizedCoopSyncProvider,
                 metrics,
                 mapper);
@@ -5,6 +5,8 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import io.vertx.core.Vertx;
 import io.vertx.core.file.FileSystem;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgSubscriber;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.UtilityClass;
@@ -17,6 +19,7 @@ import org.prebid.server.json.JsonMerger;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.BatchingApplicationSettings;
 import org.prebid.server.settings.CachingApplicationSettings;
 import org.prebid.server.settings.CompositeApplicationSettings;
 import org.prebid.server.settings.DatabaseApplicationSettings;
@@ -24,18 +27,24 @@ import org.prebid.server.settings.EnrichingApplicationSettings;
 import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
 import org.prebid.server.settings.S3ApplicationSettings;
+import org.prebid.server.settings.S3SettingsMirror;
 import org.prebid.server.settings.SettingsCache;
 import org.prebid.server.settings.helper.ParametrizedQueryHelper;
+import org.prebid.server.settings.service.DatabaseNotificationRefreshService;
 import org.prebid.server.settings.service.DatabasePeriodicRefreshService;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
 import org.prebid.server.settings.service.S3PeriodicRefreshService;
+import org.prebid.server.settings.service.SettingsCacheSnapshotService;
 import org.prebid.server.spring.config.database.DatabaseConfiguration;
+import org.prebid.server.spring.config.database.model.ConnectionPoolSettings;
+import org.prebid.server.spring.config.database.model.DatabaseAddress;
 import org.prebid.server.vertx.database.DatabaseClient;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -235,6 +244,98 @@ public class SettingsConfiguration {
         }
     }
 
+    @Configuration
+    @ConditionalOnExpression("'${settings.database.type:}' == 'postgres'"
+            + " and '${settings.in-memory-cache.database-update.notification.enabled:false}' == 'true'")
+    static class DatabaseNotificationRefreshServiceConfiguration {
+
+        @Value("${settings.in-memory-cache.database-update.notification.debounce-ms:100}")
+        long debouncePeriod;
+
+        @Value("${settings.in-memory-cache.database-update.timeout}")
+        long timeout;
+
+        @Autowired
+        Vertx vertx;
+
+        @Autowired
+        DatabaseClient databaseClient;
+
+        @Autowired
+        ParametrizedQueryHelper parametrizedQueryHelper;
+
+        @Autowired
+        DatabaseAddress databaseAddress;
+
+        @Autowired
+        ConnectionPoolSettings connectionPoolSettings;
+
+        @Autowired
+        TimeoutFactory timeoutFactory;
+
+        @Autowired
+        Metrics metrics;
+
+        @Autowired
+        Clock clock;
+
+        @Bean
+        @ConditionalOnProperty(
+                prefix = "settings.in-memory-cache.database-update.notification",
+                name = {"channel", "changed-ids-query"})
+        public DatabaseNotificationRefreshService databaseNotificationRefreshService(
+                @Qualifier("settingsCache") SettingsCache settingsCache,
+                @Value("${settings.in-memory-cache.database-update.notification.channel}") String channel,
+                @Value("${settings.in-memory-cache.database-update.notification.changed-ids-query}")
+                String changedIdsQuery) {
+
+            return createService(channel, changedIdsQuery, MetricName.stored_request, settingsCache);
+        }
+
+        @Bean
+        @ConditionalOnProperty(
+                prefix = "settings.in-memory-cache.database-update.notification",
+                name = {"amp-channel", "amp-changed-ids-query"})
+        public DatabaseNotificationRefreshService ampDatabaseNotificationRefreshService(
+                @Qualifier("ampSettingsCache") SettingsCache ampSettingsCache,
+                @Value("${settings.in-memory-cache.database-update.notification.amp-channel}") String channel,
+                @Value("${settings.in-memory-cache.database-update.notification.amp-changed-ids-query}")
+                String changedIdsQuery) {
+
+            return createService(channel, changedIdsQuery, MetricName.amp_stored_request, ampSettingsCache);
+        }
+
+        private DatabaseNotificationRefreshService createService(String channel,
+                                                                 String changedIdsQuery,
+                                                                 MetricName cacheType,
+                                                                 SettingsCache settingsCache) {
+
+            final PgConnectOptions connectOptions = new PgConnectOptions()
+                    .setHost(databaseAddress.getHost())
+                    .setPort(databaseAddress.getPort())
+                    .setDatabase(databaseAddress.getDatabaseName())
+                    .setUser(connectionPoolSettings.getUser())
+                    .setPassword(connectionPoolSettings.getPassword())
+                    .setSsl(false)
+                    .setTcpKeepAlive(true);
+
+            return new DatabaseNotificationRefreshService(
+                    PgSubscriber.subscriber(vertx, connectOptions),
+                    channel,
+                    changedIdsQuery,
+                    debouncePeriod,
+                    timeout,
+                    cacheType,
+                    settingsCache,
+                    vertx,
+                    databaseClient,
+                    parametrizedQueryHelper,
+                    timeoutFactory,
+                    metrics,
+                    clock);
+        }
+    }
+
     @Configuration
     @ConditionalOnProperty(prefix = "settings.s3", name = {"accounts-dir", "stored-imps-dir", "stored-requests-dir"})
     static class S3SettingsConfiguration {
@@ -322,10 +423,38 @@ public class SettingsConfiguration {
         }
 
         @Bean
-        S3ApplicationSettings s3ApplicationSettings(S3AsyncClient s3AsyncClient,
-                                                    S3ConfigurationProperties s3ConfigurationProperties,
-                                                    JacksonMapper mapper,
-                                                    Vertx vertx) {
+        @ConditionalOnProperty(prefix = "settings.s3.mirror", name = "enabled", havingValue = "true")
+        S3SettingsMirror s3SettingsMirror(
+                S3AsyncClient s3AsyncClient,
+                S3ConfigurationProperties s3ConfigurationProperties,
+                @Value("${settings.s3.mirror.directory}") String directory,
+                @Value("${settings.s3.mirror.refresh-rate:60000}") long refreshPeriod,
+                @Value("${settings.s3.mirror.max-concurrent-downloads:16}") int maxConcurrentDownloads,
+                JacksonMapper mapper,
+                Vertx vertx) {
+
+            return new S3SettingsMirror(
+                    s3AsyncClient,
+                    s3ConfigurationProperties.getBucket(),
+                    List.of(
+                            s3ConfigurationProperties.getAccountsDir(),
+                            s3ConfigurationProperties.getStoredImpsDir(),
+                            s3ConfigurationProperties.getStoredRequestsDir(),
+                            s3ConfigurationProperties.getStoredResponsesDir()),
+                    directory,
+                    refreshPeriod,
+                    maxConcurrentDownloads,
+                    vertx,
+                    mapper);
+        }
+
+        @Bean
+        S3ApplicationSettings s3ApplicationSettings(
+                S3AsyncClient s3AsyncClient,
+                S3ConfigurationProperties s3ConfigurationProperties,
+                @Autowired(required = false) S3SettingsMirror s3SettingsMirror,
+                JacksonMapper mapper,
+                Vertx vertx) {
 
             return new S3ApplicationSettings(
                     s3AsyncClient,
@@ -335,7 +464,8 @@ public class SettingsConfiguration {
                     s3ConfigurationProperties.getStoredRequestsDir(),
                     s3ConfigurationProperties.getStoredResponsesDir(),
                     mapper,
-                    vertx);
+                    vertx,
+                    s3SettingsMirror);
         }
     }
 
@@ -378,18 +508,37 @@ public class SettingsConfiguration {
                 @Autowired(required = false) FileApplicationSettings fileApplicationSettings,
                 @Autowired(required = false) DatabaseApplicationSettings databaseApplicationSettings,
                 @Autowired(required = false) HttpApplicationSettings httpApplicationSettings,
-                @Autowired(required = false) S3ApplicationSettings s3ApplicationSettings) {
+                @Autowired(required = false) S3ApplicationSettings s3ApplicationSettings,
+                @Value("${settings.stored-data-batching.enabled:false}") boolean batchingEnabled,
+                @Value("${settings.stored-data-batching.window-ms:1}") long batchingWindowMs,
+                @Value("${settings.stored-data-batching.max-batch-size:100}") int batchingMaxBatchSize,
+                Vertx vertx) {
 
             final List<ApplicationSettings> applicationSettingsList = Stream.of(
                             fileApplicationSettings,
-                            databaseApplicationSettings,
+                            batchingEnabled
+                                    ? batching(databaseApplicationSettings, vertx, batchingWindowMs,
+                                    batchingMaxBatchSize)
+                                    : databaseApplicationSettings,
                             s3ApplicationSettings,
-                            httpApplicationSettings)
+                            batchingEnabled
+                                    ? batching(httpApplicationSettings, vertx, batchingWindowMs, batchingMaxBatchSize)
+                                    : httpApplicationSettings)
                     .filter(Objects::nonNull)
                     .toList();
 
             return new CompositeApplicationSettings(applicationSettingsList);
         }
+
+        private static ApplicationSettings batching(ApplicationSettings applicationSettings,
+                                                    Vertx vertx,
+                                                    long windowMs,
+                                                    int maxBatchSize) {
+
+            return applicationSettings != null
+                    ? new BatchingApplicationSettings(applicationSettings, vertx, windowMs, maxBatchSize)
+                    : null;
+        }
     }
 
     @Configuration
@@ -427,7 +576,9 @@ public class SettingsConfiguration {
                 @Qualifier("settingsCache") SettingsCache cache,
                 @Qualifier("ampSettingsCache") SettingsCache ampCache,
                 @Qualifier("videoSettingCache") SettingsCache videoCache,
-                Metrics metrics) {
+                Metrics metrics,
+                Clock clock,
+                TimeoutFactory timeoutFactory) {
 
             return new CachingApplicationSettings(
                     enrichingApplicationSettings,
@@ -435,9 +586,38 @@ public class SettingsConfiguration {
                     ampCache,
                     videoCache,
                     metrics,
+                    clock,
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    cacheProperties.getRefreshAfterWriteSeconds(),
+                    timeoutFactory,
+                    cacheProperties.getReloadTimeoutMs());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = {"ttl-seconds", "cache-size", "snapshot.path"})
+    static class SettingsCacheSnapshotConfiguration {
+
+        @Bean
+        SettingsCacheSnapshotService settingsCacheSnapshotService(
+                CachingApplicationSettings cachingApplicationSettings,
+                ApplicationSettingsCacheProperties cacheProperties,
+                @Value("${settings.in-memory-cache.snapshot.path}") String path,
+                @Value("${settings.in-memory-cache.snapshot.period-ms:60000}") long periodMs,
+                Vertx vertx,
+                Clock clock,
+                JacksonMapper mapper) {
+
+            return new SettingsCacheSnapshotService(
+                    cachingApplicationSettings,
+                    path,
+                    periodMs,
+                    cacheProperties.getTtlSeconds() * 1000L,
+                    vertx,
+                    clock,
+                    mapper);
         }
     }
 
@@ -500,5 +680,9 @@ public class SettingsConfiguration {
         private Integer cacheSize;
         @Min(0)
         private int jitterSeconds;
+        @Min(0)
+        private int refreshAfterWriteSeconds;
+        @Min(1)
+        private long reloadTimeoutMs = 1000L;
     }
 }
@@ -19,6 +19,7 @@ import org.prebid.server.auction.HooksMetricsService;
 import org.prebid.server.metric.AccountMetricsVerbosityResolver;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.TopAccountsTracker;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.spring.env.YamlPropertySourceFactory;
 import org.slf4j.LoggerFactory;
@@ -31,6 +32,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -129,10 +131,20 @@ public class MetricsConfiguration {
 
     @Bean
     AccountMetricsVerbosityResolver accountMetricsVerbosity(AccountsProperties accountsProperties) {
+        final TopAccountsProperties topAccountsProperties = accountsProperties.getTopAccounts();
+        final TopAccountsTracker topAccountsTracker = topAccountsProperties.isEnabled()
+                ? new TopAccountsTracker(
+                topAccountsProperties.getCount(),
+                topAccountsProperties.getSketchSize(),
+                topAccountsProperties.getRefreshRequests(),
+                topAccountsProperties.getSamplingRate())
+                : null;
+
         return new AccountMetricsVerbosityResolver(
                 accountsProperties.getDefaultVerbosity(),
                 accountsProperties.getBasicVerbosity(),
-                accountsProperties.getDetailedVerbosity());
+                accountsProperties.getDetailedVerbosity(),
+                topAccountsTracker);
     }
 
     @Bean
@@ -230,5 +242,28 @@ public class MetricsConfiguration {
         private AccountMetricsVerbosityLevel defaultVerbosity;
         private List<String> basicVerbosity = new ArrayList<>();
         private List<String> detailedVerbosity = new ArrayList<>();
+        @Valid
+        @NotNull
+        private TopAccountsProperties topAccounts = new TopAccountsProperties();
+    }
+
+    @Validated
+    @Data
+    @NoArgsConstructor
+    private static class TopAccountsProperties {
+
+        private boolean enabled;
+        @NotNull
+        @Min(1)
+        private Integer count;
+        @NotNull
+        @Min(1)
+        private Integer sketchSize;
+        @NotNull
+        @Min(1)
+        private Integer refreshRequests;
+        @NotNull
+        @Min(1)
+        private Integer samplingRate;
     }
 }
@@ -11,6 +11,7 @@ import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.StaticHandler;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.infrastructure.creator.ActivityInfrastructureCreator;
 import org.prebid.server.analytics.reporter.AnalyticsReporterDelegator;
 import org.prebid.server.auction.AmpResponsePostProcessor;
@@ -27,12 +28,14 @@ import org.prebid.server.auction.requestfactory.AuctionRequestFactory;
 import org.prebid.server.auction.requestfactory.VideoRequestFactory;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cache.CoreCacheService;
+import org.prebid.server.cache.EmbeddedCacheStore;
 import org.prebid.server.cookie.CookieDeprecationService;
 import org.prebid.server.cookie.CookieSyncService;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.handler.BidderParamHandler;
 import org.prebid.server.handler.CookieSyncHandler;
+import org.prebid.server.handler.EmbeddedCacheHandler;
 import org.prebid.server.handler.ExceptionHandler;
 import org.prebid.server.handler.GetuidsHandler;
 import org.prebid.server.handler.NoCacheHandler;
@@ -364,6 +367,16 @@ public class ApplicationServerConfiguration {
                 timeoutFactory);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.embedded", name = "enabled", havingValue = "true")
+    EmbeddedCacheHandler embeddedCacheHandler(@Value("${cache.embedded.path:/cache}") String path,
+                                              @Value("${pbc.api.key:#{null}}") String apiKey,
+                                              EmbeddedCacheStore embeddedCacheStore,
+                                              JacksonMapper mapper) {
+
+        return new EmbeddedCacheHandler(path, embeddedCacheStore, StringUtils.stripToNull(apiKey), mapper);
+    }
+
     @Bean
     GetuidsHandler getuidsHandler(UidsCookieService uidsCookieService, JacksonMapper mapper) {
         return new GetuidsHandler(uidsCookieService, mapper);
@@ -109,10 +109,15 @@ public class BidderParamValidator {
         }
     }
 
+    /**
+     * Schema validators are created lazily on first validation by default, so they are initialized here instead
+     * to resolve all the references and build validators tree once at startup.
+     */
     private static JsonSchema toBidderSchema(JsonNode schema, String bidder) {
         final JsonSchema result;
         try {
             result = SCHEMA_FACTORY.getSchema(schema);
+            result.initializeValidators();
         } catch (JsonSchemaException e) {
             throw new IllegalArgumentException("Couldn't parse %s bidder schema".formatted(bidder), e);
         }
@@ -69,11 +69,13 @@ public class ImpValidator {
                              Map<String, String> aliases,
                              List<String> warnings) throws ValidationException {
 
+        final BidderAliases bidderAliases = BidderAliases.of(aliases, null, bidderCatalog);
+
         for (int i = 0; i < imps.size(); i++) {
             final Imp imp = imps.get(i);
             validateImp(imp, "request.imp[%d]".formatted(i));
             fillAndValidateNative(imp.getXNative(), i);
-            validateImpExt(imp.getExt(), aliases, i, warnings);
+            validateImpExt(imp.getExt(), bidderAliases, i, warnings);
         }
     }
 
@@ -362,7 +364,7 @@ public class ImpValidator {
     }
 
     private void validateImpExt(ObjectNode ext,
-                                Map<String, String> aliases,
+                                BidderAliases aliases,
                                 int impIndex,
                                 List<String> warnings) throws ValidationException {
 
@@ -370,7 +372,7 @@ public class ImpValidator {
     }
 
     private void validateImpExtPrebid(JsonNode extPrebidNode,
-                                      Map<String, String> requestAliases,
+                                      BidderAliases aliases,
                                       int impIndex,
                                       List<String> warnings) throws ValidationException {
 
@@ -392,8 +394,6 @@ public class ImpValidator {
         }
         final ExtImpPrebid extPrebid = parseExtImpPrebid((ObjectNode) extPrebidNode, impIndex);
 
-        final BidderAliases aliases = BidderAliases.of(requestAliases, null, bidderCatalog);
-
         validateImpExtPrebidBidder(
                 extPrebidBidderNode,
                 extPrebid.getStoredAuctionResponse(),
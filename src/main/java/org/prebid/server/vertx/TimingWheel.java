@@ -0,0 +1,265 @@
+package org.prebid.server.vertx;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules short-living timeouts, that are mostly cancelled before they expire, without creating
+ * a Vert.x timer for each of them.
+ * <p>
+ * Each event loop context gets its own hashed timing wheel, driven by a single periodic timer while the wheel
+ * has pending timeouts. Timeouts are accurate to the tick duration: they never expire earlier than requested,
+ * but may expire up to one tick later. Timeout tasks are executed on the event loop thread of the context
+ * they were scheduled on. Time is measured by monotonic {@link Ticker}, so wall clock adjustments do not affect
+ * timeouts.
+ * <p>
+ * Timeouts scheduled outside of event loop context fall back to Vert.x timers.
+ */
+public class TimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final Vertx vertx;
+    private final Ticker ticker;
+    private final long tickDurationMs;
+    private final long tickDurationNanos;
+    private final int wheelSize;
+
+    public TimingWheel(Vertx vertx, Ticker ticker, long tickDurationMs, int wheelSize) {
+        if (tickDurationMs < 1) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a positive power of two");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.ticker = Objects.requireNonNull(ticker);
+        this.tickDurationMs = tickDurationMs;
+        this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationMs);
+        this.wheelSize = wheelSize;
+    }
+
+    /**
+     * Schedules given task to be executed after given delay, unless returned timer is cancelled before.
+     */
+    public Timer schedule(long delayMs, Runnable task) {
+        Objects.requireNonNull(task);
+
+        final Context context = Vertx.currentContext();
+        if (context == null || !context.isEventLoopContext()) {
+            return new VertxTimer(vertx.setTimer(Math.max(delayMs, 1), ignored -> task.run()));
+        }
+
+        Wheel wheel = context.get(this);
+        if (wheel == null) {
+            wheel = new Wheel();
+            context.put(this, wheel);
+        }
+
+        return wheel.schedule(delayMs, task);
+    }
+
+    /**
+     * Handle of the scheduled timeout.
+     */
+    public interface Timer {
+
+        /**
+         * Cancels the timeout, so its task will not be executed if it has not been already.
+         */
+        void cancel();
+    }
+
+    private class VertxTimer implements Timer {
+
+        private final long timerId;
+
+        VertxTimer(long timerId) {
+            this.timerId = timerId;
+        }
+
+        @Override
+        public void cancel() {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * Timing wheel of a single event loop context. Accessed only from the event loop thread of its context,
+     * so no synchronization is needed. Timers cancelled from other threads are only marked as cancelled
+     * and removed when their bucket is processed.
+     */
+    private class Wheel {
+
+        private final Thread thread;
+        private final WheelTimer[] buckets;
+        private final int mask;
+        private final long startTime;
+
+        private long tick;
+        private boolean expiring;
+        private int pendingTimers;
+        private long periodicTimerId = -1;
+
+        Wheel() {
+            this.thread = Thread.currentThread();
+            this.buckets = new WheelTimer[wheelSize];
+            this.mask = wheelSize - 1;
+            this.startTime = ticker.read();
+        }
+
+        Timer schedule(long delayMs, Runnable task) {
+            final long now = ticker.read();
+            if (pendingTimers == 0 && !expiring) {
+                // wheel has been idle, so no buckets have to be caught up
+                tick = currentTick(now);
+            }
+            if (periodicTimerId == -1) {
+                periodicTimerId = vertx.setPeriodic(tickDurationMs, ignored -> onTick());
+            }
+
+            // bucket of the current tick could be already passed by expiration
+            final long firstTick = expiring ? tick + 1 : tick;
+            final long deadline = now + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMs, 0));
+            final long deadlineTick = Math.max(Math.ceilDiv(deadline - startTime, tickDurationNanos), firstTick);
+
+            // rounds are counted from the next pass over the timer's bucket, which happens at first tick or later
+            final WheelTimer timer = new WheelTimer(this, task, deadline, (deadlineTick - firstTick) / wheelSize);
+            add(timer, (int) (deadlineTick & mask));
+            pendingTimers++;
+
+            return timer;
+        }
+
+        private void onTick() {
+            final long now = ticker.read();
+            final long currentTick = currentTick(now);
+
+            expiring = true;
+            try {
+                while (tick <= currentTick && pendingTimers > 0) {
+                    expireBucket((int) (tick & mask), now);
+                    tick++;
+                }
+            } finally {
+                expiring = false;
+            }
+            tick = Math.max(tick, currentTick + 1);
+
+            if (pendingTimers == 0) {
+                vertx.cancelTimer(periodicTimerId);
+                periodicTimerId = -1;
+            }
+        }
+
+        private void expireBucket(int bucket, long now) {
+            // tasks are executed after the bucket is traversed, since they can schedule or cancel other timers
+            WheelTimer expired = null;
+
+            WheelTimer timer = buckets[bucket];
+            while (timer != null) {
+                final WheelTimer next = timer.next;
+                if (timer.cancelled) {
+                    remove(timer);
+                } else if (timer.remainingRounds > 0) {
+                    timer.remainingRounds--;
+                } else if (timer.deadline - now <= 0) {
+                    remove(timer);
+                    timer.next = expired;
+                    expired = timer;
+                }
+                timer = next;
+            }
+
+            while (expired != null) {
+                final WheelTimer next = expired.next;
+                expired.next = null;
+                expired.expire();
+                expired = next;
+            }
+        }
+
+        private long currentTick(long now) {
+            return (now - startTime) / tickDurationNanos;
+        }
+
+        private void add(WheelTimer timer, int bucket) {
+            final WheelTimer head = buckets[bucket];
+            timer.bucket = bucket;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            buckets[bucket] = timer;
+        }
+
+        private void remove(WheelTimer timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                buckets[timer.bucket] = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+
+            timer.prev = null;
+            timer.next = null;
+            timer.wheel = null;
+            pendingTimers--;
+        }
+
+    }
+
+    private static class WheelTimer implements Timer {
+
+        private final Runnable task;
+        private final long deadline;
+
+        // can be cancelled from any thread, while the rest is accessed only from the thread of the wheel
+        private volatile boolean cancelled;
+        private Wheel wheel;
+        private long remainingRounds;
+        private int bucket;
+        private WheelTimer prev;
+        private WheelTimer next;
+
+        WheelTimer(Wheel wheel, Runnable task, long deadline, long remainingRounds) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.remainingRounds = remainingRounds;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+
+            // wheel is accessed only if cancelled from its own thread, while other threads leave timer to be
+            // removed when its bucket is processed
+            final Wheel currentWheel = wheel;
+            if (currentWheel != null && currentWheel.thread == Thread.currentThread()) {
+                currentWheel.remove(this);
+            }
+        }
+
+        private void expire() {
+            if (cancelled) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("Timeout task failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.prebid.server.analytics.reporter;
+
+import io.vertx.core.Future;
+import io.vertx.core.WorkerExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsEventDispatcherTest {
+
+    @Mock(strictness = LENIENT)
+    private WorkerExecutor workerExecutor;
+    @Mock
+    private Metrics metrics;
+
+    private final List<Callable<?>> scheduledDrains = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        given(workerExecutor.executeBlocking(any(Callable.class), anyBoolean())).willAnswer(invocation -> {
+            scheduledDrains.add(invocation.getArgument(0));
+            return Future.succeededFuture();
+        });
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveQueueCapacity() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AnalyticsEventDispatcher(
+                        workerExecutor, 0, AnalyticsEventDispatcher.DropPolicy.newest, metrics))
+                .withMessage("Queue capacity must be positive");
+    }
+
+    @Test
+    public void dispatchShouldExecuteTasksOfReporterOnWorkerInOrder() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(10, AnalyticsEventDispatcher.DropPolicy.newest);
+        final List<String> executed = new ArrayList<>();
+
+        // when
+        target.dispatch("reporter", () -> executed.add("first"));
+        target.dispatch("reporter", () -> executed.add("second"));
+
+        // then
+        assertThat(executed).isEmpty();
+        assertThat(scheduledDrains).hasSize(1);
+
+        runScheduledDrains();
+        assertThat(executed).containsExactly("first", "second");
+    }
+
+    @Test
+    public void dispatchShouldDrainQueuesOfDifferentReportersIndependently() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(10, AnalyticsEventDispatcher.DropPolicy.newest);
+        final List<String> executed = new ArrayList<>();
+
+        // when
+        target.dispatch("reporter1", () -> executed.add("first"));
+        target.dispatch("reporter2", () -> executed.add("second"));
+
+        // then
+        assertThat(scheduledDrains).hasSize(2);
+
+        runScheduledDrains();
+        assertThat(executed).containsExactly("first", "second");
+    }
+
+    @Test
+    public void dispatchShouldDropNewestTaskWhenQueueIsFullAndPolicyIsNewest() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(1, AnalyticsEventDispatcher.DropPolicy.newest);
+        final List<String> executed = new ArrayList<>();
+
+        // when
+        target.dispatch("reporter", () -> executed.add("first"));
+        target.dispatch("reporter", () -> executed.add("second"));
+
+        // then
+        verify(metrics).updateAnalyticEventDroppedMetric("reporter");
+
+        runScheduledDrains();
+        assertThat(executed).containsExactly("first");
+    }
+
+    @Test
+    public void dispatchShouldDropOldestTaskWhenQueueIsFullAndPolicyIsOldest() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(1, AnalyticsEventDispatcher.DropPolicy.oldest);
+        final List<String> executed = new ArrayList<>();
+
+        // when
+        target.dispatch("reporter", () -> executed.add("first"));
+        target.dispatch("reporter", () -> executed.add("second"));
+
+        // then
+        verify(metrics).updateAnalyticEventDroppedMetric("reporter");
+
+        runScheduledDrains();
+        assertThat(executed).containsExactly("second");
+    }
+
+    @Test
+    public void dispatchShouldContinueExecutingTasksAfterFailedOne() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(10, AnalyticsEventDispatcher.DropPolicy.newest);
+        final List<String> executed = new ArrayList<>();
+
+        // when
+        target.dispatch("reporter", () -> {
+            throw new IllegalStateException("failed");
+        });
+        target.dispatch("reporter", () -> executed.add("second"));
+
+        // then
+        runScheduledDrains();
+        assertThat(executed).containsExactly("second");
+        verify(metrics, never()).updateAnalyticEventDroppedMetric(any());
+    }
+
+    @Test
+    public void dispatchShouldScheduleNewDrainForTasksDispatchedAfterQueueWasDrained() throws Exception {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(10, AnalyticsEventDispatcher.DropPolicy.newest);
+        final List<String> executed = new ArrayList<>();
+
+        target.dispatch("reporter", () -> executed.add("first"));
+        runScheduledDrains();
+
+        // when
+        target.dispatch("reporter", () -> executed.add("second"));
+
+        // then
+        verify(workerExecutor, times(2)).executeBlocking(any(Callable.class), eq(false));
+
+        runScheduledDrains();
+        assertThat(executed).containsExactly("first", "second");
+    }
+
+    @Test
+    public void dispatchShouldCreateQueueSizeGaugeOncePerReporter() {
+        // given
+        final AnalyticsEventDispatcher target = givenDispatcher(10, AnalyticsEventDispatcher.DropPolicy.newest);
+
+        // when
+        target.dispatch("reporter", () -> { });
+        target.dispatch("reporter", () -> { });
+
+        // then
+        final ArgumentCaptor<LongSupplier> gaugeCaptor = ArgumentCaptor.forClass(LongSupplier.class);
+        verify(metrics).createAnalyticsQueueSizeGauge(eq("reporter"), gaugeCaptor.capture());
+        assertThat(gaugeCaptor.getValue().getAsLong()).isEqualTo(2L);
+    }
+
+    private AnalyticsEventDispatcher givenDispatcher(int queueCapacity,
+                                                     AnalyticsEventDispatcher.DropPolicy dropPolicy) {
+
+        return new AnalyticsEventDispatcher(workerExecutor, queueCapacity, dropPolicy, metrics);
+    }
+
+    private void runScheduledDrains() throws Exception {
+        final List<Callable<?>> drains = new ArrayList<>(scheduledDrains);
+        scheduledDrains.clear();
+        for (Callable<?> drain : drains) {
+            drain.call();
+        }
+    }
+}
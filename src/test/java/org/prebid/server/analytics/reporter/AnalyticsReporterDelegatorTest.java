@@ -58,6 +58,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -112,7 +113,8 @@ public class AnalyticsReporterDelegatorTest extends VertxTest {
                 metrics,
                 0.01,
                 Set.of("logAnalytics", "adapter"),
-                jacksonMapper);
+                jacksonMapper,
+                null);
     }
 
     @Test
@@ -547,6 +549,66 @@ public class AnalyticsReporterDelegatorTest extends VertxTest {
                 .isEqualTo(expectedExtRequestPrebid);
     }
 
+    @Test
+    public void shouldDispatchEventsAndShareMaskedBidRequestBetweenReportersWithSameRestrictions() {
+        // given
+        final AnalyticsReporter thirdReporter = mock(AnalyticsReporter.class);
+        given(thirdReporter.vendorId()).willReturn(3);
+        given(thirdReporter.name()).willReturn("anotherAdapter");
+        given(thirdReporter.processEvent(any())).willReturn(Future.succeededFuture());
+
+        given(tcfEnforcement.enforce(any(), any())).willReturn(Future.succeededFuture(Map.of(
+                SECOND_REPORTER_ID, PrivacyEnforcementAction.allowAll(),
+                3, PrivacyEnforcementAction.allowAll())));
+
+        final AnalyticsEventDispatcher eventDispatcher = mock(AnalyticsEventDispatcher.class);
+        willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return null;
+        }).given(eventDispatcher).dispatch(any(), any());
+
+        target = new AnalyticsReporterDelegator(
+                vertx,
+                List.of(secondReporter, thirdReporter),
+                tcfEnforcement,
+                userFpdActivityMask,
+                metrics,
+                0.01,
+                Set.of("adapter", "anotherAdapter"),
+                jacksonMapper,
+                eventDispatcher);
+
+        given(activityInfrastructure.isAllowed(eq(Activity.REPORT_ANALYTICS), any())).willReturn(true);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_UFPD), any())).willReturn(false);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_EIDS), any())).willReturn(true);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_GEO), any())).willReturn(true);
+
+        given(userFpdActivityMask.maskUser(any(), eq(true), eq(false)))
+                .willReturn(User.builder().id("masked").build());
+
+        final AuctionEvent auctionEvent = AuctionEvent.builder()
+                .auctionContext(AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().user(User.builder().id("original").build()).build())
+                        .activityInfrastructure(activityInfrastructure)
+                        .build())
+                .build();
+
+        // when
+        target.processEvent(auctionEvent, TcfContext.empty());
+
+        // then
+        verify(vertx, never()).runOnContext(any());
+        verify(eventDispatcher).dispatch(eq("adapter"), any());
+        verify(eventDispatcher).dispatch(eq("anotherAdapter"), any());
+        verify(userFpdActivityMask).maskUser(any(), eq(true), eq(false));
+
+        final BidRequest secondReporterBidRequest = captureAuctionEvent(secondReporter)
+                .getAuctionContext().getBidRequest();
+        assertThat(secondReporterBidRequest.getUser()).extracting(User::getId).isEqualTo("masked");
+        assertThat(captureAuctionEvent(thirdReporter).getAuctionContext().getBidRequest())
+                .isSameAs(secondReporterBidRequest);
+    }
+
     @SuppressWarnings("unchecked")
     private static Answer<Object> withNullAndInvokeHandler() {
         return invocation -> {
@@ -18,6 +18,7 @@ import org.prebid.server.analytics.model.VideoEvent;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
+import org.prebid.server.analytics.transport.AnalyticsTransportFactory;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
@@ -38,7 +39,6 @@ import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +50,9 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private AnalyticsTransportFactory transportFactory;
+
     @Mock
     private PubstackEventHandler auctionHandler;
 
@@ -77,8 +80,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         handlers.put(EventType.auction, auctionHandler);
         handlers.put(EventType.setuid, setuidHandler);
 
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper,
-                vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handlers to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers", handlers);
     }
@@ -103,6 +106,19 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         verify(setuidHandler).updateConfig(eq(false), eq("http://newendpoint/intake/setuid"), eq("newScopeId"));
     }
 
+    @Test
+    public void initializeShouldStartAllEventHandlers() {
+        // given
+        given(httpClient.get(anyString(), anyLong())).willReturn(Future.failedFuture("failed"));
+
+        // when
+        pubstackAnalyticsReporter.initialize(Promise.promise());
+
+        // then
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
+    }
+
     @Test
     public void initializeShouldFailUpdateSendBuffersAndSetTimerWhenEndpointFromRemoteConfigIsNotValid()
             throws JsonProcessingException {
@@ -116,6 +132,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         assertThatThrownBy(() -> pubstackAnalyticsReporter.initialize(Promise.promise()))
                 .hasMessage("[pubstack] Failed to create event report url for endpoint: invalid")
                 .isInstanceOf(PreBidException.class);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
         verify(auctionHandler).reportEvents();
         verify(setuidHandler).reportEvents();
         verifyNoMoreInteractions(auctionHandler);
@@ -156,8 +174,10 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         // then
         verify(vertx).setPeriodic(anyLong(), any());
         verify(httpClient).get(anyString(), anyLong());
-        verifyNoInteractions(auctionHandler);
-        verifyNoInteractions(setuidHandler);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
+        verifyNoMoreInteractions(auctionHandler);
+        verifyNoMoreInteractions(setuidHandler);
     }
 
     @Test
@@ -172,8 +192,10 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         // then
         verify(vertx).setPeriodic(anyLong(), any());
         verify(httpClient).get(anyString(), anyLong());
-        verifyNoInteractions(auctionHandler);
-        verifyNoInteractions(setuidHandler);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
+        verifyNoMoreInteractions(auctionHandler);
+        verifyNoMoreInteractions(setuidHandler);
     }
 
     @Test
@@ -189,7 +211,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForAuction() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.auction, auctionHandler));
@@ -205,7 +228,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForSetuid() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.setuid, setuidHandler));
@@ -222,7 +246,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForCookieSync() {
         // given
         final PubstackEventHandler cookieSyncHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.cookiesync, cookieSyncHandler));
@@ -239,7 +264,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForAmp() {
         // given
         final PubstackEventHandler ampHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.amp, ampHandler));
@@ -256,7 +282,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForVideo() {
         // given
         final PubstackEventHandler videoHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, transportFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.video, videoHandler));
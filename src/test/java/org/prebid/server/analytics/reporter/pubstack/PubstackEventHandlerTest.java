@@ -3,36 +3,49 @@ package org.prebid.server.analytics.reporter.pubstack;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
+import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
+import org.prebid.server.analytics.transport.AnalyticsTransportFactory;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.execution.retry.NonRetryable;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -42,104 +55,79 @@ public class PubstackEventHandlerTest extends VertxTest {
     @Mock
     private Vertx vertx;
 
-    @Mock
+    @Mock(strictness = LENIENT)
     private HttpClient httpClient;
 
+    @Mock
+    private Metrics metrics;
+
+    private AnalyticsTransportFactory transportFactory;
+
     private PubstackEventHandler pubstackEventHandler;
 
     @BeforeEach
     public void setUp() {
-        given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(100000)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        transportFactory = new AnalyticsTransportFactory(
+                NonRetryable.instance(), 0, Long.MAX_VALUE, null, 0L, 0L, vertx, httpClient, metrics,
+                Clock.systemUTC());
+
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(100000, 100), EventType.setuid, true,
+                "http://example.com", jacksonMapper, transportFactory);
     }
 
     @Test
     public void handleShouldNotAcceptEventsWhenNotEnabled() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(1)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, false, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(1, 1), EventType.setuid, false,
+                "http://example.com", jacksonMapper, transportFactory);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
+        pubstackEventHandler.updateConfig(true, "http://example.com", "scopeId");
+        pubstackEventHandler.reportEvents();
 
         // then
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        assertThat(events.get()).isEmpty();
         verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void handleShouldAddEventWithScopeIdAndIncreaseByteSize() throws JsonProcessingException {
-        // given and when
+    public void handleShouldAddEventWithScopeId() throws JsonProcessingException {
+        // given
         final SetuidEvent setuidEvent = SetuidEvent.builder().bidder("bidder1").build();
+
+        // when
         pubstackEventHandler.handle(setuidEvent);
+        pubstackEventHandler.reportEvents();
 
         // then
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
         final ObjectNode eventJsonNode = mapper.valueToTree(setuidEvent);
         eventJsonNode.put("scope", "scopeId");
-        final String eventJsonRow = mapper.writeValueAsString(eventJsonNode);
-        assertThat(byteSize.get()).isEqualTo(eventJsonRow.getBytes().length);
-        assertThat(events.get()).hasSize(1)
-                .containsOnly(eventJsonRow);
+        assertThat(captureSentPayload()).isEqualTo(mapper.writeValueAsString(eventJsonNode));
     }
 
     @Test
     public void handleShouldSendEventsWhenMaxByteBufferSizeExceedsSize() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(20, 100), EventType.setuid, true,
+                "http://example.com", jacksonMapper, transportFactory);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
 
         // then
         verify(httpClient).request(any(), anyString(), any(), (byte[]) any(), anyLong());
+        verify(metrics).updateAnalyticsTransportMetric("pubstack-setuid", MetricName.ok);
     }
 
     @Test
     public void handleShouldSendEventsWhenMaxCountEventsBufferExceeds() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20000)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(20000, 1), EventType.setuid, true,
+                "http://example.com", jacksonMapper, transportFactory);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
@@ -165,60 +153,107 @@ public class PubstackEventHandlerTest extends VertxTest {
     }
 
     @Test
-    public void sendEventsShouldSendEventsAndResetSendConditionParameters() {
+    public void reportEventsShouldSendNewlineDelimitedGzippedEventsOnce() {
         // given
-        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
-
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
 
         // when
         pubstackEventHandler.reportEvents();
+        pubstackEventHandler.reportEvents();
+
+        // then
+        assertThat(captureSentPayload().split("\n"))
+                .hasSize(2)
+                .allSatisfy(event -> assertThat(event).contains("\"scope\":\"scopeId\""));
+    }
+
+    @Test
+    public void startShouldScheduleReportOfEventsAfterReportTtl() {
+        // when
+        pubstackEventHandler.start();
 
         // then
-        verify(vertx).cancelTimer(anyLong());
-        // one time in constructor and second after the send request
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        assertThat(byteSize.get()).isEqualTo(0);
-        final Long currentTimerId = (Long) ReflectionTestUtils.getField(pubstackEventHandler,
-                "reportTimerId");
-        assertThat(currentTimerId).isEqualTo(2);
+        verify(vertx).setPeriodic(eq(10000L), any());
     }
 
     @Test
     public void updateConfigShouldSetNewValuesToEndpointScopeIdAndEnabledConfigs() {
         // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+        pubstackEventHandler.updateConfig(false, "http://new-endpoint.com", "newScope");
 
         // then
         final Boolean enabled = (Boolean) ReflectionTestUtils.getField(pubstackEventHandler, "enabled");
         final String endpoint = (String) ReflectionTestUtils.getField(pubstackEventHandler, "endpoint");
         final String newScope = (String) ReflectionTestUtils.getField(pubstackEventHandler, "scopeId");
         assertThat(enabled).isFalse();
-        assertThat(endpoint).isEqualTo("newEndpoint");
+        assertThat(endpoint).isEqualTo("http://new-endpoint.com");
         assertThat(newScope).isEqualTo("newScope");
     }
 
     @Test
-    public void updateConfigShouldCancelReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+    public void updateConfigShouldFailOnInvalidEndpoint() {
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> pubstackEventHandler.updateConfig(true, "invalid", "newScope"))
+                .withMessage("URL supplied is not valid: invalid");
+    }
+
+    @Test
+    public void startShouldNotReportEventsAfterReportTtlWhenNotEnabled() {
+        // given
+        pubstackEventHandler.start();
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.updateConfig(false, "http://example.com", "scopeId");
+
+        // when
+        capturePeriodicHandler().handle(1L);
 
         // then
-        verify(vertx).setTimer(anyLong(), any());
-        verify(vertx).cancelTimer(anyLong());
+        verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void updateConfigShouldSetReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
-        pubstackEventHandler.updateConfig(true, "newEndpoint", "newScope");
+    public void updateConfigShouldSendNextEventsToNewEndpointWithNewScope() {
+        // given
+        pubstackEventHandler.updateConfig(true, "http://new-endpoint.com", "newScope");
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        // first time on handler creation, second time on enabling after it was disabled
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        verify(vertx).cancelTimer(anyLong());
+        verify(httpClient).request(eq(HttpMethod.POST), eq("http://new-endpoint.com"), any(), (byte[]) any(),
+                eq(5000L));
+        assertThat(captureSentPayload()).contains("\"scope\":\"newScope\"");
+    }
+
+    private static PubstackAnalyticsProperties givenProperties(int sizeBytes, int count) {
+        return PubstackAnalyticsProperties.builder()
+                .endpoint("http://endpoint.com")
+                .scopeId("scopeId")
+                .sizeBytes(sizeBytes)
+                .count(count)
+                .reportTtlMs(10000L)
+                .timeoutMs(5000L)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> capturePeriodicHandler() {
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(10000L), handlerCaptor.capture());
+        return handlerCaptor.getValue();
+    }
+
+    private String captureSentPayload() {
+        final ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(any(), anyString(), any(MultiMap.class), payloadCaptor.capture(), anyLong());
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(payloadCaptor.getValue()))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,403 @@
+package org.prebid.server.analytics.transport;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.retry.FixedIntervalRetryPolicy;
+import org.prebid.server.execution.retry.NonRetryable;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingAnalyticsTransportTest {
+
+    private static final String ENDPOINT = "http://endpoint.com";
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(10000L), ZoneOffset.UTC);
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private FileSystem fileSystem;
+
+    @Test
+    public void sendShouldNotPostEventsUntilBatchIsFull() {
+        // given
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(2, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, null);
+
+        // when
+        target.send("{\"a\":1}");
+
+        // then
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void sendShouldPostJsonArrayOfEventsWhenMaxEventsReached() {
+        // given
+        givenHttpResponse(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(2, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, null);
+
+        // when
+        target.send("{\"a\":1}");
+        target.send("{\"b\":2}");
+
+        // then
+        assertThat(new String(captureSentPayload(), StandardCharsets.UTF_8)).isEqualTo("[{\"a\":1},{\"b\":2}]");
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.ok);
+    }
+
+    @Test
+    public void flushShouldPostGzippedNewlineDelimitedEvents() throws IOException {
+        // given
+        givenHttpResponse(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(10, 1000, 1000, BatchFormat.NEWLINE_DELIMITED, true),
+                NonRetryable.instance(), 1000L, null);
+
+        target.send("{\"a\":1}");
+        target.send("{\"b\":2}");
+
+        // when
+        target.flush();
+
+        // then
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(captureSentPayload()))) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":1}\n{\"b\":2}");
+        }
+    }
+
+    @Test
+    public void startShouldFlushEventsAfterMaxDelay() {
+        // given
+        givenHttpResponse(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(10, 1000, 500, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, null);
+
+        target.start();
+        target.send("{\"a\":1}");
+
+        // when
+        captureTimerHandler(true, 500L).handle(1L);
+
+        // then
+        verify(httpClient).request(eq(HttpMethod.POST), eq(ENDPOINT), any(), any(byte[].class), eq(100L));
+    }
+
+    @Test
+    public void startShouldNotFlushEventsWhileFlushConditionDoesNotHold() {
+        // given
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(10, 1000, 500, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, null);
+
+        target.start(() -> false);
+        target.send("{\"a\":1}");
+
+        // when
+        captureTimerHandler(true, 500L).handle(1L);
+
+        // then
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void sendShouldRetryBatchOnServerErrorWhenRetryPolicyIsRetryable() {
+        // given
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+                .willReturn(
+                        Future.succeededFuture(HttpClientResponse.of(503, null, null)),
+                        Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                FixedIntervalRetryPolicy.of(50L), 1000L, null);
+
+        target.send("{\"a\":1}");
+
+        // when
+        captureTimerHandler(false, 50L).handle(1L);
+
+        // then
+        verify(httpClient, times(2)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.retried);
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.ok);
+    }
+
+    @Test
+    public void sendShouldNotRetryBatchOnClientError() {
+        // given
+        givenHttpResponse(Future.succeededFuture(HttpClientResponse.of(400, null, null)));
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                FixedIntervalRetryPolicy.of(50L), 1000L, null);
+
+        // when
+        target.send("{\"a\":1}");
+
+        // then
+        verify(vertx, never()).setTimer(anyLong(), any());
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.err);
+    }
+
+    @Test
+    public void sendShouldDropBatchWhenMemoryLimitIsReachedAndSpillingIsDisabled() {
+        // given
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1L, null);
+
+        // when
+        target.send("{\"a\":1}");
+
+        // then
+        verifyNoInteractions(httpClient);
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.dropped);
+    }
+
+    @Test
+    public void sendShouldSpillBatchToDiskAndSendItWhenMemoryIsReleased() {
+        // given
+        final Promise<HttpClientResponse> firstResponse = Promise.promise();
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+                .willReturn(
+                        firstResponse.future(),
+                        Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        given(vertx.fileSystem()).willReturn(fileSystem);
+        given(fileSystem.createTempFile(anyString(), anyString(), anyString(), (String) any()))
+                .willReturn(Future.succeededFuture("/spill/batch"));
+        given(fileSystem.writeFile(anyString(), any())).willReturn(Future.succeededFuture());
+        given(fileSystem.readFile(anyString()))
+                .willReturn(Future.succeededFuture(Buffer.buffer("[{\"b\":2}]")));
+
+        // payload of each batch is 9 bytes long, so only one of them fits into memory
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 10L, "/spill");
+
+        target.send("{\"a\":1}");
+        target.send("{\"b\":2}");
+
+        // when
+        firstResponse.complete(HttpClientResponse.of(200, null, null));
+
+        // then
+        verify(fileSystem).writeFile(eq("/spill/batch"), any());
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.spilled);
+        verify(fileSystem).delete("/spill/batch");
+        verify(metrics, times(2)).updateAnalyticsTransportMetric("reporter", MetricName.ok);
+    }
+
+    @Test
+    public void sendShouldRestoreAllSpilledBatchesFittingIntoReleasedMemory() {
+        // given
+        final Promise<HttpClientResponse> firstResponse = Promise.promise();
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong()))
+                .willReturn(firstResponse.future(), Promise.<HttpClientResponse>promise().future());
+        given(vertx.fileSystem()).willReturn(fileSystem);
+        given(fileSystem.createTempFile(anyString(), anyString(), anyString(), (String) any()))
+                .willReturn(Future.succeededFuture("/spill/batch1"), Future.succeededFuture("/spill/batch2"));
+        given(fileSystem.writeFile(anyString(), any())).willReturn(Future.succeededFuture());
+        given(fileSystem.readFile("/spill/batch1")).willReturn(Future.succeededFuture(Buffer.buffer("[{\"b\":2}]")));
+        given(fileSystem.readFile("/spill/batch2")).willReturn(Future.succeededFuture(Buffer.buffer("[{\"c\":3}]")));
+
+        // payload of the first batch takes all the memory, while both spilled ones fit into it together
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 20L, "/spill");
+
+        target.send("{\"a\":\"12345678\"}");
+        target.send("{\"b\":2}");
+        target.send("{\"c\":3}");
+
+        // when
+        firstResponse.complete(HttpClientResponse.of(200, null, null));
+
+        // then
+        verify(metrics, times(2)).updateAnalyticsTransportMetric("reporter", MetricName.spilled);
+        verify(fileSystem).delete("/spill/batch1");
+        verify(fileSystem).delete("/spill/batch2");
+        verify(httpClient, times(3)).request(any(), anyString(), any(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    public void startShouldSendBatchesSpilledBeforeRestartInOrderOfSpilling() {
+        // given
+        givenHttpResponse(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        given(vertx.fileSystem()).willReturn(fileSystem);
+        given(fileSystem.readDir(anyString(), anyString()))
+                .willReturn(Future.succeededFuture(List.of("/spill/reporter-2.batch", "/spill/reporter-1.batch")));
+        givenSpilledFile("/spill/reporter-1.batch", 9L, 9000L);
+        givenSpilledFile("/spill/reporter-2.batch", 9L, 9500L);
+        given(fileSystem.readFile("/spill/reporter-1.batch"))
+                .willReturn(Future.succeededFuture(Buffer.buffer("[{\"a\":1}]")));
+        given(fileSystem.readFile("/spill/reporter-2.batch"))
+                .willReturn(Future.succeededFuture(Buffer.buffer("[{\"b\":2}]")));
+
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, "/spill");
+
+        // when
+        target.start();
+
+        // then
+        final ArgumentCaptor<String> filterCaptor = ArgumentCaptor.forClass(String.class);
+        verify(fileSystem).readDir(eq("/spill"), filterCaptor.capture());
+        assertThat("reporter-123.batch").matches(filterCaptor.getValue());
+        assertThat("reporter-first-123.batch").doesNotMatch(filterCaptor.getValue());
+
+        final InOrder inOrder = inOrder(fileSystem);
+        inOrder.verify(fileSystem).readFile("/spill/reporter-1.batch");
+        inOrder.verify(fileSystem).readFile("/spill/reporter-2.batch");
+        verify(fileSystem).delete("/spill/reporter-1.batch");
+        verify(fileSystem).delete("/spill/reporter-2.batch");
+        verify(metrics, times(2)).updateAnalyticsTransportMetric("reporter", MetricName.ok);
+    }
+
+    @Test
+    public void startShouldDeleteBatchesSpilledBeforeRestartWhenRetentionPeriodExpired() {
+        // given
+        given(vertx.fileSystem()).willReturn(fileSystem);
+        given(fileSystem.readDir(anyString(), anyString()))
+                .willReturn(Future.succeededFuture(List.of("/spill/reporter-1.batch")));
+        givenSpilledFile("/spill/reporter-1.batch", 9L, 8999L);
+
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, "/spill");
+
+        // when
+        target.start();
+
+        // then
+        verify(fileSystem).delete("/spill/reporter-1.batch");
+        verify(fileSystem, never()).readFile(anyString());
+        verify(metrics).updateAnalyticsTransportMetric("reporter", MetricName.dropped);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void startShouldNotSendBatchesSpilledBeforeRestartWhileFlushConditionDoesNotHold() {
+        // given
+        given(vertx.fileSystem()).willReturn(fileSystem);
+        given(fileSystem.readDir(anyString(), anyString()))
+                .willReturn(Future.succeededFuture(List.of("/spill/reporter-1.batch")));
+        givenSpilledFile("/spill/reporter-1.batch", 9L, 9500L);
+
+        final BatchingAnalyticsTransport target = givenTransport(
+                BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                NonRetryable.instance(), 1000L, "/spill");
+
+        // when
+        target.start(() -> false);
+
+        // then
+        verify(fileSystem, never()).readFile(anyString());
+        verify(fileSystem, never()).delete(anyString());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void createShouldSplitMemoryLimitBetweenTransportsOfReporter() {
+        // given
+        final BatchingAnalyticsTransport target = new AnalyticsTransportFactory(
+                NonRetryable.instance(), 3, 10L, null, 1000L, 1000L, vertx, httpClient, metrics, clock)
+                .create("reporter-first",
+                        BatchSettings.of(1, 1000, 1000, BatchFormat.JSON_ARRAY, false),
+                        () -> ENDPOINT,
+                        MultiMap.caseInsensitiveMultiMap(),
+                        100L,
+                        2);
+
+        // when
+        target.send("{\"a\":1}");
+
+        // then
+        verifyNoInteractions(httpClient);
+        verify(metrics).updateAnalyticsTransportMetric("reporter-first", MetricName.dropped);
+    }
+
+    private BatchingAnalyticsTransport givenTransport(BatchSettings batchSettings,
+                                                     RetryPolicy retryPolicy,
+                                                     long maxPendingBytes,
+                                                     String spillDir) {
+
+        return new AnalyticsTransportFactory(
+                retryPolicy, 3, maxPendingBytes, spillDir, 1000L, 1000L, vertx, httpClient, metrics, clock)
+                .create("reporter", batchSettings, () -> ENDPOINT, MultiMap.caseInsensitiveMultiMap(), 100L);
+    }
+
+    private void givenSpilledFile(String path, long size, long lastModifiedTime) {
+        final FileProps props = mock(FileProps.class);
+        given(props.size()).willReturn(size);
+        given(props.lastModifiedTime()).willReturn(lastModifiedTime);
+        given(fileSystem.props(path)).willReturn(Future.succeededFuture(props));
+    }
+
+    private void givenHttpResponse(Future<HttpClientResponse> response) {
+        given(httpClient.request(any(), anyString(), any(), any(byte[].class), anyLong())).willReturn(response);
+    }
+
+    private byte[] captureSentPayload() {
+        final ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(any(), anyString(), any(), payloadCaptor.capture(), anyLong());
+        return payloadCaptor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureTimerHandler(boolean periodic, long delay) {
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        if (periodic) {
+            verify(vertx).setPeriodic(eq(delay), handlerCaptor.capture());
+        } else {
+            verify(vertx).setTimer(eq(delay), handlerCaptor.capture());
+        }
+        return handlerCaptor.getValue();
+    }
+}
@@ -0,0 +1,118 @@
+package org.prebid.server.analytics.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventBufferTest {
+
+    @Test
+    public void pollToFlushShouldReturnEventsToFlushWhenMaxEventsExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(1, 999);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).containsExactly("test");
+    }
+
+    @Test
+    public void pollToFlushShouldReturnEventsToFlushWhenMaxBytesExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 1);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).containsExactly("test");
+    }
+
+    @Test
+    public void pollToFlushShouldNotReturnAnyEventsWhenLimitsAreNotExceeded() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollToFlush()).isEmpty();
+    }
+
+    @Test
+    public void pollAllShouldReturnAllEvents() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999);
+        target.put("test", 4);
+
+        // when and then
+        assertThat(target.pollAll()).containsExactly("test");
+    }
+
+    @Test
+    public void pollAllShouldReturnEventsOfSameThreadInPutOrderAndEmptyBuffer() {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(999, 999);
+        target.put("first", 5);
+        target.put("second", 6);
+
+        // when and then
+        assertThat(target.pollAll()).containsExactly("first", "second");
+        assertThat(target.pollAll()).isEmpty();
+    }
+
+    @Test
+    public void pollToFlushShouldConsiderEventsPutFromDifferentThreads() throws InterruptedException {
+        // given
+        final EventBuffer<String> target = new EventBuffer<>(2, 999);
+        target.put("first", 5);
+
+        final Thread thread = new Thread(() -> target.put("second", 6));
+        thread.start();
+        thread.join();
+
+        // when and then
+        assertThat(target.pollToFlush()).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    public void bufferShouldNotLoseEventsPutByConcurrentProducers() throws InterruptedException {
+        // given
+        final int producers = 8;
+        final int eventsPerProducer = 10000;
+        final EventBuffer<Integer> target = new EventBuffer<>(100, Long.MAX_VALUE);
+
+        final List<Integer> polled = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // when
+        for (int producer = 0; producer < producers; producer++) {
+            final int firstEvent = producer * eventsPerProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int event = firstEvent; event < firstEvent + eventsPerProducer; event++) {
+                    target.put(event, 1);
+                    polled.addAll(target.pollToFlush());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        polled.addAll(target.pollAll());
+
+        // then
+        assertThat(polled)
+                .hasSize(producers * eventsPerProducer)
+                .containsExactlyInAnyOrderElementsOf(
+                        IntStream.range(0, producers * eventsPerProducer).boxed().toList());
+    }
+}
@@ -0,0 +1,91 @@
+package org.prebid.server.auction.gpp.model;
+
+import com.iab.gpp.encoder.GppModel;
+import com.iab.gpp.encoder.section.UsNat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class GppModelCacheTest {
+
+    private static final String USNAT_GPP_STRING = "DBABLA~BAAQAAAAAABA.QA";
+
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void gppModelShouldReturnCachedModelForSameGppString() {
+        // given
+        final GppModelCache target = new GppModelCache(10, metrics);
+
+        // when
+        final GppModel first = target.gppModel(USNAT_GPP_STRING);
+        final GppModel second = target.gppModel(USNAT_GPP_STRING);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getUsNatSection().getSaleOptOut()).isEqualTo(1);
+        verify(metrics).updatePrivacyGppModelCacheMissMetric();
+        verify(metrics).updatePrivacyGppModelCacheHitMetric();
+    }
+
+    @Test
+    public void gppModelShouldNotCacheModelWithMalformedSection() {
+        // given
+        final GppModelCache target = new GppModelCache(10, metrics);
+
+        // when
+        final GppModel first = target.gppModel("DBABLA~@@@@");
+        final GppModel second = target.gppModel("DBABLA~@@@@");
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.hasSection(UsNat.ID)).isTrue();
+        verify(metrics, times(2)).updatePrivacyGppModelCacheMissMetric();
+    }
+
+    @Test
+    public void gppModelShouldFailOnInvalidGppString() {
+        // given
+        final GppModelCache target = new GppModelCache(10, metrics);
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.gppModel("invalid"))
+                .withMessage("GPP string invalid: Unable to decode 'invalid'");
+    }
+
+    @Test
+    public void gppModelShouldReturnNullForEmptyGppString() {
+        // given
+        final GppModelCache target = new GppModelCache(10, metrics);
+
+        // when and then
+        assertThat(target.gppModel("")).isNull();
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void gppModelShouldDecodeEachTimeIfCacheIsDisabled() {
+        // given
+        final GppModelCache target = new GppModelCache(0, metrics);
+
+        // when
+        final GppModel first = target.gppModel(USNAT_GPP_STRING);
+        final GppModel second = target.gppModel(USNAT_GPP_STRING);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        verifyNoInteractions(metrics);
+    }
+}
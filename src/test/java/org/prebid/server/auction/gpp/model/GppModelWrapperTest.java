@@ -48,6 +48,24 @@ public class GppModelWrapperTest {
         assertThat(wrappedGpp.encodeSection(UspV1.ID)).isEqualTo(originalGpp.encodeSection(UspV1.ID));
     }
 
+    @Test
+    public void decodeSectionsShouldReturnTrueIfAllSectionsAreDecoded() throws DecodingException {
+        // given
+        final GppModelWrapper target = new GppModelWrapper(GPP_STRING);
+
+        // when and then
+        assertThat(target.decodeSections()).isTrue();
+    }
+
+    @Test
+    public void decodeSectionsShouldReturnFalseIfSectionIsMalformed() throws DecodingException {
+        // given
+        final GppModelWrapper target = new GppModelWrapper("DBABLA~@@@@");
+
+        // when and then
+        assertThat(target.decodeSections()).isFalse();
+    }
+
     public static String normalizeEncodedTcfEuV2Section(String encodedSection) {
         try {
             final GppModel normalizer = new GppModel();
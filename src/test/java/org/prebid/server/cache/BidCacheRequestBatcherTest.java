@@ -0,0 +1,279 @@
+package org.prebid.server.cache;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.cache.proto.response.bid.BidCacheResponse;
+import org.prebid.server.cache.proto.response.bid.CacheObject;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class BidCacheRequestBatcherTest extends VertxTest {
+
+    private static final String URL = "http://cache-service/cache";
+
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private Vertx vertx;
+
+    private final MultiMap headers = HttpUtil.headers();
+
+    private Clock clock;
+
+    private BidCacheRequestBatcher target;
+
+    @BeforeEach
+    public void setUp() {
+        clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+
+        target = new BidCacheRequestBatcher(httpClient, vertx, clock, jacksonMapper, 1L, 3);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidWindow() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidCacheRequestBatcher(httpClient, vertx, clock, jacksonMapper, 0L, 3))
+                .withMessage("Batching window must be positive");
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidMaxBatchSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidCacheRequestBatcher(httpClient, vertx, clock, jacksonMapper, 1L, 0))
+                .withMessage("Max batch size must be positive");
+    }
+
+    @Test
+    public void postShouldNotSendRequestBeforeWindowElapses() {
+        // when
+        final Future<HttpClientResponse> future = target.post(URL, headers, givenRequest("a"), 100L);
+
+        // then
+        assertThat(future.isComplete()).isFalse();
+        verify(vertx).setTimer(eq(1L), any());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void postShouldSendRequestImmediatelyWhenTimeoutDoesNotExceedWindow() {
+        // given
+        final HttpClientResponse response = givenResponse(200, "uuid1");
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(response));
+
+        // when
+        final Future<HttpClientResponse> future = target.post(URL, headers, givenRequest("a"), 1L);
+
+        // then
+        assertThat(future.result()).isSameAs(response);
+        verify(httpClient).post(URL, headers, jacksonMapper.encodeToString(givenRequest("a")), 1L);
+        verifyNoInteractions(vertx);
+    }
+
+    @Test
+    public void postShouldPassResponseAsIsForSingleRequest() {
+        // given
+        final HttpClientResponse response = givenResponse(200, "uuid1");
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(response));
+
+        // when
+        final Future<HttpClientResponse> future = target.post(URL, headers, givenRequest("a"), 100L);
+        elapseWindow();
+
+        // then
+        assertThat(future.result()).isSameAs(response);
+    }
+
+    @Test
+    public void postShouldSendConcurrentRequestsAsSingleRequestAndSplitResponse() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(givenResponse(200, "uuid1", "uuid2")));
+
+        // when
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("b"), 50L);
+        elapseWindow();
+
+        // then
+        verify(httpClient).post(URL, headers, jacksonMapper.encodeToString(givenRequest("a", "b")), 100L);
+        assertThat(decodeUuids(first.result())).containsExactly("uuid1");
+        assertThat(decodeUuids(second.result())).containsExactly("uuid2");
+    }
+
+    @Test
+    public void postShouldFailRequestWithShorterTimeoutAtItsOwnDeadline() {
+        // given
+        final Promise<HttpClientResponse> response = Promise.promise();
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(response.future());
+        given(vertx.setTimer(eq(1L), any())).willReturn(1L);
+        given(vertx.setTimer(eq(50L), any())).willReturn(2L);
+
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("b"), 50L);
+        elapseWindow();
+
+        // when
+        captureTimerHandler(50L).handle(2L);
+        response.complete(givenResponse(200, "uuid1", "uuid2"));
+
+        // then
+        verify(httpClient).post(URL, headers, jacksonMapper.encodeToString(givenRequest("a", "b")), 100L);
+        assertThat(decodeUuids(first.result())).containsExactly("uuid1");
+        assertThat(second.cause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void postShouldCancelDeadlineTimerWhenBatchedRequestCompletesInTime() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(givenResponse(200, "uuid1", "uuid2")));
+        given(vertx.setTimer(eq(1L), any())).willReturn(1L);
+        given(vertx.setTimer(eq(50L), any())).willReturn(2L);
+
+        // when
+        target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("b"), 50L);
+        elapseWindow();
+
+        // then
+        verify(vertx).cancelTimer(2L);
+        assertThat(decodeUuids(second.result())).containsExactly("uuid2");
+    }
+
+    @Test
+    public void postShouldBatchRequestsWithDifferentHeadersSeparately() {
+        // given
+        final MultiMap otherHeaders = HttpUtil.headers().add("x-pbc-api-key", "key");
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(givenResponse(200, "uuid1")));
+
+        // when
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, otherHeaders, givenRequest("b"), 100L);
+        captureAllWindowHandlers().forEach(handler -> handler.handle(1L));
+
+        // then
+        verify(httpClient).post(URL, headers, jacksonMapper.encodeToString(givenRequest("a")), 100L);
+        verify(httpClient).post(URL, otherHeaders, jacksonMapper.encodeToString(givenRequest("b")), 100L);
+        assertThat(first.succeeded()).isTrue();
+        assertThat(second.succeeded()).isTrue();
+    }
+
+    @Test
+    public void postShouldFlushBatchWhenMaxBatchSizeIsReached() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(givenResponse(200, "uuid1", "uuid2", "uuid3")));
+        given(vertx.setTimer(anyLong(), any())).willReturn(7L);
+
+        // when
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a", "b"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("c"), 100L);
+
+        // then
+        verify(vertx).cancelTimer(7L);
+        assertThat(decodeUuids(first.result())).containsExactly("uuid1", "uuid2");
+        assertThat(decodeUuids(second.result())).containsExactly("uuid3");
+    }
+
+    @Test
+    public void postShouldPassResponseAsIsToEachRequestWhenItCannotBeSplit() {
+        // given
+        final HttpClientResponse response = givenResponse(200, "uuid1");
+        given(httpClient.post(anyString(), any(), anyString(), anyLong())).willReturn(Future.succeededFuture(response));
+
+        // when
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("b"), 100L);
+        elapseWindow();
+
+        // then
+        assertThat(first.result()).isSameAs(response);
+        assertThat(second.result()).isSameAs(response);
+    }
+
+    @Test
+    public void postShouldFailAllRequestsWhenBatchedRequestFails() {
+        // given
+        given(httpClient.post(anyString(), any(), anyString(), anyLong()))
+                .willReturn(Future.failedFuture(new TimeoutException("Timeout")));
+
+        // when
+        final Future<HttpClientResponse> first = target.post(URL, headers, givenRequest("a"), 100L);
+        final Future<HttpClientResponse> second = target.post(URL, headers, givenRequest("b"), 100L);
+        elapseWindow();
+
+        // then
+        assertThat(first.cause()).isInstanceOf(TimeoutException.class).hasMessage("Timeout");
+        assertThat(second.cause()).isInstanceOf(TimeoutException.class).hasMessage("Timeout");
+    }
+
+    private void elapseWindow() {
+        captureTimerHandler(1L).handle(1L);
+    }
+
+    private Handler<Long> captureTimerHandler(long delay) {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(eq(delay), handlerCaptor.capture());
+        return handlerCaptor.getValue();
+    }
+
+    private List<Handler<Long>> captureAllWindowHandlers() {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(2)).setTimer(eq(1L), handlerCaptor.capture());
+        return handlerCaptor.getAllValues();
+    }
+
+    private static BidCacheRequest givenRequest(String... values) {
+        return BidCacheRequest.of(Arrays.stream(values)
+                .map(value -> BidPutObject.builder().type("xml").value(new TextNode(value)).build())
+                .toList());
+    }
+
+    private HttpClientResponse givenResponse(int statusCode, String... uuids) {
+        final List<CacheObject> cacheObjects = Arrays.stream(uuids).map(CacheObject::of).toList();
+        return HttpClientResponse.of(
+                statusCode, null, jacksonMapper.encodeToString(BidCacheResponse.of(cacheObjects)));
+    }
+
+    private List<String> decodeUuids(HttpClientResponse response) {
+        return jacksonMapper.decodeValue(response.getBody(), BidCacheResponse.class).getResponses().stream()
+                .map(CacheObject::getUuid)
+                .toList();
+    }
+}
@@ -70,9 +70,11 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -119,7 +121,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         eventsContext = EventsContext.builder().auctionId("auctionId").build();
 
@@ -186,6 +191,99 @@ public class CoreCacheServiceTest extends VertxTest {
         assertThat(result.getHttpCall()).isNull();
     }
 
+    @Test
+    public void cacheBidsOpenrtbShouldSendRequestThroughBatcherWhenProvided() throws MalformedURLException {
+        // given
+        final BidCacheRequestBatcher requestBatcher = mock(BidCacheRequestBatcher.class);
+        given(requestBatcher.post(anyString(), any(), any(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(200, null, jacksonMapper.encodeToString(
+                        BidCacheResponse.of(singletonList(CacheObject.of("uuid1")))))));
+
+        target = new CoreCacheService(
+                httpClient,
+                new URL("http://cache-service/cache"),
+                "http://cache-service-host/cache?uuid=",
+                100L,
+                null,
+                false,
+                false,
+                null,
+                vastModifier,
+                eventsService,
+                metrics,
+                clock,
+                idGenerator,
+                jacksonMapper,
+                requestBatcher,
+                null,
+                null);
+
+        final BidInfo bidInfo = givenBidInfo(bidBuilder -> bidBuilder.id("bidId1"));
+
+        // when
+        final Future<CacheServiceResult> future = target.cacheBidsOpenrtb(
+                singletonList(bidInfo),
+                givenAuctionContext(),
+                CacheContext.builder()
+                        .shouldCacheBids(true)
+                        .build(),
+                eventsContext);
+
+        // then
+        verify(requestBatcher).post(
+                eq("http://cache-service/cache"),
+                any(),
+                argThat(request -> request.getPuts().size() == 1),
+                eq(500L));
+        verifyNoInteractions(httpClient);
+        assertThat(future.result().getCacheBids())
+                .containsEntry(bidInfo.getBid(), CacheInfo.of("uuid1", null, null, null));
+    }
+
+    @Test
+    public void cacheBidsOpenrtbShouldStoreCreativesInEmbeddedStoreWhenProvided() throws MalformedURLException {
+        // given
+        final EmbeddedCacheStore embeddedCacheStore = mock(EmbeddedCacheStore.class);
+        given(embeddedCacheStore.put(any()))
+                .willReturn(BidCacheResponse.of(singletonList(CacheObject.of("embeddedUuid"))));
+
+        target = new CoreCacheService(
+                httpClient,
+                new URL("http://cache-service/cache"),
+                "http://cache-service-host/cache?uuid=",
+                100L,
+                null,
+                false,
+                false,
+                null,
+                vastModifier,
+                eventsService,
+                metrics,
+                clock,
+                idGenerator,
+                jacksonMapper,
+                null,
+                null,
+                embeddedCacheStore);
+
+        final BidInfo bidInfo = givenBidInfo(bidBuilder -> bidBuilder.id("bidId1"));
+
+        // when
+        final Future<CacheServiceResult> future = target.cacheBidsOpenrtb(
+                singletonList(bidInfo),
+                givenAuctionContext(),
+                CacheContext.builder()
+                        .shouldCacheBids(true)
+                        .build(),
+                eventsContext);
+
+        // then
+        verify(embeddedCacheStore).put(argThat(request -> request.getPuts().size() == 1));
+        verifyNoInteractions(httpClient);
+        assertThat(future.result().getCacheBids())
+                .containsEntry(bidInfo.getBid(), CacheInfo.of("embeddedUuid", null, null, null));
+    }
+
     @Test
     public void cacheBidsOpenrtbShouldStoreWinUrl() {
         // given
@@ -395,7 +493,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
         final BidInfo bidinfo = givenBidInfo(builder -> builder.id("bidId1"));
 
         // when
@@ -574,6 +675,47 @@ public class CoreCacheServiceTest extends VertxTest {
                 .containsEntry(bidInfo.getBid(), CacheInfo.of(null, "uuid1", null, null));
     }
 
+    @Test
+    public void cacheBidsOpenrtbShouldCacheIdenticalVideoCreativesOnceWhenDeduplicationEnabled() throws IOException {
+        // given
+        target = new CoreCacheService(
+                httpClient,
+                new URL("http://cache-service/cache"),
+                "http://cache-service-host/cache?uuid=",
+                100L,
+                null,
+                false,
+                false,
+                null,
+                vastModifier,
+                eventsService,
+                metrics,
+                clock,
+                idGenerator,
+                jacksonMapper,
+                null,
+                new CreativeDeduplicator(0L, 100, clock, jacksonMapper),
+                null);
+
+        final BidInfo bidInfo1 = givenBidInfo(builder -> builder.id("bidId1").adm("adm"), BidType.video, "bidder1");
+        final BidInfo bidInfo2 = givenBidInfo(builder -> builder.id("bidId2").adm("adm"), BidType.video, "bidder2");
+
+        // when
+        final Future<CacheServiceResult> future = target.cacheBidsOpenrtb(
+                asList(bidInfo1, bidInfo2),
+                givenAuctionContext(),
+                CacheContext.builder()
+                        .shouldCacheVideoBids(true)
+                        .build(),
+                eventsContext);
+
+        // then
+        assertThat(captureBidCacheRequest().getPuts()).hasSize(1);
+        assertThat(future.result().getCacheBids()).containsOnly(
+                entry(bidInfo1.getBid(), CacheInfo.of(null, "uuid1", null, null)),
+                entry(bidInfo2.getBid(), CacheInfo.of(null, "uuid1", null, null)));
+    }
+
     @Test
     public void cacheBidsOpenrtbShouldAddDebugLogCacheAlongWithBids() throws IOException {
         // given
@@ -833,7 +975,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         final BidPutObject firstBidPutObject = BidPutObject.builder()
                 .type("json")
@@ -874,7 +1019,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         given(idGenerator.generateId())
                 .willReturn("1-high-entropy-cache-id")
@@ -943,7 +1091,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         given(idGenerator.generateId())
                 .willReturn("1-high-entropy-cache-id-foo-bar-")
@@ -1012,7 +1163,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         given(idGenerator.generateId()).willReturn("low-entropy");
 
@@ -1062,7 +1216,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         given(idGenerator.generateId()).willReturn("high-entropy-cache-id");
 
@@ -1109,7 +1266,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         given(idGenerator.generateId()).willReturn("high-entropy-cache-id-foo-bar");
 
@@ -1156,7 +1316,10 @@ public class CoreCacheServiceTest extends VertxTest {
                 metrics,
                 clock,
                 idGenerator,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null,
+                null);
 
         final BidPutObject bidPutObject = BidPutObject.builder()
                 .type("text")
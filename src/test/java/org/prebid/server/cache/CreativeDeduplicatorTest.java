@@ -0,0 +1,179 @@
+package org.prebid.server.cache;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.model.CachedCreative;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+
+import java.time.Clock;
+import java.util.function.UnaryOperator;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.function.UnaryOperator.identity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class CreativeDeduplicatorTest extends VertxTest {
+
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+    }
+
+    @Test
+    public void creationShouldFailOnNegativeWindow() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CreativeDeduplicator(-1L, 100, clock, jacksonMapper))
+                .withMessage("Cross-auction window must be non-negative");
+    }
+
+    @Test
+    public void deduplicateShouldCacheIdenticalCreativesOnce() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(0L, 100, clock, jacksonMapper);
+        final CachedCreative first = givenCreative("vast1", identity());
+        final CachedCreative second = givenCreative("vast2", identity());
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(asList(first, second, first));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(first, second);
+        assertThat(result.resolveUuids(asList("uuid1", "uuid2"))).containsExactly("uuid1", "uuid2", "uuid1");
+    }
+
+    @Test
+    public void deduplicateShouldNotDeduplicateCreativesWithKey() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(0L, 100, clock, jacksonMapper);
+        final CachedCreative first = givenCreative("vast", builder -> builder.key("key1"));
+        final CachedCreative second = givenCreative("vast", builder -> builder.key("key2"));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(asList(first, second));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(first, second);
+    }
+
+    @Test
+    public void deduplicateShouldNotDeduplicateCreativesWithDifferentTtl() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(0L, 100, clock, jacksonMapper);
+        final CachedCreative first = givenCreative("vast", builder -> builder.ttlseconds(60));
+        final CachedCreative second = givenCreative("vast", builder -> builder.ttlseconds(120));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(asList(first, second));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(first, second);
+    }
+
+    @Test
+    public void deduplicateShouldReuseUuidOfCreativeCachedByPreviousAuctionWithinWindow() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(10_000L, 100, clock, jacksonMapper);
+        final CachedCreative creative = givenCreative("vast", builder -> builder.ttlseconds(60));
+        target.deduplicate(singletonList(creative)).resolveUuids(singletonList("uuid1"));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(singletonList(creative));
+
+        // then
+        assertThat(result.getCreativesToCache()).isEmpty();
+        assertThat(result.resolveUuids(emptyList())).containsExactly("uuid1");
+    }
+
+    @Test
+    public void deduplicateShouldNotReuseUuidOfCreativeCachedByPreviousAuctionWhenWindowIsZero() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(0L, 100, clock, jacksonMapper);
+        final CachedCreative creative = givenCreative("vast", identity());
+        target.deduplicate(singletonList(creative)).resolveUuids(singletonList("uuid1"));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(singletonList(creative));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(creative);
+    }
+
+    @Test
+    public void deduplicateShouldNotReuseUuidWhenCacheEntryExpiresBeforeTtlOfCreativeEnds() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(10_000L, 100, clock, jacksonMapper);
+        target.deduplicate(singletonList(givenCreative("vast", builder -> builder.ttlseconds(60))))
+                .resolveUuids(singletonList("uuid1"));
+
+        given(clock.millis()).willReturn(9_000L);
+        final CachedCreative sameTtlCreative = givenCreative("vast", builder -> builder.ttlseconds(60));
+        final CachedCreative shorterTtlCreative = givenCreative("vast", builder -> builder.ttlseconds(51));
+
+        // when
+        final CreativeDeduplicator.Deduplication result =
+                target.deduplicate(asList(sameTtlCreative, shorterTtlCreative));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(sameTtlCreative);
+        assertThat(result.resolveUuids(singletonList("uuid2"))).containsExactly("uuid2", "uuid1");
+    }
+
+    @Test
+    public void deduplicateShouldReuseUuidOfLongestLivingCacheEntry() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(10_000L, 100, clock, jacksonMapper);
+        target.deduplicate(singletonList(givenCreative("vast", builder -> builder.ttlseconds(60))))
+                .resolveUuids(singletonList("uuid1"));
+
+        given(clock.millis()).willReturn(5_000L);
+        target.deduplicate(singletonList(givenCreative("vast", builder -> builder.ttlseconds(30))))
+                .resolveUuids(singletonList("uuid2"));
+
+        final CachedCreative creative = givenCreative("vast", builder -> builder.ttlseconds(55));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(singletonList(creative));
+
+        // then
+        assertThat(result.getCreativesToCache()).isEmpty();
+        assertThat(result.resolveUuids(emptyList())).containsExactly("uuid1");
+    }
+
+    @Test
+    public void deduplicateShouldNotReuseUuidOfCreativeWithoutTtl() {
+        // given
+        final CreativeDeduplicator target = new CreativeDeduplicator(10_000L, 100, clock, jacksonMapper);
+        final CachedCreative creative = givenCreative("vast", identity());
+        target.deduplicate(singletonList(creative)).resolveUuids(singletonList("uuid1"));
+
+        // when
+        final CreativeDeduplicator.Deduplication result = target.deduplicate(singletonList(creative));
+
+        // then
+        assertThat(result.getCreativesToCache()).containsExactly(creative);
+    }
+
+    private static CachedCreative givenCreative(String value,
+                                                UnaryOperator<BidPutObject.BidPutObjectBuilder> customizer) {
+
+        final BidPutObject payload = customizer.apply(BidPutObject.builder()
+                        .type("xml")
+                        .value(new TextNode(value)))
+                .build();
+        return CachedCreative.of(payload, value.length());
+    }
+}
@@ -0,0 +1,164 @@
+package org.prebid.server.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.cache.proto.response.bid.BidCacheResponse;
+import org.prebid.server.cache.proto.response.bid.CacheObject;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.identity.IdGenerator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.function.UnaryOperator.identity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmbeddedCacheStoreTest extends VertxTest {
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    private final AtomicLong time = new AtomicLong();
+
+    private EmbeddedCacheStore target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new EmbeddedCacheStore(10_000L, 60, 300, idGenerator, time::get, jacksonMapper);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveTtl() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EmbeddedCacheStore(10_000L, 0, 300, idGenerator, time::get, jacksonMapper))
+                .withMessage("Default and max TTL must be positive");
+    }
+
+    @Test
+    public void putShouldStoreCreativesAndReturnTheirUuidsInOrder() {
+        // given
+        given(idGenerator.generateId()).willReturn("uuid1", "uuid2");
+
+        // when
+        final BidCacheResponse response = target.put(BidCacheRequest.of(asList(
+                givenPutObject("xml", new TextNode("<VAST/>"), identity()),
+                givenPutObject("json", mapper.createObjectNode().put("adm", "creative"), identity()))));
+
+        // then
+        assertThat(response.getResponses()).containsExactly(CacheObject.of("uuid1"), CacheObject.of("uuid2"));
+        assertThat(target.get("uuid1").type()).isEqualTo("xml");
+        assertThat(target.get("uuid1").contentAsString()).isEqualTo("<VAST/>");
+        assertThat(target.get("uuid2").type()).isEqualTo("json");
+        assertThat(target.get("uuid2").contentAsString()).isEqualTo("{\"adm\":\"creative\"}");
+    }
+
+    @Test
+    public void putShouldStoreCreativeUnderExplicitKey() {
+        // when
+        final BidCacheResponse response = target.put(BidCacheRequest.of(singletonList(
+                givenPutObject("xml", new TextNode("<VAST/>"), builder -> builder.key("key")))));
+
+        // then
+        assertThat(response.getResponses()).containsExactly(CacheObject.of("key"));
+        assertThat(target.get("key").contentAsString()).isEqualTo("<VAST/>");
+    }
+
+    @Test
+    public void putShouldFailWhenKeyIsAlreadyInUse() {
+        // given
+        final BidCacheRequest request = BidCacheRequest.of(singletonList(
+                givenPutObject("xml", new TextNode("<VAST/>"), builder -> builder.key("key"))));
+        target.put(request);
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.put(request))
+                .withMessage("Key is already in use: key");
+    }
+
+    @Test
+    public void putShouldNotStoreAnyCreativeWhenOneOfKeysIsAlreadyInUse() {
+        // given
+        target.put(BidCacheRequest.of(singletonList(
+                givenPutObject("xml", new TextNode("<VAST/>"), builder -> builder.key("key2")))));
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.put(BidCacheRequest.of(asList(
+                        givenPutObject("xml", new TextNode("<VAST1/>"), builder -> builder.key("key1")),
+                        givenPutObject("xml", new TextNode("<VAST2/>"), builder -> builder.key("key2"))))))
+                .withMessage("Key is already in use: key2");
+        assertThat(target.get("key1")).isNull();
+        assertThat(target.get("key2").contentAsString()).isEqualTo("<VAST/>");
+    }
+
+    @Test
+    public void putShouldFailOnUnknownType() {
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.put(BidCacheRequest.of(singletonList(
+                        givenPutObject("html", new TextNode("<div/>"), identity())))))
+                .withMessage("Type must be one of [\"json\", \"xml\"]. Found: html");
+    }
+
+    @Test
+    public void putShouldFailOnMissingValue() {
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.put(BidCacheRequest.of(singletonList(
+                        givenPutObject("xml", null, identity())))))
+                .withMessage("Missing value");
+    }
+
+    @Test
+    public void getShouldNotReturnCreativeAfterItsTtl() {
+        // given
+        target.put(BidCacheRequest.of(singletonList(
+                givenPutObject("xml", new TextNode("<VAST/>"), builder -> builder.key("key").ttlseconds(10)))));
+
+        // when
+        time.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        final EmbeddedCacheStore.StoredCreative beforeTtl = target.get("key");
+        time.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        final EmbeddedCacheStore.StoredCreative afterTtl = target.get("key");
+
+        // then
+        assertThat(beforeTtl).isNotNull();
+        assertThat(afterTtl).isNull();
+    }
+
+    @Test
+    public void getShouldNotReturnCreativeAfterMaxTtl() {
+        // given
+        target.put(BidCacheRequest.of(singletonList(
+                givenPutObject("xml", new TextNode("<VAST/>"), builder -> builder.key("key").ttlseconds(1000)))));
+
+        // when
+        time.addAndGet(TimeUnit.SECONDS.toNanos(301));
+
+        // then
+        assertThat(target.get("key")).isNull();
+    }
+
+    private static BidPutObject givenPutObject(String type,
+                                               JsonNode value,
+                                               UnaryOperator<BidPutObject.BidPutObjectBuilder> customizer) {
+
+        return customizer.apply(BidPutObject.builder().type(type).value(value)).build();
+    }
+}
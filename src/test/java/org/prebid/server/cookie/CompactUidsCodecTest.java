@@ -0,0 +1,106 @@
+package org.prebid.server.cookie;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class CompactUidsCodecTest {
+
+    @Test
+    public void decodeShouldReturnEncodedUids() {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", new UidWithExpiry("J5VLCWQP-26-CWFT", now.plusDays(14)));
+        uidsMap.put("adnxs", new UidWithExpiry("12345", now.minusMinutes(5)));
+        uidsMap.put("unicode", new UidWithExpiry("uid-ü-€", null));
+
+        final Uids uids = Uids.builder().uids(uidsMap).optout(false).build();
+
+        // when
+        final Uids result = CompactUidsCodec.decode(CompactUidsCodec.encode(uids));
+
+        // then
+        assertThat(result).isEqualTo(uids);
+    }
+
+    @Test
+    public void decodeShouldPreserveMissingAndTrueOptout() {
+        // given
+        final Uids withoutOptout = Uids.builder().uids(emptyMap()).build();
+        final Uids optedOut = Uids.builder().uids(emptyMap()).optout(true).build();
+
+        // when and then
+        assertThat(CompactUidsCodec.decode(CompactUidsCodec.encode(withoutOptout))).isEqualTo(withoutOptout);
+        assertThat(CompactUidsCodec.decode(CompactUidsCodec.encode(optedOut))).isEqualTo(optedOut);
+    }
+
+    @Test
+    public void isCompactShouldReturnFalseForJson() {
+        // when and then
+        assertThat(CompactUidsCodec.isCompact("{\"tempUIDs\":{}}".getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(CompactUidsCodec.isCompact(new byte[0])).isFalse();
+    }
+
+    @Test
+    public void decodeShouldFailOnTruncatedUids() {
+        // given
+        final byte[] encoded = CompactUidsCodec.encode(Uids.builder()
+                .uids(Map.of("rubicon", UidWithExpiry.live("uid")))
+                .build());
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CompactUidsCodec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+    }
+
+    @Test
+    public void decodeShouldFailOnOversizedExpiration() {
+        // given
+        final byte[] overflowingExpiration = givenCompactUids(
+                new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, 0x7F}, new byte[]{2});
+        final byte[] expirationOutOfInstantRange = givenCompactUids(
+                new byte[]{-128, -128, -128, -128, -128, -128, -128, -128, 0x10}, new byte[]{1});
+
+        // when and then
+        assertThatIllegalArgumentException().isThrownBy(() -> CompactUidsCodec.decode(overflowingExpiration));
+        assertThatIllegalArgumentException().isThrownBy(() -> CompactUidsCodec.decode(expirationOutOfInstantRange));
+    }
+
+    @Test
+    public void maxUidBytesShouldNotBeLessThanEncodedUidSize() {
+        // given
+        final Uids emptyUids = Uids.builder().uids(emptyMap()).build();
+        final Uids uids = Uids.builder().uids(Map.of("rubicon", UidWithExpiry.live("uid-ü"))).build();
+
+        // when
+        final int uidSize = CompactUidsCodec.encode(uids).length - CompactUidsCodec.encode(emptyUids).length;
+
+        // then
+        assertThat(CompactUidsCodec.encode(emptyUids).length).isLessThanOrEqualTo(CompactUidsCodec.MAX_HEADER_BYTES);
+        assertThat(uidSize).isLessThanOrEqualTo(CompactUidsCodec.maxUidBytes("rubicon", "uid-ü"));
+    }
+
+    private static byte[] givenCompactUids(byte[] baseExpires, byte[] expiresDelta) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(CompactUidsCodec.FORMAT_VERSION);
+        output.write(0);
+        output.writeBytes(baseExpires);
+        output.writeBytes(new byte[]{1, 1, 'a', 1, 'b'});
+        output.writeBytes(expiresDelta);
+        return output.toByteArray();
+    }
+}
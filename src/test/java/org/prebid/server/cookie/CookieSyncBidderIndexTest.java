@@ -0,0 +1,91 @@
+package org.prebid.server.cookie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.UsersyncMethod;
+import org.prebid.server.bidder.Usersyncer;
+import org.prebid.server.cookie.model.RejectionReason;
+import org.prebid.server.spring.config.bidder.model.usersync.CookieFamilySource;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class CookieSyncBidderIndexTest {
+
+    @Mock(strictness = LENIENT)
+    private BidderCatalog bidderCatalog;
+
+    @Test
+    public void rejectionReasonShouldReturnFirstFailedCheck() {
+        // given
+        given(bidderCatalog.names()).willReturn(Set.of("disabled", "unconfigured", "disabled-sync", "valid"));
+        givenBidder("disabled", false, givenUsersyncer(true, "disabled-family"));
+        givenBidder("unconfigured", true, null);
+        givenBidder("disabled-sync", true, givenUsersyncer(false, "disabled-sync-family"));
+        givenBidder("valid", true, givenUsersyncer(true, "valid-family"));
+
+        // when
+        final CookieSyncBidderIndex target = CookieSyncBidderIndex.of(bidderCatalog);
+
+        // then
+        assertThat(target.rejectionReason("unknown")).isEqualTo(RejectionReason.INVALID_BIDDER);
+        assertThat(target.rejectionReason(null)).isEqualTo(RejectionReason.INVALID_BIDDER);
+        assertThat(target.rejectionReason("disabled")).isEqualTo(RejectionReason.DISABLED_BIDDER);
+        assertThat(target.rejectionReason("unconfigured")).isEqualTo(RejectionReason.UNCONFIGURED_USERSYNC);
+        assertThat(target.rejectionReason("disabled-sync")).isEqualTo(RejectionReason.DISABLED_USERSYNC);
+        assertThat(target.rejectionReason("valid")).isNull();
+    }
+
+    @Test
+    public void indexShouldLookupBiddersCaseInsensitively() {
+        // given
+        given(bidderCatalog.names()).willReturn(Set.of("bidder"));
+        final Usersyncer usersyncer = givenUsersyncer(true, "family");
+        givenBidder("bidder", true, usersyncer);
+
+        // when
+        final CookieSyncBidderIndex target = CookieSyncBidderIndex.of(bidderCatalog);
+
+        // then
+        assertThat(target.rejectionReason("BiDdEr")).isNull();
+        assertThat(target.usersyncer("BiDdEr")).isSameAs(usersyncer);
+        assertThat(target.cookieFamilyName("BiDdEr")).isEqualTo("family");
+    }
+
+    @Test
+    public void cookieFamilyNameShouldReturnNullForBidderWithoutUsersyncer() {
+        // given
+        given(bidderCatalog.names()).willReturn(Set.of("bidder"));
+        givenBidder("bidder", true, null);
+
+        // when
+        final CookieSyncBidderIndex target = CookieSyncBidderIndex.of(bidderCatalog);
+
+        // then
+        assertThat(target.cookieFamilyName("bidder")).isNull();
+        assertThat(target.cookieFamilyName("unknown")).isNull();
+        assertThat(target.usersyncer("unknown")).isNull();
+    }
+
+    private void givenBidder(String bidder, boolean active, Usersyncer usersyncer) {
+        given(bidderCatalog.isActive(bidder)).willReturn(active);
+        given(bidderCatalog.usersyncerByName(bidder)).willReturn(Optional.ofNullable(usersyncer));
+    }
+
+    private static Usersyncer givenUsersyncer(boolean enabled, String cookieFamilyName) {
+        return Usersyncer.of(
+                enabled,
+                cookieFamilyName,
+                CookieFamilySource.ROOT,
+                UsersyncMethod.builder().usersyncUrl("https://usersync-url.com").build(),
+                null);
+    }
+}
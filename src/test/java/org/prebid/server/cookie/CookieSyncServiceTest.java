@@ -43,10 +43,12 @@ import org.prebid.server.spring.config.bidder.model.usersync.CookieFamilySource;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -88,10 +90,14 @@ public class CookieSyncServiceTest extends VertxTest {
     @Mock(strictness = LENIENT)
     private ActivityInfrastructure activityInfrastructure;
 
-    private CookieSyncService target;
+    private Set<String> bidderNames;
+    private int defaultLimit;
+    private int maxLimit;
 
     @BeforeEach
     public void setUp() {
+        bidderNames = new HashSet<>();
+        given(bidderCatalog.names()).willReturn(bidderNames);
         given(uidsCookie.allowsSync()).willReturn(true);
         given(hostVendorTcfDefinerService.isAllowedForHostVendorId(any()))
                 .willReturn(Future.succeededFuture(HostVendorTcfResponse.allowedVendor()));
@@ -100,7 +106,7 @@ public class CookieSyncServiceTest extends VertxTest {
         given(activityInfrastructure.isAllowed(any(), any()))
                 .willReturn(true);
 
-        givenCookieSyncService(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        givenCookieSyncLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
     }
 
     @Test
@@ -114,7 +120,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isFailed()
@@ -135,7 +141,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isFailed()
@@ -161,7 +167,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         verify(metrics).updateUserSyncTcfInvalidMetric();
@@ -188,7 +194,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -210,7 +216,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -223,7 +229,7 @@ public class CookieSyncServiceTest extends VertxTest {
     @Test
     public void processContextShouldResolveLimitWithDefaultValueWhenAbsentInRequestAndAccount() {
         // given
-        givenCookieSyncService(42, Integer.MAX_VALUE);
+        givenCookieSyncLimits(42, Integer.MAX_VALUE);
 
         final CookieSyncContext cookieSyncContext = CookieSyncContext.builder()
                 .cookieSyncRequest(CookieSyncRequest.builder().build())
@@ -234,7 +240,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -247,7 +253,7 @@ public class CookieSyncServiceTest extends VertxTest {
     @Test
     public void processContextShouldCapLimitWithMaxLimitFromAccountWhenPresent() {
         // given
-        givenCookieSyncService(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        givenCookieSyncLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
 
         final CookieSyncContext cookieSyncContext = CookieSyncContext.builder()
                 .cookieSyncRequest(CookieSyncRequest.builder().limit(100).build())
@@ -258,7 +264,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -271,7 +277,7 @@ public class CookieSyncServiceTest extends VertxTest {
     @Test
     public void processContextShouldCapLimitWithDefaultMaxLimitWhenMaxLimitFromAccountIsAbsent() {
         // given
-        givenCookieSyncService(42, 42);
+        givenCookieSyncLimits(42, 42);
 
         final CookieSyncContext cookieSyncContext = CookieSyncContext.builder()
                 .cookieSyncRequest(CookieSyncRequest.builder().limit(100).build())
@@ -282,7 +288,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -306,7 +312,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result)
@@ -334,7 +340,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder", "invalid-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -349,7 +355,7 @@ public class CookieSyncServiceTest extends VertxTest {
         // given
         givenCoopSyncBidders("coop-sync-bidder");
 
-        given(bidderCatalog.isValidName("disabled-bidder")).willReturn(true);
+        givenValidBidder("disabled-bidder");
         givenValidActiveBidders("requested-bidder", "coop-sync-bidder");
         givenUsersyncersForBidders("requested-bidder", "coop-sync-bidder");
 
@@ -359,7 +365,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder", "disabled-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -383,7 +389,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder", "bidder-without-usersync")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -412,7 +418,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder", "bidder-with-disabled-usersync")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -438,7 +444,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -468,7 +474,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -494,7 +500,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -524,7 +530,7 @@ public class CookieSyncServiceTest extends VertxTest {
                 builder.cookieSyncRequest(givenCookieSyncRequest("requested-bidder")));
 
         // when
-        final Future<CookieSyncContext> result = target.processContext(cookieSyncContext);
+        final Future<CookieSyncContext> result = target().processContext(cookieSyncContext);
 
         // then
         assertThat(result).isSucceeded()
@@ -541,7 +547,7 @@ public class CookieSyncServiceTest extends VertxTest {
         final CookieSyncContext cookieSyncContext = givenCookieSyncContext(UnaryOperator.identity());
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(result.getStatus()).isEqualTo(CookieSyncStatus.OK);
@@ -554,7 +560,7 @@ public class CookieSyncServiceTest extends VertxTest {
         final CookieSyncContext cookieSyncContext = givenCookieSyncContext(UnaryOperator.identity());
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(result.getStatus()).isEqualTo(CookieSyncStatus.NO_COOKIE);
@@ -577,7 +583,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus()).hasSize(1);
@@ -600,7 +606,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -626,7 +632,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -652,7 +658,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -680,7 +686,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus()).hasSize(2);
@@ -708,7 +714,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -737,7 +743,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -766,7 +772,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus()).containsExactlyInAnyOrder(
@@ -796,7 +802,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus()).containsExactlyInAnyOrder(
@@ -819,7 +825,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .rejectedBidders(biddersRejectionReasons));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -849,7 +855,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus()).containsExactlyInAnyOrder(
@@ -879,7 +885,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(bidderUsersyncMethods));
 
         // when
-        final CookieSyncResponse cookieSyncResponse = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse cookieSyncResponse = target().prepareResponse(cookieSyncContext);
 
         // then
         assertThat(cookieSyncResponse.getBidderStatus())
@@ -889,8 +895,7 @@ public class CookieSyncServiceTest extends VertxTest {
     @Test
     public void prepareResponseShouldReturnWarningForAliasesSyncedAsRootCookieFamilyWhenDebugTrue() {
         // given
-        given(bidderCatalog.isValidName("alias")).willReturn(true);
-        given(bidderCatalog.isActive("alias")).willReturn(true);
+        givenValidActiveBidder("alias");
         given(bidderCatalog.isAlias("alias")).willReturn(true);
         givenUsersyncerForBidder(true, "alias", "root-cookie-family", CookieFamilySource.ROOT);
 
@@ -901,7 +906,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(Map.of("alias", givenUsersyncMethod("alias"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final BidderUsersyncStatus warningStatus = errorStatus("alias", "synced as root-cookie-family");
@@ -917,8 +922,7 @@ public class CookieSyncServiceTest extends VertxTest {
     @Test
     public void prepareResponseShouldNotReturnWarningForAliasesSyncedAsAliasCookieFamilyWhenDebugFalse() {
         // given
-        given(bidderCatalog.isValidName("alias")).willReturn(true);
-        given(bidderCatalog.isActive("alias")).willReturn(true);
+        givenValidActiveBidder("alias");
         given(bidderCatalog.isAlias("alias")).willReturn(true);
         givenUsersyncerForBidder(true, "alias", "alias-cookie-family", CookieFamilySource.ALIAS);
 
@@ -929,7 +933,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(Map.of("alias", givenUsersyncMethod("alias"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final BidderUsersyncStatus status = BidderUsersyncStatus.builder()
@@ -956,7 +960,7 @@ public class CookieSyncServiceTest extends VertxTest {
                                         "bidder2", givenUsersyncMethod("bidder2"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final BidderUsersyncStatus warningStatus = errorStatus("bidder2-cookie-family", "limit reached");
@@ -985,7 +989,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(Map.of("host-bidder", givenUsersyncMethod("alias"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final String expectedUrl = """
@@ -1023,7 +1027,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(Map.of("host-bidder", givenUsersyncMethod("alias"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final String expectedUrl = """
@@ -1062,7 +1066,7 @@ public class CookieSyncServiceTest extends VertxTest {
                         .bidderUsersyncMethod(Map.of("host-bidder", givenUsersyncMethod("alias"))));
 
         // when
-        final CookieSyncResponse result = target.prepareResponse(cookieSyncContext);
+        final CookieSyncResponse result = target().prepareResponse(cookieSyncContext);
 
         // then
         final String expectedUrl = """
@@ -1105,10 +1109,15 @@ public class CookieSyncServiceTest extends VertxTest {
     }
 
     private void givenValidActiveBidder(String bidder) {
-        given(bidderCatalog.isValidName(bidder)).willReturn(true);
+        givenValidBidder(bidder);
         given(bidderCatalog.isActive(bidder)).willReturn(true);
     }
 
+    private void givenValidBidder(String bidder) {
+        bidderNames.add(bidder);
+        given(bidderCatalog.isValidName(bidder)).willReturn(true);
+    }
+
     private void givenCoopSyncBidders(String... bidders) {
         given(coopSyncProvider.coopSyncBidders(any())).willReturn(Arrays.stream(bidders).collect(Collectors.toSet()));
     }
@@ -1140,6 +1149,7 @@ public class CookieSyncServiceTest extends VertxTest {
         final Usersyncer usersyncer = Usersyncer.of(
                 enabled, cookieFamilyName, cookieFamilySource, usersyncMethod, null);
 
+        bidderNames.add(bidder);
         given(bidderCatalog.usersyncerByName(eq(bidder))).willReturn(Optional.of(usersyncer));
         given(bidderCatalog.cookieFamilyName(eq(bidder))).willReturn(Optional.of(cookieFamilyName));
         given(usersyncMethodChooser.choose(eq(usersyncer), eq(bidder))).willReturn(usersyncMethod);
@@ -1162,10 +1172,16 @@ public class CookieSyncServiceTest extends VertxTest {
                 .build();
     }
 
-    private void givenCookieSyncService(int limit, int maxLimit) {
-        target = new CookieSyncService(
+    private void givenCookieSyncLimits(int limit, int maxLimit) {
+        this.defaultLimit = limit;
+        this.maxLimit = maxLimit;
+    }
+
+    // bidders are indexed on service creation, so it is created only after bidder catalog is set up
+    private CookieSyncService target() {
+        return new CookieSyncService(
                 "https://external-url.com",
-                limit,
+                defaultLimit,
                 maxLimit,
                 bidderCatalog,
                 hostVendorTcfDefinerService,
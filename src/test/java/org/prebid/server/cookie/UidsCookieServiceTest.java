@@ -18,6 +18,7 @@ import org.prebid.server.model.UpdateResult;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -69,6 +70,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -320,6 +322,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -345,6 +348,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -370,6 +374,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -394,6 +399,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -520,6 +526,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -562,6 +569,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -585,6 +593,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -619,6 +628,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -644,6 +654,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -736,6 +747,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 MAX_COOKIE_SIZE_BYTES,
                 2,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -763,6 +775,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 500,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -799,6 +812,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 500,
                 1,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -833,6 +847,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 500,
                 2,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -869,6 +884,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 500,
                 5,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -920,6 +936,7 @@ public class UidsCookieServiceTest extends VertxTest {
                 90,
                 500,
                 2,
+                false,
                 prioritizedCoopSyncProvider,
                 metrics,
                 jacksonMapper);
@@ -945,6 +962,97 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(decodeUids(result.getLast().getValue()).getOptout()).isTrue();
     }
 
+    @Test
+    public void parseFromCookiesShouldReadCompactUidsCookieAlongsideJsonOne() throws JsonProcessingException {
+        // given
+        final ZonedDateTime expires = ZonedDateTime.now(ZoneOffset.UTC).plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        final Map<String, String> cookies = Map.of(
+                "uids", Base64.getUrlEncoder().withoutPadding().encodeToString(CompactUidsCodec.encode(
+                        Uids.builder().uids(Map.of(RUBICON, new UidWithExpiry("rubiconUid", expires))).build())),
+                "uids2", encodeUids(
+                        Uids.builder().uids(Map.of(ADNXS, new UidWithExpiry("adnxsUid", expires))).build()));
+
+        // when
+        final UidsCookie uidsCookie = target.parseFromCookies(cookies);
+
+        // then
+        assertThat(uidsCookie.uidFrom(RUBICON)).isEqualTo("rubiconUid");
+        assertThat(uidsCookie.hasLiveUidFrom(RUBICON)).isTrue();
+        assertThat(uidsCookie.uidFrom(ADNXS)).isEqualTo("adnxsUid");
+    }
+
+    @Test
+    public void parseFromCookiesShouldIgnoreCompactUidsCookieWithOversizedExpiration() {
+        // given
+        final byte[] compactUids = {CompactUidsCodec.FORMAT_VERSION, 0,
+                -1, -1, -1, -1, -1, -1, -1, -1, 0x7F, 1, 1, 'a', 1, 'b', 2};
+        final Map<String, String> cookies = Map.of(
+                "uids", Base64.getUrlEncoder().withoutPadding().encodeToString(compactUids));
+
+        // when
+        final UidsCookie uidsCookie = target.parseFromCookies(cookies);
+
+        // then
+        assertThat(uidsCookie.getCookieUids().getUids()).isEmpty();
+    }
+
+    @Test
+    public void aliveCookieShouldReturnCompactCookieWhenCompactUidsEnabled() {
+        // given
+        target = givenCompactUidsCookieService(MAX_COOKIE_SIZE_BYTES, 1);
+
+        final UidsCookie uidsCookie = givenUidsCookie(Map.of(RUBICON, UidWithExpiry.live("rubiconUid")));
+
+        // when
+        final Cookie cookie = target.aliveCookie(uidsCookie);
+
+        // then
+        assertThat(cookie.getValue().length()).isLessThan(
+                Base64.getUrlEncoder().encodeToString(uidsCookie.toJson().getBytes()).length());
+        assertThat(target.parseFromCookies(Map.of("uids", cookie.getValue())).uidFrom(RUBICON))
+                .isEqualTo("rubiconUid");
+    }
+
+    @Test
+    public void splitUidsIntoCookiesShouldFitMoreUidsInCookieWhenCompactUidsEnabled() {
+        // given
+        target = givenCompactUidsCookieService(500, 2);
+        given(prioritizedCoopSyncProvider.isPrioritizedFamily(any())).willReturn(false);
+
+        // cookie of encoded size 450 bytes in JSON form
+        final Map<String, UidWithExpiry> givenUids = Map.of(
+                "very-very-very-very-long-family", UidWithExpiry.live("some-very-very-very-long-uid"),
+                "another-very-very-very-long-family", UidWithExpiry.live("another-very-very-very-long-uid"),
+                "family", UidWithExpiry.live("uid"));
+
+        // when
+        final List<Cookie> result = target.splitUidsIntoCookies(givenUidsCookie(givenUids));
+
+        // then
+        verifyNoInteractions(metrics);
+
+        assertThat(result).extracting(Cookie::getName).containsExactly("uids", "uids2");
+        assertThat(target.parseFromCookies(Map.of("uids", result.getFirst().getValue()))
+                .getCookieUids().getUids()).containsOnlyKeys(givenUids.keySet());
+        assertThat(result.getLast().getMaxAge()).isZero();
+    }
+
+    private UidsCookieService givenCompactUidsCookieService(int maxCookieSizeBytes, int numberOfUidCookies) {
+        return new UidsCookieService(
+                "trp_optout",
+                "true",
+                null,
+                null,
+                "cookie-domain",
+                90,
+                maxCookieSizeBytes,
+                numberOfUidCookies,
+                true,
+                prioritizedCoopSyncProvider,
+                metrics,
+                jacksonMapper);
+    }
+
     private UidsCookie givenUidsCookie(Map<String, UidWithExpiry> uids) {
         return new UidsCookie(Uids.builder().uids(uids).build(), jacksonMapper);
     }
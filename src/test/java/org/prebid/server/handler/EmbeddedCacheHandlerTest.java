@@ -0,0 +1,204 @@
+package org.prebid.server.handler;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RequestBody;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.EmbeddedCacheStore;
+import org.prebid.server.cache.proto.request.bid.BidCacheRequest;
+import org.prebid.server.cache.proto.request.bid.BidPutObject;
+import org.prebid.server.cache.proto.response.bid.BidCacheResponse;
+import org.prebid.server.cache.proto.response.bid.CacheObject;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.util.HttpUtil;
+
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class EmbeddedCacheHandlerTest extends VertxTest {
+
+    @Mock
+    private EmbeddedCacheStore embeddedCacheStore;
+    @Mock(strictness = LENIENT)
+    private RoutingContext routingContext;
+    @Mock(strictness = LENIENT)
+    private HttpServerRequest httpRequest;
+    @Mock(strictness = LENIENT)
+    private HttpServerResponse httpResponse;
+    @Mock
+    private RequestBody requestBody;
+
+    private EmbeddedCacheHandler target;
+
+    @BeforeEach
+    public void setUp() {
+        given(routingContext.request()).willReturn(httpRequest);
+        given(routingContext.response()).willReturn(httpResponse);
+        given(routingContext.body()).willReturn(requestBody);
+        given(httpResponse.putHeader(any(CharSequence.class), anyString())).willReturn(httpResponse);
+        given(httpResponse.setStatusCode(anyInt())).willReturn(httpResponse);
+
+        given(httpRequest.getHeader(HttpUtil.X_PBC_API_KEY_HEADER)).willReturn("apiKey");
+
+        target = new EmbeddedCacheHandler("/cache", embeddedCacheStore, "apiKey", jacksonMapper);
+    }
+
+    @Test
+    public void endpointsShouldContainGetAndPostOnConfiguredPath() {
+        // when and then
+        assertThat(target.endpoints())
+                .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPath())
+                .containsExactly("GET /cache", "POST /cache");
+    }
+
+    @Test
+    public void endpointsShouldContainOnlyGetWhenApiKeyIsNotConfigured() {
+        // given
+        target = new EmbeddedCacheHandler("/cache", embeddedCacheStore, null, jacksonMapper);
+
+        // when and then
+        assertThat(target.endpoints())
+                .extracting(endpoint -> endpoint.getMethod() + " " + endpoint.getPath())
+                .containsExactly("GET /cache");
+    }
+
+    @Test
+    public void shouldNotStoreCreativesWhenApiKeyIsNotConfigured() {
+        // given
+        target = new EmbeddedCacheHandler("/cache", embeddedCacheStore, null, jacksonMapper);
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verifyNoInteractions(embeddedCacheStore);
+        verify(httpResponse).setStatusCode(400);
+    }
+
+    @Test
+    public void shouldRespondWithStoredCreative() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.GET);
+        given(httpRequest.getParam("uuid")).willReturn("uuid1");
+        given(embeddedCacheStore.get("uuid1")).willReturn(new EmbeddedCacheStore.StoredCreative(
+                "xml", "<VAST/>".getBytes(StandardCharsets.UTF_8), 1L));
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verify(httpResponse).putHeader(HttpUtil.CONTENT_TYPE_HEADER, "application/xml");
+        verify(httpResponse).setStatusCode(200);
+        verify(httpResponse).end("<VAST/>");
+    }
+
+    @Test
+    public void shouldRespondWithNotFoundWhenCreativeIsNotStored() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.GET);
+        given(httpRequest.getParam("uuid")).willReturn("uuid1");
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(404);
+    }
+
+    @Test
+    public void shouldRespondWithBadRequestWhenUuidIsMissing() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.GET);
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verifyNoInteractions(embeddedCacheStore);
+        verify(httpResponse).setStatusCode(400);
+        verify(httpResponse).end("Missing required parameter 'uuid'");
+    }
+
+    @Test
+    public void shouldStoreCreativesAndRespondWithTheirUuids() {
+        // given
+        final BidCacheRequest request = BidCacheRequest.of(singletonList(
+                BidPutObject.builder().type("xml").value(new TextNode("<VAST/>")).build()));
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+        given(requestBody.buffer()).willReturn(Buffer.buffer(jacksonMapper.encodeToBytes(request)));
+        given(embeddedCacheStore.put(request))
+                .willReturn(BidCacheResponse.of(singletonList(CacheObject.of("uuid1"))));
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(200);
+        verify(httpResponse).end("{\"responses\":[{\"uuid\":\"uuid1\"}]}");
+    }
+
+    @Test
+    public void shouldRejectPutWithoutValidApiKey() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+        given(httpRequest.getHeader(HttpUtil.X_PBC_API_KEY_HEADER)).willReturn("invalid");
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verifyNoInteractions(embeddedCacheStore);
+        verify(httpResponse).setStatusCode(401);
+        verify(httpResponse).end("Invalid API key");
+    }
+
+    @Test
+    public void shouldRespondWithBadRequestWhenCreativesCannotBeStored() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+        given(requestBody.buffer()).willReturn(Buffer.buffer("{\"puts\":[{\"type\":\"html\"}]}"));
+        given(embeddedCacheStore.put(any())).willThrow(new PreBidException("Invalid type"));
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(400);
+        verify(httpResponse).end("Invalid type");
+    }
+
+    @Test
+    public void shouldRespondWithBadRequestWhenBodyIsInvalid() {
+        // given
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+        given(requestBody.buffer()).willReturn(Buffer.buffer("invalid"));
+
+        // when
+        target.handle(routingContext);
+
+        // then
+        verifyNoInteractions(embeddedCacheStore);
+        verify(httpResponse).setStatusCode(400);
+        verify(httpResponse).end("Failed to parse request body");
+    }
+}
@@ -0,0 +1,101 @@
+package org.prebid.server.hooks.execution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.hooks.execution.model.HookId;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class HookLatencyBudgetTest {
+
+    private static final HookId HOOK_ID = HookId.of("module", "hook");
+
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    private HookLatencyBudget target;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+
+        target = new HookLatencyBudget(10_000L, 100, 3, 0.5, 5_000L, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidPercentile() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new HookLatencyBudget(10_000L, 100, 3, 1.5, 5_000L, clock))
+                .withMessage("Percentile must be in range (0, 1]");
+    }
+
+    @Test
+    public void skipReasonShouldReturnNullForUnknownHook() {
+        // when and then
+        assertThat(target.skipReason(HOOK_ID, 10L)).isNull();
+    }
+
+    @Test
+    public void skipReasonShouldReturnNullWhenThereAreNotEnoughSamples() {
+        // given
+        givenLatencies(100L, 100L);
+
+        // when and then
+        assertThat(target.skipReason(HOOK_ID, 10L)).isNull();
+    }
+
+    @Test
+    public void skipReasonShouldReturnNullWhenTailLatencyFitsRemainingTime() {
+        // given
+        givenLatencies(5L, 5L, 100L);
+
+        // when and then
+        assertThat(target.skipReason(HOOK_ID, 10L)).isNull();
+    }
+
+    @Test
+    public void skipReasonShouldAdmitSingleProbePerProbePeriodWhenTailLatencyExceedsRemainingTime() {
+        // given
+        givenLatencies(5L, 100L, 100L);
+
+        // when
+        final String probe = target.skipReason(HOOK_ID, 10L);
+        final String skip = target.skipReason(HOOK_ID, 10L);
+        given(clock.millis()).willReturn(5_000L);
+        final String nextProbe = target.skipReason(HOOK_ID, 10L);
+
+        // then
+        assertThat(probe).isNull();
+        assertThat(skip).isEqualTo("Hook has been skipped: its recent latency of 100ms exceeds remaining time of 10ms");
+        assertThat(nextProbe).isNull();
+    }
+
+    @Test
+    public void skipReasonShouldIgnoreLatenciesOutsideOfWindow() {
+        // given
+        givenLatencies(100L, 100L, 100L);
+        target.skipReason(HOOK_ID, 10L);
+
+        // when
+        given(clock.millis()).willReturn(10_000L);
+
+        // then
+        assertThat(target.skipReason(HOOK_ID, 10L)).isNull();
+        assertThat(target.skipReason(HOOK_ID, 10L)).isNull();
+    }
+
+    private void givenLatencies(long... latencies) {
+        for (long latency : latencies) {
+            target.recordLatency(HOOK_ID, latency);
+        }
+    }
+}
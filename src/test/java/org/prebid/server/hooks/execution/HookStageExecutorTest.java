@@ -1,6 +1,7 @@
 package org.prebid.server.hooks.execution;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.User;
@@ -59,6 +60,8 @@ import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
 import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
 import org.prebid.server.hooks.execution.v1.entrypoint.EntrypointPayloadImpl;
 import org.prebid.server.hooks.execution.v1.exitpoint.ExitpointPayloadImpl;
+import org.prebid.server.hooks.v1.BidRequestField;
+import org.prebid.server.hooks.v1.BidRequestPayloadUpdate;
 import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationContext;
 import org.prebid.server.hooks.v1.InvocationResult;
@@ -88,9 +91,11 @@ import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountHooksConfiguration;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -110,9 +115,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -127,12 +136,14 @@ public class HookStageExecutorTest extends VertxTest {
     private HookCatalog hookCatalog;
     private TimeoutFactory timeoutFactory;
     private Vertx vertx;
+    private TimingWheel timingWheel;
     private Clock clock;
 
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
         clock = Clock.systemUTC();
+        timingWheel = new TimingWheel(vertx, Ticker.systemTicker(), 10L, 512);
         timeoutFactory = new TimeoutFactory(Clock.fixed(clock.instant(), ZoneOffset.UTC));
     }
 
@@ -451,10 +462,12 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-alpha", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
                 clock,
                 jacksonMapper,
-                false);
+                false,
+                10000,
+                null);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
 
@@ -1281,6 +1294,65 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldExecuteRawAuctionRequestHooksWhenAccountExecutionPlanChanges(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookStageExecutor executor = createExecutor(null);
+
+        final Account account = givenAccountWithExecutionPlan("module-alpha", "hook-a");
+        final Account sameAccount = givenAccountWithExecutionPlan("module-alpha", "hook-a");
+        final Account changedAccount = givenAccountWithExecutionPlan("module-beta", "hook-b");
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor
+                .executeRawAuctionRequestStage(givenAuctionContext(account))
+                .compose(ignored -> executor.executeRawAuctionRequestStage(givenAuctionContext(sameAccount)))
+                .compose(ignored -> executor.executeRawAuctionRequestStage(givenAuctionContext(changedAccount)));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hookImpl, times(3)).call(any(), any());
+            verify(hookCatalog, times(2))
+                    .hookById(eqHook("module-alpha", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+            verify(hookCatalog)
+                    .hookById(eqHook("module-beta", "hook-b"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldNotCompileAccountExecutionPlanAgainForTheSameHooksConfiguration(VertxTestContext context) {
+        // given
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+
+        final HookStageExecutor executor = createExecutor(null);
+
+        final Account givenAccount = givenAccountWithExecutionPlan("module-alpha", "hook-a");
+        final AccountHooksConfiguration hooksConfiguration = spy(givenAccount.getHooks());
+        final Account account = givenAccount.toBuilder().hooks(hooksConfiguration).build();
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor
+                .executeRawAuctionRequestStage(givenAuctionContext(account))
+                .onSuccess(ignored -> clearInvocations(hooksConfiguration))
+                .compose(ignored -> executor.executeRawAuctionRequestStage(givenAuctionContext(account)));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hooksConfiguration, never()).getExecutionPlan();
+            verify(hooksConfiguration, never()).getAdmin();
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteRawAuctionRequestHooksToleratingUnknownHookInAccountPlan(VertxTestContext context) {
         // given
@@ -1425,10 +1497,12 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-epsilon", true, "module-zeta", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
                 clock,
                 jacksonMapper,
-                false);
+                false,
+                10000,
+                null);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
 
@@ -1542,10 +1616,12 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-epsilon", true, "module-zeta", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
                 clock,
                 jacksonMapper,
-                true);
+                true,
+                10000,
+                null);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
 
@@ -1663,6 +1739,123 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldSkipRawAuctionRequestHookWhenItExceedsLatencyBudget(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookLatencyBudget latencyBudget = mock(HookLatencyBudget.class);
+        given(latencyBudget.skipReason(eq(HookId.of("module-alpha", "hook-a")), eq(200L)))
+                .willReturn("Hook is slow");
+
+        final HookStageExecutor executor = HookStageExecutor.create(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.raw_auction_request,
+                                execPlanOneGroupOneHook("module-alpha", "hook-a"))))),
+                null,
+                Collections.emptyMap(),
+                hookCatalog,
+                timeoutFactory,
+                timingWheel,
+                clock,
+                jacksonMapper,
+                false,
+                10000,
+                latencyBudget);
+
+        final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor.executeRawAuctionRequestStage(
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .hookExecutionContext(hookExecutionContext)
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hookImpl, never()).call(any(), any());
+            verify(latencyBudget, never()).recordLatency(any(), anyLong());
+
+            assertThat(hookExecutionContext.getStageOutcomes().get(Stage.raw_auction_request))
+                    .flatExtracting(StageExecutionOutcome::getGroups)
+                    .flatExtracting(GroupExecutionOutcome::getHooks)
+                    .extracting(
+                            HookExecutionOutcome::getStatus,
+                            HookExecutionOutcome::getAction,
+                            HookExecutionOutcome::getMessage)
+                    .containsExactly(tuple(ExecutionStatus.skipped, ExecutionAction.no_invocation, "Hook is slow"));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldCheckLatencyBudgetOfHookRightBeforeItsInvocation(VertxTestContext context) {
+        // given
+        final List<String> events = new ArrayList<>();
+        givenRawAuctionRequestHook("module-alpha", "hook-a", (payload, invocationContext) -> {
+            final Promise<InvocationResult<AuctionRequestPayload>> promise = Promise.promise();
+            vertx.setTimer(20, timerId -> {
+                events.add("hook-a completed");
+                promise.complete(InvocationResultUtils.noAction());
+            });
+            return promise.future();
+        });
+        givenRawAuctionRequestHook("module-alpha", "hook-b", immediateHook(InvocationResultUtils.noAction()));
+
+        final HookLatencyBudget latencyBudget = mock(HookLatencyBudget.class);
+        given(latencyBudget.skipReason(any(), anyLong())).willAnswer(invocation -> {
+            events.add("budget checked for " + invocation.<HookId>getArgument(0).getHookImplCode());
+            return null;
+        });
+
+        final StageExecutionPlan stageExecutionPlan = StageExecutionPlan.of(asList(
+                ExecutionGroup.of(200L, singletonList(HookId.of("module-alpha", "hook-a"))),
+                ExecutionGroup.of(200L, singletonList(HookId.of("module-alpha", "hook-b")))));
+
+        final HookStageExecutor executor = HookStageExecutor.create(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.raw_auction_request,
+                                stageExecutionPlan)))),
+                null,
+                Collections.emptyMap(),
+                hookCatalog,
+                timeoutFactory,
+                timingWheel,
+                clock,
+                jacksonMapper,
+                false,
+                10000,
+                latencyBudget);
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor.executeRawAuctionRequestStage(
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(events).containsExactly(
+                    "budget checked for hook-a", "hook-a completed", "budget checked for hook-b");
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteRawAuctionRequestHooksAndPassAuctionInvocationContext(VertxTestContext context) {
         // given
@@ -1936,6 +2129,58 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldExecuteProcessedAuctionRequestHooksApplyingBidRequestChangesInOrder(VertxTestContext context) {
+        // given
+        givenProcessedAuctionRequestHook(
+                "module-alpha",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(
+                        auctionRequestUpdate().set(BidRequestField.TMAX, 1000L))));
+
+        givenProcessedAuctionRequestHook(
+                "module-beta",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(
+                        auctionRequestUpdate().update(BidRequestField.TMAX, tmax -> tmax + 1))));
+
+        givenProcessedAuctionRequestHook(
+                "module-beta",
+                "hook-b",
+                immediateHook(InvocationResultUtils.succeeded(payload -> AuctionRequestPayloadImpl.of(
+                        payload.bidRequest().toBuilder().id("id").build()))));
+
+        givenProcessedAuctionRequestHook(
+                "module-alpha",
+                "hook-b",
+                immediateHook(InvocationResultUtils.succeeded(
+                        auctionRequestUpdate().update(BidRequestField.TMAX, tmax -> tmax * 2))));
+
+        final HookStageExecutor executor = createExecutor(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.processed_auction_request,
+                                execPlanTwoGroupsTwoHooksEach())))));
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future =
+                executor.executeProcessedAuctionRequestStage(AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(result.getPayload().bidRequest())
+                    .isEqualTo(BidRequest.builder().id("id").tmax(2002L).build());
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteProcessedAuctionRequestHooksAndPassAuctionInvocationContext(VertxTestContext context) {
         // given
@@ -3252,6 +3497,32 @@ public class HookStageExecutorTest extends VertxTest {
                 ABTest.builder().enabled(true).build());
     }
 
+    private Account givenAccountWithExecutionPlan(String moduleCode, String hookCode) {
+        final ExecutionPlan accountPlan = ExecutionPlan.of(emptyList(), singletonMap(
+                Endpoint.openrtb2_auction,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_auction_request,
+                        execPlanOneGroupOneHook(moduleCode, hookCode)))));
+
+        return Account.builder()
+                .id("accountId")
+                .hooks(AccountHooksConfiguration.of(accountPlan, null, null))
+                .build();
+    }
+
+    private static AuctionContext givenAuctionContext(Account account) {
+        return AuctionContext.builder()
+                .bidRequest(BidRequest.builder().build())
+                .account(account)
+                .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                .debugContext(DebugContext.empty())
+                .build();
+    }
+
+    private static BidRequestPayloadUpdate<AuctionRequestPayload> auctionRequestUpdate() {
+        return BidRequestPayloadUpdate.of(AuctionRequestPayload::bidRequest, AuctionRequestPayloadImpl::of);
+    }
+
     private String executionPlan(Map<Endpoint, EndpointExecutionPlan> endpoints) {
         return jacksonMapper.encodeToString(ExecutionPlan.of(null, endpoints));
     }
@@ -3418,10 +3689,12 @@ public class HookStageExecutorTest extends VertxTest {
                 Collections.emptyMap(),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
                 clock,
                 jacksonMapper,
-                false);
+                false,
+                10000,
+                null);
     }
 
     @Value(staticConstructor = "of")
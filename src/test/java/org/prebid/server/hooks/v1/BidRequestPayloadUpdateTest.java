@@ -0,0 +1,166 @@
+package org.prebid.server.hooks.v1;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Geo;
+import com.iab.openrtb.request.Imp;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
+import org.prebid.server.hooks.v1.bidder.BidderRequestPayload;
+import org.prebid.server.util.ListUtil;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BidRequestPayloadUpdateTest {
+
+    private static final BidRequestField<String> DEVICE_UA = BidRequestField.DEVICE.nested(
+            "ua",
+            Device::getUa,
+            (device, ua) -> (device != null ? device.toBuilder() : Device.builder()).ua(ua).build());
+
+    private static final BidRequestField<Geo> DEVICE_GEO = BidRequestField.DEVICE.nested(
+            "geo",
+            Device::getGeo,
+            (device, geo) -> (device != null ? device.toBuilder() : Device.builder()).geo(geo).build());
+
+    private static final BidRequestField<String> DEVICE_GEO_COUNTRY = DEVICE_GEO.nested(
+            "country",
+            Geo::getCountry,
+            (geo, country) -> (geo != null ? geo.toBuilder() : Geo.builder()).country(country).build());
+
+    @Test
+    public void applyShouldChangeFieldsOfBidRequest() {
+        // given
+        final BidRequestPayloadUpdate<AuctionRequestPayload> update = auctionRequestUpdate()
+                .set(BidRequestField.TMAX, 500L)
+                .update(BidRequestField.BCAT, bcat -> ListUtil.union(bcat, List.of("IAB2")));
+
+        // when
+        final AuctionRequestPayload result = update.apply(AuctionRequestPayloadImpl.of(
+                BidRequest.builder().id("id").bcat(List.of("IAB1")).build()));
+
+        // then
+        assertThat(result.bidRequest()).isEqualTo(BidRequest.builder()
+                .id("id")
+                .tmax(500L)
+                .bcat(List.of("IAB1", "IAB2"))
+                .build());
+    }
+
+    @Test
+    public void updateShouldReturnNewUpdateLeavingOriginalUnchanged() {
+        // given
+        final BidRequestPayloadUpdate<BidderRequestPayload> original = bidderRequestUpdate()
+                .set(BidRequestField.ID, "updated");
+
+        // when
+        final BidRequestPayloadUpdate<BidderRequestPayload> extended = original.set(BidRequestField.TEST, 1);
+
+        // then
+        final BidderRequestPayload payload = BidderRequestPayloadImpl.of(BidRequest.builder().build());
+        assertThat(original.apply(payload).bidRequest()).isEqualTo(BidRequest.builder().id("updated").build());
+        assertThat(extended.apply(payload).bidRequest())
+                .isEqualTo(BidRequest.builder().id("updated").test(1).build());
+    }
+
+    @Test
+    public void applyShouldChangeNestedFieldsKeepingOtherFieldsOfTheirParents() {
+        // given
+        final BidRequestPayloadUpdate<AuctionRequestPayload> update = auctionRequestUpdate()
+                .update(DEVICE_UA, ua -> ua + " updated")
+                .set(DEVICE_GEO_COUNTRY, "UKR");
+
+        // when
+        final AuctionRequestPayload result = update.apply(AuctionRequestPayloadImpl.of(BidRequest.builder()
+                .device(Device.builder().ua("ua").ip("ip").geo(Geo.builder().city("city").build()).build())
+                .build()));
+
+        // then
+        assertThat(result.bidRequest().getDevice()).isEqualTo(Device.builder()
+                .ua("ua updated")
+                .ip("ip")
+                .geo(Geo.builder().city("city").country("UKR").build())
+                .build());
+    }
+
+    @Test
+    public void applyShouldCreateAbsentParentsOfNestedField() {
+        // given
+        final BidRequestPayloadUpdate<AuctionRequestPayload> update = auctionRequestUpdate()
+                .update(DEVICE_GEO_COUNTRY, country -> country == null ? "UKR" : country);
+
+        // when
+        final AuctionRequestPayload result = update.apply(AuctionRequestPayloadImpl.of(BidRequest.builder().build()));
+
+        // then
+        assertThat(result.bidRequest().getDevice())
+                .isEqualTo(Device.builder().geo(Geo.builder().country("UKR").build()).build());
+    }
+
+    @Test
+    public void changesShouldPassLatestFieldValueToEachUpdate() {
+        // given
+        final AuctionRequestPayload payload = AuctionRequestPayloadImpl.of(BidRequest.builder()
+                .imp(List.of(Imp.builder().id("1").build()))
+                .build());
+        final BidRequestPayloadUpdate.Changes<AuctionRequestPayload> changes =
+                auctionRequestUpdate().changesOf(payload);
+
+        // when
+        changes.add(auctionRequestUpdate()
+                .update(BidRequestField.IMP, imps -> ListUtil.union(imps, List.of(Imp.builder().id("2").build()))));
+        changes.add(auctionRequestUpdate()
+                .update(BidRequestField.IMP, imps -> ListUtil.union(imps, List.of(Imp.builder().id("3").build()))));
+
+        // then
+        assertThat(changes.toPayload().bidRequest().getImp())
+                .extracting(Imp::getId)
+                .containsExactly("1", "2", "3");
+    }
+
+    @Test
+    public void changesShouldPassLatestParentValueToNestedFieldUpdate() {
+        // given
+        final AuctionRequestPayload payload = AuctionRequestPayloadImpl.of(BidRequest.builder().build());
+        final BidRequestPayloadUpdate.Changes<AuctionRequestPayload> changes =
+                auctionRequestUpdate().changesOf(payload);
+
+        // when
+        changes.add(auctionRequestUpdate().set(BidRequestField.DEVICE, Device.builder().ua("ua").build()));
+        changes.add(auctionRequestUpdate().update(DEVICE_UA, ua -> ua + " updated"));
+
+        // then
+        assertThat(changes.toPayload().bidRequest().getDevice())
+                .isEqualTo(Device.builder().ua("ua updated").build());
+    }
+
+    @Test
+    public void changesShouldNotAddAnyChangeOfFailedUpdate() {
+        // given
+        final AuctionRequestPayload payload = AuctionRequestPayloadImpl.of(BidRequest.builder().build());
+        final BidRequestPayloadUpdate.Changes<AuctionRequestPayload> changes =
+                auctionRequestUpdate().changesOf(payload);
+
+        // when
+        assertThatThrownBy(() -> changes.add(auctionRequestUpdate()
+                .set(BidRequestField.ID, "id")
+                .update(BidRequestField.TMAX, tmax -> tmax + 1)))
+                .isInstanceOf(NullPointerException.class);
+
+        // then
+        assertThat(changes.toPayload()).isSameAs(payload);
+    }
+
+    private static BidRequestPayloadUpdate<AuctionRequestPayload> auctionRequestUpdate() {
+        return BidRequestPayloadUpdate.of(AuctionRequestPayload::bidRequest, AuctionRequestPayloadImpl::of);
+    }
+
+    private static BidRequestPayloadUpdate<BidderRequestPayload> bidderRequestUpdate() {
+        return BidRequestPayloadUpdate.of(BidderRequestPayload::bidRequest, BidderRequestPayloadImpl::of);
+    }
+}
@@ -0,0 +1,48 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountMetricsTest {
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+    }
+
+    @Test
+    public void removeAllShouldRemoveOnlyMetricsOfThisAccount() {
+        // given
+        final AccountMetrics accountMetrics = new AccountMetrics(metricRegistry, CounterType.counter, "foo");
+        final AccountMetrics otherAccountMetrics = new AccountMetrics(metricRegistry, CounterType.counter, "foo.bar");
+        accountMetrics.incCounter(MetricName.requests);
+        accountMetrics.adapter().forAdapter("rubicon").updateTimer(MetricName.request_time, 10L);
+        otherAccountMetrics.incCounter(MetricName.requests);
+
+        // when
+        accountMetrics.removeAll();
+
+        // then
+        assertThat(metricRegistry.getNames()).containsExactly("account.foo.bar.requests");
+    }
+
+    @Test
+    public void removeAllShouldPreventRegistrationOfMetricsUpdatedAfterward() {
+        // given
+        final AccountMetrics accountMetrics = new AccountMetrics(metricRegistry, CounterType.flushingCounter, "foo");
+        accountMetrics.incCounter(MetricName.requests);
+
+        // when
+        accountMetrics.removeAll();
+        accountMetrics.incCounter(MetricName.requests);
+        accountMetrics.requests().incCounter(MetricName.rejected_by_invalid_account);
+
+        // then
+        assertThat(metricRegistry.getNames()).isEmpty();
+    }
+}
@@ -6,6 +6,10 @@ import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountMetricsConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,4 +49,78 @@ public class AccountMetricsVerbosityResolverTest {
         // when and then
         assertThat(verbosity.forAccount(account)).isEqualTo(AccountMetricsVerbosityLevel.basic);
     }
+
+    @Test
+    public void metricsAccountIdShouldReturnAccountIdIfTopAccountsTrackingIsDisabled() {
+        assertThat(verbosity.metricsAccountId("3")).isEqualTo("3");
+    }
+
+    @Test
+    public void metricsAccountIdShouldFoldAccountsOutsideTopIntoOtherBucket() {
+        // given
+        verbosity = new AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel.detailed, singletonList("1"),
+                emptyList(), new TopAccountsTracker(1, 2, 100));
+
+        // when
+        verbosity.recordAccountRequest("3");
+        verbosity.recordAccountRequest("4");
+
+        // then
+        assertThat(verbosity.metricsAccountId("3")).isEqualTo("3");
+        assertThat(verbosity.metricsAccountId("4")).isEqualTo(AccountMetricsVerbosityResolver.OTHER_ACCOUNTS);
+        assertThat(verbosity.metricsAccountId("1")).isEqualTo("1");
+    }
+
+    @Test
+    public void metricsAccountIdShouldNotMergeAccountNamedAsOtherBucketIntoIt() {
+        // given
+        verbosity = new AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel.detailed, emptyList(),
+                emptyList(), new TopAccountsTracker(2, 4, 100));
+        final List<String> evictedAccounts = new ArrayList<>();
+        verbosity.setAccountEvictionListener(evictedAccounts::add);
+
+        // when
+        verbosity.recordAccountRequest(AccountMetricsVerbosityResolver.OTHER_ACCOUNTS);
+        verbosity.recordAccountRequest("other");
+
+        // then
+        assertThat(verbosity.metricsAccountId(AccountMetricsVerbosityResolver.OTHER_ACCOUNTS)).isEqualTo("~~other");
+        assertThat(verbosity.metricsAccountId("other")).isEqualTo("other");
+        assertThat(verbosity.metricsAccountId("3")).isEqualTo(AccountMetricsVerbosityResolver.OTHER_ACCOUNTS);
+    }
+
+    @Test
+    public void accountEvictionListenerShouldBeNotifiedWithMetricsAccountId() {
+        // given
+        verbosity = new AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel.detailed, emptyList(),
+                emptyList(), new TopAccountsTracker(1, 2, 3));
+        final List<String> evictedAccounts = new ArrayList<>();
+        verbosity.setAccountEvictionListener(evictedAccounts::add);
+
+        // when
+        verbosity.recordAccountRequest("~1");
+        verbosity.recordAccountRequest("2");
+        verbosity.recordAccountRequest("2");
+
+        // then
+        assertThat(evictedAccounts).containsExactly("~~1");
+    }
+
+    @Test
+    public void accountEvictionListenerShouldNotBeNotifiedAboutConfiguredAccounts() {
+        // given
+        verbosity = new AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel.detailed, singletonList("1"),
+                emptyList(), new TopAccountsTracker(1, 2, 3));
+        final List<String> evictedAccounts = new ArrayList<>();
+        verbosity.setAccountEvictionListener(evictedAccounts::add);
+
+        // when
+        verbosity.recordAccountRequest("1");
+        verbosity.recordAccountRequest("2");
+        verbosity.recordAccountRequest("2");
+
+        // then
+        assertThat(verbosity.metricsAccountId("2")).isEqualTo("2");
+        assertThat(evictedAccounts).isEmpty();
+    }
 }
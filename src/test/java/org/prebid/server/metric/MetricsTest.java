@@ -64,6 +64,8 @@ public class MetricsTest {
     public void setUp() {
         metricRegistry = new MetricRegistry();
         given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.detailed);
+        given(accountMetricsVerbosityResolver.metricsAccountId(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
 
         metrics = new Metrics(metricRegistry, CounterType.counter, accountMetricsVerbosityResolver);
     }
@@ -481,6 +483,34 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("analytics.analyticCode.setuid.badinput").getCount()).isOne();
     }
 
+    @Test
+    public void updateAnalyticEventDroppedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateAnalyticEventDroppedMetric(ANALYTIC_CODE);
+
+        // then
+        assertThat(metricRegistry.counter("analytics.analyticCode.dropped").getCount()).isOne();
+    }
+
+    @Test
+    public void updateAnalyticsTransportMetricShouldIncrementMetric() {
+        // when
+        metrics.updateAnalyticsTransportMetric(ANALYTIC_CODE, MetricName.spilled);
+
+        // then
+        assertThat(metricRegistry.counter("analytics.analyticCode.transport.spilled").getCount()).isOne();
+    }
+
+    @Test
+    public void shouldCreateAnalyticsQueueSizeGaugeMetric() {
+        // when
+        metrics.createAnalyticsQueueSizeGauge(ANALYTIC_CODE, () -> 5L);
+
+        // then
+        assertThat(metricRegistry.gauge("analytics.analyticCode.queue_size", () -> null).getValue())
+                .isEqualTo(5L);
+    }
+
     @Test
     public void updateFetchWithFetchResultShouldCreateMetricsAsExpected() {
         // when
@@ -937,6 +967,28 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.tcf.invalid").getCount()).isOne();
     }
 
+    @Test
+    public void updatePrivacyTcfConsentCacheMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyTcfConsentCacheHitMetric();
+        metrics.updatePrivacyTcfConsentCacheMissMetric();
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.consent-cache.hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.tcf.consent-cache.miss").getCount()).isOne();
+    }
+
+    @Test
+    public void updatePrivacyGppModelCacheMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyGppModelCacheHitMetric();
+        metrics.updatePrivacyGppModelCacheMissMetric();
+
+        // then
+        assertThat(metricRegistry.counter("privacy.gpp.model-cache.hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.gpp.model-cache.miss").getCount()).isOne();
+    }
+
     @Test
     public void updatePrivacyTcfRequestsMetricShouldIncrementMetric() {
         // when
@@ -1026,6 +1078,48 @@ public class MetricsTest {
                 "account.accountId.adapter.rubicon.requests.disabled_bidder").getCount()).isZero();
     }
 
+    @Test
+    public void shouldUpdateAccountMetricsUnderAccountIdReturnedByResolver() {
+        // given
+        given(accountMetricsVerbosityResolver.metricsAccountId(any()))
+                .willReturn(AccountMetricsVerbosityResolver.OTHER_ACCOUNTS);
+
+        // when
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+        metrics.updateAccountRequestRejectedByInvalidAccountMetrics(ACCOUNT_ID_1);
+
+        // then
+        verify(accountMetricsVerbosityResolver).recordAccountRequest(ACCOUNT_ID);
+        assertThat(metricRegistry.counter("account.~other.requests").getCount()).isOne();
+        assertThat(metricRegistry.counter("account.~other.requests.rejected.invalid-account").getCount()).isOne();
+        assertThat(metricRegistry.getMetrics()).doesNotContainKeys(
+                "account.accountId.requests",
+                "account.accountId1.requests.rejected.invalid-account");
+    }
+
+    @Test
+    public void shouldRemoveAccountMetricsWhenAccountLeavesTopAccounts() {
+        // given
+        metrics = new Metrics(
+                metricRegistry,
+                CounterType.counter,
+                new AccountMetricsVerbosityResolver(
+                        AccountMetricsVerbosityLevel.basic,
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        new TopAccountsTracker(1, 2, 3)));
+
+        // when
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID), MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID_1), MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics(Account.empty(ACCOUNT_ID_1), MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.getMetrics()).doesNotContainKey("account.accountId.requests");
+        assertThat(metricRegistry.counter("account.accountId1.requests").getCount()).isOne();
+        assertThat(metricRegistry.counter("account.~other.requests").getCount()).isOne();
+    }
+
     @Test
     public void shouldUpdateAccountRequestsMetricOnlyIfVerbosityIsBasic() {
         // given
@@ -1436,6 +1530,37 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateHooksMetricsShouldIncrementSkippedMetricForSkippedHook() {
+        // when
+        metrics.updateHooksMetrics(
+                "module1",
+                Stage.raw_auction_request,
+                "hook1",
+                ExecutionStatus.skipped,
+                0L,
+                ExecutionAction.no_invocation);
+
+        // then
+        assertThat(metricRegistry.counter("modules.module.module1.stage.rawauction.hook.hook1.skipped").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.getNames())
+                .containsExactly("modules.module.module1.stage.rawauction.hook.hook1.skipped");
+    }
+
+    @Test
+    public void updateAccountHooksMetricsShouldIncrementSkippedMetricForSkippedHook() {
+        // given
+        given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.detailed);
+
+        // when
+        metrics.updateAccountHooksMetrics(
+                Account.empty("accountId"), "module1", ExecutionStatus.skipped, ExecutionAction.no_invocation);
+
+        // then
+        assertThat(metricRegistry.getNames()).containsExactly("account.accountId.modules.module.module1.skipped");
+    }
+
     @Test
     public void updateAccountHooksMetricsShouldNotIncrementMetricsIfVerbosityIsNotAtLeastDetailed() {
         // given
@@ -0,0 +1,112 @@
+package org.prebid.server.metric;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class TopAccountsTrackerTest {
+
+    @Test
+    public void creationShouldFailOnSketchSizeLessThanTopAccountsCount() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TopAccountsTracker(2, 1, 10));
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveSamplingRate() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TopAccountsTracker(1, 2, 10, 0));
+    }
+
+    @Test
+    public void recordShouldSkipRequestsNotInSample() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(1, 2, 10, Integer.MAX_VALUE);
+
+        // when
+        tracker.record("1");
+
+        // then
+        assertThat(tracker.isTop("1")).isFalse();
+    }
+
+    @Test
+    public void isTopShouldReturnFalseForUnknownAccount() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(1, 2, 10);
+
+        // when and then
+        assertThat(tracker.isTop("1")).isFalse();
+    }
+
+    @Test
+    public void recordShouldAdmitAccountsWhileTopIsNotFull() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(2, 4, 10);
+
+        // when
+        tracker.record("1");
+        tracker.record("2");
+        tracker.record("3");
+
+        // then
+        assertThat(tracker.isTop("1")).isTrue();
+        assertThat(tracker.isTop("2")).isTrue();
+        assertThat(tracker.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void recordShouldReplaceTopAccountsWithHeavierOnesOnRefresh() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(1, 2, 4);
+        final List<String> evictedAccounts = new ArrayList<>();
+        tracker.setEvictionListener(evictedAccounts::add);
+
+        // when
+        tracker.record("1");
+        tracker.record("2");
+        tracker.record("2");
+        tracker.record("2");
+
+        // then
+        assertThat(tracker.isTop("1")).isFalse();
+        assertThat(tracker.isTop("2")).isTrue();
+        assertThat(evictedAccounts).containsExactly("1");
+    }
+
+    @Test
+    public void recordShouldKeepHeavyAccountWhenSketchIsOverflowedByRareAccounts() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(1, 3, 20);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            tracker.record("heavy");
+            tracker.record("rare" + i);
+        }
+
+        // then
+        assertThat(tracker.isTop("heavy")).isTrue();
+        assertThat(tracker.isTop("rare9")).isFalse();
+    }
+
+    @Test
+    public void recordShouldAdaptToTrafficChangesOverTime() {
+        // given
+        final TopAccountsTracker tracker = new TopAccountsTracker(1, 2, 10);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            tracker.record("1");
+        }
+        for (int i = 0; i < 20; i++) {
+            tracker.record("2");
+        }
+
+        // then
+        assertThat(tracker.isTop("1")).isFalse();
+        assertThat(tracker.isTop("2")).isTrue();
+    }
+}
@@ -1,6 +1,7 @@
 package org.prebid.server.privacy.gdpr;
 
 import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.BitSetIntIterable;
 import io.vertx.core.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -115,6 +116,10 @@ public class Tcf2ServiceTest extends VertxTest {
         specialFeaturesStrategies = singletonList(specialFeaturesStrategyOne);
 
         given(tcString.getVendorListVersion()).willReturn(10);
+        given(tcString.getVendorConsent()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getVendorLegitimateInterest()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPurposesConsent()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPurposesLITransparency()).willReturn(BitSetIntIterable.EMPTY);
         given(vendorIdResolver.resolve(anyString())).willReturn(null);
 
         initTcf2Service(PurposeOneTreatmentInterpretation.ignore);
@@ -205,11 +210,11 @@ public class Tcf2ServiceTest extends VertxTest {
                 purpose7.getVendorExceptions(),
                 purpose7.getEid());
         final List<VendorPermissionWithGvl> permissionsWithGvl = singletonList(withGvl(expectedVendorPermission, 1));
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, permissionsWithGvl, true);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, permissionsWithGvl, true);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, permissionsWithGvl, true);
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), eq(purpose1), eq(permissionsWithGvl), eq(true));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), eq(purpose2), eq(permissionsWithGvl), eq(true));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), eq(purpose4), eq(permissionsWithGvl), eq(true));
         verify(purposeStrategySeven)
-                .processTypePurposeStrategy(tcString, downgradedPurpose7, permissionsWithGvl, true);
+                .processTypePurposeStrategy(any(), eq(downgradedPurpose7), eq(permissionsWithGvl), eq(true));
         verifyEachSpecialFeatureStrategyReceive(singletonList(expectedVendorPermission));
 
         verify(vendorListService).forConsent(any());
@@ -232,10 +237,10 @@ public class Tcf2ServiceTest extends VertxTest {
         assertThat(result).succeededWith(singletonList(expectedVendorPermission));
 
         verify(purposeStrategyOne).processTypePurposeStrategy(
-                tcString,
-                accountPurposeOne,
-                singletonList(withGvl(expectedVendorPermission, null)),
-                false);
+                any(),
+                eq(accountPurposeOne),
+                eq(singletonList(withGvl(expectedVendorPermission, null))),
+                eq(false));
 
         verify(vendorIdResolver).resolve(anyString());
         verify(vendorListService).forConsent(argThat(tcString -> tcString.getVendorListVersion() == 10));
@@ -577,17 +582,17 @@ public class Tcf2ServiceTest extends VertxTest {
     }
 
     public void verifyEachPurposeStrategyReceive(List<VendorPermissionWithGvl> permissions) {
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, permissions, false);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, permissions, false);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, permissions, false);
-        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, purpose7, permissions, false);
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), eq(purpose1), eq(permissions), eq(false));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), eq(purpose2), eq(permissions), eq(false));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), eq(purpose4), eq(permissions), eq(false));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), eq(purpose7), eq(permissions), eq(false));
     }
 
     public void verifyEachPurposeStrategyReceiveWeak(List<VendorPermissionWithGvl> permissions) {
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, weakPurpose1, permissions, true);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, weakPurpose2, permissions, true);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, weakPurpose4, permissions, true);
-        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, weakPurpose7, permissions, true);
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), eq(weakPurpose1), eq(permissions), eq(true));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), eq(weakPurpose2), eq(permissions), eq(true));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), eq(weakPurpose4), eq(permissions), eq(true));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), eq(weakPurpose7), eq(permissions), eq(true));
     }
 
     public void verifyEachSpecialFeatureStrategyReceive(List<VendorPermission> vendorPermission) {
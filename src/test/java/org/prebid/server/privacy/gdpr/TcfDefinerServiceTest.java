@@ -17,6 +17,7 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
+import org.prebid.server.privacy.gdpr.model.TCStringSnapshot;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.gdpr.model.TcfResponse;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
@@ -46,6 +47,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
@@ -86,7 +88,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
     }
 
     @Test
@@ -101,7 +104,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         // when
         final Future<TcfContext> result = target.resolveTcfContext(
@@ -180,7 +184,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         final AccountGdprConfig accountGdprConfig = AccountGdprConfig.builder()
                 .enabledForRequestType(EnabledForRequestType.of(true, true, true, true, true))
@@ -213,7 +218,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         final String vendorConsent = "BOEFEAyOEFEAyAHABDENAI4AAAB9vABAASA";
 
@@ -246,7 +252,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         final String vendorConsent = TCStringEncoder.newBuilder()
                 .version(2)
@@ -290,7 +297,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         final String vendorConsent = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
 
@@ -316,6 +324,77 @@ public class TcfDefinerServiceTest {
         verify(metrics).updatePrivacyTcfGeoMetric(2, null);
     }
 
+    @Test
+    public void resolveTcfContextShouldReuseDecodedConsentFromCache() {
+        // given
+        final GdprConfig gdprConfig = GdprConfig.builder()
+                .enabled(true)
+                .consentStringMeansInScope(true)
+                .build();
+
+        target = new TcfDefinerService(
+                gdprConfig,
+                singleton(EEA_COUNTRY),
+                tcf2Service,
+                geoLocationServiceWrapper,
+                bidderCatalog,
+                ipAddressHelper,
+                metrics,
+                0.01,
+                10);
+
+        final String vendorConsent = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
+        final Privacy privacy = Privacy.builder().consentString(vendorConsent).build();
+
+        // when
+        final Future<TcfContext> firstResult = target.resolveTcfContext(privacy, null, null, null, null, null);
+        final Future<TcfContext> secondResult = target.resolveTcfContext(privacy, null, null, null, null, null);
+
+        // then
+        final TCString consent = firstResult.result().getConsent();
+        assertThat(consent).isInstanceOf(TCStringSnapshot.class);
+        assertThat(secondResult.result().getConsent()).isSameAs(consent);
+        assertThat(secondResult.result().isConsentValid()).isTrue();
+
+        final TCString decodedConsent = TCString.decode(vendorConsent);
+        assertThat(consent)
+                .extracting(TCString::getVersion, TCString::getVendorListVersion, TCString::getPurposesConsent,
+                        TCString::getVendorConsent, TCString::getPublisherRestrictions)
+                .containsExactly(decodedConsent.getVersion(), decodedConsent.getVendorListVersion(),
+                        decodedConsent.getPurposesConsent(), decodedConsent.getVendorConsent(),
+                        decodedConsent.getPublisherRestrictions());
+
+        verify(metrics).updatePrivacyTcfConsentCacheMissMetric();
+        verify(metrics).updatePrivacyTcfConsentCacheHitMetric();
+        verify(metrics, times(2)).updatePrivacyTcfRequestsMetric(2);
+    }
+
+    @Test
+    public void resolveTcfContextShouldNotCacheInvalidConsent() {
+        // given
+        target = new TcfDefinerService(
+                GdprConfig.builder().enabled(true).consentStringMeansInScope(true).build(),
+                singleton(EEA_COUNTRY),
+                tcf2Service,
+                geoLocationServiceWrapper,
+                bidderCatalog,
+                ipAddressHelper,
+                metrics,
+                0.01,
+                10);
+
+        final Privacy privacy = Privacy.builder().gdpr("1").consentString("invalid").build();
+
+        // when
+        target.resolveTcfContext(privacy, null, null, null, null, null);
+        target.resolveTcfContext(privacy, null, null, null, null, null);
+
+        // then
+        verify(metrics, times(2)).updatePrivacyTcfConsentCacheMissMetric();
+        verify(metrics, never()).updatePrivacyTcfConsentCacheHitMetric();
+        verify(metrics, times(2)).updatePrivacyTcfInvalidMetric();
+    }
+
     @Test
     public void resolveTcfContextShouldUseEeaListFromAccountConfig() {
         // given
@@ -332,7 +411,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         final String vendorConsent = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
 
@@ -452,7 +532,8 @@ public class TcfDefinerServiceTest {
                 bidderCatalog,
                 ipAddressHelper,
                 metrics,
-                0.01);
+                0.01,
+                0);
 
         given(geoLocationServiceWrapper.doLookup(anyString(), any(), any())).willReturn(Future.failedFuture("Bad ip"));
 
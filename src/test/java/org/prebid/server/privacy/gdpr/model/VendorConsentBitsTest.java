@@ -0,0 +1,141 @@
+package org.prebid.server.privacy.gdpr.model;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.BitSetIntIterable;
+import com.iabtcf.v2.PublisherRestriction;
+import com.iabtcf.v2.RestrictionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class VendorConsentBitsTest {
+
+    @Mock(strictness = LENIENT)
+    private TCString tcString;
+
+    @BeforeEach
+    public void setUp() {
+        given(tcString.getVendorConsent()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getVendorLegitimateInterest()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPurposesConsent()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPurposesLITransparency()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPublisherRestrictions()).willReturn(emptyList());
+    }
+
+    @Test
+    public void vendorsOfShouldSkipVendorsWithoutId() {
+        // given
+        final List<VendorPermissionWithGvl> vendorPermissions = asList(
+                withGvl(1, Vendor.empty(1)),
+                withGvl(null, Vendor.empty(null)),
+                withGvl(3, Vendor.empty(3)));
+
+        // when
+        final VendorConsentBits result = VendorConsentBits.of(tcString, vendorPermissions);
+
+        // then
+        assertThat(result.vendorsOf(vendorPermissions)).isEqualTo(bits(1, 3));
+    }
+
+    @Test
+    public void allowedBySimpleConsentShouldReturnVendorsWithVendorConsentWhenVendorsAreEnforced() {
+        // given
+        given(tcString.getPurposesConsent()).willReturn(BitSetIntIterable.from(PurposeCode.TWO.code()));
+        given(tcString.getVendorConsent()).willReturn(BitSetIntIterable.from(1, 7));
+
+        final VendorConsentBits target = VendorConsentBits.of(
+                tcString, asList(withGvl(1, Vendor.empty(1)), withGvl(2, Vendor.empty(2))));
+
+        // when and then
+        assertThat(target.allowedBySimpleConsent(PurposeCode.TWO, bits(1, 2), true)).isEqualTo(bits(1));
+        assertThat(target.allowedBySimpleConsent(PurposeCode.TWO, bits(1, 2), false)).isEqualTo(bits(1, 2));
+        assertThat(target.allowedBySimpleConsent(PurposeCode.THREE, bits(1, 2), false)).isEqualTo(bits());
+    }
+
+    @Test
+    public void allowedByVendorConsentOrLegitimateInterestShouldReturnVendorsWithAnyOfThem() {
+        // given
+        given(tcString.getVendorConsent()).willReturn(BitSetIntIterable.from(1));
+        given(tcString.getVendorLegitimateInterest()).willReturn(BitSetIntIterable.from(2));
+
+        final VendorConsentBits target = VendorConsentBits.of(tcString, asList(
+                withGvl(1, Vendor.empty(1)), withGvl(2, Vendor.empty(2)), withGvl(3, Vendor.empty(3))));
+
+        // when and then
+        assertThat(target.allowedByVendorConsentOrLegitimateInterest(bits(1, 2, 3))).isEqualTo(bits(1, 2));
+    }
+
+    @Test
+    public void restrictedWithShouldPreferNotAllowedAndThenFirstRestriction() {
+        // given
+        final int purposeId = PurposeCode.ONE.code();
+        given(tcString.getPublisherRestrictions()).willReturn(asList(
+                new PublisherRestriction(purposeId, RestrictionType.REQUIRE_CONSENT, BitSetIntIterable.from(1, 2)),
+                new PublisherRestriction(purposeId, RestrictionType.REQUIRE_LEGITIMATE_INTEREST,
+                        BitSetIntIterable.from(2, 3)),
+                new PublisherRestriction(purposeId, RestrictionType.NOT_ALLOWED, BitSetIntIterable.from(1, 100))));
+
+        // when
+        final VendorConsentBits target = VendorConsentBits.of(tcString, asList(
+                withGvl(1, Vendor.empty(1)),
+                withGvl(2, Vendor.empty(2)),
+                withGvl(3, Vendor.empty(3)),
+                withGvl(4, Vendor.empty(4))));
+
+        // then
+        assertThat(target.restrictedWith(PurposeCode.ONE, RestrictionType.NOT_ALLOWED)).isEqualTo(bits(1));
+        assertThat(target.restrictedWith(PurposeCode.ONE, RestrictionType.REQUIRE_CONSENT)).isEqualTo(bits(2));
+        assertThat(target.restrictedWith(PurposeCode.ONE, RestrictionType.REQUIRE_LEGITIMATE_INTEREST))
+                .isEqualTo(bits(3));
+        assertThat(target.restrictedWith(PurposeCode.ONE, RestrictionType.UNDEFINED)).isEqualTo(bits(4));
+        assertThat(target.restrictedWith(PurposeCode.TWO, RestrictionType.UNDEFINED)).isEqualTo(bits(1, 2, 3, 4));
+    }
+
+    @Test
+    public void gvlPurposesShouldReturnVendorsDeclaringPurpose() {
+        // given
+        final Vendor vendorGvl = Vendor.builder()
+                .purposes(EnumSet.of(PurposeCode.ONE))
+                .legIntPurposes(EnumSet.of(PurposeCode.TWO))
+                .flexiblePurposes(EnumSet.of(PurposeCode.TWO))
+                .build();
+
+        // when
+        final VendorConsentBits target = VendorConsentBits.of(
+                tcString, asList(withGvl(1, vendorGvl), withGvl(2, Vendor.empty(2)), withGvl(3, null)));
+
+        // then
+        assertThat(target.gvlPurposes(PurposeCode.ONE)).isEqualTo(bits(1));
+        assertThat(target.gvlLegIntPurposes(PurposeCode.TWO)).isEqualTo(bits(1));
+        assertThat(target.gvlFlexiblePurposes(PurposeCode.TWO)).isEqualTo(bits(1));
+        assertThat(target.gvlPurposes(PurposeCode.TWO)).isEqualTo(bits());
+    }
+
+    private static VendorPermissionWithGvl withGvl(Integer vendorId, Vendor vendor) {
+        return VendorPermissionWithGvl.of(
+                VendorPermission.of(vendorId, null, PrivacyEnforcementAction.restrictAll()), vendor);
+    }
+
+    private static BitSet bits(int... ids) {
+        final BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
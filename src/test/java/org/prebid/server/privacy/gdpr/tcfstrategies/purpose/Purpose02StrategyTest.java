@@ -1,12 +1,12 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose;
 
-import com.iabtcf.decoder.TCString;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorConsentBits;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
@@ -47,7 +47,7 @@ public class Purpose02StrategyTest {
     private Purpose02Strategy target;
 
     @Mock
-    private TCString tcString;
+    private VendorConsentBits consentBits;
 
     @BeforeEach
     public void setUp() {
@@ -103,11 +103,12 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(noEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(noEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(vendorPermissionResult(1, null));
@@ -117,7 +118,7 @@ public class Purpose02StrategyTest {
         verify(noEnforcePurposeStrategy)
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl3),
                         singletonList(vendorPermissionWitGvl2),
                         false);
@@ -139,11 +140,12 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(vendorPermissionResult(1, null));
@@ -153,7 +155,7 @@ public class Purpose02StrategyTest {
         verify(basicEnforcePurposeStrategy)
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl3),
                         singletonList(vendorPermissionWitGvl2),
                         false);
@@ -174,11 +176,12 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2, vendorPermission3));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(vendorPermissionResult(1, "b1"));
@@ -186,7 +189,7 @@ public class Purpose02StrategyTest {
         assertThat(vendorPermission3).isEqualTo(vendorPermissionResult(3, "b3"));
 
         verify(basicEnforcePurposeStrategy)
-                .allowedByTypeStrategy(PURPOSE_CODE, tcString, emptyList(), vendorPermissionsWithGvl, true);
+                .allowedByTypeStrategy(PURPOSE_CODE, consentBits, emptyList(), vendorPermissionsWithGvl, true);
     }
 
     @Test
@@ -204,11 +207,12 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willAnswer(invocation -> Stream.of(vendorPermission1, vendorPermission2, vendorPermission3));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(allVendorPermissionResult(1, "b1"));
@@ -216,7 +220,7 @@ public class Purpose02StrategyTest {
         assertThat(vendorPermission3).isEqualTo(allVendorPermissionResult(3, "b3"));
 
         verify(fullEnforcePurposeStrategy, times(2))
-                .allowedByTypeStrategy(PURPOSE_CODE, tcString, emptyList(), vendorPermissionsWithGvl, true);
+                .allowedByTypeStrategy(PURPOSE_CODE, consentBits, emptyList(), vendorPermissionsWithGvl, true);
     }
 
     @Test
@@ -234,12 +238,13 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2, vendorPermission3))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(allVendorPermissionResult(1, "b1"));
@@ -249,7 +254,7 @@ public class Purpose02StrategyTest {
         verify(fullEnforcePurposeStrategy, times(2))
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         singletonList(vendorPermissionWitGvl3),
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl2),
                         true);
@@ -270,12 +275,13 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(fullEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission3))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, false);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, false);
 
         // then
         assertThat(vendorPermission1).isEqualTo(naturalVendorPermissionResult(1, "b1"));
@@ -285,7 +291,7 @@ public class Purpose02StrategyTest {
         verify(fullEnforcePurposeStrategy, times(2))
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         singletonList(vendorPermissionWitGvl3),
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl2),
                         true);
@@ -306,13 +312,15 @@ public class Purpose02StrategyTest {
                 vendorPermissionWitGvl2,
                 vendorPermissionWitGvl3);
 
-        given(noEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(noEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2, vendorPermission3));
-        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(any(), any(), any(), any(), anyBoolean()))
+        given(basicEnforcePurposeStrategy.allowedByTypeStrategy(
+                any(), any(VendorConsentBits.class), any(), any(), anyBoolean()))
                 .willReturn(Stream.of(vendorPermission1, vendorPermission2));
 
         // when
-        target.processTypePurposeStrategy(tcString, purpose, vendorPermissionsWithGvl, true);
+        target.processTypePurposeStrategy(consentBits, purpose, vendorPermissionsWithGvl, true);
 
         // then
         assertThat(vendorPermission1).isEqualTo(allVendorPermissionResult(1, "b1"));
@@ -322,14 +330,14 @@ public class Purpose02StrategyTest {
         verify(noEnforcePurposeStrategy)
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         singletonList(vendorPermissionWitGvl3),
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl2),
                         true);
         verify(basicEnforcePurposeStrategy)
                 .allowedByTypeStrategy(
                         PURPOSE_CODE,
-                        tcString,
+                        consentBits,
                         singletonList(vendorPermissionWitGvl3),
                         asList(vendorPermissionWitGvl1, vendorPermissionWitGvl2),
                         true);
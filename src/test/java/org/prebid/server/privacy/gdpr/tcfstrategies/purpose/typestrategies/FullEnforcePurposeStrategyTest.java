@@ -31,8 +31,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.spy;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class FullEnforcePurposeStrategyTest {
@@ -186,8 +184,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -213,8 +209,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -240,8 +234,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesConsent);
     }
 
     @Test
@@ -265,9 +257,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(purposesLI);
     }
 
     @Test
@@ -292,9 +281,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verify(allowedVendors).contains(1);
     }
 
     @Test
@@ -319,9 +305,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(purposesLI);
     }
 
     // GVL Legitimate interest Purpose part
@@ -347,8 +330,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -374,8 +355,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -402,8 +381,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesLI);
     }
 
     @Test
@@ -428,9 +405,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
-        verify(allowedVendorsLI).contains(1);
     }
 
     @Test
@@ -456,9 +430,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(allowedVendors);
     }
 
     // Flexible GVL Purpose part
@@ -488,8 +459,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -516,9 +485,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verify(allowedVendors).contains(1);
     }
 
     @Test
@@ -544,8 +510,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesLI);
     }
 
     @Test
@@ -572,9 +536,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesLI);
-        verifyNoInteractions(allowedVendorsLI);
     }
 
     @Test
@@ -601,8 +562,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -656,8 +615,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesConsent);
     }
 
     @Test
@@ -684,9 +641,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesConsent);
-        verifyNoInteractions(allowedVendors);
     }
 
     @Test
@@ -712,8 +666,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -740,9 +692,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
-        verify(allowedVendorsLI).contains(1);
     }
 
     @Test
@@ -769,9 +718,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(allowedVendorsLI).contains(1);
-        verifyNoInteractions(purposesConsent);
     }
 
     @Test
@@ -798,9 +744,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(allowedVendors);
     }
 
     // Flexible GVL Purpose Legitimate interest part
@@ -830,8 +773,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -858,9 +799,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verify(allowedVendors).contains(1);
     }
 
     @Test
@@ -886,8 +824,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesLI);
     }
 
     @Test
@@ -914,9 +850,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesLI);
-        verifyNoInteractions(allowedVendorsLI);
     }
 
     @Test
@@ -943,9 +876,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesConsent).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(allowedVendorsLI);
     }
 
     @Test
@@ -972,9 +902,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(allowedVendors).contains(PURPOSE_CODE.code());
-        verifyNoInteractions(purposesLI);
     }
 
     // Restriction type is REQUIRE_LEGITIMATE_INTEREST part
@@ -1002,8 +929,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesConsent);
     }
 
     @Test
@@ -1030,9 +955,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verifyNoInteractions(purposesConsent);
-        verifyNoInteractions(allowedVendors);
     }
 
     @Test
@@ -1058,8 +980,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
     }
 
     @Test
@@ -1086,9 +1006,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission);
-
-        verify(purposesLI).contains(PURPOSE_CODE.code());
-        verify(allowedVendorsLI).contains(1);
     }
 
     @Test
@@ -1115,9 +1032,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(allowedVendorsLI).contains(1);
-        verifyNoInteractions(purposesConsent);
     }
 
     @Test
@@ -1144,9 +1058,6 @@ public class FullEnforcePurposeStrategyTest {
 
         // then
         assertThat(result).isEmpty();
-
-        verify(purposesLI).contains(1);
-        verifyNoInteractions(allowedVendors);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
 import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.BitSetIntIterable;
 import com.iabtcf.utils.IntIterable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,8 @@ public class NoEnforcePurposeStrategyTest {
     public void setUp() {
         given(tcString.getVendorConsent()).willReturn(allowedVendors);
         given(tcString.getVendorLegitimateInterest()).willReturn(allowedVendorsLI);
+        given(tcString.getPurposesConsent()).willReturn(BitSetIntIterable.EMPTY);
+        given(tcString.getPurposesLITransparency()).willReturn(BitSetIntIterable.EMPTY);
 
         given(allowedVendors.contains(anyInt())).willReturn(false);
         given(allowedVendorsLI.contains(anyInt())).willReturn(false);
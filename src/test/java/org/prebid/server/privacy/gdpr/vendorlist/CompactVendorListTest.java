@@ -0,0 +1,101 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Feature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialFeature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialPurpose;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompactVendorListTest {
+
+    @Test
+    public void getShouldReturnVendorById() {
+        // given
+        final Map<Integer, Vendor> idToVendor = givenIdToVendor();
+
+        // when
+        final CompactVendorList result = CompactVendorList.of(idToVendor);
+
+        // then
+        assertThat(result).isEqualTo(idToVendor);
+        assertThat(result.get(52)).isEqualTo(idToVendor.get(52));
+        assertThat(result.get(1)).isNull();
+        assertThat(result.get(100)).isNull();
+        assertThat(result.get(-1)).isNull();
+    }
+
+    @Test
+    public void ofShouldShareEqualPurposesBetweenVendors() {
+        // when
+        final CompactVendorList result = CompactVendorList.of(givenIdToVendor());
+
+        // then
+        assertThat(result.get(42).getPurposes()).isSameAs(result.get(52).getPurposes());
+        assertThat(result.get(42).getFeatures()).isNotSameAs(result.get(42).getSpecialFeatures());
+    }
+
+    @Test
+    public void ofShouldFailOnVendorIdThatCannotBeInConsent() {
+        // when and then
+        assertThatThrownBy(() -> CompactVendorList.of(singletonMap(70000, Vendor.empty(70000))))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Invalid vendor ID: 70000");
+    }
+
+    @Test
+    public void decodeShouldReturnEncodedVendorList() {
+        // given
+        final Map<Integer, Vendor> idToVendor = givenIdToVendor();
+        idToVendor.put(7, Vendor.builder().id(null).purposes(EnumSet.of(PurposeCode.TEN)).build());
+
+        // when
+        final CompactVendorList result = CompactVendorList.decode(CompactVendorList.of(idToVendor).encode());
+
+        // then
+        assertThat(result).isEqualTo(idToVendor);
+    }
+
+    @Test
+    public void decodeShouldFailOnMalformedInput() {
+        // given
+        final Buffer encoded = CompactVendorList.of(givenIdToVendor()).encode();
+
+        // when and then
+        assertThatThrownBy(() -> CompactVendorList.decode(Buffer.buffer("invalid")))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Unsupported binary vendor list format");
+        assertThatThrownBy(() -> CompactVendorList.decode(encoded.getBuffer(0, encoded.length() - 1)))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Binary vendor list is truncated");
+    }
+
+    private static Map<Integer, Vendor> givenIdToVendor() {
+        final Map<Integer, Vendor> idToVendor = new HashMap<>();
+        idToVendor.put(42, givenVendor(42));
+        idToVendor.put(52, givenVendor(52));
+        return idToVendor;
+    }
+
+    private static Vendor givenVendor(int id) {
+        return Vendor.builder()
+                .id(id)
+                .purposes(EnumSet.of(PurposeCode.ONE, PurposeCode.THREE))
+                .legIntPurposes(EnumSet.of(PurposeCode.TWO))
+                .flexiblePurposes(EnumSet.noneOf(PurposeCode.class))
+                .specialPurposes(EnumSet.of(SpecialPurpose.ONE))
+                .features(EnumSet.noneOf(Feature.class))
+                .specialFeatures(EnumSet.noneOf(SpecialFeature.class))
+                .build();
+    }
+}
@@ -32,6 +32,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
@@ -267,6 +268,58 @@ public class VendorListServiceTest extends VertxTest {
                 .hasMessage("Cannot parse vendor list from: invalid");
     }
 
+    @Test
+    public void creationShouldLoadVendorListFromBinaryFileInsteadOfJson() {
+        // given
+        final String jsonFilePath = new File(CACHE_DIR, "1.json").getPath();
+        final String binaryFilePath = new File(CACHE_DIR, "1.bin").getPath();
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList(jsonFilePath, binaryFilePath));
+        given(fileSystem.readFileBlocking(eq(binaryFilePath)))
+                .willReturn(CompactVendorList.of(givenVendorList().getVendors()).encode());
+
+        // when
+        final Future<Map<Integer, Vendor>> result = createVendorListService().forVersion(1);
+
+        // then
+        assertThat(result).succeededWith(givenVendorList().getVendors());
+        verify(fileSystem, never()).readFileBlocking(eq(jsonFilePath));
+    }
+
+    @Test
+    public void creationShouldCreateBinaryFileFromJsonIfAbsent() throws JsonProcessingException {
+        // given
+        final String jsonFilePath = new File(CACHE_DIR, "1.json").getPath();
+        given(fileSystem.readDirBlocking(anyString())).willReturn(singletonList(jsonFilePath));
+        given(fileSystem.readFileBlocking(eq(jsonFilePath)))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+
+        // when
+        final Future<Map<Integer, Vendor>> result = createVendorListService().forVersion(1);
+
+        // then
+        assertThat(result).succeededWith(givenVendorList().getVendors());
+        verify(fileSystem).writeFileBlocking(
+                eq(new File(CACHE_DIR, "1.bin").getPath()),
+                eq(CompactVendorList.of(givenVendorList().getVendors()).encode()));
+    }
+
+    @Test
+    public void creationShouldFallbackToJsonIfBinaryFileIsMalformed() throws JsonProcessingException {
+        // given
+        final String jsonFilePath = new File(CACHE_DIR, "1.json").getPath();
+        final String binaryFilePath = new File(CACHE_DIR, "1.bin").getPath();
+        given(fileSystem.readDirBlocking(anyString())).willReturn(asList(jsonFilePath, binaryFilePath));
+        given(fileSystem.readFileBlocking(eq(binaryFilePath))).willReturn(Buffer.buffer("invalid"));
+        given(fileSystem.readFileBlocking(eq(jsonFilePath)))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+
+        // when
+        final Future<Map<Integer, Vendor>> result = createVendorListService().forVersion(1);
+
+        // then
+        assertThat(result).succeededWith(givenVendorList().getVendors());
+    }
+
     // Http related tests
 
     @Test
@@ -422,6 +475,23 @@ public class VendorListServiceTest extends VertxTest {
         verify(fileSystem).writeFile(eq(filePath), eq(Buffer.buffer(vendorListAsString)), any());
     }
 
+    @Test
+    public void shouldSaveBinaryFileIfVendorListFetched() throws JsonProcessingException {
+        // given
+        givenHttpClientReturnsResponse(200, mapper.writeValueAsString(givenVendorList()));
+        given(fileSystem.writeFile(anyString(), any(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Future.succeededFuture()));
+
+        // when
+        target.forVersion(1);
+
+        // then
+        verify(fileSystem).writeFile(
+                eq(new File("/cache/dir/1.bin").getPath()),
+                eq(CompactVendorList.of(givenVendorList().getVendors()).encode()),
+                any());
+    }
+
     // In-memory cache related tests
 
     @Test
@@ -613,6 +683,24 @@ public class VendorListServiceTest extends VertxTest {
         verify(metrics).updatePrivacyTcfVendorListFallbackMetric(eq(2));
     }
 
+    private VendorListService createVendorListService() {
+        return new VendorListService(
+                0,
+                CACHE_DIR,
+                "http://vendorlist/{VERSION}",
+                0,
+                REFRESH_MISSING_LIST_PERIOD_MS,
+                false,
+                FALLBACK_VENDOR_LIST_PATH,
+                vertx,
+                fileSystem,
+                httpClient,
+                metrics,
+                GENERATION_VERSION,
+                jacksonMapper,
+                fetchThrottler);
+    }
+
     private static VendorList givenVendorList() {
         final Vendor vendor = Vendor.builder()
                 .id(52)
@@ -0,0 +1,290 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.settings.model.StoredDataResult;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingApplicationSettingsTest {
+
+    @Mock
+    private ApplicationSettings delegate;
+    @Mock
+    private Vertx vertx;
+
+    private Timeout timeout;
+
+    private BatchingApplicationSettings target;
+
+    @BeforeEach
+    public void setUp() {
+        final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+        timeout = new TimeoutFactory(clock).create(500L);
+
+        target = new BatchingApplicationSettings(delegate, vertx, 1L, 3);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidWindow() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BatchingApplicationSettings(delegate, vertx, 0L, 3))
+                .withMessage("Batching window must be positive");
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidMaxBatchSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BatchingApplicationSettings(delegate, vertx, 1L, 0))
+                .withMessage("Max batch size must be positive");
+    }
+
+    @Test
+    public void getStoredDataShouldNotCallDelegateBeforeWindowElapses() {
+        // when
+        final Future<StoredDataResult> future = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+
+        // then
+        assertThat(future.isComplete()).isFalse();
+        verify(vertx).setTimer(eq(1L), any());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void getStoredDataShouldPassDelegateResultAsIsForSingleLookup() {
+        // given
+        final StoredDataResult result = StoredDataResult.of(
+                Map.of("req1", "value1"), emptyMap(), singletonList("error"));
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(result));
+
+        // when
+        final Future<StoredDataResult> future = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        elapseWindow();
+
+        // then
+        assertThat(future.result()).isSameAs(result);
+        verify(delegate).getStoredData("1001", singleton("req1"), emptySet(), timeout);
+    }
+
+    @Test
+    public void getStoredDataShouldFetchConcurrentLookupsWithSingleDelegateCall() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(Map.of("req1", "value1", "req2", "value2"), emptyMap(), emptyList())));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData("1001", singleton("req2"), emptySet(), timeout);
+        elapseWindow();
+
+        // then
+        verify(delegate).getStoredData("1001", Set.of("req1", "req2"), emptySet(), timeout);
+        assertThat(first.result())
+                .isEqualTo(StoredDataResult.of(Map.of("req1", "value1"), emptyMap(), emptyList()));
+        assertThat(second.result())
+                .isEqualTo(StoredDataResult.of(Map.of("req2", "value2"), emptyMap(), emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldNotBatchLookupsForDifferentAccounts() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(emptyMap(), emptyMap(), emptyList())));
+
+        // when
+        target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        target.getStoredData("1002", singleton("req2"), emptySet(), timeout);
+        elapseWindows(2);
+
+        // then
+        verify(delegate).getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        verify(delegate).getStoredData("1002", singleton("req2"), emptySet(), timeout);
+    }
+
+    @Test
+    public void getStoredDataShouldFlushBatchWhenMaxBatchSizeReached() {
+        // given
+        given(vertx.setTimer(anyLong(), any())).willReturn(42L);
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(Map.of("req1", "value1"), Map.of("imp1", "value2", "imp2", "value3"),
+                        emptyList())));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData(
+                "1001", emptySet(), Set.of("imp1", "imp2"), timeout);
+
+        // then
+        verify(vertx).cancelTimer(42L);
+        verify(delegate).getStoredData("1001", singleton("req1"), Set.of("imp1", "imp2"), timeout);
+        assertThat(first.succeeded()).isTrue();
+        assertThat(second.result().getStoredIdToImp()).containsOnlyKeys("imp1", "imp2");
+    }
+
+    @Test
+    public void getStoredDataShouldNotFlushBatchTwiceWhenWindowElapsesAfterMaxBatchSizeReached() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(emptyMap(), emptyMap(), emptyList())));
+
+        // when
+        target.getStoredData("1001", Set.of("req1", "req2", "req3"), emptySet(), timeout);
+        elapseWindow();
+
+        // then
+        verify(delegate).getStoredData(any(), anySet(), anySet(), any());
+    }
+
+    @Test
+    public void getStoredDataShouldReturnDelegateErrorsMentioningIdsOfEachLookupOnly() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(
+                        Map.of("req1", "value1"),
+                        emptyMap(),
+                        singletonList("Error parsing request json for id: req2 with message: oops"))));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData("1001", singleton("req2"), emptySet(), timeout);
+        final Future<StoredDataResult> third = target.getStoredData("1001", emptySet(), singleton("imp1"), timeout);
+        elapseWindow();
+
+        // then
+        assertThat(first.result().getErrors()).isEmpty();
+        assertThat(second.result().getErrors())
+                .containsExactly("Error parsing request json for id: req2 with message: oops");
+        assertThat(third.result().getErrors()).containsExactly("No stored imp found for id: imp1");
+    }
+
+    @Test
+    public void getStoredDataShouldReturnDelegateErrorListingIdsToEachLookupOfThem() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(
+                        emptyMap(),
+                        emptyMap(),
+                        singletonList("No stored requests for ids [req1, req12] were found"))));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData("1001", singleton("req12"), emptySet(), timeout);
+        final Future<StoredDataResult> third = target.getStoredData("1001", singleton("req2"), emptySet(), timeout);
+        elapseWindow();
+
+        // then
+        assertThat(first.result().getErrors()).containsExactly("No stored requests for ids [req1, req12] were found");
+        assertThat(second.result().getErrors()).containsExactly("No stored requests for ids [req1, req12] were found");
+        assertThat(third.result().getErrors()).containsExactly("No stored request found for id: req2");
+    }
+
+    @Test
+    public void getStoredDataShouldReturnDelegateErrorMentioningNoIdsToEachLookup() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(
+                        emptyMap(),
+                        emptyMap(),
+                        singletonList("Error occurred while mapping stored request data"))));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData("1001", emptySet(), singleton("imp1"), timeout);
+        elapseWindow();
+
+        // then
+        assertThat(first.result().getErrors()).containsExactly("Error occurred while mapping stored request data");
+        assertThat(second.result().getErrors()).containsExactly("Error occurred while mapping stored request data");
+    }
+
+    @Test
+    public void getStoredDataShouldFailAllLookupsWhenDelegateFails() {
+        // given
+        given(delegate.getStoredData(any(), anySet(), anySet(), any()))
+                .willReturn(Future.failedFuture(new RuntimeException("failed")));
+
+        // when
+        final Future<StoredDataResult> first = target.getStoredData("1001", singleton("req1"), emptySet(), timeout);
+        final Future<StoredDataResult> second = target.getStoredData("1001", singleton("req2"), emptySet(), timeout);
+        elapseWindow();
+
+        // then
+        assertThat(first.failed()).isTrue();
+        assertThat(second.cause()).hasMessage("failed");
+    }
+
+    @Test
+    public void getStoredDataShouldCallDelegateRightAwayWhenNoIdsRequested() {
+        // given
+        final StoredDataResult result = StoredDataResult.of(emptyMap(), emptyMap(), emptyList());
+        given(delegate.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(result));
+
+        // when
+        final Future<StoredDataResult> future = target.getStoredData("1001", emptySet(), emptySet(), timeout);
+
+        // then
+        assertThat(future.result()).isSameAs(result);
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+
+    @Test
+    public void getAmpStoredDataShouldBatchSeparatelyFromStoredData() {
+        // given
+        given(delegate.getAmpStoredData(any(), anySet(), anySet(), any()))
+                .willReturn(Promise.<StoredDataResult>promise().future());
+        given(delegate.getStoredData(any(), anySet(), anySet(), any()))
+                .willReturn(Promise.<StoredDataResult>promise().future());
+
+        // when
+        target.getAmpStoredData("1001", singleton("req1"), emptySet(), timeout);
+        target.getStoredData("1001", singleton("req2"), emptySet(), timeout);
+        elapseWindows(2);
+
+        // then
+        verify(delegate).getAmpStoredData("1001", singleton("req1"), emptySet(), timeout);
+        verify(delegate).getStoredData("1001", singleton("req2"), emptySet(), timeout);
+    }
+
+    private void elapseWindow() {
+        elapseWindows(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void elapseWindows(int times) {
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(times)).setTimer(anyLong(), handlerCaptor.capture());
+        handlerCaptor.getAllValues().forEach(handler -> handler.handle(0L));
+    }
+}
@@ -1,6 +1,9 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,13 +17,17 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.SettingsCacheSnapshot;
 import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredItem;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static java.util.Collections.emptyList;
@@ -30,14 +37,18 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,14 +58,21 @@ public class CachingApplicationSettingsTest {
     private ApplicationSettings delegateSettings;
     @Mock
     private Metrics metrics;
+    @Mock
+    private Clock clock;
+    @Mock(strictness = LENIENT)
+    private TimeoutFactory timeoutFactory;
 
     private CachingApplicationSettings target;
 
     private Timeout timeout;
+    private Timeout reloadTimeout;
 
     @BeforeEach
     public void setUp() {
         timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
+        reloadTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(1000L);
+        given(timeoutFactory.create(1000L)).willReturn(reloadTimeout);
 
         target = new CachingApplicationSettings(
                 delegateSettings,
@@ -62,9 +80,13 @@ public class CachingApplicationSettingsTest {
                 new SettingsCache(360, 100, 0),
                 new SettingsCache(360, 100, 0),
                 metrics,
+                clock,
                 360,
                 100,
-                0);
+                0,
+                0,
+                timeoutFactory,
+                1000L);
     }
 
     @Test
@@ -273,6 +295,87 @@ public class CachingApplicationSettingsTest {
         verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.hit));
     }
 
+    @Test
+    public void getAccountByIdShouldShareSingleDelegateCallBetweenConcurrentCacheMisses() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+
+        // when
+        final Future<Account> firstFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = target.getAccountById("accountId", timeout);
+        promise.complete(Account.empty("accountId"));
+
+        // then
+        assertThat(firstFuture.result()).isEqualTo(Account.empty("accountId"));
+        assertThat(secondFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldCompleteSharedDelegateCallOnContextOfEachConcurrentCacheMiss() throws Exception {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+
+        final Vertx vertx = Vertx.vertx();
+        final Context firstContext = vertx.getOrCreateContext();
+        final Context secondContext = vertx.getOrCreateContext();
+        final CompletableFuture<Context> completionContext = new CompletableFuture<>();
+
+        try {
+            // when
+            runOnContext(firstContext, () -> target.getAccountById("accountId", timeout));
+            runOnContext(secondContext, () -> target.getAccountById("accountId", timeout)
+                    .onComplete(ignored -> completionContext.complete(Vertx.currentContext())));
+            runOnContext(firstContext, () -> promise.complete(Account.empty("accountId")));
+
+            // then
+            assertThat(completionContext.get(5, TimeUnit.SECONDS)).isSameAs(secondContext);
+            verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void getAccountByIdShouldPropagateFailureOfSharedDelegateCallToAllConcurrentCacheMisses() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(promise.future())
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        final Future<Account> firstFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = target.getAccountById("accountId", timeout);
+        promise.fail(new InvalidRequestException("error"));
+        final Future<Account> thirdFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(firstFuture.cause()).isInstanceOf(InvalidRequestException.class);
+        assertThat(secondFuture.cause()).isInstanceOf(InvalidRequestException.class);
+        assertThat(thirdFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldFailAndReleaseSharedCallWhenDelegateThrowsException() {
+        // given
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willThrow(new IllegalStateException("error"))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        final Future<Account> firstFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(firstFuture.cause()).isInstanceOf(IllegalStateException.class).hasMessage("error");
+        assertThat(secondFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+    }
+
     @Test
     public void getCategoriesShouldReturnResultFromCacheOnSuccessiveCalls() {
         // given
@@ -429,6 +532,47 @@ public class CachingApplicationSettingsTest {
         verifyNoMoreInteractions(delegateSettings);
     }
 
+    @Test
+    public void getStoredDataShouldShareSingleDelegateCallBetweenConcurrentCacheMissesOfSameIds() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(delegateSettings.getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout)))
+                .willReturn(promise.future());
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        promise.complete(StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+
+        // then
+        assertThat(firstFuture.result()).isEqualTo(
+                StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+        assertThat(secondFuture.result()).isEqualTo(
+                StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList()));
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+    }
+
+    @Test
+    public void getStoredDataShouldNotShareDelegateCallBetweenDifferentAccounts() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(delegateSettings.getStoredData(any(), eq(singleton("reqid")), eq(emptySet()), same(timeout)))
+                .willReturn(promise.future());
+
+        // when
+        target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        target.getStoredData("1002", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+        verify(delegateSettings)
+                .getStoredData(eq("1002"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+    }
+
     @Test
     public void getStoredResponseShouldPropagateFailure() {
         // given
@@ -445,4 +589,290 @@ public class CachingApplicationSettingsTest {
                 .isInstanceOf(InvalidRequestException.class)
                 .hasMessage("error");
     }
+
+    @Test
+    public void getAccountByIdShouldReturnCachedValueAndReloadItInBackgroundAfterRefreshPeriod() {
+        // given
+        target = givenRefreshingTarget();
+
+        final Account account = Account.empty("accountId");
+        final Account reloadedAccount = Account.builder().id("accountId").build();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+        given(delegateSettings.getAccountById(eq("accountId"), same(reloadTimeout)))
+                .willReturn(Future.succeededFuture(reloadedAccount));
+        given(clock.millis()).willReturn(0L, 5000L, 10000L);
+
+        // when
+        final Future<Account> initialFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> freshFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> staleFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> reloadedFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(initialFuture.result()).isSameAs(account);
+        assertThat(freshFuture.result()).isSameAs(account);
+        assertThat(staleFuture.result()).isSameAs(account);
+        assertThat(reloadedFuture.result()).isSameAs(reloadedAccount);
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+        verify(delegateSettings).getAccountById(eq("accountId"), same(reloadTimeout));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.reload));
+    }
+
+    @Test
+    public void getAccountByIdShouldKeepCachedValueAndRetryReloadOnNextAccessWhenReloadFailed() {
+        // given
+        target = givenRefreshingTarget();
+
+        final Account account = Account.empty("accountId");
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+        given(delegateSettings.getAccountById(eq("accountId"), same(reloadTimeout)))
+                .willReturn(Future.failedFuture(new PreBidException("error")));
+        given(clock.millis()).willReturn(0L, 10000L);
+
+        // when
+        target.getAccountById("accountId", timeout);
+        target.getAccountById("accountId", timeout);
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isSameAs(account);
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(reloadTimeout));
+        verify(metrics, times(2))
+                .updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.reload_failed));
+    }
+
+    @Test
+    public void getCategoriesShouldReloadCachedValueInBackgroundAfterRefreshPeriod() {
+        // given
+        target = givenRefreshingTarget();
+
+        given(delegateSettings.getCategories(eq("adServer"), eq("publisher"), same(timeout)))
+                .willReturn(Future.succeededFuture(singletonMap("iab", "id")));
+        given(delegateSettings.getCategories(eq("adServer"), eq("publisher"), same(reloadTimeout)))
+                .willReturn(Future.succeededFuture(singletonMap("iab", "id2")));
+        given(clock.millis()).willReturn(0L, 10000L);
+
+        // when
+        target.getCategories("adServer", "publisher", timeout);
+        final Future<Map<String, String>> staleFuture = target.getCategories("adServer", "publisher", timeout);
+        final Future<Map<String, String>> reloadedFuture = target.getCategories("adServer", "publisher", timeout);
+
+        // then
+        assertThat(staleFuture.result()).isEqualTo(singletonMap("iab", "id"));
+        assertThat(reloadedFuture.result()).isEqualTo(singletonMap("iab", "id2"));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.categories), eq(MetricName.reload));
+    }
+
+    @Test
+    public void getStoredDataShouldReturnCachedValuesAndReloadThemInBackgroundAfterRefreshPeriod() {
+        // given
+        target = givenRefreshingTarget();
+
+        given(delegateSettings.getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList())))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("reqid", "json3"), singletonMap("impid", "json4"), emptyList())));
+        given(clock.millis()).willReturn(0L, 0L, 10000L);
+
+        // when
+        target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+        final Future<StoredDataResult> staleFuture =
+                target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+        final Future<StoredDataResult> reloadedFuture =
+                target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+
+        // then
+        assertThat(staleFuture.result()).isEqualTo(StoredDataResult.of(
+                singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList()));
+        assertThat(reloadedFuture.result()).isEqualTo(StoredDataResult.of(
+                singletonMap("reqid", "json3"), singletonMap("impid", "json4"), emptyList()));
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), same(timeout));
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), same(reloadTimeout));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.stored_request), eq(MetricName.reload));
+    }
+
+    @Test
+    public void getStoredDataShouldTrackRefreshPeriodOfItemsWithTheSameIdSeparatelyForEachAccount() {
+        // given
+        target = givenRefreshingTarget();
+
+        given(delegateSettings.getStoredData(any(), eq(singleton("reqid")), eq(emptySet()), any()))
+                .willReturn(Future.succeededFuture(
+                        StoredDataResult.of(singletonMap("reqid", "json"), emptyMap(), emptyList())));
+        given(clock.millis()).willReturn(0L, 10000L);
+
+        // when
+        target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        target.getStoredData("1002", singleton("reqid"), emptySet(), timeout);
+        target.getStoredData("1002", singleton("reqid"), emptySet(), timeout);
+        target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(reloadTimeout));
+        verify(delegateSettings, never())
+                .getStoredData(eq("1002"), eq(singleton("reqid")), eq(emptySet()), same(reloadTimeout));
+    }
+
+    @Test
+    public void snapshotShouldReturnCachedValues() {
+        // given
+        given(clock.millis()).willReturn(1000L);
+        final Account account = Account.empty("accountId");
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+        given(delegateSettings.getStoredData(any(), anySet(), anySet(), any())).willReturn(Future.succeededFuture(
+                StoredDataResult.of(singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList())));
+
+        target.getAccountById("accountId", timeout);
+        target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+
+        // when
+        final SettingsCacheSnapshot snapshot = target.snapshot();
+
+        // then
+        assertThat(snapshot.getCreatedAt()).isEqualTo(1000L);
+        assertThat(snapshot.getAccounts()).containsOnlyKeys("accountId");
+        assertThat(snapshot.getAccounts().get("accountId").getValue()).isSameAs(account);
+        assertThat(snapshot.getAccounts().get("accountId").getExpiresAt()).isBetween(360_000L, 361_000L);
+        assertThat(snapshot.getCategories()).isEmpty();
+        assertThat(snapshot.getStoredData().getRequests()).containsOnlyKeys("reqid");
+        assertThat(snapshot.getStoredData().getRequests().get("reqid").getValue())
+                .containsOnly(StoredItem.of("1001", "json"));
+        assertThat(snapshot.getStoredData().getImps()).containsOnlyKeys("impid");
+        assertThat(snapshot.getStoredData().getImps().get("impid").getValue())
+                .containsOnly(StoredItem.of("1001", "json2"));
+        assertThat(snapshot.getAmpStoredData().getRequests()).isEmpty();
+        assertThat(snapshot.getVideoStoredData().getImps()).isEmpty();
+    }
+
+    @Test
+    public void restoreShouldFillCachesWithSnapshotValues() {
+        // given
+        final Account account = Account.empty("accountId");
+        final SettingsCacheSnapshot snapshot = SettingsCacheSnapshot.of(
+                1000L,
+                singletonMap("accountId", givenCachedValue(account, 100_000L)),
+                singletonMap("adServer_publisher", givenCachedValue(singletonMap("iab", "category"), 100_000L)),
+                SettingsCacheSnapshot.StoredData.of(
+                        singletonMap("reqid", givenCachedValue(singleton(StoredItem.of("1001", "json")), 100_000L)),
+                        singletonMap("impid", givenCachedValue(singleton(StoredItem.of("1001", "json2")), 100_000L))),
+                null,
+                null);
+
+        // when
+        target.restore(snapshot);
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).result()).isSameAs(account);
+        assertThat(target.getCategories("adServer", "publisher", timeout).result())
+                .containsOnly(entry("iab", "category"));
+        assertThat(target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout).result())
+                .isEqualTo(StoredDataResult.of(
+                        singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList()));
+        verifyNoInteractions(delegateSettings);
+    }
+
+    @Test
+    public void restoreShouldNotOverrideAlreadyCachedValues() {
+        // given
+        final Account account = Account.empty("accountId");
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+        target.getAccountById("accountId", timeout);
+
+        // when
+        target.restore(givenAccountSnapshot(Account.empty("restored"), 100_000L));
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).result()).isSameAs(account);
+    }
+
+    @Test
+    public void restoreShouldSkipExpiredValues() {
+        // given
+        final Account account = Account.empty("accountId");
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+        given(clock.millis()).willReturn(361_000L);
+
+        // when
+        target.restore(givenAccountSnapshot(Account.empty("restored"), 361_000L));
+
+        // then
+        assertThat(target.getAccountById("accountId", timeout).result()).isSameAs(account);
+    }
+
+    @Test
+    public void restoreShouldExpireValuesWhenTheyWouldHaveExpiredWithoutRestart() {
+        // given
+        given(clock.millis()).willReturn(20_000L);
+
+        // when
+        target.restore(givenAccountSnapshot(Account.empty("restored"), 50_000L));
+
+        // then
+        assertThat(target.snapshot().getAccounts().get("accountId").getExpiresAt()).isBetween(49_000L, 50_000L);
+    }
+
+    @Test
+    public void restoreShouldTreatValuesAsWrittenWhenSnapshotWasTaken() {
+        // given
+        target = givenRefreshingTarget();
+
+        final Account reloadedAccount = Account.empty("reloaded");
+        given(delegateSettings.getAccountById(eq("accountId"), same(reloadTimeout)))
+                .willReturn(Future.succeededFuture(reloadedAccount));
+        given(clock.millis()).willReturn(20_000L);
+
+        target.restore(givenAccountSnapshot(Account.empty("restored"), 365_000L));
+
+        // when
+        final Future<Account> staleFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> reloadedFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(staleFuture.result()).isEqualTo(Account.empty("restored"));
+        assertThat(reloadedFuture.result()).isSameAs(reloadedAccount);
+    }
+
+    private static <T> SettingsCacheSnapshot.CachedValue<T> givenCachedValue(T value, long expiresAt) {
+        return SettingsCacheSnapshot.CachedValue.of(value, expiresAt);
+    }
+
+    private static SettingsCacheSnapshot givenAccountSnapshot(Account account, long expiresAt) {
+        return SettingsCacheSnapshot.of(
+                1000L, singletonMap("accountId", givenCachedValue(account, expiresAt)), null, null, null, null);
+    }
+
+    private CachingApplicationSettings givenRefreshingTarget() {
+        return new CachingApplicationSettings(
+                delegateSettings,
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                metrics,
+                clock,
+                360,
+                100,
+                0,
+                10,
+                timeoutFactory,
+                1000L);
+    }
+
+    private static void runOnContext(Context context, Runnable action) throws Exception {
+        final CompletableFuture<Void> completed = new CompletableFuture<>();
+        context.runOnContext(ignored -> {
+            action.run();
+            completed.complete(null);
+        });
+        completed.get(5, TimeUnit.SECONDS);
+    }
 }
@@ -35,6 +35,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @ExtendWith(VertxExtension.class)
@@ -49,6 +51,9 @@ public class S3ApplicationSettingsTest extends VertxTest {
     @Mock
     private S3AsyncClient s3AsyncClient;
 
+    @Mock(strictness = LENIENT)
+    private S3SettingsMirror s3SettingsMirror;
+
     private Vertx vertx;
 
     private S3ApplicationSettings target;
@@ -67,7 +72,8 @@ public class S3ApplicationSettingsTest extends VertxTest {
                 STORED_REQUESTS_DIR,
                 STORED_RESPONSES_DIR,
                 jacksonMapper,
-                vertx);
+                vertx,
+                s3SettingsMirror);
 
         given(timeout.remaining()).willReturn(500L);
     }
@@ -103,6 +109,53 @@ public class S3ApplicationSettingsTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void getAccountByIdShouldReturnMirroredAccountWithoutFetching(VertxTestContext context)
+            throws JsonProcessingException {
+
+        // given
+        final Account account = Account.builder().id("accountId").build();
+        given(s3SettingsMirror.get("%s/%s.json".formatted(ACCOUNTS_DIR, "accountId")))
+                .willReturn(mapper.writeValueAsString(account));
+
+        // when
+        final Future<Account> result = target.getAccountById("accountId", timeout);
+
+        // then
+        result.onComplete(context.succeeding(returnedAccount -> {
+            assertThat(returnedAccount.getId()).isEqualTo("accountId");
+            verifyNoInteractions(s3AsyncClient);
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldFetchOnlyNotMirroredIds(VertxTestContext context) {
+        // given
+        given(s3SettingsMirror.get("%s/%s.json".formatted(STORED_REQUESTS_DIR, "request")))
+                .willReturn("req");
+        given(s3AsyncClient.getObject(
+                eq(GetObjectRequest.builder()
+                        .bucket(BUCKET)
+                        .key("%s/%s.json".formatted(STORED_IMPS_DIR, "imp"))
+                        .build()),
+                any(AsyncResponseTransformer.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), "imp".getBytes())));
+
+        // when
+        final Future<StoredDataResult> result = target
+                .getStoredData("someId", Set.of("request"), Set.of("imp"), timeout);
+
+        // then
+        result.onComplete(context.succeeding(storedDataResult -> {
+            assertThat(storedDataResult.getStoredIdToRequest()).isEqualTo(Map.of("request", "req"));
+            assertThat(storedDataResult.getStoredIdToImp()).isEqualTo(Map.of("imp", "imp"));
+            assertThat(storedDataResult.getErrors()).isEmpty();
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void getAccountByIdShouldReturnTimeout(VertxTestContext context) {
         // given
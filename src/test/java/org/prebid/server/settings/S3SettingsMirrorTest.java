@@ -0,0 +1,318 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(VertxExtension.class)
+public class S3SettingsMirrorTest extends VertxTest {
+
+    private static final String BUCKET = "bucket";
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @TempDir
+    private Path directory;
+
+    private Vertx vertx;
+
+    private S3SettingsMirror target;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        target = givenMirror();
+    }
+
+    @AfterEach
+    public void tearDown(VertxTestContext context) {
+        vertx.close(context.succeedingThenComplete());
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxConcurrentDownloads() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new S3SettingsMirror(
+                        s3AsyncClient, BUCKET, singletonList("accounts"), directory.toString(), 0L, 0, vertx,
+                        jacksonMapper))
+                .withMessage("Max concurrent downloads must be positive");
+    }
+
+    @Test
+    public void initializeShouldNotStartNextSyncUntilPreviousOneIsCompleted(VertxTestContext context) {
+        // given
+        target = new S3SettingsMirror(
+                s3AsyncClient, BUCKET, singletonList("accounts"), directory.toString(), 10L, 2, vertx, jacksonMapper);
+        given(s3AsyncClient.listObjectsV2(any(ListObjectsV2Request.class)))
+                .willReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder().build()))
+                .willReturn(new CompletableFuture<>());
+
+        // when
+        initialize(target);
+
+        // then
+        vertx.setTimer(100L, timerId -> context.verify(() -> {
+            verify(s3AsyncClient, times(2)).listObjectsV2(any(ListObjectsV2Request.class));
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void initializeShouldMirrorListedObjects() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"), givenObject("accounts/2.json", "etag2"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        givenDownload("accounts/2.json", "etag2", "account2");
+
+        // when
+        initialize(target);
+
+        // then
+        assertThat(target.get("accounts/1.json")).isEqualTo("account1");
+        assertThat(target.get("accounts/2.json")).isEqualTo("account2");
+        assertThat(target.get("accounts/3.json")).isNull();
+        assertThat(directory.resolve("accounts/1.json")).hasContent("account1");
+    }
+
+    @Test
+    public void initializeShouldFollowListingContinuationToken() {
+        // given
+        given(s3AsyncClient.listObjectsV2(any(ListObjectsV2Request.class)))
+                .willReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                        .contents(givenObject("accounts/1.json", "etag1"))
+                        .isTruncated(true)
+                        .nextContinuationToken("token")
+                        .build()))
+                .willReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                        .contents(givenObject("accounts/2.json", "etag2"))
+                        .build()));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        givenDownload("accounts/2.json", "etag2", "account2");
+
+        // when
+        initialize(target);
+
+        // then
+        final ArgumentCaptor<ListObjectsV2Request> requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3AsyncClient, times(2)).listObjectsV2(requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues())
+                .extracting(ListObjectsV2Request::prefix, ListObjectsV2Request::continuationToken)
+                .containsExactly(
+                        tuple("accounts/", null),
+                        tuple("accounts/", "token"));
+        assertThat(target.get("accounts/2.json")).isEqualTo("account2");
+    }
+
+    @Test
+    public void syncShouldNotDownloadObjectsWithUnchangedETag() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        // when
+        sync(target);
+
+        // then
+        verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+        assertThat(target.get("accounts/1.json")).isEqualTo("account1");
+    }
+
+    @Test
+    public void syncShouldRevalidateChangedObjectWithKnownETag() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        givenListing(givenObject("accounts/1.json", "etag2"));
+        given(s3AsyncClient.getObject(
+                argThat((GetObjectRequest request) -> request != null && "etag1".equals(request.ifNoneMatch())),
+                any(AsyncResponseTransformer.class)))
+                .willReturn(CompletableFuture.failedFuture(
+                        S3Exception.builder().statusCode(304).message("Not Modified").build()));
+
+        // when
+        sync(target);
+
+        // then
+        assertThat(target.get("accounts/1.json")).isEqualTo("account1");
+    }
+
+    @Test
+    public void syncShouldReplaceChangedObject() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        givenListing(givenObject("accounts/1.json", "etag2"));
+        givenDownload("accounts/1.json", "etag2", "updated");
+
+        // when
+        sync(target);
+
+        // then
+        assertThat(target.get("accounts/1.json")).isEqualTo("updated");
+        assertThat(directory.resolve("accounts/1.json")).hasContent("updated");
+    }
+
+    @Test
+    public void syncShouldKeepCurrentObjectWhenDownloadFails() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        givenListing(givenObject("accounts/1.json", "etag2"));
+        given(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+        // when
+        sync(target);
+
+        // then
+        assertThat(target.get("accounts/1.json")).isEqualTo("account1");
+    }
+
+    @Test
+    public void syncShouldRemoveObjectsThatAreNoLongerListed() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        givenListing();
+
+        // when
+        sync(target);
+
+        // then
+        assertThat(target.get("accounts/1.json")).isNull();
+        assertThat(directory.resolve("accounts/1.json")).doesNotExist();
+    }
+
+    @Test
+    public void initializeShouldRestoreMirroredObjectsFromDirectoryWithoutDownloading() {
+        // given
+        givenListing(givenObject("accounts/1.json", "etag1"));
+        givenDownload("accounts/1.json", "etag1", "account1");
+        initialize(target);
+
+        final S3SettingsMirror restartedMirror = givenMirror();
+
+        // when
+        initialize(restartedMirror);
+
+        // then
+        verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+        assertThat(restartedMirror.get("accounts/1.json")).isEqualTo("account1");
+    }
+
+    @Test
+    public void initializeShouldIgnoreObjectsOutsideOfDirectory() throws Exception {
+        // given
+        givenListing(givenObject("accounts/../../outside.json", "etag1"));
+        givenDownload("accounts/../../outside.json", "etag1", "outside");
+
+        // when
+        initialize(target);
+
+        // then
+        assertThat(Files.exists(directory.getParent().resolve("outside.json"))).isFalse();
+    }
+
+    @Test
+    public void initializeShouldCompleteWhenListingFails() {
+        // given
+        given(s3AsyncClient.listObjectsV2(any(ListObjectsV2Request.class)))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+        // when
+        final Promise<Void> promise = initialize(target);
+
+        // then
+        assertThat(promise.future().succeeded()).isTrue();
+        verify(s3AsyncClient, never()).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+    }
+
+    private S3SettingsMirror givenMirror() {
+        return new S3SettingsMirror(
+                s3AsyncClient,
+                BUCKET,
+                singletonList("accounts"),
+                directory.toString(),
+                0L,
+                2,
+                vertx,
+                jacksonMapper);
+    }
+
+    private void givenListing(S3Object... objects) {
+        given(s3AsyncClient.listObjectsV2(any(ListObjectsV2Request.class)))
+                .willReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                        .contents(List.of(objects))
+                        .build()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenDownload(String key, String eTag, String content) {
+        given(s3AsyncClient.getObject(
+                argThat((GetObjectRequest request) -> request != null && key.equals(request.key())),
+                any(AsyncResponseTransformer.class)))
+                .willReturn(CompletableFuture.completedFuture(ResponseBytes.fromByteArray(
+                        GetObjectResponse.builder().eTag(eTag).build(), content.getBytes())));
+    }
+
+    private static S3Object givenObject(String key, String eTag) {
+        return S3Object.builder().key(key).eTag(eTag).build();
+    }
+
+    private static Promise<Void> initialize(S3SettingsMirror mirror) {
+        final Promise<Void> promise = Promise.promise();
+        mirror.initialize(promise);
+        promise.future().toCompletionStage().toCompletableFuture().join();
+        return promise;
+    }
+
+    private static void sync(S3SettingsMirror mirror) {
+        mirror.sync().toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,228 @@
+package org.prebid.server.settings.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.pubsub.PgChannel;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.CacheNotificationListener;
+import org.prebid.server.settings.helper.ParametrizedQueryPostgresHelper;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.vertx.database.DatabaseClient;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseNotificationRefreshServiceTest {
+
+    private static final String QUERY = "SELECT * FROM t WHERE reqid IN (%REQUEST_ID_LIST%)"
+            + " UNION ALL SELECT * FROM t WHERE impid IN (%IMP_ID_LIST%)";
+
+    @Mock(strictness = LENIENT)
+    private PgSubscriber subscriber;
+    @Mock(strictness = LENIENT)
+    private PgChannel channel;
+    @Mock
+    private CacheNotificationListener cacheNotificationListener;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private DatabaseClient databaseClient;
+    @Mock
+    private Metrics metrics;
+
+    private final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+
+    private Handler<String> notificationHandler;
+
+    @BeforeEach
+    public void setUp() {
+        given(subscriber.channel(anyString())).willReturn(channel);
+        given(channel.handler(any())).willReturn(channel);
+        given(channel.subscribeHandler(any())).willReturn(channel);
+        given(subscriber.connect()).willReturn(Future.succeededFuture());
+
+        final DatabaseNotificationRefreshService target = createService();
+        target.initialize(Promise.promise());
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Handler<String>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(channel).handler(handlerCaptor.capture());
+        notificationHandler = handlerCaptor.getValue();
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveDebouncePeriod() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new DatabaseNotificationRefreshService(subscriber, "channel", QUERY, 0, 1000,
+                        MetricName.stored_request, cacheNotificationListener, vertx, databaseClient,
+                        new ParametrizedQueryPostgresHelper(), new TimeoutFactory(clock), metrics, clock))
+                .withMessage("Debounce period must be positive");
+    }
+
+    @Test
+    public void initializeShouldSubscribeToChannel() {
+        // then
+        verify(subscriber).channel("channel");
+        verify(subscriber).connect();
+    }
+
+    @Test
+    public void initializeShouldRetryConnectionOnFailure() {
+        // given
+        given(subscriber.connect()).willReturn(Future.failedFuture("failed"));
+
+        // when
+        createService().initialize(Promise.promise());
+
+        // then
+        verify(vertx).setTimer(eq(1000L), any());
+    }
+
+    @Test
+    public void shouldReloadChangedIdsWithSingleQueryAfterDebouncePeriod() {
+        // given
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("req1", "value1"), singletonMap("imp1", "value2"), emptyList())));
+
+        // when
+        notificationHandler.handle("request:req1");
+        notificationHandler.handle("request:req1,imp:imp1");
+        elapseDebouncePeriod();
+
+        // then
+        verify(vertx).setTimer(eq(100L), any());
+        verify(databaseClient).executeQuery(
+                eq("SELECT * FROM t WHERE reqid IN ($1) UNION ALL SELECT * FROM t WHERE impid IN ($2)"),
+                eq(asList("req1", "imp1")),
+                any(),
+                any());
+        verify(cacheNotificationListener).save(singletonMap("req1", "value1"), singletonMap("imp1", "value2"));
+        verify(cacheNotificationListener, never()).invalidate(anyList(), anyList());
+        verify(metrics).updateSettingsCacheRefreshTime(eq(MetricName.stored_request), eq(MetricName.update),
+                anyLong());
+    }
+
+    @Test
+    public void shouldInvalidateIdsMissingInQueryResultOrHavingEmptyData() {
+        // given
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        Map.of("req1", "value1", "req2", "null"), emptyMap(), emptyList())));
+
+        // when
+        notificationHandler.handle("request:req1,request:req2,imp:imp1");
+        elapseDebouncePeriod();
+
+        // then
+        verify(cacheNotificationListener).invalidate(singletonList("req2"), singletonList("imp1"));
+        verify(cacheNotificationListener).save(singletonMap("req1", "value1"), emptyMap());
+    }
+
+    @Test
+    public void shouldInvalidateChangedIdsWhenQueryFails() {
+        // given
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willReturn(Future.failedFuture("failed"));
+
+        // when
+        notificationHandler.handle("request:req1");
+        elapseDebouncePeriod();
+
+        // then
+        verify(cacheNotificationListener).invalidate(singletonList("req1"), emptyList());
+        verify(metrics).updateSettingsCacheRefreshErrorMetric(MetricName.stored_request, MetricName.update);
+    }
+
+    @Test
+    public void shouldIgnoreInvalidNotifications() {
+        // when
+        notificationHandler.handle("unknown:req1,request:,invalid");
+
+        // then
+        verify(vertx, never()).setTimer(anyLong(), any());
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    public void shouldScheduleNewReloadForNotificationsReceivedAfterReload() {
+        // given
+        given(databaseClient.executeQuery(anyString(), anyList(), any(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(emptyMap(), emptyMap(), emptyList())));
+
+        notificationHandler.handle("request:req1");
+        elapseDebouncePeriod();
+
+        // when
+        notificationHandler.handle("request:req2");
+
+        // then
+        final List<Handler<Long>> timerHandlers = captureTimerHandlers(2);
+        timerHandlers.get(1).handle(2L);
+
+        verify(databaseClient).executeQuery(anyString(), eq(singletonList("req2")), any(), any());
+        assertThat(timerHandlers).hasSize(2);
+    }
+
+    private DatabaseNotificationRefreshService createService() {
+        return new DatabaseNotificationRefreshService(
+                subscriber,
+                "channel",
+                QUERY,
+                100,
+                1000,
+                MetricName.stored_request,
+                cacheNotificationListener,
+                vertx,
+                databaseClient,
+                new ParametrizedQueryPostgresHelper(),
+                new TimeoutFactory(clock),
+                metrics,
+                clock);
+    }
+
+    private void elapseDebouncePeriod() {
+        captureTimerHandlers(1).getFirst().handle(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Handler<Long>> captureTimerHandlers(int times) {
+        final ArgumentCaptor<Handler<Long>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(times)).setTimer(eq(100L), handlerCaptor.capture());
+        return handlerCaptor.getAllValues();
+    }
+}
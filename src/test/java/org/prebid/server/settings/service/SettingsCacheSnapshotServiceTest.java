@@ -0,0 +1,197 @@
+package org.prebid.server.settings.service;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.settings.CachingApplicationSettings;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.SettingsCacheSnapshot;
+import org.prebid.server.settings.model.StoredItem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(VertxExtension.class)
+public class SettingsCacheSnapshotServiceTest extends VertxTest {
+
+    @Mock
+    private CachingApplicationSettings cachingApplicationSettings;
+
+    @TempDir
+    private Path directory;
+
+    private Vertx vertx;
+
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        clock = Clock.fixed(Instant.ofEpochMilli(100_000L), ZoneId.systemDefault());
+    }
+
+    @AfterEach
+    public void tearDown(VertxTestContext context) {
+        vertx.close(context.succeedingThenComplete());
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositivePeriod() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SettingsCacheSnapshotService(
+                        cachingApplicationSettings, "path", 0L, 1000L, vertx, clock, jacksonMapper))
+                .withMessage("Snapshot period must be positive");
+    }
+
+    @Test
+    public void initializeShouldRestoreSnapshotFromFile() throws IOException {
+        // given
+        final SettingsCacheSnapshot snapshot = givenSnapshot(90_000L);
+        writeSnapshot(snapshot);
+
+        // when
+        initialize(givenService(60_000L));
+
+        // then
+        final ArgumentCaptor<SettingsCacheSnapshot> snapshotCaptor =
+                ArgumentCaptor.forClass(SettingsCacheSnapshot.class);
+        verify(cachingApplicationSettings).restore(snapshotCaptor.capture());
+        assertThat(snapshotCaptor.getValue()).isEqualTo(snapshot);
+    }
+
+    @Test
+    public void initializeShouldNotRestoreSnapshotOlderThanMaxAge() throws IOException {
+        // given
+        writeSnapshot(givenSnapshot(10_000L));
+
+        // when
+        initialize(givenService(60_000L));
+
+        // then
+        verify(cachingApplicationSettings, never()).restore(any());
+    }
+
+    @Test
+    public void initializeShouldCompleteWhenSnapshotFileIsCorrupted() throws IOException {
+        // given
+        Files.writeString(snapshotPath(), "invalid");
+
+        // when
+        final Promise<Void> promise = initialize(givenService(60_000L));
+
+        // then
+        assertThat(promise.future().succeeded()).isTrue();
+        verify(cachingApplicationSettings, never()).restore(any());
+    }
+
+    @Test
+    public void initializeShouldCompleteWhenSnapshotFileDoesNotExist() {
+        // when
+        final Promise<Void> promise = initialize(givenService(60_000L));
+
+        // then
+        assertThat(promise.future().succeeded()).isTrue();
+    }
+
+    @Test
+    public void serviceShouldPeriodicallySaveSnapshotThatCanBeRestored() {
+        // given
+        final SettingsCacheSnapshot snapshot = givenSnapshot(95_000L);
+        given(cachingApplicationSettings.snapshot()).willReturn(snapshot);
+
+        // when
+        initialize(givenService(10L));
+
+        // then
+        verify(cachingApplicationSettings, timeout(1000).atLeastOnce()).snapshot();
+        verify(cachingApplicationSettings, never()).restore(any());
+        awaitSnapshotFile();
+
+        initialize(givenService(60_000L));
+
+        final ArgumentCaptor<SettingsCacheSnapshot> snapshotCaptor =
+                ArgumentCaptor.forClass(SettingsCacheSnapshot.class);
+        verify(cachingApplicationSettings, atLeastOnce()).restore(snapshotCaptor.capture());
+        assertThat(snapshotCaptor.getValue()).isEqualTo(snapshot);
+    }
+
+    private SettingsCacheSnapshotService givenService(long period) {
+        return new SettingsCacheSnapshotService(
+                cachingApplicationSettings,
+                snapshotPath().toString(),
+                period,
+                30_000L,
+                vertx,
+                clock,
+                jacksonMapper);
+    }
+
+    private static Promise<Void> initialize(SettingsCacheSnapshotService service) {
+        final Promise<Void> promise = Promise.promise();
+        service.initialize(promise);
+        promise.future().toCompletionStage().toCompletableFuture().join();
+        return promise;
+    }
+
+    private void awaitSnapshotFile() {
+        final long deadline = System.currentTimeMillis() + 1000L;
+        while (!Files.exists(snapshotPath()) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve("settings-cache.snapshot");
+    }
+
+    private void writeSnapshot(SettingsCacheSnapshot snapshot) throws IOException {
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(snapshotPath()))) {
+            outputStream.write(jacksonMapper.encodeToBytes(snapshot));
+        }
+    }
+
+    private static SettingsCacheSnapshot givenSnapshot(long createdAt) {
+        return SettingsCacheSnapshot.of(
+                createdAt,
+                singletonMap("accountId", givenCachedValue(Account.empty("accountId"), createdAt)),
+                singletonMap("adServer", givenCachedValue(singletonMap("iab", "category"), createdAt)),
+                SettingsCacheSnapshot.StoredData.of(
+                        singletonMap("reqid", givenCachedValue(singleton(StoredItem.of("1001", "json")), createdAt)),
+                        singletonMap("impid", givenCachedValue(singleton(StoredItem.of(null, "json2")), createdAt))),
+                SettingsCacheSnapshot.StoredData.of(emptyMap(), emptyMap()),
+                SettingsCacheSnapshot.StoredData.of(emptyMap(), emptyMap()));
+    }
+
+    private static <T> SettingsCacheSnapshot.CachedValue<T> givenCachedValue(T value, long createdAt) {
+        return SettingsCacheSnapshot.CachedValue.of(value, createdAt + 100_000L);
+    }
+}
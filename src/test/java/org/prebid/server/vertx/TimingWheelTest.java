@@ -0,0 +1,171 @@
+package org.prebid.server.vertx;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(VertxExtension.class)
+public class TimingWheelTest {
+
+    private final Clock clock = Clock.systemUTC();
+
+    private Vertx vertx;
+
+    private TimingWheel target;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        target = new TimingWheel(vertx, Ticker.systemTicker(), 5L, 4);
+    }
+
+    @AfterEach
+    public void tearDown(VertxTestContext context) {
+        vertx.close(context.succeedingThenComplete());
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveTickDuration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new TimingWheel(vertx, Ticker.systemTicker(), 0L, 4))
+                .withMessage("Tick duration must be positive");
+    }
+
+    @Test
+    public void creationShouldFailWhenWheelSizeIsNotPowerOfTwo() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new TimingWheel(vertx, Ticker.systemTicker(), 5L, 6))
+                .withMessage("Wheel size must be a positive power of two");
+    }
+
+    @Test
+    public void scheduleShouldFallBackToVertxTimerOutsideOfEventLoopContext() {
+        // given
+        final Vertx vertxMock = mock(Vertx.class);
+        given(vertxMock.setTimer(eq(100L), any())).willReturn(7L);
+
+        // when
+        new TimingWheel(vertxMock, Ticker.systemTicker(), 5L, 4).schedule(100L, () -> { }).cancel();
+
+        // then
+        verify(vertxMock).setTimer(eq(100L), any());
+        verify(vertxMock).cancelTimer(7L);
+    }
+
+    @Test
+    public void scheduleShouldExecuteTaskNotEarlierThanDelay(VertxTestContext context) {
+        vertx.runOnContext(ignored -> {
+            final long start = clock.millis();
+            target.schedule(30L, () -> context.verify(() -> {
+                assertThat(clock.millis() - start).isGreaterThanOrEqualTo(30L);
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void scheduleShouldExecuteTaskWithDelayExceedingWheelRevolution(VertxTestContext context) {
+        vertx.runOnContext(ignored -> {
+            final long start = clock.millis();
+            target.schedule(70L, () -> context.verify(() -> {
+                assertThat(clock.millis() - start).isGreaterThanOrEqualTo(70L);
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void scheduleShouldNotDelayTaskScheduledIntoBucketBeingExpired(VertxTestContext context) {
+        // given
+        target = new TimingWheel(vertx, Ticker.systemTicker(), 20L, 4);
+
+        // when and then
+        vertx.runOnContext(ignored -> target.schedule(20L, () -> {
+            final long start = clock.millis();
+            target.schedule(70L, () -> context.verify(() -> {
+                assertThat(clock.millis() - start).isBetween(70L, 120L);
+                context.completeNow();
+            }));
+        }));
+    }
+
+    @Test
+    public void cancelShouldPreventTaskExecution(VertxTestContext context) {
+        vertx.runOnContext(ignored -> {
+            final AtomicBoolean executed = new AtomicBoolean();
+            target.schedule(10L, () -> executed.set(true)).cancel();
+
+            target.schedule(40L, () -> context.verify(() -> {
+                assertThat(executed).isFalse();
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void cancelFromAnotherThreadShouldPreventTaskExecution(VertxTestContext context) {
+        vertx.runOnContext(ignored -> {
+            final AtomicBoolean executed = new AtomicBoolean();
+            final TimingWheel.Timer timer = target.schedule(10L, () -> executed.set(true));
+
+            final Thread thread = new Thread(timer::cancel);
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                context.failNow(e);
+            }
+
+            target.schedule(40L, () -> context.verify(() -> {
+                assertThat(executed).isFalse();
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void scheduleShouldMeasureTimeWithTicker(VertxTestContext context) {
+        // given
+        final AtomicLong nanos = new AtomicLong();
+        target = new TimingWheel(vertx, nanos::get, 5L, 4);
+
+        // when and then
+        vertx.runOnContext(ignored -> {
+            final AtomicBoolean executed = new AtomicBoolean();
+            target.schedule(10L, () -> executed.set(true));
+
+            vertx.setTimer(30L, timerId -> context.verify(() -> {
+                assertThat(executed).isFalse();
+                nanos.set(10_000_000L);
+
+                vertx.setTimer(30L, anotherTimerId -> context.verify(() -> {
+                    assertThat(executed).isTrue();
+                    context.completeNow();
+                }));
+            }));
+        });
+    }
+
+    @Test
+    public void scheduleShouldExecuteTaskScheduledByExpiredTask(VertxTestContext context) {
+        vertx.runOnContext(ignored -> target.schedule(5L, () -> target.schedule(0L, context::completeNow)));
+    }
+}